@@ -0,0 +1,89 @@
+package com.inventory.benchmark;
+
+import com.inventory.entity.BarcodeType;
+import com.inventory.util.BarcodeFormats;
+import com.inventory.util.LegacyBarcodeValidation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex-based barcode validation with {@link BarcodeFormats}.
+ *
+ * Run with {@code mvn -P jmh test-compile exec:exec}; add {@code -Djmh.args="-prof gc"}
+ * to report allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarcodeValidationBenchmark {
+
+    @Param({"UPC_A", "EAN_13", "ITF_14", "GS1_128", "CODE_39"})
+    private BarcodeType type;
+
+    private String barcode;
+
+    @Setup
+    public void setUp() {
+        switch (type) {
+            case UPC_A:
+                barcode = "036000291452";
+                break;
+            case EAN_13:
+                barcode = "4006381333931";
+                break;
+            case ITF_14:
+                barcode = "10012345678902";
+                break;
+            case GS1_128:
+                barcode = "(01)04006381333931(17)251231(10)LOT000123";
+                break;
+            default:
+                barcode = "ABC-1234 $/+%";
+                break;
+        }
+    }
+
+    @Benchmark
+    public boolean legacyRegex() {
+        boolean valid = LegacyBarcodeValidation.isValidFormat(barcode, type);
+        if (valid && type.requiresCheckDigit()) {
+            valid = LegacyBarcodeValidation.isValidGTIN(barcode);
+        }
+        if (valid && type == BarcodeType.ITF_14) {
+            valid = LegacyBarcodeValidation.isValidITF14(barcode);
+        }
+        if (valid && type == BarcodeType.GS1_128) {
+            valid = LegacyBarcodeValidation.isValidGS1128(barcode);
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public boolean allocationFree() {
+        boolean valid = BarcodeFormats.isValidFormat(barcode, type);
+        if (valid && type.requiresCheckDigit()) {
+            valid = BarcodeFormats.isValidGTIN(barcode);
+        }
+        if (valid && type == BarcodeType.ITF_14) {
+            valid = BarcodeFormats.isValidITF14(barcode);
+        }
+        if (valid && type == BarcodeType.GS1_128) {
+            valid = BarcodeFormats.isValidGS1128(barcode);
+        }
+        return valid;
+    }
+}
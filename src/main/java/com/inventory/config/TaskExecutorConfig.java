@@ -0,0 +1,51 @@
+package com.inventory.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class TaskExecutorConfig {
+
+    @Value("${app.item-import.workers:4}")
+    private int itemImportWorkers;
+
+    @Value("${app.item-import.queue-capacity:16}")
+    private int itemImportQueueCapacity;
+
+    /**
+     * The shared executor for @Async methods and background jobs, configured by spring.task.execution.
+     * Declared here because Spring Boot only creates it when no other executor bean exists.
+     */
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Writes item import chunks in parallel. Kept apart from the shared executor, which runs the
+     * import jobs that wait on these chunks. When the queue is full the import's own thread writes
+     * the chunk, which throttles it instead of rejecting work.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor itemImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(itemImportWorkers);
+        executor.setMaxPoolSize(itemImportWorkers);
+        executor.setQueueCapacity(itemImportQueueCapacity);
+        executor.setThreadNamePrefix("item-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -4,6 +4,7 @@ import com.inventory.entity.AttributeDefinition;
 import com.inventory.entity.AttributeSet;
 import com.inventory.entity.UserAccount;
 import com.inventory.service.AttributeService;
+import com.inventory.service.CategoryAttributeIndex.EffectiveAttribute;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -96,4 +97,24 @@ public class AttributeController {
         List<AttributeSet> sets = attributeService.getAttributeSetsByCategory(tenantId, categoryId);
         return ResponseEntity.ok(sets);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/sets/category/{categoryId}/effective")
+    public ResponseEntity<List<EffectiveAttribute>> getEffectiveAttributesByCategory(@PathVariable Long categoryId) {
+        // TODO: Get tenant ID from authentication
+        Long tenantId = 1L; // Placeholder
+        
+        List<EffectiveAttribute> attributes = attributeService.getEffectiveAttributes(tenantId, categoryId);
+        return ResponseEntity.ok(attributes);
+    }
+
+    @DeleteMapping("/sets/{id}")
+    public ResponseEntity<Void> deleteAttributeSet(@PathVariable Long id) {
+        // TODO: Get tenant ID and current user from authentication
+        Long tenantId = 1L; // Placeholder
+        UserAccount currentUser = new UserAccount(); // Placeholder
+        currentUser.setId(1L);
+        
+        attributeService.deleteAttributeSet(id, tenantId, currentUser);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -3,14 +3,14 @@ package com.inventory.controller;
 import com.inventory.dto.*;
 import com.inventory.entity.*;
 import com.inventory.service.BarcodeGeneratorService;
+import com.inventory.service.BulkBarcodeGenerationService;
+import com.inventory.service.BarcodeResolutionIndex;
+import com.inventory.service.BarcodeValidationService;
 import com.inventory.service.ItemBarcodeService;
 import com.inventory.service.UnitOfMeasureService;
 import com.inventory.util.BarcodeMapper;
+import com.inventory.util.BulkJob;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +19,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -35,54 +36,47 @@ public class BarcodeController {
     @Autowired
     private UnitOfMeasureService unitOfMeasureService;
 
+    @Autowired
+    private BarcodeValidationService barcodeValidationService;
+
+    @Autowired
+    private BulkBarcodeGenerationService bulkBarcodeGenerationService;
+
     @Autowired
     private BarcodeMapper barcodeMapper;
 
     /**
-     * Search and list barcodes with filtering
+     * Search and list barcodes with filtering, paginated by an opaque cursor
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<BarcodeResponseDto>>> searchBarcodes(
+    public ResponseEntity<ApiResponse<CursorPage<BarcodeResponseDto>>> searchBarcodes(
             @RequestParam(required = false) String barcode,
             @RequestParam(required = false) String sku,
             @RequestParam(required = false) Long variantId,
             @RequestParam(required = false) BarcodeType type,
             @RequestParam(required = false) BarcodeStatus status,
             @RequestParam(required = false) PackLevel packLevel,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
             HttpServletRequest request) {
 
         try {
             Long tenantId = getCurrentTenantId(request);
-            
-            Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? 
-                Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
-            Pageable pageable = PageRequest.of(page, size, sort);
-
-            Page<ItemBarcode> barcodePage;
-
-            // Handle different search scenarios
-            if (barcode != null && !barcode.trim().isEmpty()) {
-                // Search by barcode
-                List<ItemBarcode> found = itemBarcodeService.searchActiveBarcodes(tenantId, barcode.trim());
-                barcodePage = convertToPage(found, pageable);
-            } else if (variantId != null) {
-                // Get barcodes for specific variant
-                List<ItemBarcode> found = itemBarcodeService.getVariantBarcodes(tenantId, variantId);
-                barcodePage = convertToPage(found, pageable);
-            } else if (status != null) {
-                // Get barcodes by status
-                barcodePage = itemBarcodeService.getBarcodesByStatus(tenantId, status, pageable);
-            } else {
-                // Get all scannable barcodes (default)
-                List<ItemBarcode> found = itemBarcodeService.getScannableBarcodes(tenantId);
-                barcodePage = convertToPage(found, pageable);
-            }
 
-            Page<BarcodeResponseDto> responsePage = barcodePage.map(barcodeMapper::toResponseDto);
+            BarcodeSearchCriteria criteria = BarcodeSearchCriteria.builder()
+                    .barcode(barcode)
+                    .sku(sku)
+                    .variantId(variantId)
+                    .type(type)
+                    .status(status)
+                    .packLevel(packLevel)
+                    .descending(!sortDir.equalsIgnoreCase("asc"))
+                    .build();
+
+            CursorPage<BarcodeResponseDto> responsePage = itemBarcodeService
+                    .searchBarcodes(tenantId, criteria, cursor, size)
+                    .map(barcodeMapper::toResponseDto);
 
             return ResponseEntity.ok(ApiResponse.success(responsePage));
 
@@ -113,6 +107,135 @@ public class BarcodeController {
         }
     }
 
+    /**
+     * Resolve a scanned barcode to its variant and pack level
+     */
+    @GetMapping("/scan/{barcode}")
+    public ResponseEntity<ApiResponse<BarcodeScanResponse>> scanBarcode(
+            @PathVariable String barcode,
+            HttpServletRequest request) {
+
+        return scan(getCurrentTenantId(request), barcode.trim());
+    }
+
+    /**
+     * Resolve raw scanner input, including GS1 element strings with FNC1 separators
+     */
+    @PostMapping("/scan")
+    public ResponseEntity<ApiResponse<BarcodeScanResponse>> scanInput(
+            @Valid @RequestBody ScanBarcodeRequest request,
+            HttpServletRequest httpRequest) {
+
+        return scan(getCurrentTenantId(httpRequest), trimScannerInput(request.getInput()));
+    }
+
+    /**
+     * Strip spaces and line endings added by keyboard-wedge scanners, keeping GS separators
+     */
+    private static String trimScannerInput(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && isScannerPadding(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isScannerPadding(input.charAt(end - 1))) {
+            end--;
+        }
+        return input.substring(start, end);
+    }
+
+    private static boolean isScannerPadding(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private ResponseEntity<ApiResponse<BarcodeScanResponse>> scan(Long tenantId, String input) {
+        try {
+            ItemBarcodeService.ScanResult result = itemBarcodeService.scan(tenantId, input);
+
+            if (result.getResolution().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Barcode not found", "No active barcode matches " + input));
+            }
+
+            BarcodeResolutionIndex.Resolution found = result.getResolution().get();
+            BarcodeScanResponse response = BarcodeScanResponse.builder()
+                    .barcodeId(found.getBarcodeId())
+                    .barcode(found.getBarcode())
+                    .barcodeType(found.getBarcodeType())
+                    .variantId(found.getVariantId())
+                    .packLevel(found.getPackLevel())
+                    .uomId(found.getUomId())
+                    .isPrimary(found.isPrimary())
+                    .gtin(result.getGtin())
+                    .lot(result.getLot())
+                    .serial(result.getSerial())
+                    .expiryDate(result.getExpiryDate())
+                    .build();
+
+            return ResponseEntity.ok(ApiResponse.success(response));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to resolve barcode", e.getMessage()));
+        }
+    }
+
+    /**
+     * Resolve a batch of scanned barcodes in one call (receiving docks, stock count uploads). Codes
+     * resolve to ACTIVE barcodes through the scan index, as single scans do
+     */
+    @PostMapping("/resolve")
+    public ResponseEntity<ApiResponse<ResolveBarcodesResponse>> resolveBarcodes(
+            @Valid @RequestBody ResolveBarcodesRequest request,
+            HttpServletRequest httpRequest) {
+
+        try {
+            Long tenantId = getCurrentTenantId(httpRequest);
+
+            List<String> codes = new ArrayList<>(request.getBarcodes().size());
+            for (String code : request.getBarcodes()) {
+                codes.add(code != null ? code.trim() : "");
+            }
+
+            Map<String, BarcodeResolutionIndex.Resolution> found = itemBarcodeService.resolveScans(tenantId, codes);
+            List<Long> variantIds = new ArrayList<>(found.size());
+            found.values().forEach(resolution -> variantIds.add(resolution.getVariantId()));
+            Map<Long, String> variantSkus = itemBarcodeService.findVariantSkus(tenantId, variantIds);
+
+            List<ResolvedBarcodeDto> results = new ArrayList<>(codes.size());
+            int resolvedCount = 0;
+            int invalidCheckDigitCount = 0;
+            for (String code : codes) {
+                Boolean checkDigitValid = barcodeValidationService.hasGTINCheckDigit(code)
+                        ? barcodeValidationService.isValidCheckDigit(code) : null;
+                if (Boolean.FALSE.equals(checkDigitValid)) {
+                    invalidCheckDigitCount++;
+                }
+
+                BarcodeResolutionIndex.Resolution resolution = found.get(code);
+                if (resolution != null) {
+                    resolvedCount++;
+                }
+                results.add(barcodeMapper.toResolvedDto(code, resolution,
+                        resolution != null ? variantSkus.get(resolution.getVariantId()) : null, checkDigitValid));
+            }
+
+            ResolveBarcodesResponse response = ResolveBarcodesResponse.builder()
+                    .requestedCount(codes.size())
+                    .resolvedCount(resolvedCount)
+                    .unknownCount(codes.size() - resolvedCount)
+                    .invalidCheckDigitCount(invalidCheckDigitCount)
+                    .results(results)
+                    .build();
+
+            return ResponseEntity.ok(ApiResponse.success(response));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to resolve barcodes", e.getMessage()));
+        }
+    }
+
     /**
      * Create barcode for variant
      */
@@ -298,6 +421,53 @@ public class BarcodeController {
         }
     }
 
+    /**
+     * Start bulk GTIN generation for many variants; poll the returned job for progress
+     */
+    @PostMapping("/generate/bulk")
+    public ResponseEntity<ApiResponse<BulkJobResponse<BulkBarcodeResultDto>>> generateBarcodesBulk(
+            @Valid @RequestBody BulkGenerateBarcodesRequest request,
+            HttpServletRequest httpRequest) {
+
+        try {
+            Long tenantId = getCurrentTenantId(httpRequest);
+            Long userId = getCurrentUserId(httpRequest);
+
+            if (request.getUomId() != null) {
+                unitOfMeasureService.getUnitOfMeasure(tenantId, request.getUomId());
+            }
+
+            BulkJob<BulkBarcodeResultDto> job = bulkBarcodeGenerationService.submit(tenantId, userId, request);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Bulk barcode generation started", BulkJobResponse.from(job, false)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to start bulk barcode generation", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress and per-variant results of a bulk generation job
+     */
+    @GetMapping("/generate/bulk/{jobId}")
+    public ResponseEntity<ApiResponse<BulkJobResponse<BulkBarcodeResultDto>>> getBulkGenerationJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "true") boolean includeResults,
+            HttpServletRequest request) {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<BulkBarcodeResultDto>> job = bulkBarcodeGenerationService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Bulk generation job not found", jobId));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(BulkJobResponse.from(job.get(), includeResults)));
+    }
+
     /**
      * Delete barcode
      */
@@ -349,11 +519,4 @@ public class BarcodeController {
         // For now, return a default value - you can implement this based on your auth system
         return 1L; // Placeholder implementation
     }
-
-    private <T> Page<T> convertToPage(List<T> list, Pageable pageable) {
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), list.size());
-        List<T> subList = list.subList(start, end);
-        return new org.springframework.data.domain.PageImpl<>(subList, pageable, list.size());
-    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ApiResponse;
+import com.inventory.service.CatalogExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/catalog/export")
+public class CatalogExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    /**
+     * Stream the tenant's full catalog as NDJSON or CSV, gzip-compressed unless disabled
+     */
+    @GetMapping
+    public ResponseEntity<?> exportCatalog(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "true") boolean gzip,
+            HttpServletRequest request) {
+
+        CatalogExportService.Format exportFormat;
+        try {
+            exportFormat = CatalogExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to export catalog", "Unsupported format: " + format));
+        }
+
+        Long tenantId = getCurrentTenantId(request);
+        String fileName = "catalog-" + tenantId + "." + format.toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == CatalogExportService.Format.CSV ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                catalogExportService.export(tenantId, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                catalogExportService.export(tenantId, exportFormat, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    private Long getCurrentTenantId(HttpServletRequest request) {
+        // This would typically come from authentication context
+        // For now, return a default value - you can implement this based on your auth system
+        return 1L; // Placeholder implementation
+    }
+}
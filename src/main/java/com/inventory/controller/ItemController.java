@@ -0,0 +1,488 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ApiResponse;
+import com.inventory.dto.AttributeFilter;
+import com.inventory.dto.BulkItemStatusRequest;
+import com.inventory.dto.BulkItemStatusResultDto;
+import com.inventory.dto.BulkJobResponse;
+import com.inventory.dto.CursorPage;
+import com.inventory.dto.ItemAttributeImportResultDto;
+import com.inventory.dto.ItemFacetCounts;
+import com.inventory.dto.ItemImportResultDto;
+import com.inventory.dto.ItemPatchRequest;
+import com.inventory.dto.ItemPickerDto;
+import com.inventory.dto.ItemResponseDto;
+import com.inventory.dto.ItemSummaryDto;
+import com.inventory.dto.ItemVariantResponseDto;
+import com.inventory.entity.Item;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.ItemVariant.VariantStatus;
+import com.inventory.entity.UserAccount;
+import com.inventory.service.BulkItemStatusService;
+import com.inventory.service.ItemAttributeImportService;
+import com.inventory.service.ItemImportService;
+import com.inventory.service.ItemService;
+import com.inventory.util.BulkJob;
+import com.inventory.util.ItemMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/catalog/items")
+public class ItemController {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private BulkItemStatusService bulkItemStatusService;
+
+    @Autowired
+    private ItemAttributeImportService itemAttributeImportService;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    /**
+     * List items in (updatedAt, id) order, paginated by an opaque cursor without a total count
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<ItemResponseDto>>> listItems(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            CursorPage<ItemResponseDto> page = itemService
+                    .listItems(tenantId, departmentId, categoryId, brandId, status, updatedSince, cursor, size)
+                    .map(itemMapper::toResponseDto);
+
+            return ResponseEntity.ok(ApiResponse.success(page));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to list items", e.getMessage()));
+        }
+    }
+
+    /**
+     * List item summaries with category, department, brand and unit names, paginated like {@link #listItems}
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<ApiResponse<CursorPage<ItemSummaryDto>>> listItemSummaries(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            CursorPage<ItemSummaryDto> page = itemService.listItemSummaries(
+                    tenantId, departmentId, categoryId, brandId, status, updatedSince, cursor, size);
+
+            return ResponseEntity.ok(ApiResponse.success(page));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to list items", e.getMessage()));
+        }
+    }
+
+    /**
+     * Search item summaries by text, most relevant first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<ItemSummaryDto>>> searchItems(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            Page<ItemSummaryDto> results = itemService.searchItemSummaries(
+                    tenantId, query, departmentId, categoryId, brandId, status, PageRequest.of(page, size));
+
+            return ResponseEntity.ok(ApiResponse.success(results));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to search items", e.getMessage()));
+        }
+    }
+
+    /**
+     * Item summaries with an attribute equal to one of the values, or within a min/max range
+     */
+    @GetMapping("/by-attribute")
+    public ResponseEntity<ApiResponse<Page<ItemSummaryDto>>> findItemsByAttribute(
+            @RequestParam Long attributeId,
+            @RequestParam(value = "value", required = false) List<String> values,
+            @RequestParam(required = false) String min,
+            @RequestParam(required = false) String max,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            AttributeFilter filter = AttributeFilter.builder()
+                    .attributeDefinitionId(attributeId)
+                    .values(values)
+                    .min(min)
+                    .max(max)
+                    .build();
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    itemService.findItemSummariesByAttribute(tenantId, filter, PageRequest.of(page, size))));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to filter items by attribute", e.getMessage()));
+        }
+    }
+
+    /**
+     * Item counts per status, department, category, brand and LIST attribute option for the
+     * items matching the selected values. Attribute selections are given as definitionId:option.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<ItemFacetCounts>> getItemFacets(
+            @RequestParam(value = "status", required = false) List<ItemStatus> statuses,
+            @RequestParam(value = "departmentId", required = false) List<Long> departmentIds,
+            @RequestParam(value = "categoryId", required = false) List<Long> categoryIds,
+            @RequestParam(value = "brandId", required = false) List<Long> brandIds,
+            @RequestParam(value = "attribute", required = false) List<String> attributeOptions,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            return ResponseEntity.ok(ApiResponse.success(itemService.getItemFacets(
+                    tenantId, statuses, departmentIds, categoryIds, brandIds, attributeOptions)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to count item facets", e.getMessage()));
+        }
+    }
+
+    /**
+     * Active item options for a picker, matching an optional query
+     */
+    @GetMapping("/picker")
+    public ResponseEntity<ApiResponse<List<ItemPickerDto>>> pickItems(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            return ResponseEntity.ok(ApiResponse.success(itemService.pickItems(tenantId, query, limit)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to load item options", e.getMessage()));
+        }
+    }
+
+    /**
+     * Update the fields named in the field mask. Responds 409 Conflict if the item changed
+     * after the version the client read.
+     */
+    @PatchMapping("/{itemId}")
+    public ResponseEntity<ApiResponse<ItemResponseDto>> patchItem(
+            @PathVariable Long itemId,
+            @Valid @RequestBody ItemPatchRequest patch,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            UserAccount currentUser = new UserAccount(); // Placeholder
+            currentUser.setId(getCurrentUserId(request));
+
+            Item item = itemService.patchItem(itemId, tenantId, patch, currentUser);
+            return ResponseEntity.ok(ApiResponse.success("Item updated", itemMapper.toResponseDto(item)));
+
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Item was changed by another update; reload it and retry", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Item not found", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to update item", e.getMessage()));
+        }
+    }
+
+    /**
+     * Start moving many items to ACTIVE or DISCONTINUED; poll the returned job for progress
+     */
+    @PostMapping("/status/bulk")
+    public ResponseEntity<ApiResponse<BulkJobResponse<BulkItemStatusResultDto>>> changeStatusBulk(
+            @Valid @RequestBody BulkItemStatusRequest request,
+            HttpServletRequest httpRequest) {
+
+        try {
+            Long tenantId = getCurrentTenantId(httpRequest);
+            Long userId = getCurrentUserId(httpRequest);
+
+            BulkJob<BulkItemStatusResultDto> job = bulkItemStatusService.submit(tenantId, userId, request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Item status change started", BulkJobResponse.from(job, false)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to start item status change", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress and failed items of a bulk status change job
+     */
+    @GetMapping("/status/bulk/{jobId}")
+    public ResponseEntity<ApiResponse<BulkJobResponse<BulkItemStatusResultDto>>> getStatusJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "false") boolean includeResults,
+            HttpServletRequest request) {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<BulkItemStatusResultDto>> job = bulkItemStatusService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Item status job not found", jobId));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(BulkJobResponse.from(job.get(), includeResults)));
+    }
+
+    /**
+     * List variants of all items in (updatedAt, id) order, paginated by an opaque cursor
+     */
+    @GetMapping("/variants")
+    public ResponseEntity<ApiResponse<CursorPage<ItemVariantResponseDto>>> listVariants(
+            @RequestParam(required = false) VariantStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request) {
+
+        return variantPage(getCurrentTenantId(request), null, status, updatedSince, cursor, size);
+    }
+
+    /**
+     * List the variants of one item, paginated by an opaque cursor
+     */
+    @GetMapping("/{itemId}/variants")
+    public ResponseEntity<ApiResponse<CursorPage<ItemVariantResponseDto>>> listItemVariants(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) VariantStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request) {
+
+        return variantPage(getCurrentTenantId(request), itemId, status, null, cursor, size);
+    }
+
+    /**
+     * Start importing items from a CSV file; poll the returned job for progress
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<BulkJobResponse<ItemImportResultDto>>> importItems(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean skipExisting,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            Long userId = getCurrentUserId(request);
+
+            BulkJob<ItemImportResultDto> job;
+            try (InputStream csv = file.getInputStream()) {
+                job = itemImportService.submit(tenantId, userId, csv, skipExisting);
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Item import started", BulkJobResponse.from(job, false)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to start item import", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress and failed or skipped rows of an import job
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<BulkJobResponse<ItemImportResultDto>>> getImportJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "false") boolean includeResults,
+            HttpServletRequest request) {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<ItemImportResultDto>> job = itemImportService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Item import job not found", jobId));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(BulkJobResponse.from(job.get(), includeResults)));
+    }
+
+    /**
+     * Download the failed and skipped rows of an import job as CSV
+     */
+    @GetMapping(value = "/import/{jobId}/report", produces = "text/csv")
+    public ResponseEntity<String> getImportReport(
+            @PathVariable String jobId,
+            HttpServletRequest request) throws IOException {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<ItemImportResultDto>> job = itemImportService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StringWriter report = new StringWriter();
+        itemImportService.writeReport(job.get(), report);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"item-import-" + jobId + "-report.csv\"")
+                .body(report.toString());
+    }
+
+    /**
+     * Start upserting attribute values from a CSV file of sku, attribute_code and value; poll the returned job for progress
+     */
+    @PostMapping(value = "/attributes/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<BulkJobResponse<ItemAttributeImportResultDto>>> importAttributes(
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request) {
+
+        try {
+            Long tenantId = getCurrentTenantId(request);
+            Long userId = getCurrentUserId(request);
+
+            BulkJob<ItemAttributeImportResultDto> job;
+            try (InputStream csv = file.getInputStream()) {
+                job = itemAttributeImportService.submit(tenantId, userId, csv);
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Attribute import started", BulkJobResponse.from(job, false)));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to start attribute import", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress, throughput and failed rows of an attribute import job
+     */
+    @GetMapping("/attributes/import/{jobId}")
+    public ResponseEntity<ApiResponse<BulkJobResponse<ItemAttributeImportResultDto>>> getAttributeImportJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "false") boolean includeResults,
+            HttpServletRequest request) {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<ItemAttributeImportResultDto>> job = itemAttributeImportService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Attribute import job not found", jobId));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(BulkJobResponse.from(job.get(), includeResults)));
+    }
+
+    /**
+     * Download the failed rows of an attribute import job as CSV
+     */
+    @GetMapping(value = "/attributes/import/{jobId}/report", produces = "text/csv")
+    public ResponseEntity<String> getAttributeImportReport(
+            @PathVariable String jobId,
+            HttpServletRequest request) throws IOException {
+
+        Long tenantId = getCurrentTenantId(request);
+        Optional<BulkJob<ItemAttributeImportResultDto>> job = itemAttributeImportService.getJob(tenantId, jobId);
+
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StringWriter report = new StringWriter();
+        itemAttributeImportService.writeReport(job.get(), report);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"item-attribute-import-" + jobId + "-report.csv\"")
+                .body(report.toString());
+    }
+
+    private ResponseEntity<ApiResponse<CursorPage<ItemVariantResponseDto>>> variantPage(
+            Long tenantId, Long itemId, VariantStatus status, LocalDateTime updatedSince, String cursor, int size) {
+
+        try {
+            CursorPage<ItemVariantResponseDto> page = itemService
+                    .listVariants(tenantId, itemId, status, updatedSince, cursor, size)
+                    .map(itemMapper::toResponseDto);
+
+            return ResponseEntity.ok(ApiResponse.success(page));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to list variants", e.getMessage()));
+        }
+    }
+
+    private Long getCurrentTenantId(HttpServletRequest request) {
+        // This would typically come from authentication context
+        // For now, return a default value - you can implement this based on your auth system
+        return 1L; // Placeholder implementation
+    }
+
+    private Long getCurrentUserId(HttpServletRequest request) {
+        // This would typically come from authentication context
+        // For now, return a default value - you can implement this based on your auth system
+        return 1L; // Placeholder implementation
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A filter on one attribute: either a set of values to match, or a range with optional
+ * bounds. Values are given as text and parsed as the attribute's data type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttributeFilter {
+
+    private Long attributeDefinitionId;
+
+    /** Match any of these values; takes precedence over min and max */
+    private List<String> values;
+
+    /** Inclusive lower bound for NUMBER and DATE attributes */
+    private String min;
+
+    /** Inclusive upper bound for NUMBER and DATE attributes */
+    private String max;
+}
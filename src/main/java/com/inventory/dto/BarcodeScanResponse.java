@@ -0,0 +1,40 @@
+package com.inventory.dto;
+
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.PackLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BarcodeScanResponse {
+
+    private Long barcodeId;
+
+    private String barcode;
+
+    private BarcodeType barcodeType;
+
+    private Long variantId;
+
+    private PackLevel packLevel;
+
+    private Long uomId;
+
+    private Boolean isPrimary;
+
+    // GS1 elements carried in the scanned data, when it was an element string
+    private String gtin;
+
+    private String lot;
+
+    private String serial;
+
+    private LocalDate expiryDate;
+}
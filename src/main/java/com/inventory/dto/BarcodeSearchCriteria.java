@@ -0,0 +1,33 @@
+package com.inventory.dto;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.PackLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BarcodeSearchCriteria {
+
+    /** Partial barcode, matched anywhere in the code */
+    private String barcode;
+
+    /** Exact variant or item SKU */
+    private String sku;
+
+    private Long variantId;
+
+    private BarcodeType type;
+
+    private BarcodeStatus status;
+
+    private PackLevel packLevel;
+
+    /** Newest first unless false */
+    private Boolean descending;
+}
@@ -0,0 +1,23 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBarcodeResultDto {
+
+    private Long variantId;
+
+    private String barcode;
+
+    private boolean success;
+
+    private Boolean isPrimary;
+
+    private String error;
+}
@@ -0,0 +1,41 @@
+package com.inventory.dto;
+
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.PackLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkGenerateBarcodesRequest {
+
+    @NotEmpty(message = "At least one variant ID is required")
+    @Size(max = 100000, message = "Cannot generate more than 100000 barcodes per job")
+    private List<Long> variantIds;
+
+    @NotNull(message = "Barcode type is required")
+    private BarcodeType barcodeType;
+
+    @Builder.Default
+    private PackLevel packLevel = PackLevel.EACH;
+
+    private Long uomId;
+
+    /** Make the new barcode primary when the variant has no primary for the pack level yet */
+    @Builder.Default
+    private Boolean setPrimary = true;
+
+    @Builder.Default
+    private Boolean activate = true;
+
+    private Long labelTemplateId;
+}
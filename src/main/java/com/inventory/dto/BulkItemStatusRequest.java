@@ -0,0 +1,26 @@
+package com.inventory.dto;
+
+import com.inventory.entity.Item.ItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemStatusRequest {
+
+    @NotEmpty(message = "At least one item ID is required")
+    @Size(max = 100000, message = "Cannot change the status of more than 100000 items per job")
+    private List<Long> itemIds;
+
+    @NotNull(message = "Target status is required")
+    private ItemStatus targetStatus;
+}
@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import com.inventory.entity.Item.ItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemStatusResultDto {
+
+    private Long itemId;
+
+    private String sku;
+
+    private boolean success;
+
+    /** Status the item had when the job checked it */
+    private ItemStatus previousStatus;
+
+    private String error;
+}
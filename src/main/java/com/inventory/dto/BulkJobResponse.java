@@ -0,0 +1,62 @@
+package com.inventory.dto;
+
+import com.inventory.util.BulkJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkJobResponse<R> {
+
+    private String jobId;
+
+    private String type;
+
+    private BulkJob.Status status;
+
+    private Integer total;
+
+    private Integer processed;
+
+    private Integer succeeded;
+
+    private Integer failed;
+
+    private Double rowsPerSecond;
+
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /** Per-row results; omitted while polling unless requested */
+    private List<R> results;
+
+    public static <R> BulkJobResponse<R> from(BulkJob<R> job, boolean includeResults) {
+        return BulkJobResponse.<R>builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .succeeded(job.getSucceeded())
+                .failed(job.getFailed())
+                .rowsPerSecond(job.getRowsPerSecond())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .results(includeResults ? job.getResults() : null)
+                .build();
+    }
+}
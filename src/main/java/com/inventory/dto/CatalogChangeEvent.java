@@ -0,0 +1,43 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a catalog aggregate, read from the outbox and handed to each sink.
+ * Events of one aggregate are delivered in the order they were committed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChangeEvent {
+
+    /** Outbox sequence number; increases with commit order for any one aggregate */
+    private Long id;
+
+    private Long tenantId;
+
+    private AggregateType aggregateType;
+
+    private Long aggregateId;
+
+    private EventType eventType;
+
+    /** JSON object of the fields consumers key on, such as SKU, code and status */
+    private String payload;
+
+    private LocalDateTime occurredAt;
+
+    public enum AggregateType {
+        ITEM, VARIANT, BARCODE, CATEGORY, BRAND
+    }
+
+    public enum EventType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private Integer size;
+
+    private Boolean hasMore;
+
+    /** Pass as {@code cursor} to fetch the next page; null on the last page */
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(content.size());
+        for (T element : content) {
+            mapped.add(mapper.apply(element));
+        }
+        return new CursorPage<>(mapped, size, hasMore, nextCursor);
+    }
+}
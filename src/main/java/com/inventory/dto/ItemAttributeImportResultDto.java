@@ -0,0 +1,24 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemAttributeImportResultDto {
+
+    /** 1-based number of the record in the uploaded file, counting the header */
+    private Integer rowNumber;
+
+    private String sku;
+
+    private String attributeCode;
+
+    private boolean success;
+
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemFacetCounts {
+
+    /** Items matching every selected facet */
+    private int total;
+
+    /**
+     * Item count per value of each facet (status, department, category, brand and
+     * attribute:{definitionId}), most frequent first. A facet's own selection is left out
+     * of its counts, so the other values of a selected facet keep their counts.
+     */
+    private Map<String, Map<String, Integer>> facets;
+}
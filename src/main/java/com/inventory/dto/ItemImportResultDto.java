@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportResultDto {
+
+    /** 1-based number of the record in the uploaded file, counting the header */
+    private Integer rowNumber;
+
+    private String sku;
+
+    private boolean success;
+
+    /** True when the SKU already existed and the row was left unchanged */
+    private Boolean skipped;
+
+    private String error;
+}
@@ -0,0 +1,80 @@
+package com.inventory.dto;
+
+import com.inventory.entity.Item.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Partial item update. Only the fields named in {@code fieldMask} are applied, including
+ * fields set to null; all other fields are ignored. {@code version} is the item version
+ * the client last read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemPatchRequest {
+
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    @NotEmpty(message = "Field mask is required")
+    private Set<String> fieldMask;
+
+    private String sku;
+
+    private String name;
+
+    private String shortName;
+
+    private String description;
+
+    private ItemType itemType;
+
+    private Long categoryId;
+
+    private Long departmentId;
+
+    private Long brandId;
+
+    private Long baseUomId;
+
+    private Long sellUomId;
+
+    private Long buyUomId;
+
+    private String taxClass;
+
+    private String hsCode;
+
+    private String countryOfOrigin;
+
+    private Boolean isSerialized;
+
+    private Boolean isLotTracked;
+
+    private Integer shelfLifeDays;
+
+    private Integer safetyStockDefault;
+
+    private Integer reorderPointDefault;
+
+    private Integer reorderQuantityDefault;
+
+    private BigDecimal standardCost;
+
+    private BigDecimal basePrice;
+
+    private String metaTitle;
+
+    private String metaDescription;
+
+    private String searchKeywords;
+}
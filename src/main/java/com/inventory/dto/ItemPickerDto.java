@@ -0,0 +1,24 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item picker option. Field order matches the constructor expressions in {@code ItemRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemPickerDto {
+
+    private Long id;
+
+    private String sku;
+
+    private String name;
+
+    private String baseUomCode;
+}
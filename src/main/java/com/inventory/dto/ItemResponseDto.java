@@ -0,0 +1,53 @@
+package com.inventory.dto;
+
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.Item.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemResponseDto {
+
+    private Long id;
+
+    private String sku;
+
+    private String name;
+
+    private String shortName;
+
+    private String description;
+
+    private ItemType itemType;
+
+    private ItemStatus status;
+
+    private Long categoryId;
+
+    private Long departmentId;
+
+    private Long brandId;
+
+    private Long baseUomId;
+
+    private String taxClass;
+
+    private BigDecimal basePrice;
+
+    private Integer variantCount;
+
+    /** Send back as {@code version} when patching, to detect concurrent edits */
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
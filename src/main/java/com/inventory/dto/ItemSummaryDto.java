@@ -0,0 +1,52 @@
+package com.inventory.dto;
+
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.Item.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Item list and search row, read by a single query with the displayed names joined in.
+ * Field order matches the constructor expressions in {@code ItemRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemSummaryDto {
+
+    private Long id;
+
+    private String sku;
+
+    private String name;
+
+    private String shortName;
+
+    private ItemType itemType;
+
+    private ItemStatus status;
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private Long departmentId;
+
+    private String departmentName;
+
+    private Long brandId;
+
+    private String brandName;
+
+    private String baseUomCode;
+
+    private BigDecimal basePrice;
+
+    private LocalDateTime updatedAt;
+}
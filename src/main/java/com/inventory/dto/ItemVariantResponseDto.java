@@ -0,0 +1,46 @@
+package com.inventory.dto;
+
+import com.inventory.entity.ItemVariant.VariantStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemVariantResponseDto {
+
+    private Long id;
+
+    private Long itemId;
+
+    private String variantSku;
+
+    private String name;
+
+    private String upc;
+
+    private String ean;
+
+    private String gtin;
+
+    private VariantStatus status;
+
+    private Boolean isActiveForSale;
+
+    private Boolean isActiveForPurchase;
+
+    private BigDecimal basePrice;
+
+    /** Optimistic locking version; increases with every update */
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResolveBarcodesRequest {
+
+    @NotEmpty(message = "At least one barcode is required")
+    @Size(max = 10000, message = "Cannot resolve more than 10000 barcodes per request")
+    private List<String> barcodes;
+}
@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResolveBarcodesResponse {
+
+    private Integer requestedCount;
+
+    private Integer resolvedCount;
+
+    private Integer unknownCount;
+
+    private Integer invalidCheckDigitCount;
+
+    private List<ResolvedBarcodeDto> results;
+}
@@ -0,0 +1,39 @@
+package com.inventory.dto;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.PackLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResolvedBarcodeDto {
+
+    private String barcode;
+
+    private boolean found;
+
+    private Long barcodeId;
+
+    private Long variantId;
+
+    private String variantSku;
+
+    private BarcodeType barcodeType;
+
+    private PackLevel packLevel;
+
+    private Long uomId;
+
+    private BarcodeStatus status;
+
+    private Boolean isPrimary;
+
+    /** Null when the code is not a GTIN-8/12/13/14, so no check digit applies */
+    private Boolean checkDigitValid;
+}
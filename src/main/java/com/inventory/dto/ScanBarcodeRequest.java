@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScanBarcodeRequest {
+
+    @NotBlank(message = "Scanner input is required")
+    @Size(max = 512, message = "Scanner input cannot exceed 512 characters")
+    private String input;
+}
@@ -154,7 +154,13 @@ public class GS1Configuration {
             throw new IllegalStateException("No available GTINs for prefix: " + gs1Prefix);
         }
         
-        long sequence = getNextSequenceAndIncrement();
+        return formatGTIN13(gs1Prefix, getNextSequenceAndIncrement());
+    }
+    
+    /**
+     * Build the GTIN-13 for a prefix and an already allocated sequence number.
+     */
+    public static String formatGTIN13(String gs1Prefix, long sequence) {
         String itemReference = String.format("%0" + (12 - gs1Prefix.length()) + "d", sequence);
         String gtin12 = gs1Prefix + itemReference;
         
@@ -163,6 +169,18 @@ public class GS1Configuration {
         return gtin12 + checkDigit;
     }
     
+    /**
+     * Build the GTIN-14 for a prefix, an already allocated sequence number and a packaging indicator.
+     */
+    public static String formatGTIN14(String gs1Prefix, long sequence, int packagingIndicator) {
+        if (packagingIndicator < 1 || packagingIndicator > 9) {
+            throw new IllegalArgumentException("Packaging indicator must be 1-9");
+        }
+        
+        String gtin13WithIndicator = packagingIndicator + formatGTIN13(gs1Prefix, sequence).substring(0, 12);
+        return gtin13WithIndicator + calculateGTINCheckDigit(gtin13WithIndicator);
+    }
+    
     /**
      * Generate a GTIN-14 (ITF-14) using this prefix configuration.
      */
@@ -183,7 +201,7 @@ public class GS1Configuration {
     /**
      * Calculate GTIN check digit using Mod-10 algorithm.
      */
-    private int calculateGTINCheckDigit(String digits) {
+    private static int calculateGTINCheckDigit(String digits) {
         int sum = 0;
         boolean odd = true;
         
@@ -5,6 +5,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -17,6 +18,7 @@ import java.util.Set;
  * Items can be simple items or parent items with variants
  */
 @Entity
+@DynamicUpdate
 @Table(name = "item", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "sku"}),
        indexes = {
@@ -25,7 +27,10 @@ import java.util.Set;
            @Index(name = "idx_item_department", columnList = "department_id"),
            @Index(name = "idx_item_brand", columnList = "brand_id"),
            @Index(name = "idx_item_type", columnList = "item_type"),
-           @Index(name = "idx_item_status_type", columnList = "status, item_type")
+           @Index(name = "idx_item_status_type", columnList = "status, item_type"),
+           @Index(name = "idx_item_tenant_updated", columnList = "tenant_id, updated_at"),
+           @Index(name = "idx_item_cat_updated", columnList = "category_id, updated_at"),
+           @Index(name = "idx_item_tenant_status_variants", columnList = "tenant_id, status, variant_count")
        })
 public class Item {
 
@@ -137,6 +142,16 @@ public class Item {
     @Enumerated(EnumType.STRING)
     private ItemStatus status = ItemStatus.DRAFT;
 
+    // Left null until persisted so Spring Data treats unsaved entities as new
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Maintained by ItemService with atomic updates as variants are created and deleted
+    @Column(name = "variant_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "int default 0")
+    private Integer variantCount = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -421,6 +436,22 @@ public class Item {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Integer getVariantCount() {
+        return variantCount;
+    }
+
+    public void setVariantCount(Integer variantCount) {
+        this.variantCount = variantCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -509,7 +540,7 @@ public class Item {
     // }
 
     public boolean hasVariants() {
-        return !variants.isEmpty();
+        return variantCount != null && variantCount > 0;
     }
 
     public boolean isParentItem() {
@@ -592,6 +623,21 @@ public class Item {
     public enum ItemStatus {
         DRAFT,        // Item being created/edited
         ACTIVE,       // Active item available for sale
-        DISCONTINUED  // Discontinued item
+        DISCONTINUED; // Discontinued item
+
+        /**
+         * Check if an item in this status may be moved to another status. Items are only
+         * activated from DRAFT, and discontinued items stay discontinued.
+         */
+        public boolean canTransitionTo(ItemStatus newStatus) {
+            switch (this) {
+                case DRAFT:
+                    return newStatus == ACTIVE;
+                case ACTIVE:
+                    return newStatus == DISCONTINUED;
+                default:
+                    return false;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.inventory.entity;
 
+import com.inventory.util.TypedAttributeValue;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -17,7 +21,11 @@ import java.time.LocalDateTime;
        uniqueConstraints = @UniqueConstraint(columnNames = {"item_id", "attribute_definition_id"}),
        indexes = {
            @Index(name = "idx_item_attr_tenant", columnList = "tenant_id"),
-           @Index(name = "idx_item_attr_def", columnList = "attribute_definition_id")
+           @Index(name = "idx_item_attr_def", columnList = "attribute_definition_id"),
+           @Index(name = "idx_item_attr_number", columnList = "tenant_id, attribute_definition_id, value_number, item_id"),
+           @Index(name = "idx_item_attr_date", columnList = "tenant_id, attribute_definition_id, value_date, item_id"),
+           @Index(name = "idx_item_attr_boolean", columnList = "tenant_id, attribute_definition_id, value_boolean, item_id"),
+           @Index(name = "idx_item_attr_option", columnList = "tenant_id, attribute_definition_id, value_option, item_id")
        })
 public class ItemAttributeValue {
 
@@ -44,6 +52,19 @@ public class ItemAttributeValue {
     @NotBlank
     private String value;
 
+    // Typed copies of value for indexed filters, set from the definition's data type on save
+    @Column(name = "value_number", precision = 20, scale = 6)
+    private BigDecimal valueNumber;
+
+    @Column(name = "value_date")
+    private LocalDate valueDate;
+
+    @Column(name = "value_boolean")
+    private Boolean valueBoolean;
+
+    @Column(name = "value_option", length = TypedAttributeValue.MAX_OPTION_LENGTH)
+    private String valueOption;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -111,6 +132,22 @@ public class ItemAttributeValue {
         this.value = value;
     }
 
+    public BigDecimal getValueNumber() {
+        return valueNumber;
+    }
+
+    public LocalDate getValueDate() {
+        return valueDate;
+    }
+
+    public Boolean getValueBoolean() {
+        return valueBoolean;
+    }
+
+    public String getValueOption() {
+        return valueOption;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -143,6 +180,20 @@ public class ItemAttributeValue {
         this.updatedBy = updatedBy;
     }
 
+    // Lifecycle callbacks
+    @PrePersist
+    @PreUpdate
+    public void syncTypedValue() {
+        if (attributeDefinition == null) {
+            return;
+        }
+        TypedAttributeValue typed = TypedAttributeValue.of(attributeDefinition.getDataType(), value);
+        this.valueNumber = typed.getNumber();
+        this.valueDate = typed.getDate();
+        this.valueBoolean = typed.getBoolean();
+        this.valueOption = typed.getOption();
+    }
+
     // Utility methods
     public String getAttributeCode() {
         return attributeDefinition != null ? attributeDefinition.getCode() : null;
@@ -5,6 +5,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -17,6 +18,7 @@ import java.util.Set;
  * Variants are the actual sellable units with specific attributes like color, size, etc.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "item_variant", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "variant_sku"}),
        indexes = {
@@ -25,7 +27,8 @@ import java.util.Set;
            @Index(name = "idx_variant_upc", columnList = "upc"),
            @Index(name = "idx_variant_ean", columnList = "ean"),
            @Index(name = "idx_variant_gtin", columnList = "gtin"),
-           @Index(name = "idx_variant_status_active", columnList = "status, is_active_for_sale, is_active_for_purchase")
+           @Index(name = "idx_variant_status_active", columnList = "status, is_active_for_sale, is_active_for_purchase"),
+           @Index(name = "idx_variant_tenant_updated", columnList = "tenant_id, updated_at")
        })
 public class ItemVariant {
 
@@ -145,6 +148,11 @@ public class ItemVariant {
     @Enumerated(EnumType.STRING)
     private VariantStatus status = VariantStatus.ACTIVE;
 
+    // Left null until persisted so Spring Data treats unsaved entities as new
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -450,6 +458,14 @@ public class ItemVariant {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -89,4 +89,12 @@ public interface AttributeSetRepository extends JpaRepository<AttributeSet, Long
      * Delete attribute set by category and attribute definition
      */
     void deleteByCategory_IdAndAttributeDefinition_Id(Long categoryId, Long attributeDefinitionId);
-}
\ No newline at end of file
+
+    /**
+     * Category id, definition id, code, name and data type, required for variants, required,
+     * and display order of every attribute set of a tenant, for the category attribute index
+     */
+    @Query("SELECT s.category.id, d.id, d.code, d.name, d.dataType, s.isRequiredForVariants, d.isRequired, s.displayOrder " +
+           "FROM AttributeSet s JOIN s.attributeDefinition d WHERE s.tenant.id = :tenantId ORDER BY s.displayOrder, s.id")
+    List<Object[]> findIndexRows(@Param("tenantId") Long tenantId);
+}
@@ -92,4 +92,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     @Query("SELECT c FROM Category c JOIN c.attributeSets ast WHERE c.tenant.id = :tenantId AND ast.id = :attributeSetId")
     List<Category> findByTenant_IdAndAttributeSet_Id(@Param("tenantId") Long tenantId, @Param("attributeSetId") Long attributeSetId);
-}
\ No newline at end of file
+
+    /**
+     * Id and parent id of every category of a tenant, for the category attribute index
+     */
+    @Query("SELECT c.id, p.id FROM Category c LEFT JOIN c.parent p WHERE c.tenant.id = :tenantId")
+    List<Object[]> findHierarchyRows(@Param("tenantId") Long tenantId);
+}
@@ -4,6 +4,7 @@ import com.inventory.entity.GS1Configuration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -80,6 +81,16 @@ public interface GS1ConfigurationRepository extends JpaRepository<GS1Configurati
     /**
      * Update next sequence number (for atomic GTIN generation)
      */
+    @Modifying
     @Query("UPDATE GS1Configuration gc SET gc.nextSequence = gc.nextSequence + 1 WHERE gc.id = :id AND gc.nextSequence <= gc.prefixCapacity")
     int incrementSequence(@Param("id") Long id);
+
+    /**
+     * Move the next sequence from an expected value to a new one in a single conditional update.
+     * Returns 0 when another node changed the sequence first or the new value exceeds capacity.
+     */
+    @Modifying
+    @Query("UPDATE GS1Configuration gc SET gc.nextSequence = :newNext, gc.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE gc.id = :id AND gc.nextSequence = :expected AND :newNext <= gc.prefixCapacity + 1")
+    int compareAndSetNextSequence(@Param("id") Long id, @Param("expected") Long expected, @Param("newNext") Long newNext);
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.inventory.repository;
 
 import com.inventory.entity.ItemAttributeValue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -83,6 +87,96 @@ public interface ItemAttributeValueRepository extends JpaRepository<ItemAttribut
                                           @Param("values") List<String> values,
                                           @Param("attributeCount") long attributeCount);
 
+    // Typed filters; each is a range scan over one (tenant, attribute, typed value, item) index
+
+    /**
+     * Items whose number attribute lies within the bounds; a null bound leaves that side open
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueNumber IS NOT NULL " +
+           "AND (:min IS NULL OR v.valueNumber >= :min) " +
+           "AND (:max IS NULL OR v.valueNumber <= :max)")
+    List<Long> findItemIdsByNumberRange(@Param("tenantId") Long tenantId,
+                                        @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                        @Param("min") BigDecimal min,
+                                        @Param("max") BigDecimal max);
+
+    /**
+     * Items whose number attribute equals one of the values
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueNumber IN :values")
+    List<Long> findItemIdsByNumberIn(@Param("tenantId") Long tenantId,
+                                     @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                     @Param("values") Collection<BigDecimal> values);
+
+    /**
+     * Items whose date attribute lies within the bounds; a null bound leaves that side open
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueDate IS NOT NULL " +
+           "AND (:min IS NULL OR v.valueDate >= :min) " +
+           "AND (:max IS NULL OR v.valueDate <= :max)")
+    List<Long> findItemIdsByDateRange(@Param("tenantId") Long tenantId,
+                                      @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                      @Param("min") LocalDate min,
+                                      @Param("max") LocalDate max);
+
+    /**
+     * Items whose date attribute equals one of the values
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueDate IN :values")
+    List<Long> findItemIdsByDateIn(@Param("tenantId") Long tenantId,
+                                   @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                   @Param("values") Collection<LocalDate> values);
+
+    /**
+     * Items whose boolean attribute has the value
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueBoolean = :value")
+    List<Long> findItemIdsByBoolean(@Param("tenantId") Long tenantId,
+                                    @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                    @Param("value") Boolean value);
+
+    /**
+     * Items whose list attribute is one of the options
+     */
+    @Query("SELECT v.item.id FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId " +
+           "AND v.attributeDefinition.id = :attributeDefinitionId " +
+           "AND v.valueOption IN :values")
+    List<Long> findItemIdsByOptionIn(@Param("tenantId") Long tenantId,
+                                     @Param("attributeDefinitionId") Long attributeDefinitionId,
+                                     @Param("values") Collection<String> values);
+
+    /**
+     * Ids of the attribute definitions an item has values for
+     */
+    @Query("SELECT v.attributeDefinition.id FROM ItemAttributeValue v WHERE v.item.id = :itemId")
+    List<Long> findAttributeDefinitionIdsByItem(@Param("itemId") Long itemId);
+
+    /**
+     * List attribute options of a tenant's items in value id order, one keyset page at a time:
+     * value id, item id, attribute definition id and option
+     */
+    @Query("SELECT v.id, v.item.id, v.attributeDefinition.id, v.valueOption FROM ItemAttributeValue v " +
+           "WHERE v.tenant.id = :tenantId AND v.valueOption IS NOT NULL AND v.id > :afterId ORDER BY v.id")
+    List<Object[]> findFacetIndexRows(@Param("tenantId") Long tenantId,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
     /**
      * Delete all attribute values for an item
      */
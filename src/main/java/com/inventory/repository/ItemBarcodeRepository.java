@@ -11,6 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,32 @@ public interface ItemBarcodeRepository extends JpaRepository<ItemBarcode, Long>
      */
     Optional<ItemBarcode> findByTenantIdAndBarcode(Long tenantId, String barcode);
 
+    /**
+     * Find barcodes by code in any status, with their variants, to confirm scan resolution misses
+     */
+    @Query("SELECT ib FROM ItemBarcode ib JOIN FETCH ib.variant WHERE ib.tenantId = :tenantId AND ib.barcode IN :barcodes")
+    List<ItemBarcode> findByTenantIdAndBarcodeIn(@Param("tenantId") Long tenantId, @Param("barcodes") Collection<String> barcodes);
+
+    /**
+     * Return which of the given codes already exist for the tenant, in any status
+     */
+    @Query("SELECT ib.barcode FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.barcode IN :barcodes")
+    List<String> findExistingBarcodes(@Param("tenantId") Long tenantId, @Param("barcodes") Collection<String> barcodes);
+
+    /**
+     * Return the id and code of each of the given codes that exists for the tenant
+     */
+    @Query("SELECT ib.id, ib.barcode FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.barcode IN :barcodes")
+    List<Object[]> findIdsByBarcode(@Param("tenantId") Long tenantId, @Param("barcodes") Collection<String> barcodes);
+
+    /**
+     * Return which of the given variants already have a primary barcode for the pack level
+     */
+    @Query("SELECT ib.variant.id FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.packLevel = :packLevel " +
+           "AND ib.isPrimary = true AND ib.variant.id IN :variantIds")
+    List<Long> findVariantIdsWithPrimary(@Param("tenantId") Long tenantId, @Param("packLevel") PackLevel packLevel,
+                                         @Param("variantIds") Collection<Long> variantIds);
+
     /**
      * Find all barcodes for a variant
      */
@@ -48,6 +76,15 @@ public interface ItemBarcodeRepository extends JpaRepository<ItemBarcode, Long>
     @Query("SELECT ib FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.status = 'ACTIVE'")
     List<ItemBarcode> findScannableBarcodes(@Param("tenantId") Long tenantId);
 
+    /**
+     * Load the scan-resolution fields of all ACTIVE barcodes for a tenant without materializing entities.
+     * Columns: id, barcode, variant id, pack level, uom id, is primary, barcode type.
+     */
+    @Query("SELECT ib.id, ib.barcode, ib.variant.id, ib.packLevel, uom.id, ib.isPrimary, ib.barcodeType " +
+           "FROM ItemBarcode ib LEFT JOIN ib.unitOfMeasure uom " +
+           "WHERE ib.tenantId = :tenantId AND ib.status = 'ACTIVE'")
+    List<Object[]> findActiveBarcodeResolutionRows(@Param("tenantId") Long tenantId);
+
     /**
      * Check if barcode exists for tenant (excluding specific ID)
      */
@@ -78,8 +115,63 @@ public interface ItemBarcodeRepository extends JpaRepository<ItemBarcode, Long>
     List<ItemBarcode> findByTenantIdAndPackLevelOrderByCreatedAtDesc(Long tenantId, PackLevel packLevel);
 
     /**
-     * Search barcodes by partial barcode match
+     * Shared filters of the barcode search; every filter is skipped when its parameter is null.
+     * Variant, item and unit of measure are fetched in the same statement.
+     */
+    String SEARCH_BARCODES =
+            "SELECT ib FROM ItemBarcode ib JOIN FETCH ib.variant v JOIN FETCH v.item i LEFT JOIN FETCH ib.unitOfMeasure u " +
+            "WHERE ib.tenantId = :tenantId " +
+            "AND (:variantId IS NULL OR v.id = :variantId) " +
+            "AND (:sku IS NULL OR v.variantSku = :sku OR i.sku = :sku) " +
+            "AND (:type IS NULL OR ib.barcodeType = :type) " +
+            "AND (:status IS NULL OR ib.status = :status) " +
+            "AND (:packLevel IS NULL OR ib.packLevel = :packLevel) " +
+            "AND (:barcodePattern IS NULL OR ib.barcode LIKE :barcodePattern ESCAPE '!') " +
+            "AND (:restrictIds = false OR ib.id IN :ids) ";
+
+    /**
+     * Keyset page of barcodes, newest first, after the given (createdAt, id) position
+     */
+    @Query(SEARCH_BARCODES +
+           "AND (:afterCreatedAt IS NULL OR ib.createdAt < :afterCreatedAt " +
+           "     OR (ib.createdAt = :afterCreatedAt AND ib.id < :afterId)) " +
+           "ORDER BY ib.createdAt DESC, ib.id DESC")
+    List<ItemBarcode> searchBarcodesDescending(@Param("tenantId") Long tenantId,
+                                               @Param("variantId") Long variantId,
+                                               @Param("sku") String sku,
+                                               @Param("type") BarcodeType type,
+                                               @Param("status") BarcodeStatus status,
+                                               @Param("packLevel") PackLevel packLevel,
+                                               @Param("barcodePattern") String barcodePattern,
+                                               @Param("restrictIds") boolean restrictIds,
+                                               @Param("ids") Collection<Long> ids,
+                                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    /**
+     * Keyset page of barcodes, oldest first, after the given (createdAt, id) position
+     */
+    @Query(SEARCH_BARCODES +
+           "AND (:afterCreatedAt IS NULL OR ib.createdAt > :afterCreatedAt " +
+           "     OR (ib.createdAt = :afterCreatedAt AND ib.id > :afterId)) " +
+           "ORDER BY ib.createdAt ASC, ib.id ASC")
+    List<ItemBarcode> searchBarcodesAscending(@Param("tenantId") Long tenantId,
+                                              @Param("variantId") Long variantId,
+                                              @Param("sku") String sku,
+                                              @Param("type") BarcodeType type,
+                                              @Param("status") BarcodeStatus status,
+                                              @Param("packLevel") PackLevel packLevel,
+                                              @Param("barcodePattern") String barcodePattern,
+                                              @Param("restrictIds") boolean restrictIds,
+                                              @Param("ids") Collection<Long> ids,
+                                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    /**
+     * Load ACTIVE barcodes by id, e.g. the matches of a partial-code search
      */
-    @Query("SELECT ib FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.barcode LIKE %:barcode% AND ib.status = 'ACTIVE'")
-    List<ItemBarcode> searchActiveBarcodesContaining(@Param("tenantId") Long tenantId, @Param("barcode") String barcode);
+    @Query("SELECT ib FROM ItemBarcode ib WHERE ib.tenantId = :tenantId AND ib.id IN :ids AND ib.status = 'ACTIVE' ORDER BY ib.id")
+    List<ItemBarcode> findActiveByTenantIdAndIdIn(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
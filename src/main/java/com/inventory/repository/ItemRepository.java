@@ -1,14 +1,19 @@
 package com.inventory.repository;
 
+import com.inventory.dto.ItemPickerDto;
+import com.inventory.dto.ItemSummaryDto;
 import com.inventory.entity.Item;
 import com.inventory.entity.Item.ItemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +45,18 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      */
     boolean existsByTenant_IdAndSku(Long tenantId, String sku);
 
+    /**
+     * Return which of the given SKUs already exist for the tenant
+     */
+    @Query("SELECT i.sku FROM Item i WHERE i.tenant.id = :tenantId AND i.sku IN :skus")
+    List<String> findExistingSkus(@Param("tenantId") Long tenantId, @Param("skus") Collection<String> skus);
+
+    /**
+     * Return the SKU and ID of each of the given SKUs that exists for the tenant
+     */
+    @Query("SELECT i.sku, i.id FROM Item i WHERE i.tenant.id = :tenantId AND i.sku IN :skus")
+    List<Object[]> findIdsBySkus(@Param("tenantId") Long tenantId, @Param("skus") Collection<String> skus);
+
     /**
      * Check if SKU exists for tenant excluding specific id
      */
@@ -66,35 +83,114 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findByTenant_IdAndStatus(Long tenantId, ItemStatus status, Pageable pageable);
 
     /**
-     * Search items by name, SKU, or description
+     * Find items matching the department, category, brand and status filters; null filters are ignored.
+     * Text search is served by {@code ItemSearchIndex}.
      */
     @Query("SELECT i FROM Item i WHERE i.tenant.id = :tenantId " +
-           "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :searchTerm, '%')) " +
-           "OR UPPER(i.sku) LIKE UPPER(CONCAT('%', :searchTerm, '%')) " +
-           "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :searchTerm, '%')))")
-    Page<Item> searchByNameSkuOrDescription(@Param("tenantId") Long tenantId, 
-                                          @Param("searchTerm") String searchTerm, 
-                                          Pageable pageable);
+           "AND (:departmentId IS NULL OR i.department.id = :departmentId) " +
+           "AND (:categoryId IS NULL OR i.category.id = :categoryId) " +
+           "AND (:brandId IS NULL OR i.brand.id = :brandId) " +
+           "AND (:status IS NULL OR i.status = :status)")
+    Page<Item> findByFilters(@Param("tenantId") Long tenantId,
+                             @Param("departmentId") Long departmentId,
+                             @Param("categoryId") Long categoryId,
+                             @Param("brandId") Long brandId,
+                             @Param("status") ItemStatus status,
+                             Pageable pageable);
 
     /**
-     * Advanced search with multiple filters
+     * Keyset page of a tenant's items ordered by (updatedAt, id), optionally filtered and limited to
+     * items changed since a timestamp; null filters are ignored. Runs without a COUNT query.
      */
     @Query("SELECT i FROM Item i WHERE i.tenant.id = :tenantId " +
            "AND (:departmentId IS NULL OR i.department.id = :departmentId) " +
            "AND (:categoryId IS NULL OR i.category.id = :categoryId) " +
            "AND (:brandId IS NULL OR i.brand.id = :brandId) " +
            "AND (:status IS NULL OR i.status = :status) " +
-           "AND (:searchTerm IS NULL OR " +
-           "     UPPER(i.name) LIKE UPPER(CONCAT('%', :searchTerm, '%')) OR " +
-           "     UPPER(i.sku) LIKE UPPER(CONCAT('%', :searchTerm, '%')) OR " +
-           "     UPPER(i.description) LIKE UPPER(CONCAT('%', :searchTerm, '%')))")
-    Page<Item> advancedSearch(@Param("tenantId") Long tenantId,
-                            @Param("departmentId") Long departmentId,
-                            @Param("categoryId") Long categoryId,
-                            @Param("brandId") Long brandId,
-                            @Param("status") ItemStatus status,
-                            @Param("searchTerm") String searchTerm,
-                            Pageable pageable);
+           "AND (:updatedSince IS NULL OR i.updatedAt >= :updatedSince) " +
+           "AND (:afterUpdatedAt IS NULL OR i.updatedAt > :afterUpdatedAt " +
+           "     OR (i.updatedAt = :afterUpdatedAt AND i.id > :afterId)) " +
+           "ORDER BY i.updatedAt ASC, i.id ASC")
+    List<Item> findPageAfter(@Param("tenantId") Long tenantId,
+                             @Param("departmentId") Long departmentId,
+                             @Param("categoryId") Long categoryId,
+                             @Param("brandId") Long brandId,
+                             @Param("status") ItemStatus status,
+                             @Param("updatedSince") LocalDateTime updatedSince,
+                             @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                             @Param("afterId") Long afterId,
+                             Pageable pageable);
+
+    /**
+     * Keyset page of item summaries with the same filters and order as {@link #findPageAfter}, with
+     * category, department, brand and base unit names joined into the one query.
+     */
+    @Query("SELECT new com.inventory.dto.ItemSummaryDto(i.id, i.sku, i.name, i.shortName, i.itemType, i.status, " +
+           "c.id, c.name, d.id, d.name, b.id, b.name, u.code, i.basePrice, i.updatedAt) " +
+           "FROM Item i LEFT JOIN i.category c LEFT JOIN i.department d LEFT JOIN i.brand b LEFT JOIN i.baseUom u " +
+           "WHERE i.tenant.id = :tenantId " +
+           "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+           "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+           "AND (:brandId IS NULL OR b.id = :brandId) " +
+           "AND (:status IS NULL OR i.status = :status) " +
+           "AND (:updatedSince IS NULL OR i.updatedAt >= :updatedSince) " +
+           "AND (:afterUpdatedAt IS NULL OR i.updatedAt > :afterUpdatedAt " +
+           "     OR (i.updatedAt = :afterUpdatedAt AND i.id > :afterId)) " +
+           "ORDER BY i.updatedAt ASC, i.id ASC")
+    List<ItemSummaryDto> findSummaryPageAfter(@Param("tenantId") Long tenantId,
+                                              @Param("departmentId") Long departmentId,
+                                              @Param("categoryId") Long categoryId,
+                                              @Param("brandId") Long brandId,
+                                              @Param("status") ItemStatus status,
+                                              @Param("updatedSince") LocalDateTime updatedSince,
+                                              @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    /**
+     * Summaries of a tenant's items by id, in no particular order
+     */
+    @Query("SELECT new com.inventory.dto.ItemSummaryDto(i.id, i.sku, i.name, i.shortName, i.itemType, i.status, " +
+           "c.id, c.name, d.id, d.name, b.id, b.name, u.code, i.basePrice, i.updatedAt) " +
+           "FROM Item i LEFT JOIN i.category c LEFT JOIN i.department d LEFT JOIN i.brand b LEFT JOIN i.baseUom u " +
+           "WHERE i.tenant.id = :tenantId AND i.id IN :ids")
+    List<ItemSummaryDto> findSummariesByIds(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Picker options for a tenant's items by id, in no particular order
+     */
+    @Query("SELECT new com.inventory.dto.ItemPickerDto(i.id, i.sku, i.name, u.code) " +
+           "FROM Item i LEFT JOIN i.baseUom u WHERE i.tenant.id = :tenantId AND i.id IN :ids")
+    List<ItemPickerDto> findPickerOptionsByIds(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Picker options for a tenant's items with a status, in name order
+     */
+    @Query("SELECT new com.inventory.dto.ItemPickerDto(i.id, i.sku, i.name, u.code) " +
+           "FROM Item i LEFT JOIN i.baseUom u WHERE i.tenant.id = :tenantId AND i.status = :status " +
+           "ORDER BY i.name, i.id")
+    List<ItemPickerDto> findPickerOptions(@Param("tenantId") Long tenantId,
+                                          @Param("status") ItemStatus status,
+                                          Pageable pageable);
+
+    /**
+     * Searchable fields of a tenant's items in id order, one keyset page at a time
+     */
+    @Query("SELECT i.id, i.sku, i.name, i.shortName, i.description, i.searchKeywords, i.status, " +
+           "i.department.id, i.category.id, i.brand.id " +
+           "FROM Item i WHERE i.tenant.id = :tenantId AND i.id > :afterId ORDER BY i.id")
+    List<Object[]> findSearchIndexRows(@Param("tenantId") Long tenantId,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    /**
+     * Facet fields of a tenant's items in id order, one keyset page at a time
+     */
+    @Query("SELECT i.id, i.status, i.department.id, i.category.id, i.brand.id " +
+           "FROM Item i WHERE i.tenant.id = :tenantId AND i.id > :afterId ORDER BY i.id")
+    List<Object[]> findFacetIndexRows(@Param("tenantId") Long tenantId,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
 
     /**
      * Count items by status for a tenant
@@ -104,19 +200,26 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     /**
      * Find items with variant count
      */
-    @Query("SELECT i, COUNT(v) FROM Item i LEFT JOIN i.variants v " +
-           "WHERE i.tenant.id = :tenantId AND i.status = :status " +
-           "GROUP BY i ORDER BY i.name")
+    @Query("SELECT i, i.variantCount FROM Item i " +
+           "WHERE i.tenant.id = :tenantId AND i.status = :status ORDER BY i.name")
     List<Object[]> findItemsWithVariantCount(@Param("tenantId") Long tenantId, 
                                            @Param("status") ItemStatus status);
 
     /**
      * Find parent items (items that have variants)
      */
-    @Query("SELECT DISTINCT i FROM Item i INNER JOIN i.variants v " +
-           "WHERE i.tenant.id = :tenantId AND i.status = :status")
+    @Query("SELECT i FROM Item i " +
+           "WHERE i.tenant.id = :tenantId AND i.status = :status AND i.variantCount > 0")
     List<Item> findParentItems(@Param("tenantId") Long tenantId, @Param("status") ItemStatus status);
 
+    /**
+     * Add to an item's variant count in a single update; never takes the count below zero
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.variantCount = i.variantCount + :delta " +
+           "WHERE i.id = :itemId AND i.variantCount + :delta >= 0")
+    int adjustVariantCount(@Param("itemId") Long itemId, @Param("delta") int delta);
+
     /**
      * Find items by supplier
      * TODO: Uncomment when SupplierItem entity and relationships are implemented
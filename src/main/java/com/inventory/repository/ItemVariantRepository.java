@@ -1,6 +1,7 @@
 package com.inventory.repository;
 
 import com.inventory.entity.ItemVariant;
+import com.inventory.entity.ItemVariant.VariantStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,11 +22,36 @@ public interface ItemVariantRepository extends JpaRepository<ItemVariant, Long>
      */
     Optional<ItemVariant> findByIdAndTenant_Id(Long id, Long tenantId);
 
+    /**
+     * (id, variantSku) rows of the tenant's variants with the given ids
+     */
+    @Query("SELECT v.id, v.variantSku FROM ItemVariant v WHERE v.tenant.id = :tenantId AND v.id IN :ids")
+    List<Object[]> findSkusByTenantIdAndIdIn(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+
     /**
      * Find all variants for a tenant with pagination
      */
     Page<ItemVariant> findByTenant_IdOrderByCreatedAtDesc(Long tenantId, Pageable pageable);
 
+    /**
+     * Keyset page of a tenant's variants ordered by (updatedAt, id), optionally for one item and
+     * limited to variants changed since a timestamp. Runs without a COUNT query.
+     */
+    @Query("SELECT v FROM ItemVariant v WHERE v.tenant.id = :tenantId " +
+           "AND (:itemId IS NULL OR v.item.id = :itemId) " +
+           "AND (:status IS NULL OR v.status = :status) " +
+           "AND (:updatedSince IS NULL OR v.updatedAt >= :updatedSince) " +
+           "AND (:afterUpdatedAt IS NULL OR v.updatedAt > :afterUpdatedAt " +
+           "     OR (v.updatedAt = :afterUpdatedAt AND v.id > :afterId)) " +
+           "ORDER BY v.updatedAt ASC, v.id ASC")
+    List<ItemVariant> findPageAfter(@Param("tenantId") Long tenantId,
+                                    @Param("itemId") Long itemId,
+                                    @Param("status") VariantStatus status,
+                                    @Param("updatedSince") LocalDateTime updatedSince,
+                                    @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
     /**
      * Find variants by item ID
      * TODO: Add isDefault field to ItemVariant entity and implement this method
@@ -48,6 +76,12 @@ public interface ItemVariantRepository extends JpaRepository<ItemVariant, Long>
     @Query("SELECT v FROM ItemVariant v WHERE v.tenant.id = :tenantId AND v.variantSku LIKE CONCAT('%',:sku,'%')")
     List<ItemVariant> findBySkuContaining(@Param("tenantId") Long tenantId, @Param("sku") String sku);
 
+    /**
+     * Return which of the given variant IDs exist for the tenant
+     */
+    @Query("SELECT v.id FROM ItemVariant v WHERE v.tenant.id = :tenantId AND v.id IN :ids")
+    List<Long> findExistingIds(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+
     /**
      * Count variants for an item
      */
@@ -0,0 +1,27 @@
+package com.inventory.service;
+
+import com.inventory.dto.CatalogChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each catalog change event to in-process {@code @EventListener} methods that take a
+ * {@link CatalogChangeEvent}. Listeners run on the relay thread; one that throws has the whole
+ * batch retried.
+ */
+@Component
+public class ApplicationEventCatalogSink implements CatalogEventSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<CatalogChangeEvent> events) {
+        for (CatalogChangeEvent event : events) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
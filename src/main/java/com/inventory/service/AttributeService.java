@@ -1,22 +1,36 @@
 package com.inventory.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.AttributeFilter;
 import com.inventory.entity.AttributeDefinition;
 import com.inventory.entity.AttributeDefinition.AttributeDataType;
 import com.inventory.entity.AttributeSet;
-import com.inventory.entity.ItemAttributeValue;
 import com.inventory.entity.UserAccount;
 import com.inventory.repository.AttributeDefinitionRepository;
 import com.inventory.repository.AttributeSetRepository;
 import com.inventory.repository.ItemAttributeValueRepository;
+import com.inventory.service.CategoryAttributeIndex.EffectiveAttribute;
+import com.inventory.util.AttributeValueValidator;
+import com.inventory.util.TransactionHooks;
+import com.inventory.util.TypedAttributeValue;
+import com.inventory.util.TypedAttributeValueBackfill;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Service class for Attribute management
@@ -24,6 +38,7 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Slf4j
 public class AttributeService {
 
     @Autowired
@@ -35,6 +50,30 @@ public class AttributeService {
     @Autowired
     private ItemAttributeValueRepository itemAttributeValueRepository;
 
+    @Autowired
+    private ItemFacetIndex itemFacetIndex;
+
+    @Autowired
+    private AttributeValidatorCache attributeValidatorCache;
+
+    @Autowired
+    private CategoryAttributeIndex categoryAttributeIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.attributes.typed-value-chunk-size:1000}")
+    private int typedValueChunkSize;
+
 
     /**
      * Create a new attribute definition
@@ -59,20 +98,47 @@ public class AttributeService {
         
         validateAttributeDefinitionForUpdate(attributeDefinitionDetails, existingAttributeDefinition);
         
+        boolean dataTypeChanged = existingAttributeDefinition.getDataType() != attributeDefinitionDetails.getDataType();
+
         // Update fields
         existingAttributeDefinition.setCode(attributeDefinitionDetails.getCode());
         existingAttributeDefinition.setName(attributeDefinitionDetails.getName());
         existingAttributeDefinition.setDataType(attributeDefinitionDetails.getDataType());
         existingAttributeDefinition.setIsRequired(attributeDefinitionDetails.getIsRequired());
         existingAttributeDefinition.setAllowedValues(attributeDefinitionDetails.getAllowedValues());
+        existingAttributeDefinition.setValidationRules(attributeDefinitionDetails.getValidationRules());
         existingAttributeDefinition.setUpdatedBy(currentUser);
         
         AttributeDefinition savedAttributeDefinition = attributeDefinitionRepository.save(existingAttributeDefinition);
+        attributeValidatorCache.evictAfterCommit(savedAttributeDefinition.getTenant().getId(), savedAttributeDefinition.getId());
+        // Code, name, type and required flag are copied into every category that inherits the attribute
+        categoryAttributeIndex.evictAfterCommit(savedAttributeDefinition.getTenant().getId());
         
+        if (dataTypeChanged) {
+            // Typed value columns follow the data type, so existing values are re-parsed once the new type is visible
+            Long tenantId = savedAttributeDefinition.getTenant().getId();
+            Long definitionId = savedAttributeDefinition.getId();
+            TransactionHooks.afterCommit(() -> taskExecutor.execute(() -> resyncTypedValues(tenantId, definitionId)));
+        }
         
         return savedAttributeDefinition;
     }
 
+    /**
+     * Re-parse the stored values of a definition in chunked transactions after its data type changed.
+     */
+    private void resyncTypedValues(Long tenantId, Long definitionId) {
+        try {
+            int processed = new TypedAttributeValueBackfill(jdbcTemplate, typedValueChunkSize)
+                    .run(definitionId, new TransactionTemplate(transactionManager));
+            log.info("Re-parsed {} values of attribute definition {} after a data type change", processed, definitionId);
+        } catch (RuntimeException e) {
+            log.error("Failed to re-parse values of attribute definition {}", definitionId, e);
+        } finally {
+            itemFacetIndex.evict(tenantId);
+        }
+    }
+
     /**
      * Get attribute definition by ID and tenant
      */
@@ -123,6 +189,8 @@ public class AttributeService {
         validateAttributeDefinitionForDeletion(attributeDefinition);
         
         attributeDefinitionRepository.delete(attributeDefinition);
+        attributeValidatorCache.evictAfterCommit(tenantId, attributeDefinitionId);
+        categoryAttributeIndex.evictAfterCommit(tenantId);
         
     }
 
@@ -151,6 +219,57 @@ public class AttributeService {
         return 0;
     }
 
+    /**
+     * Ids of the items matching an attribute filter, in no particular order. The filter runs
+     * against the typed value columns, so TEXT attributes cannot be filtered this way.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findItemIds(Long tenantId, AttributeFilter filter) {
+        if (filter.getAttributeDefinitionId() == null) {
+            throw new IllegalArgumentException("Attribute definition ID is required");
+        }
+        AttributeDefinition definition = getAttributeDefinitionByIdAndTenant(filter.getAttributeDefinitionId(), tenantId);
+        Long definitionId = definition.getId();
+        boolean hasValues = filter.getValues() != null && !filter.getValues().isEmpty();
+        if (!hasValues && filter.getMin() == null && filter.getMax() == null) {
+            throw new IllegalArgumentException("Attribute filter needs values or a range");
+        }
+
+        switch (definition.getDataType()) {
+            case NUMBER:
+                if (hasValues) {
+                    return itemAttributeValueRepository.findItemIdsByNumberIn(tenantId, definitionId,
+                            parseAll(filter.getValues(), TypedAttributeValue::parseNumber, definition));
+                }
+                return itemAttributeValueRepository.findItemIdsByNumberRange(tenantId, definitionId,
+                        parseBound(filter.getMin(), TypedAttributeValue::parseNumber, definition),
+                        parseBound(filter.getMax(), TypedAttributeValue::parseNumber, definition));
+            case DATE:
+                if (hasValues) {
+                    return itemAttributeValueRepository.findItemIdsByDateIn(tenantId, definitionId,
+                            parseAll(filter.getValues(), TypedAttributeValue::parseDate, definition));
+                }
+                return itemAttributeValueRepository.findItemIdsByDateRange(tenantId, definitionId,
+                        parseBound(filter.getMin(), TypedAttributeValue::parseDate, definition),
+                        parseBound(filter.getMax(), TypedAttributeValue::parseDate, definition));
+            case BOOLEAN:
+                if (!hasValues || filter.getValues().size() != 1) {
+                    throw new IllegalArgumentException("Boolean attribute filters take exactly one value");
+                }
+                return itemAttributeValueRepository.findItemIdsByBoolean(tenantId, definitionId,
+                        parseAll(filter.getValues(), TypedAttributeValue::parseBoolean, definition).get(0));
+            case LIST:
+                if (!hasValues) {
+                    throw new IllegalArgumentException("List attribute filters take values, not a range");
+                }
+                return itemAttributeValueRepository.findItemIdsByOptionIn(tenantId, definitionId,
+                        parseAll(filter.getValues(), value -> value.isEmpty() ? null : value, definition));
+            default:
+                throw new IllegalArgumentException("Attribute " + definition.getCode() + " of type "
+                        + definition.getDataType() + " cannot be filtered by value");
+        }
+    }
+
     // AttributeSet methods
 
     /**
@@ -158,9 +277,12 @@ public class AttributeService {
      */
     public AttributeSet createAttributeSet(AttributeSet attributeSet, UserAccount currentUser) {
         validateAttributeSetForCreation(attributeSet);
+        // The index copies the definition's code and required flag, so use the stored definition
+        attributeSet.setAttributeDefinition(getAttributeDefinitionByIdAndTenant(
+                attributeSet.getAttributeDefinition().getId(), attributeSet.getTenant().getId()));
         
         AttributeSet savedAttributeSet = attributeSetRepository.save(attributeSet);
-        
+        categoryAttributeIndex.putAttributeSet(savedAttributeSet);
         
         return savedAttributeSet;
     }
@@ -173,12 +295,47 @@ public class AttributeService {
         return attributeSetRepository.findByTenant_IdAndCategory_Id(tenantId, categoryId);
     }
 
+    /**
+     * Get the effective attributes of a category: those of its own attribute sets and those
+     * inherited from its ancestors
+     */
+    @Transactional(readOnly = true)
+    public List<EffectiveAttribute> getEffectiveAttributes(Long tenantId, Long categoryId) {
+        return categoryAttributeIndex.getEffectiveAttributes(tenantId, categoryId);
+    }
+
     /**
      * Delete attribute set
      */
     public void deleteAttributeSet(Long attributeSetId, Long tenantId, UserAccount currentUser) {
-        // TODO: Implement when repository method is available
-        throw new UnsupportedOperationException("Not implemented yet");
+        AttributeSet attributeSet = attributeSetRepository.findById(attributeSetId)
+                .filter(set -> set.getTenant().getId().equals(tenantId))
+                .orElseThrow(() -> new EntityNotFoundException("Attribute set not found with ID: " + attributeSetId));
+
+        attributeSetRepository.delete(attributeSet);
+        categoryAttributeIndex.removeAttributeSet(tenantId, attributeSet.getCategory().getId(),
+                attributeSet.getAttributeDefinition().getId());
+    }
+
+    private static <T> List<T> parseAll(List<String> values, Function<String, T> parser, AttributeDefinition definition) {
+        List<T> parsed = new ArrayList<>(values.size());
+        for (String value : values) {
+            parsed.add(parse(value, parser, definition));
+        }
+        return parsed;
+    }
+
+    private static <T> T parseBound(String value, Function<String, T> parser, AttributeDefinition definition) {
+        return value != null ? parse(value, parser, definition) : null;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, AttributeDefinition definition) {
+        T parsed = value != null ? parser.apply(value.trim()) : null;
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid " + definition.getDataType() + " value for attribute "
+                    + definition.getCode() + ": " + value);
+        }
+        return parsed;
     }
 
     // Validation methods
@@ -215,6 +372,9 @@ public class AttributeService {
                 throw new IllegalArgumentException("Allowed values are required for LIST type attributes");
             }
         }
+        
+        // Reject malformed allowed values and validation rules before any value is checked against them
+        AttributeValueValidator.compile(attributeDefinition, objectMapper);
     }
 
     private void validateAttributeDefinitionForUpdate(AttributeDefinition attributeDefinitionDetails, AttributeDefinition existingAttributeDefinition) {
@@ -247,6 +407,8 @@ public class AttributeService {
                 throw new IllegalArgumentException("Allowed values are required for LIST type attributes");
             }
         }
+        
+        AttributeValueValidator.compile(attributeDefinitionDetails, objectMapper);
     }
 
     private void validateAttributeDefinitionForDeletion(AttributeDefinition attributeDefinition) {
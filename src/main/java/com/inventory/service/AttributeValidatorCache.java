@@ -0,0 +1,54 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.util.AttributeValueValidator;
+import com.inventory.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tenant cache of compiled {@link AttributeValueValidator}s keyed by attribute definition id.
+ *
+ * A validator is compiled on first use and evicted after {@link AttributeService} commits a
+ * change to its definition. A definition passed in with a different update time than the
+ * cached validator, e.g. one changed on another node, is recompiled instead of served stale.
+ */
+@Service
+public class AttributeValidatorCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Long, Map<Long, AttributeValueValidator>> validatorsByTenant = new ConcurrentHashMap<>();
+
+    /**
+     * Get the validator of a loaded definition, compiling it if it is missing or out of date.
+     */
+    public AttributeValueValidator get(AttributeDefinition definition) {
+        Map<Long, AttributeValueValidator> validators = tenantValidators(definition.getTenant().getId());
+        AttributeValueValidator cached = validators.get(definition.getId());
+        if (cached != null && Objects.equals(cached.getDefinitionUpdatedAt(), definition.getUpdatedAt())) {
+            return cached;
+        }
+
+        AttributeValueValidator compiled = AttributeValueValidator.compile(definition, objectMapper);
+        validators.put(definition.getId(), compiled);
+        return compiled;
+    }
+
+    /**
+     * Drop a definition's validator once the current transaction commits.
+     */
+    public void evictAfterCommit(Long tenantId, Long definitionId) {
+        TransactionHooks.afterCommit(() -> tenantValidators(tenantId).remove(definitionId));
+    }
+
+    private Map<Long, AttributeValueValidator> tenantValidators(Long tenantId) {
+        return validatorsByTenant.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+    }
+}
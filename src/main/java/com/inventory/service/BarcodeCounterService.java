@@ -0,0 +1,207 @@
+package com.inventory.service;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Per-tenant barcode counts by status and type, kept in {@code barcode_status_counter}.
+ *
+ * Every create, delete, status or type change adjusts the affected counters in the caller's
+ * transaction, so the statistics endpoint reads a handful of rows instead of grouping the
+ * whole barcode table. A periodic reconciliation recounts each tenant and corrects drift from
+ * writes that bypass the service, such as cascading deletes.
+ */
+@Slf4j
+@Service
+public class BarcodeCounterService {
+
+    private static final String ADJUST_SQL =
+            "INSERT INTO barcode_status_counter (tenant_id, status, barcode_type, barcode_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE barcode_count = barcode_count + ?, updated_at = ?";
+
+    private static final String SET_SQL =
+            "INSERT INTO barcode_status_counter (tenant_id, status, barcode_type, barcode_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE barcode_count = ?, updated_at = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate reconcileTransaction;
+
+    @PostConstruct
+    void init() {
+        reconcileTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Count a new barcode.
+     */
+    public void recordCreated(Long tenantId, BarcodeStatus status, BarcodeType type, long count) {
+        adjust(tenantId, status, type, count);
+    }
+
+    /**
+     * Uncount a deleted barcode.
+     */
+    public void recordDeleted(Long tenantId, BarcodeStatus status, BarcodeType type) {
+        adjust(tenantId, status, type, -1);
+    }
+
+    /**
+     * Move one barcode between counters after a status or type change. The two rows are
+     * updated in a fixed order so opposite transitions cannot deadlock.
+     */
+    public void recordChange(Long tenantId, BarcodeStatus fromStatus, BarcodeType fromType,
+                             BarcodeStatus toStatus, BarcodeType toType) {
+        if (fromStatus == toStatus && fromType == toType) {
+            return;
+        }
+
+        boolean fromFirst = fromStatus != toStatus
+                ? fromStatus.ordinal() < toStatus.ordinal()
+                : fromType.ordinal() < toType.ordinal();
+        if (fromFirst) {
+            adjust(tenantId, fromStatus, fromType, -1);
+            adjust(tenantId, toStatus, toType, 1);
+        } else {
+            adjust(tenantId, toStatus, toType, 1);
+            adjust(tenantId, fromStatus, fromType, -1);
+        }
+    }
+
+    /**
+     * Current counts of the tenant by status and type.
+     */
+    public Map<BarcodeStatus, Map<BarcodeType, Long>> getCounts(Long tenantId) {
+        Map<BarcodeStatus, Map<BarcodeType, Long>> counts = new EnumMap<>(BarcodeStatus.class);
+        jdbcTemplate.query(
+                "SELECT status, barcode_type, barcode_count FROM barcode_status_counter WHERE tenant_id = ?",
+                rs -> {
+                    counts.computeIfAbsent(BarcodeStatus.valueOf(rs.getString(1)), status -> new EnumMap<>(BarcodeType.class))
+                            .put(BarcodeType.valueOf(rs.getString(2)), rs.getLong(3));
+                },
+                tenantId);
+        return counts;
+    }
+
+    /**
+     * Recount every tenant that has barcodes or counters.
+     */
+    @Scheduled(fixedDelayString = "${app.barcode.counters.reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.barcode.counters.reconcile-interval-ms:3600000}")
+    public void reconcileAll() {
+        List<Long> tenantIds;
+        try {
+            tenantIds = jdbcTemplate.queryForList(
+                    "SELECT tenant_id FROM item_barcode GROUP BY tenant_id " +
+                    "UNION SELECT tenant_id FROM barcode_status_counter", Long.class);
+        } catch (RuntimeException e) {
+            log.warn("Barcode counter reconciliation skipped: {}", e.getMessage());
+            return;
+        }
+
+        for (Long tenantId : tenantIds) {
+            try {
+                reconcile(tenantId);
+            } catch (RuntimeException e) {
+                log.warn("Barcode counter reconciliation failed for tenant {}: {}", tenantId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Recount the tenant's barcodes and overwrite counters that drifted.
+     *
+     * @return number of corrected counters
+     */
+    public int reconcile(Long tenantId) {
+        Integer corrected = reconcileTransaction.execute(status -> {
+            // Lock the tenant's counter range first: writers still holding a counter row have
+            // committed before the recount reads, and later writers adjust the corrected value
+            Map<CounterKey, Long> stored = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT status, barcode_type, barcode_count FROM barcode_status_counter WHERE tenant_id = ? FOR UPDATE",
+                    rs -> {
+                        stored.put(new CounterKey(rs.getString(1), rs.getString(2)), rs.getLong(3));
+                    },
+                    tenantId);
+
+            Map<CounterKey, Long> actual = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT status, barcode_type, COUNT(*) FROM item_barcode WHERE tenant_id = ? GROUP BY status, barcode_type",
+                    rs -> {
+                        actual.put(new CounterKey(rs.getString(1), rs.getString(2)), rs.getLong(3));
+                    },
+                    tenantId);
+
+            Set<CounterKey> keys = new HashSet<>(stored.keySet());
+            keys.addAll(actual.keySet());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int changes = 0;
+            for (CounterKey key : keys) {
+                long expected = actual.getOrDefault(key, 0L);
+                Long current = stored.get(key);
+                if (current != null && current == expected) {
+                    continue;
+                }
+                log.info("Barcode counter {}/{} of tenant {} corrected from {} to {}",
+                        key.status, key.type, tenantId, current, expected);
+                jdbcTemplate.update(SET_SQL, tenantId, key.status, key.type, expected, now, expected, now);
+                changes++;
+            }
+            return changes;
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    private void adjust(Long tenantId, BarcodeStatus status, BarcodeType type, long delta) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(ADJUST_SQL, tenantId, status.name(), type.name(), delta, now, delta, now);
+    }
+
+    private static final class CounterKey {
+        private final String status;
+        private final String type;
+
+        private CounterKey(String status, String type) {
+            this.status = status;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CounterKey)) return false;
+            CounterKey other = (CounterKey) o;
+            return status.equals(other.status) && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, type);
+        }
+    }
+}
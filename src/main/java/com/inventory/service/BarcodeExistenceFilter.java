@@ -0,0 +1,134 @@
+package com.inventory.service;
+
+import com.inventory.util.BloomFilter;
+import com.inventory.util.TenantIndexRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-tenant Bloom filter of every stored barcode, used to skip uniqueness queries for codes
+ * that certainly do not exist yet.
+ *
+ * A negative answer is definite for barcodes written through this node; barcodes inserted on
+ * other nodes since the last rebuild can be missed, so {@code uq_barcode_tenant} remains the
+ * final authority and writers must still handle its violation. Filters are built on startup
+ * and rebuilt when they age out or fill up; deleted codes stay in the filter as false positives.
+ */
+@Slf4j
+@Component
+public class BarcodeExistenceFilter {
+
+    /** Rows read per keyset page while building a filter */
+    private static final int LOAD_PAGE_SIZE = 50_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.barcode.existence-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.barcode.existence-filter.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @Value("${app.barcode.existence-filter.warm-up-on-startup:true}")
+    private boolean warmUpOnStartup;
+
+    private TenantIndexRegistry<BloomFilter> registry;
+
+    @PostConstruct
+    void init() {
+        registry = new TenantIndexRegistry<>(this::load, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Build the filters of all tenants with barcodes in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpOnStartup) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                List<Long> tenantIds = jdbcTemplate.queryForList(
+                        "SELECT tenant_id FROM item_barcode GROUP BY tenant_id", Long.class);
+                tenantIds.forEach(registry::get);
+                log.info("Built barcode existence filters for {} tenants", tenantIds.size());
+            } catch (RuntimeException e) {
+                log.warn("Barcode existence filter warm-up failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * False when the barcode certainly does not exist for the tenant.
+     */
+    public boolean mightExist(Long tenantId, String barcode) {
+        return registry.get(tenantId).mightContain(barcode);
+    }
+
+    /**
+     * Keep only the codes that might exist; the rest need no database check.
+     */
+    public List<String> filterPossibleDuplicates(Long tenantId, Collection<String> barcodes) {
+        BloomFilter filter = registry.get(tenantId);
+        List<String> possible = new ArrayList<>();
+        for (String barcode : barcodes) {
+            if (filter.mightContain(barcode)) {
+                possible.add(barcode);
+            }
+        }
+        return possible;
+    }
+
+    /**
+     * Record a barcode written by this node. Call before the insert commits: a code whose
+     * transaction rolls back only becomes a false positive.
+     */
+    public void add(Long tenantId, String barcode) {
+        registry.update(tenantId, filter -> filter.add(barcode));
+        BloomFilter filter = registry.getIfLoaded(tenantId);
+        if (filter != null && filter.isSaturated()) {
+            registry.evict(tenantId);
+        }
+    }
+
+    private BloomFilter load(Long tenantId) {
+        long started = System.nanoTime();
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_barcode WHERE tenant_id = ?", Long.class, tenantId);
+        // Leave headroom for growth until the next scheduled rebuild
+        BloomFilter filter = new BloomFilter((count != null ? count : 0) * 2, falsePositiveRate);
+
+        String after = "";
+        while (true) {
+            List<String> page = jdbcTemplate.queryForList(
+                    "SELECT barcode FROM item_barcode WHERE tenant_id = ? AND barcode > ? ORDER BY barcode LIMIT ?",
+                    String.class, tenantId, after, LOAD_PAGE_SIZE);
+            page.forEach(filter::add);
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+        }
+
+        log.debug("Built barcode existence filter for tenant {} with {} codes in {} ms",
+                tenantId, filter.getInsertions(), (System.nanoTime() - started) / 1_000_000);
+        return filter;
+    }
+}
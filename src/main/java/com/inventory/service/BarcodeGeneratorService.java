@@ -8,9 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.EntityNotFoundException;
 import java.security.SecureRandom;
-import java.util.Optional;
 
 /**
  * Service for generating barcodes including GTIN codes using GS1 standards.
@@ -26,20 +24,16 @@ public class BarcodeGeneratorService {
     @Autowired
     private BarcodeValidationService barcodeValidationService;
 
+    @Autowired
+    private GS1SequenceAllocator gs1SequenceAllocator;
+
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
      * Generate GTIN-13 barcode using tenant's GS1 configuration
      */
     public String generateGTIN13(Long tenantId) {
-        Optional<GS1Configuration> configOpt = gs1ConfigurationRepository.findBestConfigurationForGeneration(tenantId);
-        
-        if (!configOpt.isPresent()) {
-            throw new IllegalStateException("No active GS1 configuration available for tenant: " + tenantId);
-        }
-
-        GS1Configuration config = configOpt.get();
-        return config.generateGTIN13();
+        return gs1SequenceAllocator.allocate(tenantId).gtin13(0);
     }
 
     /**
@@ -50,14 +44,7 @@ public class BarcodeGeneratorService {
             throw new IllegalArgumentException("Packaging indicator must be 1-9");
         }
 
-        Optional<GS1Configuration> configOpt = gs1ConfigurationRepository.findBestConfigurationForGeneration(tenantId);
-        
-        if (!configOpt.isPresent()) {
-            throw new IllegalStateException("No active GS1 configuration available for tenant: " + tenantId);
-        }
-
-        GS1Configuration config = configOpt.get();
-        return config.generateGTIN14(packagingIndicator);
+        return gs1SequenceAllocator.allocate(tenantId).gtin14(0, packagingIndicator);
     }
 
     /**
@@ -170,11 +157,11 @@ public class BarcodeGeneratorService {
      * Generate GS1-128 barcode with Application Identifiers
      */
     private String generateGS1128(Long tenantId, PackLevel packLevel) {
-        String gtin13 = generateGTIN13(tenantId);
+        String gtin14 = "0" + generateGTIN13(tenantId);
         
-        // Create GS1-128 with GTIN Application Identifier (01)
+        // Create GS1-128 with GTIN Application Identifier (01), which always carries 14 digits
         StringBuilder gs1128 = new StringBuilder();
-        gs1128.append("(01)").append(gtin13);
+        gs1128.append("(01)").append(gtin14);
         
         // Add additional AIs based on pack level
         if (packLevel != PackLevel.EACH) {
@@ -188,11 +175,11 @@ public class BarcodeGeneratorService {
      * Generate DataMatrix GS1 barcode
      */
     private String generateDataMatrixGS1(Long tenantId, PackLevel packLevel) {
-        String gtin13 = generateGTIN13(tenantId);
+        String gtin14 = "0" + generateGTIN13(tenantId);
         
         // DataMatrix can contain more data than linear barcodes
         StringBuilder dataMatrix = new StringBuilder();
-        dataMatrix.append("(01)").append(gtin13);
+        dataMatrix.append("(01)").append(gtin14);
         dataMatrix.append("(17)").append("251231"); // Expiry date (YYMMDD format)
         dataMatrix.append("(10)").append("LOT").append(String.format("%06d", secureRandom.nextInt(1000000))); // Lot number
         
@@ -257,7 +244,7 @@ public class BarcodeGeneratorService {
             return true; // Non-GTIN barcodes don't have capacity limits
         }
         
-        return gs1ConfigurationRepository.findBestConfigurationForGeneration(tenantId).isPresent();
+        return !gs1ConfigurationRepository.findAvailableConfigurations(tenantId).isEmpty();
     }
 
     /**
@@ -0,0 +1,453 @@
+package com.inventory.service;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.ItemBarcode;
+import com.inventory.entity.PackLevel;
+import com.inventory.repository.ItemBarcodeRepository;
+import com.inventory.util.LongIntHashMap;
+import com.inventory.util.TenantIndexRegistry;
+import com.inventory.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, tenant-partitioned index of ACTIVE barcodes used by the scan path.
+ *
+ * Numeric barcodes (all GTIN/UPC/EAN codes) are keyed by a primitive long so a lookup
+ * does not allocate; other codes fall back to a string map. A case-insensitive trigram index
+ * over the same entries serves partial-code search. Changes made through
+ * {@link ItemBarcodeService} are applied after commit, and each tenant's index is rebuilt
+ * periodically to pick up writes made by other application nodes.
+ *
+ * Hits are served without re-checking the database, so a barcode blocked, deprecated or deleted
+ * on another node keeps resolving here until the tenant's next rebuild: the staleness window is
+ * {@code app.barcode.resolution-index.max-age-seconds}. It is kept short because a stale hit
+ * sells against a code that is no longer valid; a longer window saves rebuild queries on large
+ * tenants at that cost.
+ */
+@Slf4j
+@Component
+public class BarcodeResolutionIndex {
+
+    /** Numeric codes longer than this do not fit the packed long key */
+    private static final int MAX_NUMERIC_KEY_LENGTH = 17;
+    private static final int NO_SLOT = -1;
+    private static final int TRIGRAM_LENGTH = 3;
+
+    @Autowired
+    private ItemBarcodeRepository itemBarcodeRepository;
+
+    @Value("${app.barcode.resolution-index.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    private TenantIndexRegistry<TenantIndex> registry;
+
+    @PostConstruct
+    void init() {
+        registry = new TenantIndexRegistry<>(this::load, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Resolve an ACTIVE barcode for the tenant without touching the database on a hit. Changes
+     * made on other nodes show up only after the tenant's next rebuild.
+     */
+    public Optional<Resolution> resolve(Long tenantId, String barcode) {
+        if (tenantId == null || barcode == null || barcode.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(registry.get(tenantId).find(barcode));
+    }
+
+    /**
+     * Find ACTIVE barcodes of the tenant containing the term, ignoring case. Terms of three or
+     * more characters are answered by intersecting trigram posting lists; shorter terms scan the
+     * in-memory entries. Results are ordered by barcode id.
+     */
+    public List<Resolution> search(Long tenantId, String term) {
+        if (tenantId == null || term == null || term.isEmpty()) {
+            return List.of();
+        }
+        return registry.get(tenantId).search(term);
+    }
+
+    /**
+     * Reflect the current state of a saved barcode in the index once the transaction commits.
+     * Only ACTIVE barcodes stay indexed; any other status removes the entry.
+     *
+     * @param previousBarcode code the row had before this change, or null if unchanged
+     */
+    public void sync(ItemBarcode barcode, String previousBarcode) {
+        Long tenantId = barcode.getTenantId();
+        String code = barcode.getBarcode();
+        Resolution resolution = barcode.getStatus() == BarcodeStatus.ACTIVE ? Resolution.of(barcode) : null;
+
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> {
+            if (previousBarcode != null && !previousBarcode.equals(code)) {
+                index.remove(previousBarcode);
+            }
+            if (resolution != null) {
+                index.put(resolution);
+            } else {
+                index.remove(code);
+            }
+        }));
+    }
+
+    /**
+     * Index ACTIVE barcodes written without entities, such as by a bulk insert, once the
+     * transaction commits.
+     */
+    public void addAll(Long tenantId, List<Resolution> resolutions) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> resolutions.forEach(index::put)));
+    }
+
+    /**
+     * Remove a barcode from the index once the transaction commits.
+     */
+    public void remove(Long tenantId, String barcode) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.remove(barcode)));
+    }
+
+    /**
+     * Add an entry found outside the index, e.g. written by another node since the last rebuild.
+     */
+    void add(Long tenantId, Resolution resolution) {
+        registry.update(tenantId, index -> index.put(resolution));
+    }
+
+    /**
+     * Drop the tenant's index so it is rebuilt from the database on the next scan.
+     */
+    public void evict(Long tenantId) {
+        registry.evict(tenantId);
+    }
+
+    private TenantIndex load(Long tenantId) {
+        long started = System.nanoTime();
+        List<Object[]> rows = itemBarcodeRepository.findActiveBarcodeResolutionRows(tenantId);
+
+        TenantIndex index = new TenantIndex(rows.size());
+        for (Object[] row : rows) {
+            index.put(new Resolution(
+                    (Long) row[0],
+                    (String) row[1],
+                    (Long) row[2],
+                    (PackLevel) row[3],
+                    (Long) row[4],
+                    Boolean.TRUE.equals(row[5]),
+                    (BarcodeType) row[6]));
+        }
+
+        log.debug("Loaded {} active barcodes for tenant {} in {} ms",
+                rows.size(), tenantId, (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Pack an all-digit code of up to 17 characters into a long, keeping the length so
+     * codes that differ only in leading zeros stay distinct. Returns -1 for other codes.
+     */
+    static long numericKey(CharSequence code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_NUMERIC_KEY_LENGTH) {
+            return -1L;
+        }
+
+        long value = 0L;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return (value << 5) | length;
+    }
+
+    /**
+     * Pack three characters of a code, lower-cased, into a trigram key.
+     */
+    static long trigram(CharSequence code, int start) {
+        return ((long) Character.toLowerCase(code.charAt(start)) << 32)
+                | ((long) Character.toLowerCase(code.charAt(start + 1)) << 16)
+                | Character.toLowerCase(code.charAt(start + 2));
+    }
+
+    static boolean containsIgnoreCase(String barcode, String term) {
+        for (int i = 0; i + term.length() <= barcode.length(); i++) {
+            if (barcode.regionMatches(true, i, term, 0, term.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Barcode entries for a single tenant, stored in slots addressed by either key map.
+     * Each trigram of an indexed code maps to a posting list of the slots containing it,
+     * kept sorted so lists can be intersected with binary searches.
+     */
+    static final class TenantIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongIntHashMap numericSlots;
+        private final Map<String, Integer> textSlots = new HashMap<>();
+        private final LongIntHashMap trigramLists = new LongIntHashMap(1024, NO_SLOT);
+        private Resolution[] entries;
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int nextSlot;
+        private int[][] postings = new int[1024][];
+        private int[] postingSizes = new int[1024];
+        private int postingListCount;
+
+        TenantIndex(int expectedSize) {
+            numericSlots = new LongIntHashMap(expectedSize, NO_SLOT);
+            entries = new Resolution[Math.max(expectedSize, 16)];
+        }
+
+        List<Resolution> search(String term) {
+            lock.readLock().lock();
+            try {
+                List<Resolution> matches = new ArrayList<>();
+                if (term.length() < TRIGRAM_LENGTH) {
+                    for (int slot = 0; slot < nextSlot; slot++) {
+                        Resolution entry = entries[slot];
+                        if (entry != null && containsIgnoreCase(entry.getBarcode(), term)) {
+                            matches.add(entry);
+                        }
+                    }
+                } else {
+                    int[] lists = new int[term.length() - TRIGRAM_LENGTH + 1];
+                    for (int i = 0; i < lists.length; i++) {
+                        lists[i] = trigramLists.get(trigram(term, i));
+                        if (lists[i] == NO_SLOT || postingSizes[lists[i]] == 0) {
+                            return matches;
+                        }
+                    }
+                    // Start from the shortest list so every later step only narrows a small set
+                    int shortest = 0;
+                    for (int i = 1; i < lists.length; i++) {
+                        if (postingSizes[lists[i]] < postingSizes[lists[shortest]]) {
+                            shortest = i;
+                        }
+                    }
+                    int[] candidates = Arrays.copyOf(postings[lists[shortest]], postingSizes[lists[shortest]]);
+                    int count = candidates.length;
+                    for (int i = 0; i < lists.length && count > 0; i++) {
+                        if (lists[i] != lists[shortest]) {
+                            count = retain(candidates, count, postings[lists[i]], postingSizes[lists[i]]);
+                        }
+                    }
+                    // Trigrams present in any order are only candidates; confirm the substring
+                    for (int i = 0; i < count; i++) {
+                        Resolution entry = entries[candidates[i]];
+                        if (containsIgnoreCase(entry.getBarcode(), term)) {
+                            matches.add(entry);
+                        }
+                    }
+                }
+                matches.sort(Comparator.comparing(Resolution::getBarcodeId, Comparator.nullsLast(Comparator.naturalOrder())));
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Resolution find(String barcode) {
+            long key = numericKey(barcode);
+            lock.readLock().lock();
+            try {
+                int slot = key >= 0 ? numericSlots.get(key) : textSlots.getOrDefault(barcode, NO_SLOT);
+                return slot == NO_SLOT ? null : entries[slot];
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Resolution resolution) {
+            long key = numericKey(resolution.getBarcode());
+            lock.writeLock().lock();
+            try {
+                int slot = key >= 0 ? numericSlots.get(key) : textSlots.getOrDefault(resolution.getBarcode(), NO_SLOT);
+                if (slot == NO_SLOT) {
+                    slot = allocateSlot();
+                    if (key >= 0) {
+                        numericSlots.put(key, slot);
+                    } else {
+                        textSlots.put(resolution.getBarcode(), slot);
+                    }
+                    indexTrigrams(resolution.getBarcode(), slot);
+                }
+                entries[slot] = resolution;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String barcode) {
+            long key = numericKey(barcode);
+            lock.writeLock().lock();
+            try {
+                int slot;
+                if (key >= 0) {
+                    slot = numericSlots.remove(key);
+                } else {
+                    Integer removed = textSlots.remove(barcode);
+                    slot = removed != null ? removed : NO_SLOT;
+                }
+                if (slot != NO_SLOT) {
+                    unindexTrigrams(barcode, slot);
+                    entries[slot] = null;
+                    releaseSlot(slot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            if (nextSlot == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length << 1);
+            }
+            return nextSlot++;
+        }
+
+        private void releaseSlot(int slot) {
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        private void indexTrigrams(String barcode, int slot) {
+            for (int i = 0; i + TRIGRAM_LENGTH <= barcode.length(); i++) {
+                long key = trigram(barcode, i);
+                int list = trigramLists.get(key);
+                if (list == NO_SLOT) {
+                    list = newPostingList();
+                    trigramLists.put(key, list);
+                }
+
+                int[] slots = postings[list];
+                int size = postingSizes[list];
+                // Slots are mostly handed out in ascending order, so check the tail first
+                int position = size == 0 || slots[size - 1] < slot ? size : Arrays.binarySearch(slots, 0, size, slot);
+                if (position >= 0 && position < size) {
+                    continue;
+                }
+                position = position < 0 ? -position - 1 : position;
+                if (size == slots.length) {
+                    slots = Arrays.copyOf(slots, slots.length << 1);
+                    postings[list] = slots;
+                }
+                System.arraycopy(slots, position, slots, position + 1, size - position);
+                slots[position] = slot;
+                postingSizes[list] = size + 1;
+            }
+        }
+
+        private void unindexTrigrams(String barcode, int slot) {
+            for (int i = 0; i + TRIGRAM_LENGTH <= barcode.length(); i++) {
+                int list = trigramLists.get(trigram(barcode, i));
+                if (list == NO_SLOT) {
+                    continue;
+                }
+                int size = postingSizes[list];
+                int position = Arrays.binarySearch(postings[list], 0, size, slot);
+                if (position >= 0) {
+                    System.arraycopy(postings[list], position + 1, postings[list], position, size - position - 1);
+                    postingSizes[list] = size - 1;
+                }
+            }
+        }
+
+        private int newPostingList() {
+            if (postingListCount == postings.length) {
+                postings = Arrays.copyOf(postings, postings.length << 1);
+                postingSizes = Arrays.copyOf(postingSizes, postingSizes.length << 1);
+            }
+            postings[postingListCount] = new int[4];
+            return postingListCount++;
+        }
+
+        /**
+         * Keep the first {@code count} candidates that also occur in the sorted list,
+         * compacting them in place, and return how many remain.
+         */
+        private static int retain(int[] candidates, int count, int[] list, int listSize) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < listSize; i++) {
+                int position = Arrays.binarySearch(list, from, listSize, candidates[i]);
+                if (position >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Immutable scan resolution for one ACTIVE barcode.
+     */
+    public static final class Resolution {
+        private final Long barcodeId;
+        private final String barcode;
+        private final Long variantId;
+        private final PackLevel packLevel;
+        private final Long uomId;
+        private final boolean primary;
+        private final BarcodeType barcodeType;
+
+        public Resolution(Long barcodeId, String barcode, Long variantId, PackLevel packLevel,
+                          Long uomId, boolean primary, BarcodeType barcodeType) {
+            this.barcodeId = barcodeId;
+            this.barcode = barcode;
+            this.variantId = variantId;
+            this.packLevel = packLevel != null ? packLevel : PackLevel.EACH;
+            this.uomId = uomId;
+            this.primary = primary;
+            this.barcodeType = barcodeType;
+        }
+
+        static Resolution of(ItemBarcode barcode) {
+            return new Resolution(
+                    barcode.getId(),
+                    barcode.getBarcode(),
+                    barcode.getVariant() != null ? barcode.getVariant().getId() : null,
+                    barcode.getPackLevel(),
+                    barcode.getUnitOfMeasure() != null ? barcode.getUnitOfMeasure().getId() : null,
+                    Boolean.TRUE.equals(barcode.getIsPrimary()),
+                    barcode.getBarcodeType());
+        }
+
+        public Long getBarcodeId() { return barcodeId; }
+        public String getBarcode() { return barcode; }
+        public Long getVariantId() { return variantId; }
+        public PackLevel getPackLevel() { return packLevel; }
+        public Long getUomId() { return uomId; }
+        public boolean isPrimary() { return primary; }
+        public BarcodeType getBarcodeType() { return barcodeType; }
+    }
+}
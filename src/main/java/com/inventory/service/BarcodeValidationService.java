@@ -2,126 +2,62 @@ package com.inventory.service;
 
 import com.inventory.entity.BarcodeType;
 import com.inventory.entity.PackLevel;
+import com.inventory.util.BarcodeFormats;
+import com.inventory.util.GS1ElementParser;
 import org.springframework.stereotype.Service;
 
-import java.util.regex.Pattern;
-
 /**
  * Service for validating barcode formats and implementing check digit algorithms.
  * Supports GS1 standards including GTIN validation with Mod-10 algorithm.
+ * Format and check digit rules are delegated to the allocation-free {@link BarcodeFormats}.
  */
 @Service
 public class BarcodeValidationService {
 
-    // Regex patterns for different barcode formats
-    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+$");
-    private static final Pattern UPC_A_PATTERN = Pattern.compile("^\\d{12}$");
-    private static final Pattern UPC_E_PATTERN = Pattern.compile("^\\d{8}$");
-    private static final Pattern EAN_13_PATTERN = Pattern.compile("^\\d{13}$");
-    private static final Pattern EAN_8_PATTERN = Pattern.compile("^\\d{8}$");
-    private static final Pattern ITF_14_PATTERN = Pattern.compile("^\\d{14}$");
-    private static final Pattern CODE_128_PATTERN = Pattern.compile("^[\\x20-\\x7F]+$");
-    private static final Pattern CODE_39_PATTERN = Pattern.compile("^[A-Z0-9\\-. $/+%]+$");
-
     /**
      * Validate barcode format for its type
      */
     public boolean isValidFormat(String barcode, BarcodeType type) {
-        if (barcode == null || barcode.trim().isEmpty()) {
-            return false;
-        }
-
-        switch (type) {
-            case UPC_A:
-                return UPC_A_PATTERN.matcher(barcode).matches();
-            case UPC_E:
-                return UPC_E_PATTERN.matcher(barcode).matches();
-            case EAN_13:
-                return EAN_13_PATTERN.matcher(barcode).matches();
-            case EAN_8:
-                return EAN_8_PATTERN.matcher(barcode).matches();
-            case ITF_14:
-                return ITF_14_PATTERN.matcher(barcode).matches();
-            case CODE_128:
-            case GS1_128:
-                return CODE_128_PATTERN.matcher(barcode).matches() && barcode.length() >= 4 && barcode.length() <= 64;
-            case CODE_39:
-                return CODE_39_PATTERN.matcher(barcode).matches() && barcode.length() >= 4 && barcode.length() <= 64;
-            case DATAMATRIX_GS1:
-            case QR_GS1_LINK:
-                return barcode.length() >= 4 && barcode.length() <= 64;
-            default:
-                return false;
-        }
+        return BarcodeFormats.isValidFormat(barcode, type);
     }
 
     /**
      * Validate GTIN check digit using Mod-10 algorithm
      */
     public boolean isValidGTIN(String gtin) {
-        if (gtin == null || !NUMERIC_PATTERN.matcher(gtin).matches()) {
-            return false;
-        }
-
-        // Support GTIN-12 (UPC-A), GTIN-13 (EAN-13), GTIN-14 (ITF-14)
-        if (gtin.length() != 12 && gtin.length() != 13 && gtin.length() != 14) {
-            return false;
-        }
+        return BarcodeFormats.isValidGTIN(gtin);
+    }
 
-        return isValidCheckDigit(gtin);
+    /**
+     * Check whether a code is shaped like a GTIN-8/12/13/14, so a Mod-10 check digit applies
+     */
+    public boolean hasGTINCheckDigit(String barcode) {
+        return BarcodeFormats.hasGTINShape(barcode);
     }
 
     /**
      * Calculate GTIN check digit using Mod-10 algorithm
      */
     public int calculateGTINCheckDigit(String digits) {
-        if (digits == null || !NUMERIC_PATTERN.matcher(digits).matches()) {
-            throw new IllegalArgumentException("Input must contain only digits");
-        }
-
-        int sum = 0;
-        boolean odd = true;
-
-        // Process digits from right to left
-        for (int i = digits.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(digits.charAt(i));
-            sum += odd ? digit * 3 : digit;
-            odd = !odd;
-        }
-
-        int checkDigit = (10 - (sum % 10)) % 10;
-        return checkDigit;
+        return BarcodeFormats.calculateCheckDigit(digits);
     }
 
     /**
      * Validate check digit for GTIN codes
      */
     public boolean isValidCheckDigit(String gtin) {
-        if (gtin == null || gtin.length() < 8) {
-            return false;
-        }
-
-        try {
-            String digits = gtin.substring(0, gtin.length() - 1);
-            int expectedCheckDigit = Character.getNumericValue(gtin.charAt(gtin.length() - 1));
-            int calculatedCheckDigit = calculateGTINCheckDigit(digits);
-
-            return expectedCheckDigit == calculatedCheckDigit;
-        } catch (Exception e) {
-            return false;
-        }
+        return BarcodeFormats.hasValidCheckDigit(gtin);
     }
 
     /**
      * Generate complete GTIN with check digit
      */
     public String generateCompleteGTIN(String partialGTIN) {
-        if (partialGTIN == null || !NUMERIC_PATTERN.matcher(partialGTIN).matches()) {
+        if (partialGTIN == null || !BarcodeFormats.isDigits(partialGTIN)) {
             throw new IllegalArgumentException("Partial GTIN must contain only digits");
         }
 
-        int checkDigit = calculateGTINCheckDigit(partialGTIN);
-        return partialGTIN + checkDigit;
+        return partialGTIN + BarcodeFormats.calculateCheckDigit(partialGTIN);
     }
 
     /**
@@ -139,41 +75,24 @@ public class BarcodeValidationService {
      * Validate UPC-E compression (if needed for UPC-E barcodes)
      */
     public boolean isValidUPCE(String upce) {
-        if (!UPC_E_PATTERN.matcher(upce).matches()) {
-            return false;
-        }
-
         // Basic validation - UPC-E has specific compression rules
         // This is a simplified validation
-        return isValidCheckDigit(upce);
+        return BarcodeFormats.isValidEightDigit(upce);
     }
 
     /**
      * Validate EAN-8 format
      */
     public boolean isValidEAN8(String ean8) {
-        if (!EAN_8_PATTERN.matcher(ean8).matches()) {
-            return false;
-        }
-
-        return isValidCheckDigit(ean8);
+        return BarcodeFormats.isValidEightDigit(ean8);
     }
 
     /**
      * Validate ITF-14 format (includes packaging indicator)
      */
     public boolean isValidITF14(String itf14) {
-        if (!ITF_14_PATTERN.matcher(itf14).matches()) {
-            return false;
-        }
-
         // First digit is packaging indicator (1-9)
-        char firstDigit = itf14.charAt(0);
-        if (firstDigit < '1' || firstDigit > '9') {
-            return false;
-        }
-
-        return isValidCheckDigit(itf14);
+        return BarcodeFormats.isValidITF14(itf14);
     }
 
     /**
@@ -191,12 +110,8 @@ public class BarcodeValidationService {
      * Validate GS1-128 Application Identifier format (basic validation)
      */
     public boolean isValidGS1128(String gs1128) {
-        if (gs1128 == null || gs1128.length() < 4) {
-            return false;
-        }
-
         // GS1-128 starts with Application Identifiers in parentheses or uses FNC1
-        return gs1128.startsWith("(") || gs1128.contains("\\x1D"); // FNC1 character
+        return BarcodeFormats.isValidGS1128(gs1128);
     }
 
     /**
@@ -258,6 +173,13 @@ public class BarcodeValidationService {
                     return result;
                 }
                 break;
+            case DATAMATRIX_GS1:
+                if (!GS1ElementParser.isValid(barcode)) {
+                    result.setValid(false);
+                    result.addError("Invalid GS1 DataMatrix element string");
+                    return result;
+                }
+                break;
         }
 
         result.setValid(true);
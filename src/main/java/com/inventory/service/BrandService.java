@@ -1,5 +1,7 @@
 package com.inventory.service;
 
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
 import com.inventory.entity.Brand;
 import com.inventory.entity.Brand.BrandStatus;
 import com.inventory.entity.UserAccount;
@@ -25,6 +27,12 @@ public class BrandService {
     @Autowired
     private BrandRepository brandRepository;
 
+    @Autowired
+    private CatalogReferenceCache catalogReferenceCache;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
 
     /**
      * Create a new brand
@@ -37,7 +45,7 @@ public class BrandService {
         brand.setStatus(BrandStatus.ACTIVE); // New brands are active by default
         
         Brand savedBrand = brandRepository.save(brand);
-        
+        appendBrandEvent(savedBrand, EventType.CREATED);
         
         return savedBrand;
     }
@@ -58,8 +66,9 @@ public class BrandService {
         existingBrand.setLogoUrl(brandDetails.getLogoUrl());
         existingBrand.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.BRAND, existingBrand.getId());
         Brand savedBrand = brandRepository.save(existingBrand);
-        
+        appendBrandEvent(savedBrand, EventType.UPDATED);
         
         return savedBrand;
     }
@@ -121,8 +130,9 @@ public class BrandService {
         
         validateBrandForDeletion(brand);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.BRAND, brand.getId());
         brandRepository.delete(brand);
-        
+        catalogOutbox.append(tenantId, AggregateType.BRAND, brandId, EventType.DELETED, "code", brand.getCode());
     }
 
     /**
@@ -157,8 +167,9 @@ public class BrandService {
         brand.setStatus(BrandStatus.ACTIVE);
         brand.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.BRAND, brand.getId());
         Brand savedBrand = brandRepository.save(brand);
-        
+        appendBrandEvent(savedBrand, EventType.STATUS_CHANGED);
         
         return savedBrand;
     }
@@ -171,12 +182,18 @@ public class BrandService {
         brand.setStatus(BrandStatus.INACTIVE);
         brand.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.BRAND, brand.getId());
         Brand savedBrand = brandRepository.save(brand);
-        
+        appendBrandEvent(savedBrand, EventType.STATUS_CHANGED);
         
         return savedBrand;
     }
 
+    private void appendBrandEvent(Brand brand, EventType eventType) {
+        catalogOutbox.append(brand.getTenant().getId(), AggregateType.BRAND, brand.getId(), eventType,
+                "code", brand.getCode(), "status", brand.getStatus());
+    }
+
     // Validation methods
 
     private void validateBrandForCreation(Brand brand) {
@@ -0,0 +1,38 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Forwards catalog change events to the configured {@link CatalogMessageBroker}, if there is
+ * one. Messages are keyed by tenant and aggregate, so each aggregate's events stay in order.
+ */
+@Component
+public class BrokerCatalogEventSink implements CatalogEventSink {
+
+    @Autowired(required = false)
+    private CatalogMessageBroker broker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.catalog-outbox.broker.topic:catalog-changes}")
+    private String topic;
+
+    @Override
+    public void publish(List<CatalogChangeEvent> events) throws Exception {
+        if (broker == null) {
+            return;
+        }
+
+        for (CatalogChangeEvent event : events) {
+            String key = event.getTenantId() + ":" + event.getAggregateType() + ":" + event.getAggregateId();
+            broker.send(topic, key, objectMapper.writeValueAsString(event));
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.inventory.service;
+
+import com.inventory.dto.BulkBarcodeResultDto;
+import com.inventory.dto.BulkGenerateBarcodesRequest;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.GS1Configuration;
+import com.inventory.entity.PackLevel;
+import com.inventory.repository.GS1ConfigurationRepository;
+import com.inventory.repository.ItemBarcodeRepository;
+import com.inventory.repository.ItemVariantRepository;
+import com.inventory.repository.UserAccountRepository;
+import com.inventory.util.BulkJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Generates GTIN barcodes for many variants in one background job.
+ *
+ * The GTIN range is reserved once, codes are validated in memory, existence and duplicate
+ * checks run as set-based IN queries, and rows are written with JDBC batch inserts in
+ * chunked transactions, so the per-barcode cost is a fraction of one round trip. Each chunk
+ * updates the counters, existence filter, scan index and outbox as single barcode writes do.
+ */
+@Slf4j
+@Service
+public class BulkBarcodeGenerationService {
+
+    public static final String JOB_TYPE = "BARCODE_GENERATION";
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO item_barcode (tenant_id, variant_id, barcode, barcode_type, uom_id, pack_level, " +
+            "is_primary, status, label_template_id, created_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ItemBarcodeRepository itemBarcodeRepository;
+
+    @Autowired
+    private ItemVariantRepository itemVariantRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private BarcodeValidationService barcodeValidationService;
+
+    @Autowired
+    private GS1ConfigurationRepository gs1ConfigurationRepository;
+
+    @Autowired
+    private GS1SequenceAllocator gs1SequenceAllocator;
+
+    @Autowired
+    private BarcodeResolutionIndex barcodeResolutionIndex;
+
+    @Autowired
+    private BulkJobRegistry bulkJobRegistry;
+
+    @Autowired
+    private BarcodeCounterService barcodeCounterService;
+
+    @Autowired
+    private BarcodeExistenceFilter barcodeExistenceFilter;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.barcode.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Validate the request and start generation in the background.
+     */
+    public BulkJob<BulkBarcodeResultDto> submit(Long tenantId, Long userId, BulkGenerateBarcodesRequest request) {
+        BarcodeType type = request.getBarcodeType();
+        PackLevel packLevel = request.getPackLevel() != null ? request.getPackLevel() : PackLevel.EACH;
+
+        if (type != BarcodeType.EAN_13 && type != BarcodeType.UPC_A && type != BarcodeType.ITF_14) {
+            throw new IllegalArgumentException("Bulk generation supports EAN_13, UPC_A and ITF_14 barcodes only");
+        }
+        if (!type.supportsPackLevel(packLevel)) {
+            throw new IllegalArgumentException(type + " does not support pack level " + packLevel);
+        }
+        if (!userAccountRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        if (type == BarcodeType.UPC_A) {
+            checkUpcPrefixes(tenantId);
+        }
+
+        List<Long> variantIds = new ArrayList<>(new LinkedHashSet<>(request.getVariantIds()));
+        variantIds.remove(null);
+
+        BulkJob<BulkBarcodeResultDto> job = bulkJobRegistry.create(JOB_TYPE, tenantId, variantIds.size());
+        taskExecutor.execute(() -> run(job, tenantId, userId, request, type, packLevel, variantIds));
+        return job;
+    }
+
+    /**
+     * UPC-A drops the leading zero of a GTIN-13, so every prefix the allocator may draw from has
+     * to start with 0. Checked before allocation, so an unusable range is never consumed.
+     */
+    private void checkUpcPrefixes(Long tenantId) {
+        for (GS1Configuration config : gs1ConfigurationRepository.findAvailableConfigurations(tenantId)) {
+            if (!config.getGs1Prefix().startsWith("0")) {
+                throw new IllegalArgumentException("Cannot generate UPC-A from GS1 prefix " + config.getGs1Prefix());
+            }
+        }
+    }
+
+    /**
+     * Find a generation job of the tenant.
+     */
+    public Optional<BulkJob<BulkBarcodeResultDto>> getJob(Long tenantId, String jobId) {
+        return bulkJobRegistry.find(tenantId, JOB_TYPE, jobId);
+    }
+
+    private void run(BulkJob<BulkBarcodeResultDto> job, Long tenantId, Long userId, BulkGenerateBarcodesRequest request,
+                     BarcodeType type, PackLevel packLevel, List<Long> variantIds) {
+        job.start();
+        try {
+            Set<Long> known = lookup(variantIds, chunk -> itemVariantRepository.findExistingIds(tenantId, chunk));
+            List<Long> targets = new ArrayList<>(known.size());
+            for (Long variantId : variantIds) {
+                if (known.contains(variantId)) {
+                    targets.add(variantId);
+                } else {
+                    job.recordFailure(failure(variantId, null, "Item variant not found"));
+                }
+            }
+            if (targets.isEmpty()) {
+                job.complete();
+                return;
+            }
+
+            Set<Long> withPrimary = Boolean.TRUE.equals(request.getSetPrimary())
+                    ? lookup(targets, chunk -> itemBarcodeRepository.findVariantIdsWithPrimary(tenantId, packLevel, chunk))
+                    : null;
+
+            GS1SequenceAllocator.Allocation allocation = gs1SequenceAllocator.allocate(tenantId, targets.size());
+            List<PendingBarcode> pending = new ArrayList<>(targets.size());
+            for (int i = 0; i < targets.size(); i++) {
+                Long variantId = targets.get(i);
+                String code = format(allocation, i, type, packLevel);
+                if (code == null) {
+                    job.recordFailure(failure(variantId, null, "Cannot generate UPC-A from GS1 prefix " + allocation.getGs1Prefix()));
+                    continue;
+                }
+
+                BarcodeValidationService.ValidationResult validation = barcodeValidationService.validateBarcode(code, type, packLevel);
+                if (!validation.isValid()) {
+                    job.recordFailure(failure(variantId, code, "Invalid barcode: " + validation.getErrorMessage()));
+                    continue;
+                }
+
+                boolean primary = withPrimary != null && !withPrimary.contains(variantId);
+                pending.add(new PendingBarcode(variantId, code, primary));
+            }
+
+            List<String> codes = new ArrayList<>(pending.size());
+            pending.forEach(row -> codes.add(row.barcode));
+            // Freshly allocated codes are almost never taken, so only filter hits reach the database
+            List<String> possibleDuplicates = barcodeExistenceFilter.filterPossibleDuplicates(tenantId, codes);
+            Set<String> taken = lookup(possibleDuplicates, chunk -> itemBarcodeRepository.findExistingBarcodes(tenantId, chunk));
+
+            List<PendingBarcode> insertable = new ArrayList<>(pending.size());
+            for (PendingBarcode row : pending) {
+                if (taken.contains(row.barcode)) {
+                    job.recordFailure(failure(row.variantId, row.barcode, "Barcode already exists: " + row.barcode));
+                } else {
+                    insertable.add(row);
+                }
+            }
+
+            insertInChunks(job, tenantId, userId, request, type, packLevel, insertable);
+            job.complete();
+            log.info("Bulk barcode generation {} for tenant {} finished: {} created, {} failed",
+                    job.getId(), tenantId, job.getSucceeded(), job.getFailed());
+
+        } catch (RuntimeException e) {
+            log.error("Bulk barcode generation {} for tenant {} failed", job.getId(), tenantId, e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void insertInChunks(BulkJob<BulkBarcodeResultDto> job, Long tenantId, Long userId,
+                                BulkGenerateBarcodesRequest request, BarcodeType type, PackLevel packLevel,
+                                List<PendingBarcode> rows) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        BarcodeStatus status = Boolean.TRUE.equals(request.getActivate()) ? BarcodeStatus.ACTIVE : BarcodeStatus.RESERVED;
+
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<PendingBarcode> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            try {
+                chunkTransaction.executeWithoutResult(tx -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, row) -> {
+                        ps.setLong(1, tenantId);
+                        ps.setLong(2, row.variantId);
+                        ps.setString(3, row.barcode);
+                        ps.setString(4, type.name());
+                        if (request.getUomId() != null) {
+                            ps.setLong(5, request.getUomId());
+                        } else {
+                            ps.setNull(5, Types.BIGINT);
+                        }
+                        ps.setString(6, packLevel.name());
+                        ps.setBoolean(7, row.primary);
+                        ps.setString(8, status.name());
+                        if (request.getLabelTemplateId() != null) {
+                            ps.setLong(9, request.getLabelTemplateId());
+                        } else {
+                            ps.setNull(9, Types.BIGINT);
+                        }
+                        ps.setLong(10, userId);
+                        ps.setTimestamp(11, now);
+                        ps.setTimestamp(12, now);
+                    });
+                    recordInserted(tenantId, request, type, packLevel, status, chunk);
+                });
+
+                for (PendingBarcode row : chunk) {
+                    job.recordSuccess(BulkBarcodeResultDto.builder()
+                            .variantId(row.variantId)
+                            .barcode(row.barcode)
+                            .success(true)
+                            .isPrimary(row.primary)
+                            .build());
+                }
+            } catch (DataAccessException e) {
+                log.warn("Bulk barcode chunk of {} rows failed for tenant {}: {}", chunk.size(), tenantId, e.getMessage());
+                for (PendingBarcode row : chunk) {
+                    job.recordFailure(failure(row.variantId, row.barcode, "Insert failed: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply the side effects of single barcode creation to an inserted chunk, in its transaction:
+     * counters and outbox events are written with it, and ACTIVE codes are indexed once it commits.
+     */
+    private void recordInserted(Long tenantId, BulkGenerateBarcodesRequest request, BarcodeType type,
+                                PackLevel packLevel, BarcodeStatus status, List<PendingBarcode> chunk) {
+        barcodeCounterService.recordCreated(tenantId, status, type, chunk.size());
+        chunk.forEach(row -> barcodeExistenceFilter.add(tenantId, row.barcode));
+
+        List<String> codes = new ArrayList<>(chunk.size());
+        chunk.forEach(row -> codes.add(row.barcode));
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : itemBarcodeRepository.findIdsByBarcode(tenantId, codes)) {
+            ids.put((String) row[1], (Long) row[0]);
+        }
+
+        Map<Long, Object[]> events = new LinkedHashMap<>();
+        List<BarcodeResolutionIndex.Resolution> resolutions = new ArrayList<>();
+        for (PendingBarcode row : chunk) {
+            Long id = ids.get(row.barcode);
+            events.put(id, new Object[]{"variantId", row.variantId, "barcode", row.barcode,
+                    "barcodeType", type, "status", status, "isPrimary", row.primary});
+            if (status == BarcodeStatus.ACTIVE) {
+                resolutions.add(new BarcodeResolutionIndex.Resolution(
+                        id, row.barcode, row.variantId, packLevel, request.getUomId(), row.primary, type));
+            }
+        }
+
+        catalogOutbox.appendAll(tenantId, AggregateType.BARCODE, EventType.CREATED, events);
+        if (!resolutions.isEmpty()) {
+            barcodeResolutionIndex.addAll(tenantId, resolutions);
+        }
+    }
+
+    private String format(GS1SequenceAllocator.Allocation allocation, int offset, BarcodeType type, PackLevel packLevel) {
+        switch (type) {
+            case ITF_14:
+                return allocation.gtin14(offset, packLevel == PackLevel.PALLET ? 3 : 2);
+            case UPC_A:
+                String gtin13 = allocation.gtin13(offset);
+                return gtin13.startsWith("0") ? gtin13.substring(1) : null;
+            default:
+                return allocation.gtin13(offset);
+        }
+    }
+
+    /**
+     * Run an IN lookup over the values in bounded chunks and collect the matches.
+     */
+    private <T, M> Set<M> lookup(List<T> values, Function<List<T>, Collection<M>> query) {
+        Set<M> matches = new HashSet<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            matches.addAll(query.apply(values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()))));
+        }
+        return matches;
+    }
+
+    private static BulkBarcodeResultDto failure(Long variantId, String barcode, String error) {
+        return BulkBarcodeResultDto.builder()
+                .variantId(variantId)
+                .barcode(barcode)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private static final class PendingBarcode {
+        private final Long variantId;
+        private final String barcode;
+        private final boolean primary;
+
+        private PendingBarcode(Long variantId, String barcode, boolean primary) {
+            this.variantId = variantId;
+            this.barcode = barcode;
+            this.primary = primary;
+        }
+    }
+}
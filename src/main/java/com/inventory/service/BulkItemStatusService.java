@@ -0,0 +1,250 @@
+package com.inventory.service;
+
+import com.inventory.dto.BulkItemStatusRequest;
+import com.inventory.dto.BulkItemStatusResultDto;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.repository.UserAccountRepository;
+import com.inventory.util.BulkJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves many items to a new lifecycle status in one background job.
+ *
+ * Each chunk of items is locked and read with one IN query, checked in memory against the
+ * status transition rules and activation prerequisites, including the required attributes
+ * their categories inherit, and changed with one UPDATE and one batch of outbox events in the
+ * same transaction. Items that fail a check are reported and left unchanged; the rest of the
+ * chunk still goes through.
+ */
+@Slf4j
+@Service
+public class BulkItemStatusService {
+
+    public static final String JOB_TYPE = "ITEM_STATUS";
+
+    private static final String LOCK_SQL =
+            "SELECT id, sku, status, category_id, department_id, base_uom_id FROM item " +
+            "WHERE tenant_id = :tenantId AND id IN (:ids) FOR UPDATE";
+
+    private static final String ATTRIBUTES_SQL =
+            "SELECT item_id, attribute_definition_id FROM item_attribute_value " +
+            "WHERE tenant_id = :tenantId AND item_id IN (:ids)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE item SET status = :status, updated_by = :userId, updated_at = :now, version = version + 1 " +
+            "WHERE tenant_id = :tenantId AND id IN (:ids)";
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemFacetIndex itemFacetIndex;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private CategoryAttributeIndex categoryAttributeIndex;
+
+    @Autowired
+    private BulkJobRegistry bulkJobRegistry;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.item-status.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Validate the request and start the status change in the background.
+     */
+    public BulkJob<BulkItemStatusResultDto> submit(Long tenantId, Long userId, BulkItemStatusRequest request) {
+        ItemStatus targetStatus = request.getTargetStatus();
+        if (targetStatus == ItemStatus.DRAFT) {
+            throw new IllegalArgumentException("Items can only be moved to ACTIVE or DISCONTINUED");
+        }
+        if (!userAccountRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+
+        List<Long> itemIds = new ArrayList<>(new LinkedHashSet<>(request.getItemIds()));
+        itemIds.remove(null);
+
+        BulkJob<BulkItemStatusResultDto> job = bulkJobRegistry.create(JOB_TYPE, tenantId, itemIds.size());
+        taskExecutor.execute(() -> run(job, tenantId, userId, targetStatus, itemIds));
+        return job;
+    }
+
+    /**
+     * Find a status change job of the tenant.
+     */
+    public Optional<BulkJob<BulkItemStatusResultDto>> getJob(Long tenantId, String jobId) {
+        return bulkJobRegistry.find(tenantId, JOB_TYPE, jobId);
+    }
+
+    private void run(BulkJob<BulkItemStatusResultDto> job, Long tenantId, Long userId, ItemStatus targetStatus,
+                     List<Long> itemIds) {
+        job.start();
+        boolean changed = false;
+        try {
+            TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+
+            for (int from = 0; from < itemIds.size(); from += chunkSize) {
+                List<Long> chunk = itemIds.subList(from, Math.min(from + chunkSize, itemIds.size()));
+                List<BulkItemStatusResultDto> failures = new ArrayList<>();
+                List<ItemStatusRow> eligible = new ArrayList<>();
+
+                try {
+                    chunkTransaction.executeWithoutResult(tx -> {
+                        failures.clear();
+                        eligible.clear();
+                        changeChunk(tenantId, userId, targetStatus, chunk, failures, eligible);
+                    });
+
+                    failures.forEach(job::recordFailure);
+                    eligible.forEach(row -> job.recordSuccess(null));
+                    changed |= !eligible.isEmpty();
+                } catch (DataAccessException e) {
+                    log.warn("Bulk item status chunk of {} items failed for tenant {}: {}", chunk.size(), tenantId, e.getMessage());
+                    for (Long itemId : chunk) {
+                        job.recordFailure(failure(itemId, null, null, "Update failed: " + e.getMostSpecificCause().getMessage()));
+                    }
+                }
+            }
+
+            job.complete();
+            log.info("Bulk item status change {} to {} for tenant {} finished: {} changed, {} failed",
+                    job.getId(), targetStatus, tenantId, job.getSucceeded(), job.getFailed());
+
+        } catch (RuntimeException e) {
+            log.error("Bulk item status change {} for tenant {} failed", job.getId(), tenantId, e);
+            job.fail(e.getMessage());
+        } finally {
+            // Chunks committed before a failure changed items too
+            if (changed) {
+                itemSearchIndex.evict(tenantId);
+                itemFacetIndex.evict(tenantId);
+            }
+        }
+    }
+
+    private void changeChunk(Long tenantId, Long userId, ItemStatus targetStatus, List<Long> chunk,
+                             List<BulkItemStatusResultDto> failures, List<ItemStatusRow> eligible) {
+        MapSqlParameterSource lockParams = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("ids", chunk);
+        Map<Long, ItemStatusRow> rows = new HashMap<>();
+        namedParameterJdbcTemplate.query(LOCK_SQL, lockParams, rs -> {
+            ItemStatusRow row = new ItemStatusRow(rs.getLong(1), rs.getString(2), ItemStatus.valueOf(rs.getString(3)),
+                    rs.getObject(4, Long.class), rs.getObject(5) != null, rs.getObject(6) != null);
+            rows.put(row.id, row);
+        });
+
+        // Required attribute checks need the attributes each item has, read for the whole chunk at once
+        Map<Long, Set<Long>> attributesByItem = new HashMap<>();
+        if (targetStatus == ItemStatus.ACTIVE && !rows.isEmpty()) {
+            namedParameterJdbcTemplate.query(ATTRIBUTES_SQL, lockParams, rs -> {
+                attributesByItem.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+            });
+        }
+
+        for (Long itemId : chunk) {
+            ItemStatusRow row = rows.get(itemId);
+            String error = row == null ? "Item not found"
+                    : check(tenantId, row, targetStatus, attributesByItem.getOrDefault(itemId, Set.of()));
+            if (error != null) {
+                failures.add(failure(itemId, row != null ? row.sku : null, row != null ? row.status : null, error));
+            } else {
+                eligible.add(row);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(eligible.size());
+        Map<Long, Object[]> events = new LinkedHashMap<>();
+        for (ItemStatusRow row : eligible) {
+            ids.add(row.id);
+            events.put(row.id, new Object[]{"sku", row.sku, "status", targetStatus, "previousStatus", row.status});
+        }
+
+        namedParameterJdbcTemplate.update(UPDATE_SQL, new MapSqlParameterSource()
+                .addValue("status", targetStatus.name())
+                .addValue("userId", userId)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("tenantId", tenantId)
+                .addValue("ids", ids));
+        catalogOutbox.appendAll(tenantId, AggregateType.ITEM, EventType.STATUS_CHANGED, events);
+    }
+
+    /**
+     * The same rules as a single-item status change, or null when the item may be moved.
+     */
+    private String check(Long tenantId, ItemStatusRow row, ItemStatus targetStatus, Set<Long> attributeDefinitionIds) {
+        return ItemStatusRules.check(row.status, targetStatus, row.categoryId, row.hasDepartment, row.hasBaseUom,
+                categoryId -> categoryAttributeIndex.findMissingRequired(tenantId, categoryId, attributeDefinitionIds));
+    }
+
+    private static BulkItemStatusResultDto failure(Long itemId, String sku, ItemStatus previousStatus, String error) {
+        return BulkItemStatusResultDto.builder()
+                .itemId(itemId)
+                .sku(sku)
+                .success(false)
+                .previousStatus(previousStatus)
+                .error(error)
+                .build();
+    }
+
+    private static final class ItemStatusRow {
+        private final Long id;
+        private final String sku;
+        private final ItemStatus status;
+        private final Long categoryId;
+        private final boolean hasDepartment;
+        private final boolean hasBaseUom;
+
+        private ItemStatusRow(Long id, String sku, ItemStatus status,
+                              Long categoryId, boolean hasDepartment, boolean hasBaseUom) {
+            this.id = id;
+            this.sku = sku;
+            this.status = status;
+            this.categoryId = categoryId;
+            this.hasDepartment = hasDepartment;
+            this.hasBaseUom = hasBaseUom;
+        }
+    }
+}
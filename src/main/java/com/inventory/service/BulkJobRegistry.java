@@ -0,0 +1,50 @@
+package com.inventory.service;
+
+import com.inventory.util.BulkJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps bulk jobs in memory so clients can poll their progress and results.
+ * Finished jobs are dropped after the configured retention period.
+ */
+@Component
+public class BulkJobRegistry {
+
+    @Value("${app.bulk-jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, BulkJob<?>> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Register a new job for the tenant.
+     */
+    public <R> BulkJob<R> create(String type, Long tenantId, int total) {
+        pruneFinished();
+        BulkJob<R> job = new BulkJob<>(type, tenantId, total);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Find a job by id, only if it belongs to the tenant and has the expected type.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Optional<BulkJob<R>> find(Long tenantId, String type, String jobId) {
+        BulkJob<?> job = jobs.get(jobId);
+        if (job == null || !job.getTenantId().equals(tenantId) || !job.getType().equals(type)) {
+            return Optional.empty();
+        }
+        return Optional.of((BulkJob<R>) job);
+    }
+
+    private void pruneFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
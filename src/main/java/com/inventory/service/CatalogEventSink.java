@@ -0,0 +1,18 @@
+package com.inventory.service;
+
+import com.inventory.dto.CatalogChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination for catalog change events drained from the outbox. Every sink bean receives
+ * every batch. A batch is retried, to all sinks, until each of them returns normally, so
+ * sinks must tolerate events they have already seen.
+ */
+public interface CatalogEventSink {
+
+    /**
+     * Deliver a batch of events in outbox order; throw to have the batch retried.
+     */
+    void publish(List<CatalogChangeEvent> events) throws Exception;
+}
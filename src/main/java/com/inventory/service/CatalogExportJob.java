@@ -0,0 +1,66 @@
+package com.inventory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Command-line catalog export for nightly feeds. Runs when started with
+ * {@code --app.catalog-export.cli.tenant-id=<id> --app.catalog-export.cli.output=<file>}
+ * (add {@code --spring.main.web-application-type=none} to skip the web server), writes the
+ * export and exits. An output file ending in {@code .gz} is gzip-compressed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.catalog-export.cli", name = "tenant-id")
+public class CatalogExportJob implements ApplicationRunner {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.catalog-export.cli.tenant-id}")
+    private Long tenantId;
+
+    @Value("${app.catalog-export.cli.output}")
+    private String output;
+
+    @Value("${app.catalog-export.cli.format:NDJSON}")
+    private CatalogExportService.Format format;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        Path path = Path.of(output);
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024)) {
+            if (output.endsWith(".gz")) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(file, 64 * 1024)) {
+                    catalogExportService.export(tenantId, format, compressed);
+                }
+            } else {
+                catalogExportService.export(tenantId, format, file);
+            }
+            log.info("Catalog export of tenant {} written to {}", tenantId, path.toAbsolutePath());
+        } catch (Exception e) {
+            log.error("Catalog export of tenant {} failed", tenantId, e);
+            exitCode = 1;
+        }
+
+        int status = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> status));
+    }
+}
@@ -0,0 +1,450 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.util.CsvWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Streams a tenant's whole catalog (items with their attribute values, variants and barcodes)
+ * as NDJSON, one item per line, or as CSV, one row per variant.
+ *
+ * Items are read in id order one chunk at a time; the variants, attribute values and barcodes
+ * of a chunk are then read with one range query each, ordered by item id, and merged with the
+ * items by walking the lists side by side. Memory is bounded by the chunk size whatever the
+ * catalog size, and every table is read with a handful of index range scans per chunk. The
+ * export runs in one read-only transaction so it reflects a single consistent snapshot.
+ */
+@Slf4j
+@Service
+public class CatalogExportService {
+
+    private static final String ITEM_SQL =
+            "SELECT id, sku, name, short_name, description, item_type, status, category_id, department_id, " +
+            "brand_id, base_price, updated_at FROM item WHERE tenant_id = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String VARIANT_SQL =
+            "SELECT id, item_id, variant_sku, name, upc, ean, gtin, status, base_price FROM item_variant " +
+            "WHERE tenant_id = ? AND item_id BETWEEN ? AND ? ORDER BY item_id, id";
+
+    private static final String ATTRIBUTE_SQL =
+            "SELECT av.item_id, ad.code, av.value FROM item_attribute_value av " +
+            "JOIN attribute_definition ad ON ad.id = av.attribute_definition_id " +
+            "WHERE av.tenant_id = ? AND av.item_id BETWEEN ? AND ? ORDER BY av.item_id, ad.code";
+
+    private static final String BARCODE_SQL =
+            "SELECT v.item_id, b.variant_id, b.barcode, b.barcode_type, b.pack_level, b.is_primary, b.status " +
+            "FROM item_barcode b JOIN item_variant v ON v.id = b.variant_id " +
+            "WHERE v.tenant_id = ? AND v.item_id BETWEEN ? AND ? ORDER BY v.item_id, b.variant_id, b.id";
+
+    private static final String[] CSV_HEADER = {
+            "item_sku", "item_name", "item_type", "item_status", "category_id", "department_id", "brand_id",
+            "variant_sku", "variant_name", "gtin", "variant_status", "base_price", "barcodes", "attributes"
+    };
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.catalog-export.chunk-size:1000}")
+    private int chunkSize;
+
+    private JdbcTemplate exportJdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        exportJdbcTemplate = new JdbcTemplate(dataSource);
+        exportJdbcTemplate.setFetchSize(chunkSize);
+    }
+
+    /**
+     * Write the tenant's catalog to {@code out}, which is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public ExportSummary export(Long tenantId, Format format, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        ExportSummary summary = new ExportSummary();
+        CatalogWriter writer = format == Format.CSV ? new CsvCatalogWriter(out) : new NdjsonWriter(out);
+
+        long afterId = 0;
+        while (true) {
+            List<ItemRow> items = exportJdbcTemplate.query(ITEM_SQL, CatalogExportService::mapItem,
+                    tenantId, afterId, chunkSize);
+            if (items.isEmpty()) {
+                break;
+            }
+
+            long firstId = items.get(0).id;
+            long lastId = items.get(items.size() - 1).id;
+            List<VariantRow> variants = exportJdbcTemplate.query(VARIANT_SQL, CatalogExportService::mapVariant,
+                    tenantId, firstId, lastId);
+            List<AttributeRow> attributes = exportJdbcTemplate.query(ATTRIBUTE_SQL,
+                    (rs, rowNum) -> new AttributeRow(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                    tenantId, firstId, lastId);
+            List<BarcodeRow> barcodes = exportJdbcTemplate.query(BARCODE_SQL, CatalogExportService::mapBarcode,
+                    tenantId, firstId, lastId);
+
+            writeChunk(writer, items, variants, attributes, barcodes);
+            summary.items += items.size();
+            summary.variants += variants.size();
+            summary.attributeValues += attributes.size();
+            summary.barcodes += barcodes.size();
+
+            afterId = lastId;
+        }
+
+        writer.finish();
+        summary.elapsedMillis = System.currentTimeMillis() - started;
+        log.info("Exported catalog of tenant {} as {}: {} items, {} variants, {} attribute values, {} barcodes in {} ms",
+                tenantId, format, summary.items, summary.variants, summary.attributeValues, summary.barcodes,
+                summary.elapsedMillis);
+        return summary;
+    }
+
+    /**
+     * Merge the chunk's child rows, all sorted by item id, into their items in one pass
+     */
+    private void writeChunk(CatalogWriter writer, List<ItemRow> items, List<VariantRow> variants,
+                            List<AttributeRow> attributes, List<BarcodeRow> barcodes) throws IOException {
+        int v = 0;
+        int a = 0;
+        int b = 0;
+        for (ItemRow item : items) {
+            while (v < variants.size() && variants.get(v).itemId < item.id) {
+                v++;
+            }
+            int variantStart = v;
+            while (v < variants.size() && variants.get(v).itemId == item.id) {
+                v++;
+            }
+            while (a < attributes.size() && attributes.get(a).itemId < item.id) {
+                a++;
+            }
+            int attributeStart = a;
+            while (a < attributes.size() && attributes.get(a).itemId == item.id) {
+                a++;
+            }
+            while (b < barcodes.size() && barcodes.get(b).itemId < item.id) {
+                b++;
+            }
+            int barcodeStart = b;
+            while (b < barcodes.size() && barcodes.get(b).itemId == item.id) {
+                b++;
+            }
+            writer.write(item, variants.subList(variantStart, v), attributes.subList(attributeStart, a),
+                    barcodes.subList(barcodeStart, b));
+        }
+    }
+
+    private static ItemRow mapItem(ResultSet rs, int rowNum) throws SQLException {
+        ItemRow row = new ItemRow();
+        row.id = rs.getLong("id");
+        row.sku = rs.getString("sku");
+        row.name = rs.getString("name");
+        row.shortName = rs.getString("short_name");
+        row.description = rs.getString("description");
+        row.itemType = rs.getString("item_type");
+        row.status = rs.getString("status");
+        row.categoryId = rs.getObject("category_id", Long.class);
+        row.departmentId = rs.getObject("department_id", Long.class);
+        row.brandId = rs.getObject("brand_id", Long.class);
+        row.basePrice = rs.getBigDecimal("base_price");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        row.updatedAt = updatedAt != null ? updatedAt.toLocalDateTime().toString() : null;
+        return row;
+    }
+
+    private static VariantRow mapVariant(ResultSet rs, int rowNum) throws SQLException {
+        VariantRow row = new VariantRow();
+        row.id = rs.getLong("id");
+        row.itemId = rs.getLong("item_id");
+        row.sku = rs.getString("variant_sku");
+        row.name = rs.getString("name");
+        row.upc = rs.getString("upc");
+        row.ean = rs.getString("ean");
+        row.gtin = rs.getString("gtin");
+        row.status = rs.getString("status");
+        row.basePrice = rs.getBigDecimal("base_price");
+        return row;
+    }
+
+    private static BarcodeRow mapBarcode(ResultSet rs, int rowNum) throws SQLException {
+        BarcodeRow row = new BarcodeRow();
+        row.itemId = rs.getLong("item_id");
+        row.variantId = rs.getLong("variant_id");
+        row.barcode = rs.getString("barcode");
+        row.type = rs.getString("barcode_type");
+        row.packLevel = rs.getString("pack_level");
+        row.primary = rs.getBoolean("is_primary");
+        row.status = rs.getString("status");
+        return row;
+    }
+
+    private interface CatalogWriter {
+
+        void write(ItemRow item, List<VariantRow> variants, List<AttributeRow> attributes,
+                   List<BarcodeRow> barcodes) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per item with nested attributes, variants and their barcodes
+     */
+    private class NdjsonWriter implements CatalogWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Root values are separated by the newline written after each item, not the default space
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ItemRow item, List<VariantRow> variants, List<AttributeRow> attributes,
+                          List<BarcodeRow> barcodes) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("sku", item.sku);
+            json.writeStringField("name", item.name);
+            json.writeStringField("shortName", item.shortName);
+            json.writeStringField("description", item.description);
+            json.writeStringField("itemType", item.itemType);
+            json.writeStringField("status", item.status);
+            writeLong("categoryId", item.categoryId);
+            writeLong("departmentId", item.departmentId);
+            writeLong("brandId", item.brandId);
+            writeDecimal("basePrice", item.basePrice);
+            json.writeStringField("updatedAt", item.updatedAt);
+
+            json.writeObjectFieldStart("attributes");
+            for (AttributeRow attribute : attributes) {
+                json.writeStringField(attribute.code, attribute.value);
+            }
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("variants");
+            int b = 0;
+            for (VariantRow variant : variants) {
+                json.writeStartObject();
+                json.writeStringField("sku", variant.sku);
+                json.writeStringField("name", variant.name);
+                json.writeStringField("upc", variant.upc);
+                json.writeStringField("ean", variant.ean);
+                json.writeStringField("gtin", variant.gtin);
+                json.writeStringField("status", variant.status);
+                writeDecimal("basePrice", variant.basePrice);
+
+                json.writeArrayFieldStart("barcodes");
+                while (b < barcodes.size() && barcodes.get(b).variantId <= variant.id) {
+                    BarcodeRow barcode = barcodes.get(b++);
+                    if (barcode.variantId != variant.id) {
+                        continue;
+                    }
+                    json.writeStartObject();
+                    json.writeStringField("barcode", barcode.barcode);
+                    json.writeStringField("type", barcode.type);
+                    json.writeStringField("packLevel", barcode.packLevel);
+                    json.writeBooleanField("primary", barcode.primary);
+                    json.writeStringField("status", barcode.status);
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+
+        private void writeLong(String field, Long value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+
+        private void writeDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+    }
+
+    /**
+     * One row per variant, or one row for an item without variants. Barcodes are listed as
+     * {@code code:TYPE} and attributes as {@code code=value}, both separated by {@code |}.
+     */
+    private static class CsvCatalogWriter implements CatalogWriter {
+
+        private final CsvWriter csv;
+
+        CsvCatalogWriter(OutputStream stream) {
+            csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024));
+            try {
+                csv.writeRow(CSV_HEADER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ItemRow item, List<VariantRow> variants, List<AttributeRow> attributes,
+                          List<BarcodeRow> barcodes) throws IOException {
+            StringBuilder joined = new StringBuilder();
+            for (AttributeRow attribute : attributes) {
+                if (joined.length() > 0) {
+                    joined.append('|');
+                }
+                joined.append(attribute.code).append('=').append(attribute.value);
+            }
+            String attributeList = joined.toString();
+
+            if (variants.isEmpty()) {
+                csv.writeRow(itemColumns(item, null, "", attributeList));
+                return;
+            }
+
+            int b = 0;
+            for (VariantRow variant : variants) {
+                joined.setLength(0);
+                while (b < barcodes.size() && barcodes.get(b).variantId <= variant.id) {
+                    BarcodeRow barcode = barcodes.get(b++);
+                    if (barcode.variantId != variant.id) {
+                        continue;
+                    }
+                    if (joined.length() > 0) {
+                        joined.append('|');
+                    }
+                    joined.append(barcode.barcode).append(':').append(barcode.type);
+                }
+                csv.writeRow(itemColumns(item, variant, joined.toString(), attributeList));
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            csv.flush();
+        }
+
+        private static String[] itemColumns(ItemRow item, VariantRow variant, String barcodeList, String attributeList) {
+            return new String[] {
+                    item.sku, item.name, item.itemType, item.status,
+                    toString(item.categoryId), toString(item.departmentId), toString(item.brandId),
+                    variant != null ? variant.sku : null,
+                    variant != null ? variant.name : null,
+                    variant != null ? variant.gtin : null,
+                    variant != null ? variant.status : null,
+                    toString(variant != null && variant.basePrice != null ? variant.basePrice : item.basePrice),
+                    barcodeList, attributeList
+            };
+        }
+
+        private static String toString(Object value) {
+            return value != null ? value.toString() : null;
+        }
+    }
+
+    private static final class ItemRow {
+        long id;
+        String sku;
+        String name;
+        String shortName;
+        String description;
+        String itemType;
+        String status;
+        Long categoryId;
+        Long departmentId;
+        Long brandId;
+        BigDecimal basePrice;
+        String updatedAt;
+    }
+
+    private static final class VariantRow {
+        long id;
+        long itemId;
+        String sku;
+        String name;
+        String upc;
+        String ean;
+        String gtin;
+        String status;
+        BigDecimal basePrice;
+    }
+
+    private static final class AttributeRow {
+        final long itemId;
+        final String code;
+        final String value;
+
+        AttributeRow(long itemId, String code, String value) {
+            this.itemId = itemId;
+            this.code = code;
+            this.value = value;
+        }
+    }
+
+    private static final class BarcodeRow {
+        long itemId;
+        long variantId;
+        String barcode;
+        String type;
+        String packLevel;
+        boolean primary;
+        String status;
+    }
+
+    /**
+     * Row counts of a finished export
+     */
+    public static class ExportSummary {
+        private long items;
+        private long variants;
+        private long attributeValues;
+        private long barcodes;
+        private long elapsedMillis;
+
+        public long getItems() { return items; }
+        public long getVariants() { return variants; }
+        public long getAttributeValues() { return attributeValues; }
+        public long getBarcodes() { return barcodes; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventory.service;
+
+/**
+ * Minimal producer interface for forwarding catalog change events to a message broker.
+ * Implementations must keep messages with the same key in order, as a partitioned topic does.
+ */
+public interface CatalogMessageBroker {
+
+    /**
+     * Send one message and return once the broker has accepted it; throw if it did not.
+     */
+    void send(String topic, String key, String message) throws Exception;
+}
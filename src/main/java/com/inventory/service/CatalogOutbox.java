@@ -0,0 +1,194 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for catalog changes, kept in {@code catalog_outbox}.
+ *
+ * Services append an event in the same transaction as the change it describes, so an event
+ * exists exactly when its change committed. A scheduled relay drains the table in id order,
+ * hands each batch to every {@link CatalogEventSink} and deletes it once all of them accepted
+ * it. Delivery is at least once: a batch is retried, to every sink, until it goes through.
+ */
+@Slf4j
+@Service
+public class CatalogOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO catalog_outbox (tenant_id, aggregate_type, aggregate_id, event_type, payload, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id, tenant_id, aggregate_type, aggregate_id, event_type, payload, created_at " +
+            "FROM catalog_outbox ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String DELETE_SQL = "DELETE FROM catalog_outbox WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private List<CatalogEventSink> sinks;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.catalog-outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${app.catalog-outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.catalog-outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    private TransactionTemplate relayTransaction;
+
+    @PostConstruct
+    void init() {
+        relayTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Append an event to the caller's transaction, with a payload built from alternating field
+     * names and values. Pending entity changes are flushed first, so the aggregate's row is
+     * locked before the event is numbered and concurrent changes to one aggregate are numbered
+     * in commit order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long tenantId, AggregateType aggregateType, Long aggregateId, EventType eventType,
+                       Object... fields) {
+        String json = payload(fields);
+        entityManager.flush();
+        jdbcTemplate.update(INSERT_SQL, tenantId, aggregateType.name(), aggregateId, eventType.name(), json,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Append one event per aggregate to the caller's transaction with a single batch insert, for
+     * bulk changes written without loading entities. Events are numbered in the map's order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Long tenantId, AggregateType aggregateType, EventType eventType,
+                          Map<Long, Object[]> fieldsByAggregateId) {
+        if (fieldsByAggregateId.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(fieldsByAggregateId.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        fieldsByAggregateId.forEach((aggregateId, fields) -> rows.add(new Object[]{
+                tenantId, aggregateType.name(), aggregateId, eventType.name(), payload(fields), now}));
+
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Drain the outbox until it is empty or the per-run batch limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog-outbox.relay.interval-ms:1000}",
+               initialDelayString = "${app.catalog-outbox.relay.interval-ms:1000}")
+    public void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Catalog outbox relay failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver the oldest batch of events to every sink and delete it. The batch stays locked
+     * while it is delivered, so a relay on another node waits instead of delivering the same
+     * events or overtaking them. A locking read also waits for lower-numbered events whose
+     * transaction has not yet committed, so they are never delivered after later ones.
+     *
+     * @return number of events delivered
+     */
+    public int relayBatch() {
+        Integer delivered = relayTransaction.execute(status -> {
+            List<CatalogChangeEvent> batch = jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) ->
+                    CatalogChangeEvent.builder()
+                            .id(rs.getLong(1))
+                            .tenantId(rs.getLong(2))
+                            .aggregateType(AggregateType.valueOf(rs.getString(3)))
+                            .aggregateId(rs.getLong(4))
+                            .eventType(EventType.valueOf(rs.getString(5)))
+                            .payload(rs.getString(6))
+                            .occurredAt(rs.getTimestamp(7).toLocalDateTime())
+                            .build(),
+                    batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            for (CatalogEventSink sink : sinks) {
+                try {
+                    sink.publish(batch);
+                } catch (Exception e) {
+                    throw new IllegalStateException(
+                            "Catalog event sink " + sink.getClass().getSimpleName() + " failed: " + e.getMessage(), e);
+                }
+            }
+
+            jdbcTemplate.batchUpdate(DELETE_SQL, batch, batch.size(), (ps, event) -> ps.setLong(1, event.getId()));
+            return batch.size();
+        });
+        return delivered != null ? delivered : 0;
+    }
+
+    private String payload(Object... fields) {
+        if (fields.length % 2 != 0) {
+            throw new IllegalArgumentException("Event fields must be name and value pairs");
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i += 2) {
+            payload.put((String) fields[i], fields[i + 1]);
+        }
+
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload cannot be serialized: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.inventory.service;
+
+import com.inventory.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache mapping category, department, brand and unit of measure ids to
+ * their tenant and status, so item writes can check references without loading them.
+ * Departments and brands have a status; the other types count as always active.
+ *
+ * Entries are loaded one row at a time on a miss and evicted after the owning service's
+ * write commits. Ids that do not exist are not cached. The tenant of a row never changes,
+ * and the maximum age bounds how long a status change made on another node can go unseen.
+ */
+@Service
+public class CatalogReferenceCache {
+
+    public enum Type {
+        CATEGORY("SELECT tenant_id, NULL FROM category WHERE id = ?"),
+        DEPARTMENT("SELECT tenant_id, status FROM department WHERE id = ?"),
+        BRAND("SELECT tenant_id, status FROM brand WHERE id = ?"),
+        UNIT_OF_MEASURE("SELECT tenant_id, NULL FROM unit_of_measure WHERE id = ?");
+
+        private final String sql;
+
+        Type(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private static final String ACTIVE = "ACTIVE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.reference-cache.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.reference-cache.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    private Map<Long, Reference> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Reference> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the tenant and status of a reference, or null if it does not exist.
+     */
+    public Reference get(Type type, Long id) {
+        long key = key(type, id);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Reference cached = entries.get(key);
+            if (cached != null && now - cached.loadedAt < maxAgeSeconds * 1_000_000_000L) {
+                return cached;
+            }
+        }
+
+        List<Reference> rows = jdbcTemplate.query(type.sql,
+                (rs, rowNum) -> new Reference(rs.getLong(1), rs.getString(2), now), id);
+        if (rows.isEmpty()) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+            return null;
+        }
+
+        Reference loaded = rows.get(0);
+        synchronized (entries) {
+            entries.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Check that the reference exists and belongs to the tenant.
+     */
+    public boolean belongsToTenant(Type type, Long id, Long tenantId) {
+        Reference reference = get(type, id);
+        return reference != null && tenantId != null && reference.tenantId == tenantId;
+    }
+
+    /**
+     * Check that the reference exists and is active.
+     */
+    public boolean isActive(Type type, Long id) {
+        Reference reference = get(type, id);
+        return reference != null && (reference.status == null || ACTIVE.equals(reference.status));
+    }
+
+    /**
+     * Drop a reference once the current transaction commits, after it was updated or deleted.
+     */
+    public void evictAfterCommit(Type type, Long id) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (entries) {
+                entries.remove(key(type, id));
+            }
+        });
+    }
+
+    private static long key(Type type, Long id) {
+        return id << 2 | type.ordinal();
+    }
+
+    /**
+     * Owning tenant and status of a reference; status is null for types without one
+     */
+    public static final class Reference {
+        private final long tenantId;
+        private final String status;
+        private final long loadedAt;
+
+        private Reference(long tenantId, String status, long loadedAt) {
+            this.tenantId = tenantId;
+            this.status = status;
+            this.loadedAt = loadedAt;
+        }
+
+        public long getTenantId() { return tenantId; }
+        public String getStatus() { return status; }
+    }
+}
@@ -0,0 +1,393 @@
+package com.inventory.service;
+
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import com.inventory.entity.AttributeSet;
+import com.inventory.repository.AttributeSetRepository;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.util.TenantIndexRegistry;
+import com.inventory.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, tenant-partitioned map from category to its effective attributes: those of its
+ * own attribute sets plus those inherited from every ancestor up the {@code parent} chain.
+ *
+ * Effective attributes are precomputed per category, so item validation reads them with one
+ * map lookup instead of one query per category level. Category moves and attribute set changes
+ * are applied after commit and only recompute the affected category's subtree; definition
+ * changes drop the tenant's index, and it is rebuilt periodically to pick up writes made by
+ * other application nodes.
+ */
+@Slf4j
+@Component
+public class CategoryAttributeIndex {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AttributeSetRepository attributeSetRepository;
+
+    @Value("${app.category-attributes.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    private TenantIndexRegistry<TenantAttributes> registry;
+
+    @PostConstruct
+    void init() {
+        registry = new TenantIndexRegistry<>(this::load, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Effective attributes of a category, inherited ones first, each in display order. Empty
+     * for a category the index does not know.
+     */
+    public List<EffectiveAttribute> getEffectiveAttributes(Long tenantId, Long categoryId) {
+        return registry.get(tenantId).get(categoryId).getAll();
+    }
+
+    /**
+     * The required subset of a category's effective attributes.
+     */
+    public List<EffectiveAttribute> getRequiredAttributes(Long tenantId, Long categoryId) {
+        return registry.get(tenantId).get(categoryId).getRequired();
+    }
+
+    /**
+     * Codes of the category's required attributes that are not among the given definition ids.
+     */
+    public List<String> findMissingRequired(Long tenantId, Long categoryId, Set<Long> providedDefinitionIds) {
+        List<String> missing = new ArrayList<>();
+        for (EffectiveAttribute attribute : getRequiredAttributes(tenantId, categoryId)) {
+            if (!providedDefinitionIds.contains(attribute.getDefinitionId())) {
+                missing.add(attribute.getCode());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Add a category or move it under a new parent once the transaction commits.
+     */
+    public void putCategory(Long tenantId, Long categoryId, Long parentId) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.putCategory(categoryId, parentId)));
+    }
+
+    /**
+     * Remove a category once the transaction commits.
+     */
+    public void removeCategory(Long tenantId, Long categoryId) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.removeCategory(categoryId)));
+    }
+
+    /**
+     * Add or replace an attribute set of a category once the transaction commits.
+     */
+    public void putAttributeSet(AttributeSet attributeSet) {
+        Long tenantId = attributeSet.getTenant().getId();
+        EffectiveAttribute attribute = new EffectiveAttribute(attributeSet.getCategory().getId(),
+                attributeSet.getAttributeDefinition(), attributeSet.isRequired(), attributeSet.getDisplayOrder());
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.putAttribute(attribute)));
+    }
+
+    /**
+     * Remove an attribute set of a category once the transaction commits.
+     */
+    public void removeAttributeSet(Long tenantId, Long categoryId, Long attributeDefinitionId) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId,
+                index -> index.removeAttribute(categoryId, attributeDefinitionId)));
+    }
+
+    /**
+     * Drop the tenant's index once the transaction commits, so it is rebuilt from the database
+     * on next use.
+     */
+    public void evictAfterCommit(Long tenantId) {
+        TransactionHooks.afterCommit(() -> registry.evict(tenantId));
+    }
+
+    private TenantAttributes load(Long tenantId) {
+        long started = System.nanoTime();
+
+        Map<Long, Long> parentById = new HashMap<>();
+        for (Object[] row : categoryRepository.findHierarchyRows(tenantId)) {
+            parentById.put((Long) row[0], (Long) row[1]);
+        }
+        List<EffectiveAttribute> declared = new ArrayList<>();
+        for (Object[] row : attributeSetRepository.findIndexRows(tenantId)) {
+            boolean required = Boolean.TRUE.equals(row[5]) || Boolean.TRUE.equals(row[6]);
+            declared.add(new EffectiveAttribute((Long) row[0], (Long) row[1], (String) row[2], (String) row[3],
+                    (AttributeDataType) row[4], required, (Integer) row[7]));
+        }
+
+        TenantAttributes index = new TenantAttributes(parentById, declared);
+        log.debug("Indexed effective attributes of {} categories for tenant {} in {} ms",
+                parentById.size(), tenantId, (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * An attribute as it applies to a category. Immutable.
+     */
+    public static final class EffectiveAttribute {
+        private final Long categoryId;
+        private final Long definitionId;
+        private final String code;
+        private final String name;
+        private final AttributeDataType dataType;
+        private final boolean required;
+        private final int displayOrder;
+
+        EffectiveAttribute(Long categoryId, Long definitionId, String code, String name, AttributeDataType dataType,
+                           boolean required, Integer displayOrder) {
+            this.categoryId = categoryId;
+            this.definitionId = definitionId;
+            this.code = code;
+            this.name = name;
+            this.dataType = dataType;
+            this.required = required;
+            this.displayOrder = displayOrder != null ? displayOrder : 0;
+        }
+
+        private EffectiveAttribute(Long categoryId, AttributeDefinition definition, boolean required, Integer displayOrder) {
+            this(categoryId, definition.getId(), definition.getCode(), definition.getName(), definition.getDataType(),
+                    required, displayOrder);
+        }
+
+        /** The category whose attribute set declares the attribute, the nearest one if several do */
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public Long getDefinitionId() {
+            return definitionId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public AttributeDataType getDataType() {
+            return dataType;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public int getDisplayOrder() {
+            return displayOrder;
+        }
+
+        private EffectiveAttribute asRequired() {
+            return new EffectiveAttribute(categoryId, definitionId, code, name, dataType, true, displayOrder);
+        }
+    }
+
+    /**
+     * Effective attributes of a single tenant's categories. The own attribute sets and parent of
+     * each category are kept so a change recomputes only the subtree below it.
+     */
+    static final class TenantAttributes {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Long> parentById;
+        private final Map<Long, List<Long>> childrenById = new HashMap<>();
+        private final Map<Long, List<EffectiveAttribute>> ownById = new HashMap<>();
+        private final Map<Long, Effective> effectiveById = new HashMap<>();
+
+        /**
+         * @param parentById parent id by category id, null for root categories
+         * @param declared   attributes of every attribute set, in display order
+         */
+        TenantAttributes(Map<Long, Long> parentById, Collection<EffectiveAttribute> declared) {
+            this.parentById = new HashMap<>(parentById);
+            parentById.forEach((categoryId, parentId) -> {
+                if (parentId != null) {
+                    childrenById.computeIfAbsent(parentId, id -> new ArrayList<>()).add(categoryId);
+                }
+            });
+            for (EffectiveAttribute attribute : declared) {
+                ownById.computeIfAbsent(attribute.categoryId, id -> new ArrayList<>()).add(attribute);
+            }
+
+            for (Map.Entry<Long, Long> category : this.parentById.entrySet()) {
+                Long parentId = category.getValue();
+                if (parentId == null || !this.parentById.containsKey(parentId)) {
+                    resolveSubtree(category.getKey());
+                }
+            }
+            // Only categories in a parent cycle are left; they get their own attributes at least
+            for (Long categoryId : this.parentById.keySet()) {
+                if (!effectiveById.containsKey(categoryId)) {
+                    resolveSubtree(categoryId);
+                }
+            }
+        }
+
+        Effective get(Long categoryId) {
+            lock.readLock().lock();
+            try {
+                return effectiveById.getOrDefault(categoryId, Effective.EMPTY);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void putCategory(Long categoryId, Long parentId) {
+            lock.writeLock().lock();
+            try {
+                if (parentById.containsKey(categoryId)) {
+                    Long previousParentId = parentById.get(categoryId);
+                    if (Objects.equals(previousParentId, parentId)) {
+                        return;
+                    }
+                    if (previousParentId != null) {
+                        childrenById.getOrDefault(previousParentId, new ArrayList<>()).remove(categoryId);
+                    }
+                }
+                parentById.put(categoryId, parentId);
+                if (parentId != null) {
+                    childrenById.computeIfAbsent(parentId, id -> new ArrayList<>()).add(categoryId);
+                }
+                resolveSubtree(categoryId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeCategory(Long categoryId) {
+            lock.writeLock().lock();
+            try {
+                Long parentId = parentById.remove(categoryId);
+                if (parentId != null) {
+                    childrenById.getOrDefault(parentId, new ArrayList<>()).remove(categoryId);
+                }
+                ownById.remove(categoryId);
+                effectiveById.remove(categoryId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void putAttribute(EffectiveAttribute attribute) {
+            lock.writeLock().lock();
+            try {
+                List<EffectiveAttribute> own = ownById.computeIfAbsent(attribute.categoryId, id -> new ArrayList<>());
+                own.removeIf(existing -> existing.definitionId.equals(attribute.definitionId));
+                own.add(attribute);
+                own.sort(Comparator.comparingInt(EffectiveAttribute::getDisplayOrder));
+                parentById.putIfAbsent(attribute.categoryId, null);
+                resolveSubtree(attribute.categoryId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeAttribute(Long categoryId, Long definitionId) {
+            lock.writeLock().lock();
+            try {
+                List<EffectiveAttribute> own = ownById.get(categoryId);
+                if (own != null && own.removeIf(existing -> existing.definitionId.equals(definitionId))) {
+                    resolveSubtree(categoryId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Recompute a category and its descendants, parents before children.
+         */
+        private void resolveSubtree(Long rootId) {
+            Deque<Long> queue = new ArrayDeque<>();
+            Set<Long> visited = new HashSet<>();
+            queue.add(rootId);
+            while (!queue.isEmpty()) {
+                Long categoryId = queue.poll();
+                if (!visited.add(categoryId)) {
+                    continue;
+                }
+                effectiveById.put(categoryId, resolve(categoryId));
+                queue.addAll(childrenById.getOrDefault(categoryId, List.of()));
+            }
+        }
+
+        /**
+         * Merge the parent's effective attributes with the category's own. A redeclared attribute
+         * keeps its inherited position but takes the nearer declaration, and stays required if
+         * an ancestor requires it.
+         */
+        private Effective resolve(Long categoryId) {
+            Long parentId = parentById.get(categoryId);
+            Effective inherited = parentId != null ? effectiveById.getOrDefault(parentId, Effective.EMPTY) : Effective.EMPTY;
+            List<EffectiveAttribute> own = ownById.getOrDefault(categoryId, List.of());
+            if (own.isEmpty()) {
+                return inherited;
+            }
+
+            Map<Long, EffectiveAttribute> merged = new LinkedHashMap<>();
+            inherited.all.forEach(attribute -> merged.put(attribute.definitionId, attribute));
+            for (EffectiveAttribute attribute : own) {
+                EffectiveAttribute previous = merged.get(attribute.definitionId);
+                merged.put(attribute.definitionId,
+                        previous != null && previous.required && !attribute.required ? attribute.asRequired() : attribute);
+            }
+            return new Effective(new ArrayList<>(merged.values()));
+        }
+    }
+
+    /**
+     * Effective attributes of one category, shared by reference with categories that add none.
+     */
+    static final class Effective {
+        private static final Effective EMPTY = new Effective(List.of());
+
+        private final List<EffectiveAttribute> all;
+        private final List<EffectiveAttribute> required;
+
+        private Effective(List<EffectiveAttribute> all) {
+            this.all = Collections.unmodifiableList(all);
+            List<EffectiveAttribute> required = new ArrayList<>();
+            all.forEach(attribute -> {
+                if (attribute.required) {
+                    required.add(attribute);
+                }
+            });
+            this.required = Collections.unmodifiableList(required);
+        }
+
+        List<EffectiveAttribute> getAll() {
+            return all;
+        }
+
+        List<EffectiveAttribute> getRequired() {
+            return required;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.inventory.service;
 
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
 import com.inventory.entity.Category;
 import com.inventory.entity.Department;
 import com.inventory.entity.Tenant;
@@ -27,6 +29,15 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CatalogReferenceCache catalogReferenceCache;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private CategoryAttributeIndex categoryAttributeIndex;
+
     @Autowired
     private DepartmentRepository departmentRepository;
 
@@ -41,7 +52,9 @@ public class CategoryService {
         category.setUpdatedBy(currentUser);
         
         Category savedCategory = categoryRepository.save(category);
-        
+        categoryAttributeIndex.putCategory(savedCategory.getTenant().getId(), savedCategory.getId(),
+                savedCategory.getParent() != null ? savedCategory.getParent().getId() : null);
+        appendCategoryEvent(savedCategory, EventType.CREATED);
         
         return savedCategory;
     }
@@ -67,10 +80,13 @@ public class CategoryService {
         if (categoryDetails.getParent() != null && !categoryDetails.getParent().equals(existingCategory.getParent())) {
             validateParentChange(existingCategory, categoryDetails.getParent());
             existingCategory.setParent(categoryDetails.getParent());
+            categoryAttributeIndex.putCategory(existingCategory.getTenant().getId(), existingCategory.getId(),
+                    categoryDetails.getParent().getId());
         }
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.CATEGORY, existingCategory.getId());
         Category savedCategory = categoryRepository.save(existingCategory);
-        
+        appendCategoryEvent(savedCategory, EventType.UPDATED);
         
         return savedCategory;
     }
@@ -156,8 +172,11 @@ public class CategoryService {
         
         validateCategoryForDeletion(category);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.CATEGORY, category.getId());
         categoryRepository.delete(category);
-        
+        categoryAttributeIndex.removeCategory(tenantId, categoryId);
+        catalogOutbox.append(tenantId, AggregateType.CATEGORY, categoryId, EventType.DELETED,
+                "code", category.getCode());
     }
 
     /**
@@ -184,6 +203,13 @@ public class CategoryService {
         return categoryRepository.countByTenant_Id(tenantId);
     }
 
+    private void appendCategoryEvent(Category category, EventType eventType) {
+        catalogOutbox.append(category.getTenant().getId(), AggregateType.CATEGORY, category.getId(), eventType,
+                "code", category.getCode(),
+                "parentId", category.getParent() != null ? category.getParent().getId() : null,
+                "departmentId", category.getDepartment() != null ? category.getDepartment().getId() : null);
+    }
+
     // Validation methods
 
     private void validateCategoryForCreation(Category category) {
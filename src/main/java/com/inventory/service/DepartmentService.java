@@ -25,6 +25,9 @@ public class DepartmentService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private CatalogReferenceCache catalogReferenceCache;
+
 
     /**
      * Create a new department
@@ -56,6 +59,7 @@ public class DepartmentService {
         existingDepartment.setTaxClassDefault(departmentDetails.getTaxClassDefault());
         existingDepartment.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.DEPARTMENT, existingDepartment.getId());
         Department savedDepartment = departmentRepository.save(existingDepartment);
         
         
@@ -127,6 +131,7 @@ public class DepartmentService {
         
         validateDepartmentForDeletion(department);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.DEPARTMENT, department.getId());
         departmentRepository.delete(department);
         
     }
@@ -163,6 +168,7 @@ public class DepartmentService {
         department.setStatus(DepartmentStatus.ACTIVE);
         department.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.DEPARTMENT, department.getId());
         Department savedDepartment = departmentRepository.save(department);
         
         
@@ -177,6 +183,7 @@ public class DepartmentService {
         department.setStatus(DepartmentStatus.INACTIVE);
         department.setUpdatedBy(currentUser);
         
+        catalogReferenceCache.evictAfterCommit(CatalogReferenceCache.Type.DEPARTMENT, department.getId());
         Department savedDepartment = departmentRepository.save(department);
         
         
@@ -0,0 +1,44 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Appends catalog change events to a local file as newline-delimited JSON. Each batch is
+ * synced to disk before it is acknowledged, so a crash can repeat events but not lose them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog-outbox.file-sink.path")
+public class FileCatalogEventSink implements CatalogEventSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.catalog-outbox.file-sink.path}")
+    private String path;
+
+    @Override
+    public synchronized void publish(List<CatalogChangeEvent> events) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(path, true)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (CatalogChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.inventory.service;
+
+import com.inventory.entity.GS1Configuration;
+import com.inventory.repository.GS1ConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out GTIN sequence numbers from blocks reserved in the database.
+ *
+ * Each node reserves a block of sequence numbers per tenant with one conditional UPDATE on
+ * {@code gs1_configuration.next_sequence} and then serves numbers from memory with an
+ * {@link AtomicLong}, so generation neither collides across nodes nor serializes on the row.
+ * Reservations commit in their own transaction; a number is never handed out twice, but a
+ * rolled-back barcode leaves a gap, as with any database sequence.
+ */
+@Slf4j
+@Component
+public class GS1SequenceAllocator {
+
+    private static final int MAX_RESERVE_ATTEMPTS = 10;
+
+    @Autowired
+    private GS1ConfigurationRepository gs1ConfigurationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.barcode.gtin.block-size:100}")
+    private int blockSize;
+
+    private final ConcurrentHashMap<Long, TenantBlocks> tenants = new ConcurrentHashMap<>();
+    private TransactionTemplate reservationTransaction;
+
+    @PostConstruct
+    void init() {
+        if (blockSize < 1) {
+            throw new IllegalStateException("app.barcode.gtin.block-size must be at least 1");
+        }
+        reservationTransaction = new TransactionTemplate(transactionManager);
+        reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Allocate the next GTIN sequence number for the tenant.
+     */
+    public Allocation allocate(Long tenantId) {
+        return allocate(tenantId, 1);
+    }
+
+    /**
+     * Allocate {@code count} consecutive sequence numbers under one prefix. Requests larger than
+     * the block size are reserved directly; smaller ones are served from the local block.
+     */
+    public Allocation allocate(Long tenantId, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+        if (count > blockSize) {
+            SequenceBlock block = reserveBlock(tenantId, count, true);
+            return new Allocation(block.configId, block.prefix, block.start, count);
+        }
+
+        TenantBlocks blocks = tenants.computeIfAbsent(tenantId, id -> new TenantBlocks());
+        while (true) {
+            SequenceBlock block = blocks.current;
+            if (block != null) {
+                long first = block.next.getAndAdd(count);
+                if (first + count <= block.end) {
+                    return new Allocation(block.configId, block.prefix, first, count);
+                }
+                // A tail too short for a contiguous run is skipped rather than split across prefixes
+                if (first < block.end) {
+                    log.info("GTIN sequences {}-{} of prefix {} skipped to keep an allocation contiguous",
+                            first, block.end - 1, block.prefix);
+                }
+            }
+
+            synchronized (blocks) {
+                if (blocks.current == block) {
+                    blocks.current = reserveBlock(tenantId, blockSize, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve a range of sequence numbers with a compare-and-set on the configuration row,
+     * retrying when another node moved the sequence first.
+     *
+     * @param exact when false, a prefix with less remaining capacity yields a shorter block
+     */
+    private SequenceBlock reserveBlock(Long tenantId, int size, boolean exact) {
+        for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+            SequenceBlock block = reservationTransaction.execute(status -> {
+                List<GS1Configuration> available = gs1ConfigurationRepository.findAvailableConfigurations(tenantId);
+                GS1Configuration config = available.stream()
+                        .filter(candidate -> !exact || candidate.getRemainingCapacity() >= size)
+                        .max(Comparator.comparingLong(GS1Configuration::getRemainingCapacity))
+                        .orElseThrow(() -> new IllegalStateException(
+                                "No active GS1 configuration available for tenant: " + tenantId));
+
+                long start = config.getNextSequence();
+                long reserved = Math.min(size, config.getRemainingCapacity());
+                int updated = gs1ConfigurationRepository.compareAndSetNextSequence(config.getId(), start, start + reserved);
+                return updated == 1 ? new SequenceBlock(config.getId(), config.getGs1Prefix(), start, start + reserved) : null;
+            });
+
+            if (block != null) {
+                log.debug("Reserved GTIN sequences {}-{} of prefix {} for tenant {}",
+                        block.start, block.end - 1, block.prefix, tenantId);
+                return block;
+            }
+        }
+
+        throw new IllegalStateException("Could not reserve GTIN sequences for tenant " + tenantId
+                + " after " + MAX_RESERVE_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Return unused tails of the local blocks. A tail can only be returned while no other node
+     * has reserved past it; otherwise the range is logged as permanently unused.
+     */
+    @PreDestroy
+    void releaseUnused() {
+        tenants.forEach((tenantId, blocks) -> {
+            SequenceBlock block = blocks.current;
+            if (block == null) {
+                return;
+            }
+
+            long unusedFrom = block.next.getAndSet(block.end);
+            if (unusedFrom >= block.end) {
+                return;
+            }
+
+            try {
+                Integer updated = reservationTransaction.execute(status ->
+                        gs1ConfigurationRepository.compareAndSetNextSequence(block.configId, block.end, unusedFrom));
+                if (updated != null && updated == 1) {
+                    log.info("Returned unused GTIN sequences {}-{} of prefix {} for tenant {}",
+                            unusedFrom, block.end - 1, block.prefix, tenantId);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to return unused GTIN sequences for tenant {}: {}", tenantId, e.getMessage());
+            }
+
+            log.warn("GTIN sequences {}-{} of prefix {} for tenant {} were reserved but not used",
+                    unusedFrom, block.end - 1, block.prefix, tenantId);
+        });
+        tenants.clear();
+    }
+
+    private static final class TenantBlocks {
+        private volatile SequenceBlock current;
+    }
+
+    private static final class SequenceBlock {
+        private final Long configId;
+        private final String prefix;
+        private final long start;
+        private final long end;
+        private final AtomicLong next;
+
+        private SequenceBlock(Long configId, String prefix, long start, long end) {
+            this.configId = configId;
+            this.prefix = prefix;
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(start);
+        }
+    }
+
+    /**
+     * A run of consecutive sequence numbers under one GS1 prefix.
+     */
+    public static final class Allocation {
+        private final Long configurationId;
+        private final String gs1Prefix;
+        private final long firstSequence;
+        private final int count;
+
+        public Allocation(Long configurationId, String gs1Prefix, long firstSequence, int count) {
+            this.configurationId = configurationId;
+            this.gs1Prefix = gs1Prefix;
+            this.firstSequence = firstSequence;
+            this.count = count;
+        }
+
+        public Long getConfigurationId() { return configurationId; }
+        public String getGs1Prefix() { return gs1Prefix; }
+        public long getFirstSequence() { return firstSequence; }
+        public int getCount() { return count; }
+
+        public String gtin13(int offset) {
+            checkOffset(offset);
+            return GS1Configuration.formatGTIN13(gs1Prefix, firstSequence + offset);
+        }
+
+        public String gtin14(int offset, int packagingIndicator) {
+            checkOffset(offset);
+            return GS1Configuration.formatGTIN14(gs1Prefix, firstSequence + offset, packagingIndicator);
+        }
+
+        private void checkOffset(int offset) {
+            if (offset < 0 || offset >= count) {
+                throw new IndexOutOfBoundsException("Offset " + offset + " outside allocation of " + count);
+            }
+        }
+    }
+}
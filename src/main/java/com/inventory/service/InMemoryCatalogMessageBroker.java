@@ -0,0 +1,74 @@
+package com.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in {@link CatalogMessageBroker} for development and tests. Messages are handed to
+ * subscribers on the sending thread and the most recent ones are kept for inspection.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog-outbox.broker.in-memory", havingValue = "true")
+public class InMemoryCatalogMessageBroker implements CatalogMessageBroker {
+
+    private final List<Consumer<Message>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final Deque<Message> recent = new ArrayDeque<>();
+
+    @Value("${app.catalog-outbox.broker.in-memory-capacity:10000}")
+    private int capacity;
+
+    @Override
+    public void send(String topic, String key, String message) {
+        Message sent = new Message(topic, key, message);
+        synchronized (recent) {
+            if (recent.size() >= capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(sent);
+        }
+        for (Consumer<Message> subscriber : subscribers) {
+            subscriber.accept(sent);
+        }
+    }
+
+    /**
+     * Receive every message sent from now on.
+     */
+    public void subscribe(Consumer<Message> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * The most recently sent messages, oldest first.
+     */
+    public List<Message> getRecentMessages() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public static final class Message {
+        private final String topic;
+        private final String key;
+        private final String value;
+
+        private Message(String topic, String key, String value) {
+            this.topic = topic;
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getTopic() { return topic; }
+        public String getKey() { return key; }
+        public String getValue() { return value; }
+    }
+}
@@ -0,0 +1,371 @@
+package com.inventory.service;
+
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.ItemAttributeImportResultDto;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import com.inventory.repository.AttributeDefinitionRepository;
+import com.inventory.repository.ItemRepository;
+import com.inventory.repository.UserAccountRepository;
+import com.inventory.util.AttributeValueValidator;
+import com.inventory.util.BulkJob;
+import com.inventory.util.CsvImport;
+import com.inventory.util.CsvImport.Record;
+import com.inventory.util.TypedAttributeValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upserts item attribute values from a CSV file of {@code sku, attribute_code, value} records,
+ * as sent by content-enrichment feeds, in one background job.
+ *
+ * Attribute codes are resolved against the tenant's definitions loaded once per job, and SKUs
+ * with set-based IN queries into a map, so no row needs its own lookup. Each value is checked
+ * with the definition's compiled {@link AttributeValueValidator} and written, typed columns
+ * included, with a JDBC batch of {@code INSERT ... ON DUPLICATE KEY UPDATE} statements on the
+ * {@code (item_id, attribute_definition_id)} unique key, one transaction per chunk. A chunk
+ * that fails as a whole is retried row by row so only the offending rows fail.
+ */
+@Slf4j
+@Service
+public class ItemAttributeImportService {
+
+    public static final String JOB_TYPE = "ITEM_ATTRIBUTE_IMPORT";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO item_attribute_value (tenant_id, item_id, attribute_definition_id, value, value_number, " +
+            "value_date, value_boolean, value_option, created_by, updated_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE value = VALUES(value), value_number = VALUES(value_number), " +
+            "value_date = VALUES(value_date), value_boolean = VALUES(value_boolean), " +
+            "value_option = VALUES(value_option), updated_by = VALUES(updated_by), updated_at = VALUES(updated_at)";
+
+    private static final String[] COLUMNS = {"sku", "attribute_code", "value"};
+
+    private static final String[] REPORT_HEADER = {"row", "sku", "attribute_code", "error"};
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private AttributeDefinitionRepository attributeDefinitionRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private AttributeValidatorCache attributeValidatorCache;
+
+    @Autowired
+    private ItemFacetIndex itemFacetIndex;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private BulkJobRegistry bulkJobRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.item-attribute-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.item-attribute-import.max-rows:1000000}")
+    private int maxRows;
+
+    /**
+     * Parse the CSV file and start the upsert in the background.
+     *
+     * @throws IllegalArgumentException if the header is missing, lacks one of the columns
+     *                                  {@code sku}, {@code attribute_code} and {@code value},
+     *                                  has other columns, or the file is too large
+     */
+    public BulkJob<ItemAttributeImportResultDto> submit(Long tenantId, Long userId, InputStream csv) throws IOException {
+        if (!userAccountRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+
+        List<ValueRow> rows = new ArrayList<>();
+        for (Record record : CsvImport.parse(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)),
+                COLUMNS, COLUMNS.length, maxRows)) {
+            rows.add(new ValueRow(record));
+        }
+        BulkJob<ItemAttributeImportResultDto> job = bulkJobRegistry.create(JOB_TYPE, tenantId, rows.size());
+        taskExecutor.execute(() -> run(job, tenantId, userId, rows));
+        return job;
+    }
+
+    /**
+     * Find an attribute import job of the tenant.
+     */
+    public Optional<BulkJob<ItemAttributeImportResultDto>> getJob(Long tenantId, String jobId) {
+        return bulkJobRegistry.find(tenantId, JOB_TYPE, jobId);
+    }
+
+    /**
+     * Write the failed rows of a job as CSV, in file order.
+     */
+    public void writeReport(BulkJob<ItemAttributeImportResultDto> job, Writer out) throws IOException {
+        CsvImport.writeReport(out, REPORT_HEADER, job.getResults(), ItemAttributeImportResultDto::getRowNumber,
+                result -> new String[]{String.valueOf(result.getRowNumber()), result.getSku(),
+                        result.getAttributeCode(), result.getError()});
+    }
+
+    private void run(BulkJob<ItemAttributeImportResultDto> job, Long tenantId, Long userId, List<ValueRow> rows) {
+        job.start();
+        try {
+            // Attribute definitions and the file's SKUs, each resolved into a map up front
+            Map<String, AttributeDefinition> definitions = new HashMap<>();
+            attributeDefinitionRepository.findByTenant_Id(tenantId)
+                    .forEach(definition -> definitions.put(codeKey(definition.getCode()), definition));
+            Map<String, Long> itemIds = loadItemIds(tenantId, rows);
+
+            Map<Long, AttributeValueValidator> validators = new HashMap<>();
+            Map<Long, String> invalidDefinitions = new HashMap<>();
+            Map<String, Integer> firstRowByKey = new HashMap<>();
+            List<ValueRow> writable = new ArrayList<>(rows.size());
+
+            for (ValueRow row : rows) {
+                String error = row.error != null ? row.error : resolve(row, definitions, itemIds);
+                if (error == null) {
+                    error = validate(row, validators, invalidDefinitions);
+                }
+                if (error == null) {
+                    Integer firstRow = firstRowByKey.putIfAbsent(row.itemId + ":" + row.definition.getId(), row.lineNumber);
+                    if (firstRow != null) {
+                        error = "Duplicate value for this SKU and attribute, first given on row " + firstRow;
+                    }
+                }
+
+                if (error != null) {
+                    job.recordFailure(failure(row, error));
+                } else {
+                    writable.add(row);
+                }
+            }
+
+            AtomicBoolean optionsChanged = new AtomicBoolean();
+            for (int from = 0; from < writable.size(); from += chunkSize) {
+                upsertChunk(job, tenantId, userId, writable.subList(from, Math.min(from + chunkSize, writable.size())),
+                        optionsChanged);
+            }
+
+            if (optionsChanged.get()) {
+                itemFacetIndex.evict(tenantId);
+            }
+            job.complete();
+            log.info("Item attribute import {} for tenant {} finished: {} rows upserted, {} failed, {} rows/s",
+                    job.getId(), tenantId, job.getSucceeded(), job.getFailed(),
+                    String.format(Locale.ROOT, "%.0f", job.getRowsPerSecond()));
+
+        } catch (RuntimeException e) {
+            log.error("Item attribute import {} for tenant {} failed", job.getId(), tenantId, e);
+            itemFacetIndex.evict(tenantId);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private Map<String, Long> loadItemIds(Long tenantId, List<ValueRow> rows) {
+        Set<String> skus = new LinkedHashSet<>();
+        for (ValueRow row : rows) {
+            if (row.sku != null) {
+                skus.add(row.sku);
+            }
+        }
+
+        Map<String, Long> itemIds = new HashMap<>(skus.size() * 2);
+        for (Object[] match : CsvImport.lookup(new ArrayList<>(skus), chunk -> itemRepository.findIdsBySkus(tenantId, chunk))) {
+            itemIds.put(skuKey((String) match[0]), (Long) match[1]);
+        }
+        return itemIds;
+    }
+
+    private static String resolve(ValueRow row, Map<String, AttributeDefinition> definitions, Map<String, Long> itemIds) {
+        if (row.sku == null) {
+            return "sku is required";
+        }
+        if (row.attributeCode == null) {
+            return "attribute_code is required";
+        }
+
+        row.itemId = itemIds.get(skuKey(row.sku));
+        if (row.itemId == null) {
+            return "Item not found: " + row.sku;
+        }
+        row.definition = definitions.get(codeKey(row.attributeCode));
+        if (row.definition == null) {
+            return "Attribute not found: " + row.attributeCode;
+        }
+        return null;
+    }
+
+    /**
+     * Check the value with the definition's validator, compiled at most once per job.
+     */
+    private String validate(ValueRow row, Map<Long, AttributeValueValidator> validators,
+                            Map<Long, String> invalidDefinitions) {
+        Long definitionId = row.definition.getId();
+        String definitionError = invalidDefinitions.get(definitionId);
+        if (definitionError != null) {
+            return definitionError;
+        }
+
+        AttributeValueValidator validator = validators.get(definitionId);
+        if (validator == null) {
+            try {
+                validator = attributeValidatorCache.get(row.definition);
+            } catch (IllegalArgumentException e) {
+                definitionError = "Attribute " + row.definition.getCode() + " has an invalid definition: " + e.getMessage();
+                invalidDefinitions.put(definitionId, definitionError);
+                return definitionError;
+            }
+            validators.put(definitionId, validator);
+        }
+
+        return validator.validate(row.value);
+    }
+
+    /**
+     * Write one chunk, flagging optionsChanged if any LIST attribute options were written.
+     */
+    private void upsertChunk(BulkJob<ItemAttributeImportResultDto> job, Long tenantId, Long userId,
+                             List<ValueRow> chunk, AtomicBoolean optionsChanged) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        DataAccessException chunkError = CsvImport.writeChunk(new TransactionTemplate(transactionManager), chunk,
+                rows -> {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row, tenantId, userId, now));
+                    appendEvents(tenantId, rows);
+                },
+                row -> {
+                    job.recordSuccess(null);
+                    if (row.isOption()) {
+                        optionsChanged.set(true);
+                    }
+                },
+                (row, e) -> job.recordFailure(failure(row, "Upsert failed: " + e.getMostSpecificCause().getMessage())));
+        if (chunkError != null) {
+            log.warn("Item attribute import chunk of {} rows failed for tenant {} and was retried row by row: {}",
+                    chunk.size(), tenantId, chunkError.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * One item UPDATED event per item in the chunk, listing the attribute codes that changed.
+     */
+    private void appendEvents(Long tenantId, List<ValueRow> rows) {
+        Map<Long, ValueRow> firstRowByItem = new LinkedHashMap<>();
+        Map<Long, List<String>> codesByItem = new HashMap<>();
+        for (ValueRow row : rows) {
+            firstRowByItem.putIfAbsent(row.itemId, row);
+            codesByItem.computeIfAbsent(row.itemId, id -> new ArrayList<>()).add(row.definition.getCode());
+        }
+
+        Map<Long, Object[]> events = new LinkedHashMap<>();
+        firstRowByItem.forEach((itemId, row) ->
+                events.put(itemId, new Object[]{"sku", row.sku, "attributes", codesByItem.get(itemId)}));
+        catalogOutbox.appendAll(tenantId, AggregateType.ITEM, EventType.UPDATED, events);
+    }
+
+    private static void bind(PreparedStatement ps, ValueRow row, Long tenantId, Long userId, Timestamp now)
+            throws SQLException {
+        TypedAttributeValue typed = TypedAttributeValue.of(row.definition.getDataType(), row.value);
+        ps.setLong(1, tenantId);
+        ps.setLong(2, row.itemId);
+        ps.setLong(3, row.definition.getId());
+        ps.setString(4, row.value);
+        ps.setBigDecimal(5, typed.getNumber());
+        ps.setDate(6, typed.getDate() != null ? Date.valueOf(typed.getDate()) : null);
+        if (typed.getBoolean() != null) {
+            ps.setBoolean(7, typed.getBoolean());
+        } else {
+            ps.setNull(7, Types.BOOLEAN);
+        }
+        ps.setString(8, typed.getOption());
+        ps.setLong(9, userId);
+        ps.setLong(10, userId);
+        ps.setTimestamp(11, now);
+        ps.setTimestamp(12, now);
+    }
+
+    /**
+     * SKUs and codes compare case-insensitively, as the database collation does in the unique indexes
+     */
+    private static String skuKey(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+
+    private static String codeKey(String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+
+    private static ItemAttributeImportResultDto failure(ValueRow row, String error) {
+        return ItemAttributeImportResultDto.builder()
+                .rowNumber(row.lineNumber)
+                .sku(row.sku)
+                .attributeCode(row.attributeCode)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private static final class ValueRow {
+        private final int lineNumber;
+        private final String sku;
+        private final String attributeCode;
+        private final String value;
+        private String error;
+        private Long itemId;
+        private AttributeDefinition definition;
+
+        private ValueRow(Record record) {
+            this.lineNumber = record.getLineNumber();
+            this.sku = record.get(0);
+            this.attributeCode = record.get(1);
+            this.value = record.get(2);
+            this.error = record.getError();
+        }
+
+        private boolean isOption() {
+            return definition.getDataType() == AttributeDataType.LIST;
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.inventory.service;
 
+import com.inventory.dto.BarcodeSearchCriteria;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.CursorPage;
 import com.inventory.entity.*;
 import com.inventory.repository.ItemBarcodeRepository;
 import com.inventory.repository.ItemVariantRepository;
 import com.inventory.repository.UserAccountRepository;
+import com.inventory.util.GS1ElementParser;
+import com.inventory.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,6 +38,18 @@ import java.util.Optional;
 @Transactional
 public class ItemBarcodeService {
 
+    /** Maximum number of codes bound into a single IN lookup */
+    private static final int RESOLVE_CHUNK_SIZE = 1000;
+
+    /** Largest barcode search page */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Largest trigram match set bound into the search query as an id filter */
+    private static final int MAX_ID_FILTER = 1000;
+
+    /** Placeholder for the unused id filter; an empty IN list is not valid SQL */
+    private static final List<Long> NO_IDS = List.of(0L);
+
     @Autowired
     private ItemBarcodeRepository itemBarcodeRepository;
 
@@ -38,6 +65,18 @@ public class ItemBarcodeService {
     @Autowired
     private BarcodeGeneratorService barcodeGeneratorService;
 
+    @Autowired
+    private BarcodeResolutionIndex barcodeResolutionIndex;
+
+    @Autowired
+    private BarcodeCounterService barcodeCounterService;
+
+    @Autowired
+    private BarcodeExistenceFilter barcodeExistenceFilter;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
     /**
      * Create a new barcode for an item variant
      */
@@ -59,8 +98,9 @@ public class ItemBarcodeService {
             throw new IllegalArgumentException("Invalid barcode: " + validation.getErrorMessage());
         }
 
-        // Check for duplicate barcode
-        if (itemBarcodeRepository.existsByTenantIdAndBarcodeExcludingId(tenantId, barcode, null)) {
+        // Check for duplicate barcode; codes the filter has never seen skip the query
+        if (barcodeExistenceFilter.mightExist(tenantId, barcode)
+                && itemBarcodeRepository.existsByTenantIdAndBarcodeExcludingId(tenantId, barcode, null)) {
             throw new IllegalArgumentException("Barcode already exists: " + barcode);
         }
 
@@ -69,8 +109,14 @@ public class ItemBarcodeService {
         itemBarcode.setPackLevel(packLevel != null ? packLevel : PackLevel.EACH);
         itemBarcode.setUnitOfMeasure(unitOfMeasure);
         itemBarcode.setStatus(BarcodeStatus.RESERVED);
-
-        return itemBarcodeRepository.save(itemBarcode);
+        itemBarcode.setAiPayload(parseAiPayload(barcode, barcodeType));
+
+        ItemBarcode saved = saveUnique(itemBarcode);
+        barcodeExistenceFilter.add(tenantId, barcode);
+        barcodeCounterService.recordCreated(tenantId, saved.getStatus(), saved.getBarcodeType(), 1);
+        barcodeResolutionIndex.sync(saved, null);
+        appendBarcodeEvent(tenantId, saved, EventType.CREATED);
+        return saved;
     }
 
     /**
@@ -105,6 +151,9 @@ public class ItemBarcodeService {
             throw new IllegalStateException("Barcode cannot be modified in " + barcode.getStatus() + " status");
         }
 
+        String previousBarcode = barcode.getBarcode();
+        BarcodeType previousType = barcode.getBarcodeType();
+
         // Validate new barcode if changed
         if (newBarcode != null && !newBarcode.equals(barcode.getBarcode())) {
             BarcodeValidationService.ValidationResult validation = 
@@ -115,13 +164,20 @@ public class ItemBarcodeService {
             }
 
             // Check for duplicate
-            if (itemBarcodeRepository.existsByTenantIdAndBarcodeExcludingId(tenantId, newBarcode, barcodeId)) {
+            if (barcodeExistenceFilter.mightExist(tenantId, newBarcode)
+                    && itemBarcodeRepository.existsByTenantIdAndBarcodeExcludingId(tenantId, newBarcode, barcodeId)) {
                 throw new IllegalArgumentException("Barcode already exists: " + newBarcode);
             }
+            barcodeExistenceFilter.add(tenantId, newBarcode);
 
             barcode.setBarcode(newBarcode);
         }
 
+        if (barcodeType != null || newBarcode != null) {
+            BarcodeType effectiveType = barcodeType != null ? barcodeType : barcode.getBarcodeType();
+            barcode.setAiPayload(parseAiPayload(barcode.getBarcode(), effectiveType));
+        }
+
         // Update fields
         if (barcodeType != null) {
             barcode.setBarcodeType(barcodeType);
@@ -135,7 +191,11 @@ public class ItemBarcodeService {
 
         barcode.setUpdatedAt(LocalDateTime.now());
 
-        return itemBarcodeRepository.save(barcode);
+        ItemBarcode saved = saveUnique(barcode);
+        barcodeCounterService.recordChange(tenantId, saved.getStatus(), previousType, saved.getStatus(), saved.getBarcodeType());
+        barcodeResolutionIndex.sync(saved, previousBarcode);
+        appendBarcodeEvent(tenantId, saved, EventType.UPDATED);
+        return saved;
     }
 
     /**
@@ -161,14 +221,19 @@ public class ItemBarcodeService {
             ItemBarcode current = currentPrimary.get();
             current.setIsPrimary(false);
             current.setUpdatedAt(LocalDateTime.now());
-            itemBarcodeRepository.save(current);
+            ItemBarcode demoted = itemBarcodeRepository.save(current);
+            barcodeResolutionIndex.sync(demoted, null);
+            appendBarcodeEvent(tenantId, demoted, EventType.UPDATED);
         }
 
         // Set this barcode as primary
         barcode.setIsPrimary(true);
         barcode.setUpdatedAt(LocalDateTime.now());
 
-        return itemBarcodeRepository.save(barcode);
+        ItemBarcode saved = itemBarcodeRepository.save(barcode);
+        barcodeResolutionIndex.sync(saved, null);
+        appendBarcodeEvent(tenantId, saved, EventType.UPDATED);
+        return saved;
     }
 
     /**
@@ -228,10 +293,22 @@ public class ItemBarcodeService {
         UserAccount user = userAccountRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
+        BarcodeStatus previousStatus = barcode.getStatus();
         barcode.setStatus(newStatus);
         barcode.setUpdatedAt(LocalDateTime.now());
 
-        return itemBarcodeRepository.save(barcode);
+        ItemBarcode saved = itemBarcodeRepository.save(barcode);
+        barcodeCounterService.recordChange(tenantId, previousStatus, saved.getBarcodeType(), newStatus, saved.getBarcodeType());
+        barcodeResolutionIndex.sync(saved, null);
+        appendBarcodeEvent(tenantId, saved, EventType.STATUS_CHANGED);
+        return saved;
+    }
+
+    private void appendBarcodeEvent(Long tenantId, ItemBarcode barcode, EventType eventType) {
+        catalogOutbox.append(tenantId, AggregateType.BARCODE, barcode.getId(), eventType,
+                "variantId", barcode.getVariant().getId(), "barcode", barcode.getBarcode(),
+                "barcodeType", barcode.getBarcodeType(), "status", barcode.getStatus(),
+                "isPrimary", barcode.getIsPrimary());
     }
 
     /**
@@ -245,6 +322,10 @@ public class ItemBarcodeService {
         }
 
         itemBarcodeRepository.delete(barcode);
+        barcodeCounterService.recordDeleted(tenantId, barcode.getStatus(), barcode.getBarcodeType());
+        barcodeResolutionIndex.remove(tenantId, barcode.getBarcode());
+        catalogOutbox.append(tenantId, AggregateType.BARCODE, barcodeId, EventType.DELETED,
+                "variantId", barcode.getVariant().getId(), "barcode", barcode.getBarcode());
     }
 
     /**
@@ -263,6 +344,192 @@ public class ItemBarcodeService {
         return itemBarcodeRepository.findByTenantIdAndBarcode(tenantId, barcode);
     }
 
+    /**
+     * Resolve a scanned code to its ACTIVE barcode. Hits are served from the in-memory index;
+     * misses are confirmed against the database so barcodes activated on another node are
+     * found before the next index rebuild.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BarcodeResolutionIndex.Resolution> resolveScan(Long tenantId, String barcode) {
+        Optional<BarcodeResolutionIndex.Resolution> indexed = barcodeResolutionIndex.resolve(tenantId, barcode);
+        if (indexed.isPresent()) {
+            return indexed;
+        }
+
+        Optional<BarcodeResolutionIndex.Resolution> stored = itemBarcodeRepository.findByTenantIdAndBarcode(tenantId, barcode)
+                .filter(found -> found.getStatus() == BarcodeStatus.ACTIVE)
+                .map(BarcodeResolutionIndex.Resolution::of);
+        stored.ifPresent(resolution -> barcodeResolutionIndex.add(tenantId, resolution));
+        return stored;
+    }
+
+    /**
+     * Resolve raw scanner input. Plain codes are looked up as-is; GS1 element strings
+     * (bracketed, or FNC1-separated with a symbology identifier) are parsed first, in one pass,
+     * so the GTIN, lot, serial and expiry come back with the resolution. The full string and
+     * every form of its GTIN are tried against the index before a single query confirms a miss.
+     */
+    @Transactional(readOnly = true)
+    public ScanResult scan(Long tenantId, String input) {
+        if (!GS1ElementParser.isElementString(input)) {
+            return new ScanResult(resolveScan(tenantId, input).orElse(null), null, null, null, null);
+        }
+
+        ScannedElements elements = new ScannedElements();
+        GS1ElementParser.parse(input, elements);
+
+        BarcodeResolutionIndex.Resolution resolution;
+        if (elements.gtin != null) {
+            List<String> candidates = new ArrayList<>(5);
+            candidates.add(input);
+            candidates.addAll(gtinForms(elements.gtin));
+            resolution = resolveFirst(tenantId, candidates).orElse(null);
+        } else {
+            resolution = resolveScan(tenantId, input).orElse(null);
+        }
+        return new ScanResult(resolution, elements.gtin, elements.lot, elements.serial, elements.expiryDate);
+    }
+
+    /**
+     * Resolve the first candidate registered as an active barcode. Every candidate is tried
+     * against the index first; misses are confirmed with one IN query over all of them.
+     */
+    private Optional<BarcodeResolutionIndex.Resolution> resolveFirst(Long tenantId, List<String> candidates) {
+        for (String candidate : candidates) {
+            Optional<BarcodeResolutionIndex.Resolution> indexed = barcodeResolutionIndex.resolve(tenantId, candidate);
+            if (indexed.isPresent()) {
+                return indexed;
+            }
+        }
+
+        Map<String, ItemBarcode> stored = new HashMap<>();
+        for (ItemBarcode barcode : itemBarcodeRepository.findByTenantIdAndBarcodeIn(tenantId, candidates)) {
+            if (barcode.getStatus() == BarcodeStatus.ACTIVE) {
+                stored.put(barcode.getBarcode(), barcode);
+            }
+        }
+        for (String candidate : candidates) {
+            ItemBarcode barcode = stored.get(candidate);
+            if (barcode != null) {
+                BarcodeResolutionIndex.Resolution resolution = BarcodeResolutionIndex.Resolution.of(barcode);
+                barcodeResolutionIndex.add(tenantId, resolution);
+                return Optional.of(resolution);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The GTIN-14 followed by the GTIN-13, GTIN-12 and GTIN-8 forms its leading zeros allow
+     */
+    static List<String> gtinForms(String gtin14) {
+        List<String> forms = new ArrayList<>(4);
+        forms.add(gtin14);
+        for (int padding = 1; padding <= 6 && gtin14.charAt(padding - 1) == '0'; padding++) {
+            if (padding == 1 || padding == 2 || padding == 6) {
+                forms.add(gtin14.substring(padding));
+            }
+        }
+        return forms;
+    }
+
+    /**
+     * Save and flush so a barcode that slipped past the existence filter, e.g. one inserted on
+     * another node, is rejected by {@code uq_barcode_tenant} as a duplicate.
+     */
+    private ItemBarcode saveUnique(ItemBarcode barcode) {
+        try {
+            return itemBarcodeRepository.saveAndFlush(barcode);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.toLowerCase().contains("uq_barcode_tenant")) {
+                throw new IllegalArgumentException("Barcode already exists: " + barcode.getBarcode());
+            }
+            throw e;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere, with wildcards in the term taken literally.
+     */
+    private static String containsPattern(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 4).append('%');
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '!' || c == '%' || c == '_') {
+                pattern.append('!');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Parse GS1 Application Identifiers for element-string symbologies; other types carry none.
+     */
+    private Map<String, Object> parseAiPayload(String barcode, BarcodeType barcodeType) {
+        if (barcodeType != BarcodeType.GS1_128 && barcodeType != BarcodeType.DATAMATRIX_GS1) {
+            return null;
+        }
+        return GS1ElementParser.parseToMap(barcode);
+    }
+
+    /**
+     * Resolve many scanned codes as {@link #resolveScan} does, to ACTIVE barcodes only. Every
+     * code is tried against the index first, and the misses are confirmed with set-based queries
+     * in bounded chunks. Codes that do not resolve are absent from the returned map.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BarcodeResolutionIndex.Resolution> resolveScans(Long tenantId, Collection<String> barcodes) {
+        Map<String, BarcodeResolutionIndex.Resolution> resolved = new HashMap<>(barcodes.size() * 2);
+        List<String> misses = new ArrayList<>();
+        for (String barcode : new LinkedHashSet<>(barcodes)) {
+            Optional<BarcodeResolutionIndex.Resolution> indexed = barcodeResolutionIndex.resolve(tenantId, barcode);
+            if (indexed.isPresent()) {
+                resolved.put(barcode, indexed.get());
+            } else {
+                misses.add(barcode);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += RESOLVE_CHUNK_SIZE) {
+            List<String> chunk = misses.subList(from, Math.min(from + RESOLVE_CHUNK_SIZE, misses.size()));
+            for (ItemBarcode barcode : itemBarcodeRepository.findByTenantIdAndBarcodeIn(tenantId, chunk)) {
+                if (barcode.getStatus() == BarcodeStatus.ACTIVE) {
+                    BarcodeResolutionIndex.Resolution resolution = BarcodeResolutionIndex.Resolution.of(barcode);
+                    barcodeResolutionIndex.add(tenantId, resolution);
+                    resolved.put(barcode.getBarcode(), resolution);
+                }
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * SKUs of the tenant's variants by id, loaded in bounded chunks. Unknown ids are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> findVariantSkus(Long tenantId, Collection<Long> variantIds) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(variantIds));
+        Map<Long, String> skus = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += RESOLVE_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + RESOLVE_CHUNK_SIZE, distinct.size()));
+            for (Object[] row : itemVariantRepository.findSkusByTenantIdAndIdIn(tenantId, chunk)) {
+                skus.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return skus;
+    }
+
     /**
      * Get all barcodes for a variant
      */
@@ -285,10 +552,81 @@ public class ItemBarcodeService {
     }
 
     /**
-     * Search active barcodes
+     * Search barcodes with all filters in one keyset-paginated query ordered by (createdAt, id).
+     * Without a variant or SKU filter only ACTIVE barcodes are listed unless a status is given.
+     * A partial barcode is first looked up in the trigram index; small match sets are passed to
+     * the query as ids, large ones as a LIKE, which then stops after a page of dense matches.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ItemBarcode> searchBarcodes(Long tenantId, BarcodeSearchCriteria criteria, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        String sku = trimToNull(criteria.getSku());
+        String term = trimToNull(criteria.getBarcode());
+        BarcodeStatus status = criteria.getStatus();
+        if (status == null && criteria.getVariantId() == null && sku == null) {
+            status = BarcodeStatus.ACTIVE;
+        }
+
+        String pattern = null;
+        boolean restrictIds = false;
+        Collection<Long> ids = NO_IDS;
+        if (term != null) {
+            List<BarcodeResolutionIndex.Resolution> matches =
+                    status == BarcodeStatus.ACTIVE ? barcodeResolutionIndex.search(tenantId, term) : null;
+            if (matches != null && matches.isEmpty()) {
+                return new CursorPage<>(List.of(), size, false, null);
+            }
+            if (matches != null && matches.size() <= MAX_ID_FILTER) {
+                restrictIds = true;
+                ids = new ArrayList<>(matches.size());
+                for (BarcodeResolutionIndex.Resolution match : matches) {
+                    ids.add(match.getBarcodeId());
+                }
+            } else {
+                pattern = containsPattern(term);
+            }
+        }
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        LocalDateTime afterCreatedAt = after != null ? after.getTimestamp() : null;
+        Long afterId = after != null ? after.getId() : null;
+        List<ItemBarcode> rows = Boolean.FALSE.equals(criteria.getDescending())
+                ? itemBarcodeRepository.searchBarcodesAscending(tenantId, criteria.getVariantId(), sku, criteria.getType(),
+                        status, criteria.getPackLevel(), pattern, restrictIds, ids, afterCreatedAt, afterId, limit)
+                : itemBarcodeRepository.searchBarcodesDescending(tenantId, criteria.getVariantId(), sku, criteria.getType(),
+                        status, criteria.getPackLevel(), pattern, restrictIds, ids, afterCreatedAt, afterId, limit);
+
+        boolean hasMore = rows.size() > size;
+        List<ItemBarcode> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ItemBarcode last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, size, hasMore, nextCursor);
+    }
+
+    /**
+     * Search active barcodes containing the term, ignoring case. Matches come from the trigram
+     * index in {@link BarcodeResolutionIndex} and are then loaded by id, so the search never
+     * scans the tenant's barcode table.
      */
+    @Transactional(readOnly = true)
     public List<ItemBarcode> searchActiveBarcodes(Long tenantId, String searchTerm) {
-        return itemBarcodeRepository.searchActiveBarcodesContaining(tenantId, searchTerm);
+        List<BarcodeResolutionIndex.Resolution> matches = barcodeResolutionIndex.search(tenantId, searchTerm);
+        List<ItemBarcode> barcodes = new ArrayList<>(matches.size());
+        for (int from = 0; from < matches.size(); from += RESOLVE_CHUNK_SIZE) {
+            List<Long> ids = new ArrayList<>(RESOLVE_CHUNK_SIZE);
+            for (BarcodeResolutionIndex.Resolution match : matches.subList(from, Math.min(from + RESOLVE_CHUNK_SIZE, matches.size()))) {
+                ids.add(match.getBarcodeId());
+            }
+            barcodes.addAll(itemBarcodeRepository.findActiveByTenantIdAndIdIn(tenantId, ids));
+        }
+        return barcodes;
     }
 
     /**
@@ -299,16 +637,19 @@ public class ItemBarcodeService {
     }
 
     /**
-     * Get barcode statistics for tenant
+     * Get barcode statistics for tenant from the maintained counters
      */
+    @Transactional(readOnly = true)
     public BarcodeStatistics getBarcodeStatistics(Long tenantId) {
-        List<Object[]> statusCounts = itemBarcodeRepository.countByStatusForTenant(tenantId);
-        
         BarcodeStatistics stats = new BarcodeStatistics();
-        for (Object[] row : statusCounts) {
-            BarcodeStatus status = (BarcodeStatus) row[0];
-            Long count = (Long) row[1];
-            
+        for (Map.Entry<BarcodeStatus, Map<BarcodeType, Long>> entry : barcodeCounterService.getCounts(tenantId).entrySet()) {
+            BarcodeStatus status = entry.getKey();
+            long count = 0;
+            for (Map.Entry<BarcodeType, Long> byType : entry.getValue().entrySet()) {
+                count += byType.getValue();
+                stats.getTypeCounts().merge(byType.getKey(), byType.getValue(), Long::sum);
+            }
+
             switch (status) {
                 case RESERVED:
                     stats.setReservedCount(count);
@@ -335,6 +676,62 @@ public class ItemBarcodeService {
         return itemBarcodeRepository.findBarcodesRequiringAttention(tenantId);
     }
 
+    /**
+     * Collects the scan-relevant elements of a GS1 element string
+     */
+    private static class ScannedElements implements GS1ElementParser.ElementHandler {
+        private String gtin;
+        private String lot;
+        private String serial;
+        private LocalDate expiryDate;
+
+        @Override
+        public void onElement(GS1ElementParser.ApplicationIdentifier ai, CharSequence source, int start, int end) {
+            switch (ai.getCode()) {
+                case "01":
+                    gtin = source.subSequence(start, end).toString();
+                    break;
+                case "10":
+                    lot = source.subSequence(start, end).toString();
+                    break;
+                case "21":
+                    serial = source.subSequence(start, end).toString();
+                    break;
+                case "17":
+                    expiryDate = GS1ElementParser.parseDate(source, start);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Result of resolving raw scanner input
+     */
+    public static class ScanResult {
+        private final BarcodeResolutionIndex.Resolution resolution;
+        private final String gtin;
+        private final String lot;
+        private final String serial;
+        private final LocalDate expiryDate;
+
+        public ScanResult(BarcodeResolutionIndex.Resolution resolution, String gtin, String lot,
+                          String serial, LocalDate expiryDate) {
+            this.resolution = resolution;
+            this.gtin = gtin;
+            this.lot = lot;
+            this.serial = serial;
+            this.expiryDate = expiryDate;
+        }
+
+        public Optional<BarcodeResolutionIndex.Resolution> getResolution() { return Optional.ofNullable(resolution); }
+        public String getGtin() { return gtin; }
+        public String getLot() { return lot; }
+        public String getSerial() { return serial; }
+        public LocalDate getExpiryDate() { return expiryDate; }
+    }
+
     /**
      * Statistics class for barcode counts
      */
@@ -343,6 +740,7 @@ public class ItemBarcodeService {
         private Long activeCount = 0L;
         private Long deprecatedCount = 0L;
         private Long blockedCount = 0L;
+        private Map<BarcodeType, Long> typeCounts = new EnumMap<>(BarcodeType.class);
 
         // Getters and setters
         public Long getReservedCount() { return reservedCount; }
@@ -356,6 +754,9 @@ public class ItemBarcodeService {
         
         public Long getBlockedCount() { return blockedCount; }
         public void setBlockedCount(Long blockedCount) { this.blockedCount = blockedCount; }
+
+        public Map<BarcodeType, Long> getTypeCounts() { return typeCounts; }
+        public void setTypeCounts(Map<BarcodeType, Long> typeCounts) { this.typeCounts = typeCounts; }
         
         public Long getTotalCount() {
             return reservedCount + activeCount + deprecatedCount + blockedCount;
@@ -0,0 +1,363 @@
+package com.inventory.service;
+
+import com.inventory.dto.ItemFacetCounts;
+import com.inventory.entity.Item;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.repository.ItemAttributeValueRepository;
+import com.inventory.repository.ItemRepository;
+import com.inventory.util.LongIntHashMap;
+import com.inventory.util.OrdinalBitmap;
+import com.inventory.util.TenantIndexRegistry;
+import com.inventory.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, tenant-partitioned facet index over item status, department, category, brand and
+ * LIST attribute options.
+ *
+ * Each item gets a dense ordinal, and each facet value keeps the ordinals of its items in an
+ * {@link OrdinalBitmap}. Filtering is an AND of the selected values' bitmaps and every facet
+ * count is the cardinality of one AND, so counts for a whole catalog need no SQL. Item changes
+ * made through {@link ItemService} are applied after commit. Attribute facets are only read on
+ * a rebuild: writers of LIST values, such as the attribute import, evict the tenant's index, as
+ * do other bulk writes, and it is rebuilt periodically to pick up writes made by other nodes.
+ */
+@Slf4j
+@Component
+public class ItemFacetIndex {
+
+    public static final String STATUS = "status";
+    public static final String DEPARTMENT = "department";
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String ATTRIBUTE_PREFIX = "attribute:";
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemAttributeValueRepository itemAttributeValueRepository;
+
+    @Value("${app.item-facets.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    private TenantIndexRegistry<TenantFacets> registry;
+
+    @PostConstruct
+    void init() {
+        registry = new TenantIndexRegistry<>(this::load, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Count items per facet value for the items matching the selections. Values selected within
+     * one facet are OR-ed and the facets are AND-ed.
+     *
+     * @param selections selected values by facet name; empty sets are ignored
+     */
+    public ItemFacetCounts count(Long tenantId, Map<String, ? extends Collection<String>> selections) {
+        return registry.get(tenantId).count(selections);
+    }
+
+    /**
+     * Reflect the saved state of an item in the index once the transaction commits.
+     */
+    public void sync(Item item) {
+        Long tenantId = item.getTenant().getId();
+        Long itemId = item.getId();
+        ItemStatus status = item.getStatus();
+        Long departmentId = item.getDepartment() != null ? item.getDepartment().getId() : null;
+        Long categoryId = item.getCategory() != null ? item.getCategory().getId() : null;
+        Long brandId = item.getBrand() != null ? item.getBrand().getId() : null;
+        TransactionHooks.afterCommit(() -> registry.update(tenantId,
+                index -> index.putItem(itemId, status, departmentId, categoryId, brandId)));
+    }
+
+    /**
+     * Remove an item from the index once the transaction commits.
+     */
+    public void remove(Long tenantId, Long itemId) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.removeItem(itemId)));
+    }
+
+    /**
+     * Drop the tenant's index so it is rebuilt from the database on next use.
+     */
+    public void evict(Long tenantId) {
+        registry.evict(tenantId);
+    }
+
+    /**
+     * Facet name of a LIST attribute.
+     */
+    public static String attributeFacet(Long attributeDefinitionId) {
+        return ATTRIBUTE_PREFIX + attributeDefinitionId;
+    }
+
+    private TenantFacets load(Long tenantId) {
+        long started = System.nanoTime();
+        TenantFacets index = new TenantFacets();
+
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = itemRepository.findFacetIndexRows(tenantId, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                index.putItem((Long) row[0], (ItemStatus) row[1], (Long) row[2], (Long) row[3], (Long) row[4]);
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        afterId = 0;
+        while (true) {
+            List<Object[]> rows = itemAttributeValueRepository.findFacetIndexRows(tenantId, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                index.set((Long) row[1], attributeFacet((Long) row[2]), (String) row[3]);
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        log.debug("Indexed facets of {} items for tenant {} in {} ms",
+                index.size(), tenantId, (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Facet bitmaps for a single tenant. Every item holds at most one value per facet, which
+     * is remembered per ordinal so a change only touches the old and new value's bitmaps.
+     */
+    static final class TenantFacets {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Facet> facets = new HashMap<>();
+        private final OrdinalBitmap all = new OrdinalBitmap();
+        private final LongIntHashMap ordinalsById = new LongIntHashMap(1024, -1);
+        private int nextOrdinal;
+        private int[] freeOrdinals = new int[16];
+        private int freeCount;
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return ordinalsById.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        ItemFacetCounts count(Map<String, ? extends Collection<String>> selections) {
+            lock.readLock().lock();
+            try {
+                Map<String, OrdinalBitmap> selected = new HashMap<>();
+                selections.forEach((facetName, values) -> {
+                    if (values != null && !values.isEmpty()) {
+                        OrdinalBitmap union = new OrdinalBitmap();
+                        Facet facet = facets.get(facetName);
+                        for (String value : values) {
+                            OrdinalBitmap bitmap = facet != null ? facet.bitmap(value) : null;
+                            if (bitmap != null) {
+                                union = union.or(bitmap);
+                            }
+                        }
+                        selected.put(facetName, union);
+                    }
+                });
+
+                OrdinalBitmap matching = intersect(selected, null);
+                Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+                for (Map.Entry<String, Facet> facet : facets.entrySet()) {
+                    // Counting a selected facet ignores its own selection so its alternatives stay visible
+                    OrdinalBitmap base = selected.containsKey(facet.getKey()) ? intersect(selected, facet.getKey()) : matching;
+                    List<Map.Entry<String, Integer>> valueCounts = new ArrayList<>();
+                    Facet values = facet.getValue();
+                    for (int code = 0; code < values.values.size(); code++) {
+                        OrdinalBitmap bitmap = values.bitmaps.get(code);
+                        int count = bitmap != null ? bitmap.andCardinality(base) : 0;
+                        if (count > 0) {
+                            valueCounts.add(Map.entry(values.values.get(code), count));
+                        }
+                    }
+                    if (valueCounts.isEmpty()) {
+                        continue;
+                    }
+                    valueCounts.sort((a, b) -> !a.getValue().equals(b.getValue())
+                            ? Integer.compare(b.getValue(), a.getValue()) : a.getKey().compareTo(b.getKey()));
+                    Map<String, Integer> ordered = new LinkedHashMap<>();
+                    valueCounts.forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+                    counts.put(facet.getKey(), ordered);
+                }
+
+                return ItemFacetCounts.builder()
+                        .total(matching.cardinality())
+                        .facets(counts)
+                        .build();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void putItem(Long itemId, ItemStatus status, Long departmentId, Long categoryId, Long brandId) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinalsById.get(itemId);
+                if (ordinal < 0) {
+                    ordinal = allocateOrdinal();
+                    ordinalsById.put(itemId, ordinal);
+                    all.add(ordinal);
+                }
+                setValue(ordinal, STATUS, status != null ? status.name() : null);
+                setValue(ordinal, DEPARTMENT, departmentId != null ? departmentId.toString() : null);
+                setValue(ordinal, CATEGORY, categoryId != null ? categoryId.toString() : null);
+                setValue(ordinal, BRAND, brandId != null ? brandId.toString() : null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Set one facet value of an indexed item; items not in the index are skipped.
+         */
+        void set(Long itemId, String facet, String value) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinalsById.get(itemId);
+                if (ordinal >= 0) {
+                    setValue(ordinal, facet, value);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeItem(Long itemId) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinalsById.remove(itemId);
+                if (ordinal < 0) {
+                    return;
+                }
+                for (Facet facet : facets.values()) {
+                    facet.set(ordinal, null);
+                }
+                all.remove(ordinal);
+                releaseOrdinal(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private OrdinalBitmap intersect(Map<String, OrdinalBitmap> selected, String excludedFacet) {
+            OrdinalBitmap result = all;
+            for (Map.Entry<String, OrdinalBitmap> selection : selected.entrySet()) {
+                if (!selection.getKey().equals(excludedFacet)) {
+                    result = result.and(selection.getValue());
+                }
+            }
+            return result;
+        }
+
+        private void setValue(int ordinal, String facet, String value) {
+            Facet values = value != null ? facets.computeIfAbsent(facet, key -> new Facet()) : facets.get(facet);
+            if (values != null) {
+                values.set(ordinal, value);
+            }
+        }
+
+        private int allocateOrdinal() {
+            if (freeCount > 0) {
+                return freeOrdinals[--freeCount];
+            }
+            return nextOrdinal++;
+        }
+
+        private void releaseOrdinal(int ordinal) {
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length << 1);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+    }
+
+    /**
+     * The values of one facet. Each distinct value gets a small code, and the value of every
+     * item is kept as its code in an array indexed by ordinal, so the index holds no per-item
+     * objects. Codes are kept once their last item is gone, as a rebuild drops them anyway.
+     */
+    static final class Facet {
+        private static final int NONE = -1;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<OrdinalBitmap> bitmaps = new ArrayList<>();
+        private int[] codesByOrdinal = new int[0];
+
+        OrdinalBitmap bitmap(String value) {
+            Integer code = codes.get(value);
+            return code != null ? bitmaps.get(code) : null;
+        }
+
+        void set(int ordinal, String value) {
+            int previous = ordinal < codesByOrdinal.length ? codesByOrdinal[ordinal] : NONE;
+            int code = value != null ? code(value) : NONE;
+            if (code == previous) {
+                return;
+            }
+
+            if (previous != NONE) {
+                OrdinalBitmap bitmap = bitmaps.get(previous);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.set(previous, null);
+                }
+            }
+            if (code != NONE) {
+                if (ordinal >= codesByOrdinal.length) {
+                    int length = codesByOrdinal.length;
+                    codesByOrdinal = Arrays.copyOf(codesByOrdinal, Math.max(ordinal + 1, Math.max(16, length << 1)));
+                    Arrays.fill(codesByOrdinal, length, codesByOrdinal.length, NONE);
+                }
+                OrdinalBitmap bitmap = bitmaps.get(code);
+                if (bitmap == null) {
+                    bitmap = new OrdinalBitmap();
+                    bitmaps.set(code, bitmap);
+                }
+                bitmap.add(ordinal);
+            }
+            if (ordinal < codesByOrdinal.length) {
+                codesByOrdinal[ordinal] = code;
+            }
+        }
+
+        private int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                bitmaps.add(null);
+            }
+            return code;
+        }
+    }
+}
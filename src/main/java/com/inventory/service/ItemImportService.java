@@ -0,0 +1,544 @@
+package com.inventory.service;
+
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.ItemImportResultDto;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.Item.ItemType;
+import com.inventory.repository.ItemRepository;
+import com.inventory.repository.UserAccountRepository;
+import com.inventory.util.BulkJob;
+import com.inventory.util.CsvImport;
+import com.inventory.util.CsvImport.Record;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Imports items from a CSV file in one background job, in four stages:
+ * parse the file, validate each row in memory, resolve category, department, brand and unit
+ * codes against maps loaded once per job, then write.
+ *
+ * SKUs are checked against the {@code (tenant_id, sku)} unique index with set-based IN
+ * queries. Rows are inserted with JDBC batch statements, one transaction per chunk, on the
+ * bounded item import executor. A chunk that fails as a whole, for example because another
+ * writer took one of its SKUs in the meantime, is retried row by row so only the offending
+ * rows fail. Each chunk appends the CREATED events of its items in its own transaction.
+ *
+ * Failed and skipped rows are reported with their line number. Running the same file again
+ * with {@code skipExisting} resumes an interrupted import: rows already written are skipped.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+
+    public static final String JOB_TYPE = "ITEM_IMPORT";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO item (tenant_id, sku, name, short_name, description, item_type, category_id, " +
+            "department_id, brand_id, base_uom_id, tax_class, hs_code, country_of_origin, is_serialized, " +
+            "is_lot_tracked, shelf_life_days, safety_stock_default, reorder_point_default, reorder_quantity_default, " +
+            "standard_cost, base_price, search_keywords, status, created_by, updated_by, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String[] COLUMNS = {
+            "sku", "name", "short_name", "description", "item_type", "category_code", "department_code",
+            "brand_code", "base_uom_code", "tax_class", "hs_code", "country_of_origin", "is_serialized",
+            "is_lot_tracked", "shelf_life_days", "standard_cost", "base_price", "search_keywords"
+    };
+
+    private static final String[] REPORT_HEADER = {"row", "sku", "result", "error"};
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemFacetIndex itemFacetIndex;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private BulkJobRegistry bulkJobRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    @Qualifier("itemImportExecutor")
+    private AsyncTaskExecutor itemImportExecutor;
+
+    @Value("${app.item-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.item-import.max-rows:500000}")
+    private int maxRows;
+
+    /**
+     * Parse the CSV file and start the import in the background.
+     *
+     * @throws IllegalArgumentException if the header is missing, has unknown or duplicate columns,
+     *                                  lacks {@code sku} or {@code name}, or the file is too large
+     */
+    public BulkJob<ItemImportResultDto> submit(Long tenantId, Long userId, InputStream csv, boolean skipExisting)
+            throws IOException {
+        if (!userAccountRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+
+        // Stage 1: split the file into records, mapping columns by header name
+        List<Record> rows = CsvImport.parse(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)),
+                COLUMNS, 2, maxRows);
+        BulkJob<ItemImportResultDto> job = bulkJobRegistry.create(JOB_TYPE, tenantId, rows.size());
+        taskExecutor.execute(() -> run(job, tenantId, userId, rows, skipExisting));
+        return job;
+    }
+
+    /**
+     * Find an import job of the tenant.
+     */
+    public Optional<BulkJob<ItemImportResultDto>> getJob(Long tenantId, String jobId) {
+        return bulkJobRegistry.find(tenantId, JOB_TYPE, jobId);
+    }
+
+    /**
+     * Write the failed and skipped rows of a job as CSV, in file order.
+     */
+    public void writeReport(BulkJob<ItemImportResultDto> job, Writer out) throws IOException {
+        CsvImport.writeReport(out, REPORT_HEADER, job.getResults(), ItemImportResultDto::getRowNumber,
+                result -> new String[]{String.valueOf(result.getRowNumber()), result.getSku(),
+                        result.isSuccess() ? "SKIPPED" : "FAILED", result.getError()});
+    }
+
+    private void run(BulkJob<ItemImportResultDto> job, Long tenantId, Long userId, List<Record> rows,
+                     boolean skipExisting) {
+        job.start();
+        try {
+            // Stage 2: field validation and duplicates within the file
+            List<ImportRow> valid = new ArrayList<>(rows.size());
+            Map<String, Integer> firstRowBySku = new HashMap<>();
+            for (Record raw : rows) {
+                String sku = raw.get(0);
+                if (raw.getError() != null) {
+                    job.recordFailure(failure(raw.getLineNumber(), sku, raw.getError()));
+                    continue;
+                }
+                try {
+                    ImportRow row = validate(raw);
+                    Integer firstRow = firstRowBySku.putIfAbsent(skuKey(row.sku), raw.getLineNumber());
+                    if (firstRow != null) {
+                        job.recordFailure(failure(raw.getLineNumber(), sku, "Duplicate SKU, first used on row " + firstRow));
+                        continue;
+                    }
+                    valid.add(row);
+                } catch (IllegalArgumentException e) {
+                    job.recordFailure(failure(raw.getLineNumber(), sku, e.getMessage()));
+                }
+            }
+
+            // Stage 3: reference codes and existing SKUs, resolved with one query per table
+            References references = loadReferences(tenantId);
+            Set<String> existing = new HashSet<>();
+            List<String> skus = new ArrayList<>(valid.size());
+            valid.forEach(row -> skus.add(row.sku));
+            CsvImport.lookup(skus, chunk -> itemRepository.findExistingSkus(tenantId, chunk))
+                    .forEach(sku -> existing.add(skuKey(sku)));
+
+            List<ImportRow> insertable = new ArrayList<>(valid.size());
+            for (ImportRow row : valid) {
+                if (existing.contains(skuKey(row.sku))) {
+                    if (skipExisting) {
+                        job.recordSuccess(ItemImportResultDto.builder()
+                                .rowNumber(row.lineNumber)
+                                .sku(row.sku)
+                                .success(true)
+                                .skipped(true)
+                                .build());
+                    } else {
+                        job.recordFailure(failure(row.lineNumber, row.sku, "Item SKU already exists: " + row.sku));
+                    }
+                    continue;
+                }
+
+                String error = references.resolve(row);
+                if (error != null) {
+                    job.recordFailure(failure(row.lineNumber, row.sku, error));
+                } else {
+                    insertable.add(row);
+                }
+            }
+
+            // Stage 4: chunked batch inserts on the item import executor
+            insertInParallel(job, tenantId, userId, insertable);
+
+            itemSearchIndex.evict(tenantId);
+            itemFacetIndex.evict(tenantId);
+            job.complete();
+            log.info("Item import {} for tenant {} finished: {} rows succeeded, {} failed",
+                    job.getId(), tenantId, job.getSucceeded(), job.getFailed());
+
+        } catch (RuntimeException e) {
+            log.error("Item import {} for tenant {} failed", job.getId(), tenantId, e);
+            itemSearchIndex.evict(tenantId);
+            itemFacetIndex.evict(tenantId);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private ImportRow validate(Record raw) {
+        String[] v = new String[COLUMNS.length];
+        for (int column = 0; column < v.length; column++) {
+            v[column] = raw.get(column);
+        }
+        ImportRow row = new ImportRow(raw.getLineNumber());
+        row.sku = require(v[0], "sku", 64);
+        row.name = require(v[1], "name", 255);
+        row.shortName = maxLength(v[2], "short_name", 128);
+        row.description = v[3];
+        row.itemType = v[4] != null ? parseEnum(v[4]) : ItemType.SIMPLE;
+        row.categoryCode = v[5];
+        row.departmentCode = v[6];
+        row.brandCode = v[7];
+        row.baseUomCode = v[8];
+        row.taxClass = maxLength(v[9], "tax_class", 32);
+        row.hsCode = maxLength(v[10], "hs_code", 32);
+        if (v[11] != null && v[11].length() != 2) {
+            throw new IllegalArgumentException("country_of_origin must be a 2-letter code");
+        }
+        row.countryOfOrigin = v[11] != null ? v[11].toUpperCase(Locale.ROOT) : null;
+        row.serialized = parseBoolean(v[12], "is_serialized");
+        row.lotTracked = parseBoolean(v[13], "is_lot_tracked");
+        row.shelfLifeDays = parseInteger(v[14], "shelf_life_days");
+        row.standardCost = parseDecimal(v[15], "standard_cost");
+        row.basePrice = parseDecimal(v[16], "base_price");
+        row.searchKeywords = v[17];
+        return row;
+    }
+
+    private void insertInParallel(BulkJob<ItemImportResultDto> job, Long tenantId, Long userId, List<ImportRow> rows) {
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<ImportRow> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            chunks.add(itemImportExecutor.submit(() -> insertChunk(job, tenantId, userId, chunk)));
+        }
+
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Item import was interrupted", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Item import chunk failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void insertChunk(BulkJob<ItemImportResultDto> job, Long tenantId, Long userId, List<ImportRow> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        DataAccessException chunkError = CsvImport.writeChunk(new TransactionTemplate(transactionManager), chunk,
+                rows -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row, tenantId, userId, now));
+                    appendCreatedEvents(tenantId, rows);
+                },
+                row -> job.recordSuccess(null),
+                (row, e) -> job.recordFailure(failure(row.lineNumber, row.sku, e instanceof DuplicateKeyException
+                        ? "Item SKU already exists: " + row.sku
+                        : "Insert failed: " + e.getMostSpecificCause().getMessage())));
+        if (chunkError != null) {
+            log.warn("Item import chunk of {} rows failed for tenant {} and was retried row by row: {}",
+                    chunk.size(), tenantId, chunkError.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Append the CREATED events of freshly inserted rows, reading their generated ids back by SKU
+     * in the inserting transaction. The payload matches single item creates.
+     */
+    private void appendCreatedEvents(Long tenantId, List<ImportRow> rows) {
+        Map<String, ImportRow> bySku = new HashMap<>();
+        List<Object> args = new ArrayList<>(rows.size() + 1);
+        args.add(tenantId);
+        for (ImportRow row : rows) {
+            bySku.put(skuKey(row.sku), row);
+            args.add(row.sku);
+        }
+
+        Map<Long, Object[]> events = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, sku FROM item WHERE tenant_id = ? AND sku IN (" +
+                String.join(", ", Collections.nCopies(rows.size(), "?")) + ") ORDER BY id", rs -> {
+            ImportRow row = bySku.get(skuKey(rs.getString(2)));
+            events.put(rs.getLong(1), new Object[]{"sku", row.sku, "status", ItemStatus.DRAFT,
+                    "basePrice", row.basePrice, "categoryId", row.categoryId});
+        }, args.toArray());
+        catalogOutbox.appendAll(tenantId, AggregateType.ITEM, EventType.CREATED, events);
+    }
+
+    private static void bind(PreparedStatement ps, ImportRow row, Long tenantId, Long userId, Timestamp now)
+            throws SQLException {
+        ps.setLong(1, tenantId);
+        ps.setString(2, row.sku);
+        ps.setString(3, row.name);
+        ps.setString(4, row.shortName);
+        ps.setString(5, row.description);
+        ps.setString(6, row.itemType.name());
+        setLong(ps, 7, row.categoryId);
+        setLong(ps, 8, row.departmentId);
+        setLong(ps, 9, row.brandId);
+        setLong(ps, 10, row.baseUomId);
+        ps.setString(11, row.taxClass);
+        ps.setString(12, row.hsCode);
+        ps.setString(13, row.countryOfOrigin);
+        ps.setBoolean(14, row.serialized);
+        ps.setBoolean(15, row.lotTracked);
+        if (row.shelfLifeDays != null) {
+            ps.setInt(16, row.shelfLifeDays);
+        } else {
+            ps.setNull(16, Types.INTEGER);
+        }
+        ps.setBigDecimal(17, row.standardCost);
+        ps.setBigDecimal(18, row.basePrice);
+        ps.setString(19, row.searchKeywords);
+        ps.setString(20, ItemStatus.DRAFT.name());
+        ps.setLong(21, userId);
+        ps.setLong(22, userId);
+        ps.setTimestamp(23, now);
+        ps.setTimestamp(24, now);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private References loadReferences(Long tenantId) {
+        References references = new References();
+        references.categories = loadCodes("SELECT code, id FROM category WHERE tenant_id = ?", tenantId);
+        // Only active departments and brands can be assigned, as in single item writes
+        references.departments = loadCodes("SELECT code, id FROM department WHERE tenant_id = ? AND status = 'ACTIVE'",
+                tenantId);
+        references.brands = loadCodes("SELECT code, id FROM brand WHERE tenant_id = ? AND status = 'ACTIVE'", tenantId);
+        references.units = loadCodes("SELECT code, id FROM unit_of_measure WHERE tenant_id = ?", tenantId);
+        return references;
+    }
+
+    private Map<String, Long> loadCodes(String sql, Long tenantId) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            ids.put(rs.getString(1).toUpperCase(Locale.ROOT), rs.getLong(2));
+        }, tenantId);
+        return ids;
+    }
+
+    /**
+     * SKUs compare case-insensitively, as the database collation does in the unique index
+     */
+    private static String skuKey(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+
+    private static String require(String value, String column, int maxLength) {
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return maxLength(value, column, maxLength);
+    }
+
+    private static String maxLength(String value, String column, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " must be at most " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static ItemType parseEnum(String value) {
+        try {
+            return ItemType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown item_type: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value, String column) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "yes":
+            case "y":
+            case "1":
+                return true;
+            case "false":
+            case "no":
+            case "n":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException(column + " must be true or false");
+        }
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(column + " cannot be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number");
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal parsed = new BigDecimal(value);
+            // DECIMAL(12,4) columns
+            if (parsed.signum() < 0 || parsed.precision() - parsed.scale() > 8 || parsed.scale() > 4) {
+                throw new IllegalArgumentException(column + " must be a non-negative amount with up to 8 digits and 4 decimals");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number");
+        }
+    }
+
+    private static ItemImportResultDto failure(int lineNumber, String sku, String error) {
+        return ItemImportResultDto.builder()
+                .rowNumber(lineNumber)
+                .sku(sku)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private static final class ImportRow {
+        private final int lineNumber;
+        private String sku;
+        private String name;
+        private String shortName;
+        private String description;
+        private ItemType itemType;
+        private String categoryCode;
+        private String departmentCode;
+        private String brandCode;
+        private String baseUomCode;
+        private Long categoryId;
+        private Long departmentId;
+        private Long brandId;
+        private Long baseUomId;
+        private String taxClass;
+        private String hsCode;
+        private String countryOfOrigin;
+        private boolean serialized;
+        private boolean lotTracked;
+        private Integer shelfLifeDays;
+        private BigDecimal standardCost;
+        private BigDecimal basePrice;
+        private String searchKeywords;
+
+        private ImportRow(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * Code to id maps of the tenant's reference data, keyed by upper-case code
+     */
+    private static final class References {
+        private Map<String, Long> categories;
+        private Map<String, Long> departments;
+        private Map<String, Long> brands;
+        private Map<String, Long> units;
+
+        /**
+         * Fill in the row's reference ids; returns an error message for an unknown or inactive code
+         */
+        private String resolve(ImportRow row) {
+            if (row.categoryCode != null) {
+                row.categoryId = categories.get(row.categoryCode.toUpperCase(Locale.ROOT));
+                if (row.categoryId == null) {
+                    return "Unknown category code: " + row.categoryCode;
+                }
+            }
+            if (row.departmentCode != null) {
+                row.departmentId = departments.get(row.departmentCode.toUpperCase(Locale.ROOT));
+                if (row.departmentId == null) {
+                    return "Unknown or inactive department code: " + row.departmentCode;
+                }
+            }
+            if (row.brandCode != null) {
+                row.brandId = brands.get(row.brandCode.toUpperCase(Locale.ROOT));
+                if (row.brandId == null) {
+                    return "Unknown or inactive brand code: " + row.brandCode;
+                }
+            }
+            if (row.baseUomCode != null) {
+                row.baseUomId = units.get(row.baseUomCode.toUpperCase(Locale.ROOT));
+                if (row.baseUomId == null) {
+                    return "Unknown unit of measure code: " + row.baseUomCode;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.inventory.service;
+
+import com.inventory.entity.Item;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.repository.ItemRepository;
+import com.inventory.util.TenantIndexRegistry;
+import com.inventory.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, tenant-partitioned inverted index over item name, short name, SKU, description
+ * and search keywords.
+ *
+ * Text is split into lower-cased letter/digit tokens. Every query token must match a token of
+ * the item, either exactly or as a prefix; hits are ranked by the weight of the field each
+ * token matched, with exact matches and an exact SKU ranked highest. Changes made through
+ * {@link ItemService} are applied after commit, and each tenant's index is rebuilt
+ * periodically to pick up writes made by other application nodes.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    /** Shorter query tokens only match whole tokens, so one letter does not expand to half the dictionary */
+    private static final int MIN_PREFIX_LENGTH = 2;
+    /** Description tokens indexed per item; the field is free text of unbounded length */
+    private static final int MAX_DESCRIPTION_TOKENS = 200;
+
+    private static final int SKU_WEIGHT = 8;
+    private static final int NAME_WEIGHT = 4;
+    private static final int SHORT_NAME_WEIGHT = 3;
+    private static final int KEYWORD_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_SKU_BONUS = 100;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Value("${app.item-search.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    private TenantIndexRegistry<TenantIndex> registry;
+
+    @PostConstruct
+    void init() {
+        registry = new TenantIndexRegistry<>(this::load, Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /**
+     * Ids of matching items, most relevant first. Null filters are ignored.
+     */
+    public List<Long> search(Long tenantId, String query, Long departmentId, Long categoryId,
+                             Long brandId, ItemStatus status) {
+        List<String> tokens = tokenize(query, Integer.MAX_VALUE);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return registry.get(tenantId).search(tokens, query.trim(), new Filter(departmentId, categoryId, brandId, status));
+    }
+
+    /**
+     * Reflect the saved state of an item in the index once the transaction commits.
+     */
+    public void sync(Item item) {
+        Long tenantId = item.getTenant().getId();
+        Document document = Document.of(item);
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.put(document)));
+    }
+
+    /**
+     * Remove an item from the index once the transaction commits.
+     */
+    public void remove(Long tenantId, Long itemId) {
+        TransactionHooks.afterCommit(() -> registry.update(tenantId, index -> index.remove(itemId)));
+    }
+
+    /**
+     * Drop the tenant's index so it is rebuilt from the database on the next search.
+     */
+    public void evict(Long tenantId) {
+        registry.evict(tenantId);
+    }
+
+    private TenantIndex load(Long tenantId) {
+        long started = System.nanoTime();
+        TenantIndex index = new TenantIndex();
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = itemRepository.findSearchIndexRows(tenantId, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                index.put(new Document(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (String) row[5],
+                        (ItemStatus) row[6],
+                        (Long) row[7],
+                        (Long) row[8],
+                        (Long) row[9]));
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        log.debug("Indexed {} items for tenant {} in {} ms",
+                index.size(), tenantId, (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Split text into lower-cased runs of letters and digits.
+     */
+    static List<String> tokenize(String text, int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length() && tokens.size() < maxTokens; i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static final class Filter {
+        private final Long departmentId;
+        private final Long categoryId;
+        private final Long brandId;
+        private final ItemStatus status;
+
+        Filter(Long departmentId, Long categoryId, Long brandId, ItemStatus status) {
+            this.departmentId = departmentId;
+            this.categoryId = categoryId;
+            this.brandId = brandId;
+            this.status = status;
+        }
+
+        private boolean accepts(Document document) {
+            return (departmentId == null || departmentId.equals(document.departmentId))
+                    && (categoryId == null || categoryId.equals(document.categoryId))
+                    && (brandId == null || brandId.equals(document.brandId))
+                    && (status == null || status == document.status);
+        }
+    }
+
+    /**
+     * Searchable snapshot of one item.
+     */
+    static final class Document {
+        private final Long id;
+        private final String sku;
+        private final ItemStatus status;
+        private final Long departmentId;
+        private final Long categoryId;
+        private final Long brandId;
+        /** Distinct tokens, sorted, with the highest field weight each occurs in */
+        private String[] terms;
+        private byte[] weights;
+
+        Document(Long id, String sku, String name, String shortName, String description, String searchKeywords,
+                 ItemStatus status, Long departmentId, Long categoryId, Long brandId) {
+            this.id = id;
+            this.sku = sku;
+            this.status = status;
+            this.departmentId = departmentId;
+            this.categoryId = categoryId;
+            this.brandId = brandId;
+
+            TreeMap<String, Integer> weighted = new TreeMap<>();
+            addTokens(weighted, sku, SKU_WEIGHT, Integer.MAX_VALUE);
+            addTokens(weighted, name, NAME_WEIGHT, Integer.MAX_VALUE);
+            addTokens(weighted, shortName, SHORT_NAME_WEIGHT, Integer.MAX_VALUE);
+            addTokens(weighted, searchKeywords, KEYWORD_WEIGHT, Integer.MAX_VALUE);
+            addTokens(weighted, description, DESCRIPTION_WEIGHT, MAX_DESCRIPTION_TOKENS);
+
+            terms = weighted.keySet().toArray(new String[0]);
+            weights = new byte[terms.length];
+            int i = 0;
+            for (Integer weight : weighted.values()) {
+                weights[i++] = weight.byteValue();
+            }
+        }
+
+        static Document of(Item item) {
+            return new Document(
+                    item.getId(),
+                    item.getSku(),
+                    item.getName(),
+                    item.getShortName(),
+                    item.getDescription(),
+                    item.getSearchKeywords(),
+                    item.getStatus(),
+                    item.getDepartment() != null ? item.getDepartment().getId() : null,
+                    item.getCategory() != null ? item.getCategory().getId() : null,
+                    item.getBrand() != null ? item.getBrand().getId() : null);
+        }
+
+        private static void addTokens(Map<String, Integer> weighted, String text, int weight, int maxTokens) {
+            for (String token : tokenize(text, maxTokens)) {
+                weighted.merge(token, weight, Math::max);
+            }
+        }
+
+        /**
+         * Relevance of the best match of a query token, or 0 when no term matches it.
+         */
+        private int score(String token) {
+            int position = Arrays.binarySearch(terms, token);
+            if (position >= 0) {
+                return weights[position] * 2;
+            }
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                return 0;
+            }
+            int best = 0;
+            for (int i = -position - 1; i < terms.length && terms[i].startsWith(token); i++) {
+                best = Math.max(best, weights[i]);
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Inverted index for a single tenant. Each distinct token maps to the sorted slots of the
+     * documents containing it; the sorted dictionary answers prefix lookups with a range scan.
+     */
+    static final class TenantIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private Document[] documents = new Document[64];
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int nextSlot;
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return slotsById.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Long> search(List<String> tokens, String rawQuery, Filter filter) {
+            // The longest token is usually the most selective; it drives candidate generation
+            String driver = Collections.max(tokens, Comparator.comparingInt(String::length));
+
+            lock.readLock().lock();
+            try {
+                BitSet candidates = new BitSet(nextSlot);
+                if (driver.length() < MIN_PREFIX_LENGTH) {
+                    Postings postings = dictionary.get(driver);
+                    if (postings != null) {
+                        postings.addTo(candidates);
+                    }
+                } else {
+                    NavigableMap<String, Postings> range = dictionary.subMap(driver, true, driver + Character.MAX_VALUE, false);
+                    for (Postings postings : range.values()) {
+                        postings.addTo(candidates);
+                    }
+                }
+
+                List<long[]> hits = new ArrayList<>();
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    Document document = documents[slot];
+                    if (!filter.accepts(document)) {
+                        continue;
+                    }
+                    int score = 0;
+                    for (String token : tokens) {
+                        int tokenScore = document.score(token);
+                        if (tokenScore == 0) {
+                            score = 0;
+                            break;
+                        }
+                        score += tokenScore;
+                    }
+                    if (score == 0) {
+                        continue;
+                    }
+                    if (document.sku != null && document.sku.equalsIgnoreCase(rawQuery)) {
+                        score += EXACT_SKU_BONUS;
+                    }
+                    hits.add(new long[]{score, document.id});
+                }
+
+                hits.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(a[1], b[1]));
+                List<Long> ids = new ArrayList<>(hits.size());
+                for (long[] hit : hits) {
+                    ids.add(hit[1]);
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Document document) {
+            lock.writeLock().lock();
+            try {
+                Integer existing = slotsById.get(document.id);
+                int slot;
+                if (existing != null) {
+                    slot = existing;
+                    unindex(documents[slot], slot);
+                } else {
+                    slot = allocateSlot();
+                    slotsById.put(document.id, slot);
+                }
+
+                for (int i = 0; i < document.terms.length; i++) {
+                    Postings postings = dictionary.computeIfAbsent(document.terms[i], Postings::new);
+                    // Share the dictionary's string instead of keeping a copy per document
+                    document.terms[i] = postings.term;
+                    postings.add(slot);
+                }
+                documents[slot] = document;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long itemId) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slotsById.remove(itemId);
+                if (slot != null) {
+                    unindex(documents[slot], slot);
+                    documents[slot] = null;
+                    releaseSlot(slot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void unindex(Document document, int slot) {
+            for (String term : document.terms) {
+                Postings postings = dictionary.get(term);
+                if (postings != null && postings.remove(slot) == 0) {
+                    dictionary.remove(term);
+                }
+            }
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            if (nextSlot == documents.length) {
+                documents = Arrays.copyOf(documents, documents.length << 1);
+            }
+            return nextSlot++;
+        }
+
+        private void releaseSlot(int slot) {
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    /**
+     * Sorted document slots containing one term.
+     */
+    private static final class Postings {
+        private final String term;
+        private int[] slots = new int[2];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int slot) {
+            // Slots are mostly handed out in ascending order, so check the tail first
+            int position = size == 0 || slots[size - 1] < slot ? size : Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            position = position < 0 ? -position - 1 : position;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length << 1);
+            }
+            System.arraycopy(slots, position, slots, position + 1, size - position);
+            slots[position] = slot;
+            size++;
+        }
+
+        /**
+         * Remove the slot and return the remaining size.
+         */
+        private int remove(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0) {
+                System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+                size--;
+            }
+            return size;
+        }
+
+        private void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(slots[i]);
+            }
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package com.inventory.service;
 
+import com.inventory.dto.AttributeFilter;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.CursorPage;
+import com.inventory.dto.ItemFacetCounts;
+import com.inventory.dto.ItemPatchRequest;
+import com.inventory.dto.ItemPickerDto;
+import com.inventory.dto.ItemSummaryDto;
 import com.inventory.entity.*;
 import com.inventory.entity.Item.ItemStatus;
 import com.inventory.repository.*;
+import com.inventory.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Service class for Item management
@@ -21,6 +46,8 @@ import java.util.Optional;
 @Transactional
 public class ItemService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private ItemRepository itemRepository;
 
@@ -36,6 +63,30 @@ public class ItemService {
     @Autowired
     private ItemAttributeValueRepository itemAttributeValueRepository;
 
+    @Autowired
+    private ItemVariantRepository itemVariantRepository;
+
+    @Autowired
+    private UnitOfMeasureRepository unitOfMeasureRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemFacetIndex itemFacetIndex;
+
+    @Autowired
+    private CatalogReferenceCache catalogReferenceCache;
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private AttributeService attributeService;
+
+    @Autowired
+    private CategoryAttributeIndex categoryAttributeIndex;
+
 
     /**
      * Create a new item
@@ -47,8 +98,10 @@ public class ItemService {
         item.setUpdatedBy(currentUser);
         item.setStatus(ItemStatus.DRAFT); // New items start as draft
         
-        Item savedItem = itemRepository.save(item);
-        
+        Item savedItem = saveUnique(item);
+        itemSearchIndex.sync(savedItem);
+        itemFacetIndex.sync(savedItem);
+        appendItemEvent(savedItem, EventType.CREATED);
         
         return savedItem;
     }
@@ -58,6 +111,10 @@ public class ItemService {
      */
     public Item updateItem(Long itemId, Item itemDetails, UserAccount currentUser) {
         Item existingItem = getItemByIdAndTenant(itemId, itemDetails.getTenant().getId());
+
+        if (itemDetails.getVersion() != null && !itemDetails.getVersion().equals(existingItem.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
+        }
         
         validateItemForUpdate(itemDetails, existingItem);
         
@@ -88,26 +145,61 @@ public class ItemService {
         existingItem.setSearchKeywords(itemDetails.getSearchKeywords());
         existingItem.setUpdatedBy(currentUser);
         
-        Item savedItem = itemRepository.save(existingItem);
-        
+        Item savedItem = saveUnique(existingItem);
+        itemSearchIndex.sync(savedItem);
+        itemFacetIndex.sync(savedItem);
+        appendItemEvent(savedItem, EventType.UPDATED);
         
         return savedItem;
     }
 
+    /**
+     * Apply the fields named in the patch's field mask. Only changed columns are written, and a
+     * patch that changes nothing writes nothing. The patch must carry the version the client
+     * read; if the item has changed since, or changes before this update commits, the update
+     * fails with an {@link ObjectOptimisticLockingFailureException}.
+     */
+    public Item patchItem(Long itemId, Long tenantId, ItemPatchRequest patch, UserAccount currentUser) {
+        Item item = getItemByIdAndTenant(itemId, tenantId);
+
+        if (!item.getVersion().equals(patch.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
+        }
+
+        if (!applyPatch(item, patch)) {
+            return item;
+        }
+
+        validateItemForUpdate(item, item);
+        item.setUpdatedBy(currentUser);
+
+        Item savedItem = saveUnique(item);
+        itemSearchIndex.sync(savedItem);
+        itemFacetIndex.sync(savedItem);
+        appendItemEvent(savedItem, EventType.UPDATED);
+
+        return savedItem;
+    }
+
     /**
      * Update item status
      */
     public Item updateItemStatus(Long itemId, Long tenantId, ItemStatus newStatus, UserAccount currentUser) {
-        Item item = getItemByIdAndTenant(itemId, tenantId);
-        
-        validateStatusTransition(item.getStatus(), newStatus);
+        return changeStatus(getItemByIdAndTenant(itemId, tenantId), newStatus, currentUser);
+    }
+
+    private Item changeStatus(Item item, ItemStatus newStatus, UserAccount currentUser) {
+        validateStatusChange(item, newStatus);
         
         ItemStatus oldStatus = item.getStatus();
         item.setStatus(newStatus);
         item.setUpdatedBy(currentUser);
         
         Item savedItem = itemRepository.save(item);
-        
+        itemSearchIndex.sync(savedItem);
+        itemFacetIndex.sync(savedItem);
+        catalogOutbox.append(savedItem.getTenant().getId(), AggregateType.ITEM, savedItem.getId(), EventType.STATUS_CHANGED,
+                "sku", savedItem.getSku(), "status", newStatus, "previousStatus", oldStatus);
         
         return savedItem;
     }
@@ -170,22 +262,173 @@ public class ItemService {
     }
 
     /**
-     * Search items by name, SKU, or description
+     * List a tenant's items by keyset pagination in (updatedAt, id) order, without a total count.
+     * Null filters are ignored; {@code updatedSince} limits the walk to recently changed items.
+     * Items updated while a walk is in progress move to its end, so they are returned again
+     * rather than skipped.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Item> listItems(Long tenantId, Long departmentId, Long categoryId, Long brandId,
+                                      ItemStatus status, LocalDateTime updatedSince, String cursor, int size) {
+        validatePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<Item> rows = itemRepository.findPageAfter(tenantId, departmentId, categoryId, brandId, status,
+                updatedSince, after != null ? after.getTimestamp() : null, after != null ? after.getId() : null,
+                PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size, Item::getUpdatedAt, Item::getId);
+    }
+
+    /**
+     * List a tenant's variants, optionally of one item, by keyset pagination in (updatedAt, id) order
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ItemVariant> listVariants(Long tenantId, Long itemId, ItemVariant.VariantStatus status,
+                                                LocalDateTime updatedSince, String cursor, int size) {
+        validatePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<ItemVariant> rows = itemVariantRepository.findPageAfter(tenantId, itemId, status, updatedSince,
+                after != null ? after.getTimestamp() : null, after != null ? after.getId() : null,
+                PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size, ItemVariant::getUpdatedAt, ItemVariant::getId);
+    }
+
+    /**
+     * List item summaries by keyset pagination in (updatedAt, id) order, with the same filters as
+     * {@link #listItems}. Each page is one query with the displayed names joined in.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ItemSummaryDto> listItemSummaries(Long tenantId, Long departmentId, Long categoryId,
+                                                        Long brandId, ItemStatus status, LocalDateTime updatedSince,
+                                                        String cursor, int size) {
+        validatePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<ItemSummaryDto> rows = itemRepository.findSummaryPageAfter(tenantId, departmentId, categoryId, brandId,
+                status, updatedSince, after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null, PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size, ItemSummaryDto::getUpdatedAt, ItemSummaryDto::getId);
+    }
+
+    /**
+     * Search item summaries, most relevant first. Ranking comes from {@link ItemSearchIndex}
+     * and the requested page is read by one query on its ids.
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemSummaryDto> searchItemSummaries(Long tenantId, String searchTerm, Long departmentId,
+                                                    Long categoryId, Long brandId, ItemStatus status,
+                                                    Pageable pageable) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new IllegalArgumentException("Search term is required");
+        }
+        validatePageSize(pageable.getPageSize());
+
+        List<Long> rankedIds = itemSearchIndex.search(tenantId, searchTerm, departmentId, categoryId, brandId, status);
+        List<Long> pageIds = rankedPage(rankedIds, pageable);
+        List<ItemSummaryDto> content = pageIds.isEmpty() ? List.of()
+                : inRankOrder(pageIds, itemRepository.findSummariesByIds(tenantId, pageIds), ItemSummaryDto::getId);
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    /**
+     * Item summaries matching an attribute filter, in id order. Matching ids come from an index
+     * range scan on the typed attribute value and the requested page is read by one query.
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemSummaryDto> findItemSummariesByAttribute(Long tenantId, AttributeFilter filter, Pageable pageable) {
+        validatePageSize(pageable.getPageSize());
+
+        List<Long> itemIds = new ArrayList<>(attributeService.findItemIds(tenantId, filter));
+        Collections.sort(itemIds);
+        List<Long> pageIds = rankedPage(itemIds, pageable);
+        List<ItemSummaryDto> content = pageIds.isEmpty() ? List.of()
+                : inRankOrder(pageIds, itemRepository.findSummariesByIds(tenantId, pageIds), ItemSummaryDto::getId);
+        return new PageImpl<>(content, pageable, itemIds.size());
+    }
+
+    /**
+     * Facet counts for the items matching the selected statuses, departments, categories, brands
+     * and attribute options, served from {@link ItemFacetIndex}. Attribute selections are given
+     * as "definitionId:option".
+     */
+    @Transactional(readOnly = true)
+    public ItemFacetCounts getItemFacets(Long tenantId, Collection<ItemStatus> statuses, Collection<Long> departmentIds,
+                                         Collection<Long> categoryIds, Collection<Long> brandIds,
+                                         Collection<String> attributeOptions) {
+        Map<String, List<String>> selections = new HashMap<>();
+        addSelections(selections, ItemFacetIndex.STATUS, statuses);
+        addSelections(selections, ItemFacetIndex.DEPARTMENT, departmentIds);
+        addSelections(selections, ItemFacetIndex.CATEGORY, categoryIds);
+        addSelections(selections, ItemFacetIndex.BRAND, brandIds);
+        if (attributeOptions != null) {
+            for (String attributeOption : attributeOptions) {
+                int separator = attributeOption.indexOf(':');
+                if (separator < 1) {
+                    throw new IllegalArgumentException("Attribute selection must be definitionId:option: " + attributeOption);
+                }
+                Long definitionId;
+                try {
+                    definitionId = Long.valueOf(attributeOption.substring(0, separator));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Attribute selection must be definitionId:option: " + attributeOption);
+                }
+                selections.computeIfAbsent(ItemFacetIndex.attributeFacet(definitionId), key -> new ArrayList<>())
+                        .add(attributeOption.substring(separator + 1));
+            }
+        }
+        return itemFacetIndex.count(tenantId, selections);
+    }
+
+    /**
+     * Active items for a picker: the best matches for the query, or the first by name without one
+     */
+    @Transactional(readOnly = true)
+    public List<ItemPickerDto> pickItems(Long tenantId, String query, int limit) {
+        validatePageSize(limit);
+
+        if (query == null || query.isBlank()) {
+            return itemRepository.findPickerOptions(tenantId, ItemStatus.ACTIVE, PageRequest.of(0, limit));
+        }
+
+        List<Long> rankedIds = itemSearchIndex.search(tenantId, query, null, null, null, ItemStatus.ACTIVE);
+        List<Long> pageIds = rankedPage(rankedIds, PageRequest.of(0, limit));
+        return pageIds.isEmpty() ? List.of()
+                : inRankOrder(pageIds, itemRepository.findPickerOptionsByIds(tenantId, pageIds), ItemPickerDto::getId);
+    }
+
+    /**
+     * Search items by name, short name, SKU, description or keywords, most relevant first
      */
     @Transactional(readOnly = true)
     public Page<Item> searchItems(Long tenantId, String searchTerm, Pageable pageable) {
-        return itemRepository.searchByNameSkuOrDescription(tenantId, searchTerm, pageable);
+        return advancedSearchItems(tenantId, null, null, null, null, searchTerm, pageable);
     }
 
     /**
-     * Advanced search with multiple filters
+     * Advanced search with multiple filters. With a search term, matches come from the
+     * in-memory {@link ItemSearchIndex} ranked by relevance; without one, the filters run
+     * as a database query in the requested sort order.
      */
     @Transactional(readOnly = true)
     public Page<Item> advancedSearchItems(Long tenantId, Long departmentId, Long categoryId, 
                                         Long brandId, ItemStatus status, String searchTerm, 
                                         Pageable pageable) {
-        return itemRepository.advancedSearch(tenantId, departmentId, categoryId, brandId, 
-                                           status, searchTerm, pageable);
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return itemRepository.findByFilters(tenantId, departmentId, categoryId, brandId, status, pageable);
+        }
+
+        List<Long> rankedIds = itemSearchIndex.search(tenantId, searchTerm, departmentId, categoryId, brandId, status);
+        List<Long> pageIds = rankedPage(rankedIds, pageable);
+
+        List<Item> loaded = new ArrayList<>(pageIds.size());
+        for (Item item : itemRepository.findAllById(pageIds)) {
+            if (item.getTenant().getId().equals(tenantId)) {
+                loaded.add(item);
+            }
+        }
+        List<Item> content = inRankOrder(pageIds, loaded, Item::getId);
+        return new PageImpl<>(content, pageable, rankedIds.size());
     }
 
     /**
@@ -241,7 +484,46 @@ public class ItemService {
         validateItemForDeletion(item);
         
         itemRepository.delete(item);
-        
+        itemSearchIndex.remove(tenantId, itemId);
+        itemFacetIndex.remove(tenantId, itemId);
+        catalogOutbox.append(tenantId, AggregateType.ITEM, itemId, EventType.DELETED, "sku", item.getSku());
+    }
+
+    /**
+     * Create a variant of an item and add it to the item's variant count
+     */
+    public ItemVariant createVariant(Long itemId, Long tenantId, ItemVariant variant, UserAccount currentUser) {
+        Item item = getItemByIdAndTenant(itemId, tenantId);
+
+        if (itemVariantRepository.existsByTenantIdAndSkuExcludingId(tenantId, variant.getVariantSku(), null)) {
+            throw new IllegalArgumentException("Variant SKU already exists: " + variant.getVariantSku());
+        }
+
+        variant.setTenant(item.getTenant());
+        variant.setItem(item);
+        variant.setCreatedBy(currentUser);
+        variant.setUpdatedBy(currentUser);
+
+        ItemVariant savedVariant = itemVariantRepository.save(variant);
+        itemRepository.adjustVariantCount(item.getId(), 1);
+        catalogOutbox.append(tenantId, AggregateType.VARIANT, savedVariant.getId(), EventType.CREATED,
+                "itemId", item.getId(), "variantSku", savedVariant.getVariantSku(),
+                "status", savedVariant.getStatus(), "basePrice", savedVariant.getBasePrice());
+        return savedVariant;
+    }
+
+    /**
+     * Delete a variant and remove it from its item's variant count
+     */
+    public void deleteVariant(Long variantId, Long tenantId, UserAccount currentUser) {
+        ItemVariant variant = itemVariantRepository.findByIdAndTenant_Id(variantId, tenantId)
+                .orElseThrow(() -> new EntityNotFoundException("Item variant not found with ID: " + variantId));
+
+        Long itemId = variant.getItem().getId();
+        itemVariantRepository.delete(variant);
+        itemRepository.adjustVariantCount(itemId, -1);
+        catalogOutbox.append(tenantId, AggregateType.VARIANT, variantId, EventType.DELETED,
+                "itemId", itemId, "variantSku", variant.getVariantSku());
     }
 
     /**
@@ -272,10 +554,6 @@ public class ItemService {
      * Activate item (change status to ACTIVE)
      */
     public Item activateItem(Long itemId, Long tenantId, UserAccount currentUser) {
-        Item item = getItemByIdAndTenant(itemId, tenantId);
-        
-        validateItemForActivation(item);
-        
         return updateItemStatus(itemId, tenantId, ItemStatus.ACTIVE, currentUser);
     }
 
@@ -305,11 +583,6 @@ public class ItemService {
             throw new IllegalArgumentException("Item name is required");
         }
         
-        // Check for duplicate SKU
-        if (skuExists(item.getSku(), item.getTenant().getId())) {
-            throw new IllegalArgumentException("Item SKU already exists: " + item.getSku());
-        }
-        
         // Validate category if provided
         if (item.getCategory() != null) {
             validateCategoryBelongsToTenant(item.getCategory(), item.getTenant());
@@ -318,12 +591,17 @@ public class ItemService {
         // Validate department if provided
         if (item.getDepartment() != null) {
             validateDepartmentBelongsToTenant(item.getDepartment(), item.getTenant());
+            validateActiveIfAssigned(CatalogReferenceCache.Type.DEPARTMENT, item.getDepartment().getId(), null,
+                    item.getTenant(), "Department");
         }
         
         // Validate brand if provided
         if (item.getBrand() != null) {
             validateBrandBelongsToTenant(item.getBrand(), item.getTenant());
+            validateActiveIfAssigned(CatalogReferenceCache.Type.BRAND, item.getBrand().getId(), null, item.getTenant(), "Brand");
         }
+
+        validateUomsBelongToTenant(item, item.getTenant());
     }
 
     private void validateItemForUpdate(Item itemDetails, Item existingItem) {
@@ -339,13 +617,6 @@ public class ItemService {
             throw new IllegalArgumentException("Item name is required");
         }
         
-        // Check for duplicate SKU excluding current item
-        if (skuExistsExcludingId(itemDetails.getSku(), 
-                               existingItem.getTenant().getId(), 
-                               existingItem.getId())) {
-            throw new IllegalArgumentException("Item SKU already exists: " + itemDetails.getSku());
-        }
-        
         // Validate category if provided
         if (itemDetails.getCategory() != null) {
             validateCategoryBelongsToTenant(itemDetails.getCategory(), existingItem.getTenant());
@@ -354,12 +625,20 @@ public class ItemService {
         // Validate department if provided
         if (itemDetails.getDepartment() != null) {
             validateDepartmentBelongsToTenant(itemDetails.getDepartment(), existingItem.getTenant());
+            validateActiveIfAssigned(CatalogReferenceCache.Type.DEPARTMENT, itemDetails.getDepartment().getId(),
+                    existingItem.getDepartment() != null ? existingItem.getDepartment().getId() : null,
+                    existingItem.getTenant(), "Department");
         }
         
         // Validate brand if provided
         if (itemDetails.getBrand() != null) {
             validateBrandBelongsToTenant(itemDetails.getBrand(), existingItem.getTenant());
+            validateActiveIfAssigned(CatalogReferenceCache.Type.BRAND, itemDetails.getBrand().getId(),
+                    existingItem.getBrand() != null ? existingItem.getBrand().getId() : null,
+                    existingItem.getTenant(), "Brand");
         }
+
+        validateUomsBelongToTenant(itemDetails, existingItem.getTenant());
     }
 
     private void validateItemForDeletion(Item item) {
@@ -374,74 +653,291 @@ public class ItemService {
         }
     }
 
-    private void validateItemForActivation(Item item) {
-        if (item.getStatus() != ItemStatus.DRAFT) {
-            throw new IllegalStateException("Can only activate items in DRAFT status. Current status: " + item.getStatus());
+    private void validateStatusChange(Item item, ItemStatus newStatus) {
+        String error = ItemStatusRules.check(item.getStatus(), newStatus,
+                item.getCategory() != null ? item.getCategory().getId() : null,
+                item.getDepartment() != null, item.getBaseUom() != null,
+                categoryId -> findMissingRequiredAttributes(item, categoryId));
+        if (error != null) {
+            throw new IllegalStateException(error);
         }
-        
-        // Validate required fields for activation
-        if (item.getCategory() == null) {
-            throw new IllegalStateException("Category is required to activate item");
-        }
-        
-        if (item.getDepartment() == null) {
-            throw new IllegalStateException("Department is required to activate item");
-        }
-        
-        if (item.getBaseUom() == null) {
-            throw new IllegalStateException("Base unit of measure is required to activate item");
-        }
-        
-        // Check if all required attributes are provided
-        validateRequiredAttributes(item);
     }
 
-    private void validateStatusTransition(ItemStatus currentStatus, ItemStatus newStatus) {
-        if (currentStatus == newStatus) {
-            throw new IllegalArgumentException("Item is already in " + newStatus + " status");
+    private List<String> findMissingRequiredAttributes(Item item, Long categoryId) {
+        Long tenantId = item.getTenant().getId();
+        if (categoryAttributeIndex.getRequiredAttributes(tenantId, categoryId).isEmpty()) {
+            return List.of();
         }
-        
-        // Define valid transitions
-        switch (currentStatus) {
-            case DRAFT:
-                if (newStatus != ItemStatus.ACTIVE) {
-                    throw new IllegalArgumentException("Items in DRAFT status can only be changed to ACTIVE");
-                }
-                break;
-            case ACTIVE:
-                if (newStatus != ItemStatus.DISCONTINUED) {
-                    throw new IllegalArgumentException("Items in ACTIVE status can only be changed to DISCONTINUED");
-                }
-                break;
-            case DISCONTINUED:
-                if (newStatus != ItemStatus.ACTIVE) {
-                    throw new IllegalArgumentException("Items in DISCONTINUED status can only be changed to ACTIVE");
-                }
-                break;
-        }
-    }
 
-    private void validateRequiredAttributes(Item item) {
-        // This would check if all required attributes for the item's category are provided
-        // Implementation would depend on how attribute requirements are defined
-        // For now, this is a placeholder
+        Set<Long> provided = new HashSet<>(itemAttributeValueRepository.findAttributeDefinitionIdsByItem(item.getId()));
+        return categoryAttributeIndex.findMissingRequired(tenantId, categoryId, provided);
     }
 
+    // Reference checks go through the cache so they never load the referenced entity
+
     private void validateCategoryBelongsToTenant(Category category, Tenant tenant) {
-        if (!category.getTenant().getId().equals(tenant.getId())) {
+        if (!catalogReferenceCache.belongsToTenant(CatalogReferenceCache.Type.CATEGORY, category.getId(), tenant.getId())) {
             throw new IllegalArgumentException("Category must belong to the same tenant");
         }
     }
 
     private void validateDepartmentBelongsToTenant(Department department, Tenant tenant) {
-        if (!department.getTenant().getId().equals(tenant.getId())) {
+        if (!catalogReferenceCache.belongsToTenant(CatalogReferenceCache.Type.DEPARTMENT, department.getId(), tenant.getId())) {
             throw new IllegalArgumentException("Department must belong to the same tenant");
         }
     }
 
     private void validateBrandBelongsToTenant(Brand brand, Tenant tenant) {
-        if (!brand.getTenant().getId().equals(tenant.getId())) {
+        if (!catalogReferenceCache.belongsToTenant(CatalogReferenceCache.Type.BRAND, brand.getId(), tenant.getId())) {
             throw new IllegalArgumentException("Brand must belong to the same tenant");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A department or brand must be active when it is assigned; items keep one that is deactivated
+     * later. References of other tenants are left to the tenant checks.
+     */
+    private void validateActiveIfAssigned(CatalogReferenceCache.Type type, Long id, Long currentId, Tenant tenant,
+                                          String name) {
+        if (!id.equals(currentId) && catalogReferenceCache.belongsToTenant(type, id, tenant.getId())
+                && !catalogReferenceCache.isActive(type, id)) {
+            throw new IllegalArgumentException(name + " is inactive: " + id);
+        }
+    }
+
+    private void validateUomsBelongToTenant(Item item, Tenant tenant) {
+        for (UnitOfMeasure uom : new UnitOfMeasure[] {item.getBaseUom(), item.getSellUom(), item.getBuyUom()}) {
+            if (uom != null && !catalogReferenceCache.belongsToTenant(
+                    CatalogReferenceCache.Type.UNIT_OF_MEASURE, uom.getId(), tenant.getId())) {
+                throw new IllegalArgumentException("Unit of measure must belong to the same tenant");
+            }
+        }
+    }
+
+    /**
+     * Save and flush so a duplicate SKU surfaces here from the unique index, without a prior exists query
+     */
+    private Item saveUnique(Item item) {
+        try {
+            return itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.toLowerCase().contains("uq_item_sku_tenant")) {
+                throw new IllegalArgumentException("Item SKU already exists: " + item.getSku());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Copy the masked fields of a patch onto an item
+     *
+     * @return whether any field changed
+     */
+    private boolean applyPatch(Item item, ItemPatchRequest patch) {
+        boolean changed = false;
+        for (String field : patch.getFieldMask()) {
+            switch (field) {
+                case "sku":
+                    changed |= set(item.getSku(), patch.getSku(), item::setSku);
+                    break;
+                case "name":
+                    changed |= set(item.getName(), patch.getName(), item::setName);
+                    break;
+                case "shortName":
+                    changed |= set(item.getShortName(), patch.getShortName(), item::setShortName);
+                    break;
+                case "description":
+                    changed |= set(item.getDescription(), patch.getDescription(), item::setDescription);
+                    break;
+                case "itemType":
+                    changed |= set(item.getItemType(), required(field, patch.getItemType()), item::setItemType);
+                    break;
+                case "categoryId":
+                    changed |= setReference(item.getCategory(), Category::getId, patch.getCategoryId(),
+                            categoryRepository::getReferenceById, item::setCategory);
+                    break;
+                case "departmentId":
+                    if (patch.getDepartmentId() != null) {
+                        validateActiveIfAssigned(CatalogReferenceCache.Type.DEPARTMENT, patch.getDepartmentId(),
+                                item.getDepartment() != null ? item.getDepartment().getId() : null, item.getTenant(),
+                                "Department");
+                    }
+                    changed |= setReference(item.getDepartment(), Department::getId, patch.getDepartmentId(),
+                            departmentRepository::getReferenceById, item::setDepartment);
+                    break;
+                case "brandId":
+                    if (patch.getBrandId() != null) {
+                        validateActiveIfAssigned(CatalogReferenceCache.Type.BRAND, patch.getBrandId(),
+                                item.getBrand() != null ? item.getBrand().getId() : null, item.getTenant(), "Brand");
+                    }
+                    changed |= setReference(item.getBrand(), Brand::getId, patch.getBrandId(),
+                            brandRepository::getReferenceById, item::setBrand);
+                    break;
+                case "baseUomId":
+                    changed |= setReference(item.getBaseUom(), UnitOfMeasure::getId, patch.getBaseUomId(),
+                            unitOfMeasureRepository::getReferenceById, item::setBaseUom);
+                    break;
+                case "sellUomId":
+                    changed |= setReference(item.getSellUom(), UnitOfMeasure::getId, patch.getSellUomId(),
+                            unitOfMeasureRepository::getReferenceById, item::setSellUom);
+                    break;
+                case "buyUomId":
+                    changed |= setReference(item.getBuyUom(), UnitOfMeasure::getId, patch.getBuyUomId(),
+                            unitOfMeasureRepository::getReferenceById, item::setBuyUom);
+                    break;
+                case "taxClass":
+                    changed |= set(item.getTaxClass(), patch.getTaxClass(), item::setTaxClass);
+                    break;
+                case "hsCode":
+                    changed |= set(item.getHsCode(), patch.getHsCode(), item::setHsCode);
+                    break;
+                case "countryOfOrigin":
+                    changed |= set(item.getCountryOfOrigin(), patch.getCountryOfOrigin(), item::setCountryOfOrigin);
+                    break;
+                case "isSerialized":
+                    changed |= set(item.getIsSerialized(), required(field, patch.getIsSerialized()), item::setIsSerialized);
+                    break;
+                case "isLotTracked":
+                    changed |= set(item.getIsLotTracked(), required(field, patch.getIsLotTracked()), item::setIsLotTracked);
+                    break;
+                case "shelfLifeDays":
+                    changed |= set(item.getShelfLifeDays(), patch.getShelfLifeDays(), item::setShelfLifeDays);
+                    break;
+                case "safetyStockDefault":
+                    changed |= set(item.getSafetyStockDefault(), required(field, patch.getSafetyStockDefault()),
+                            item::setSafetyStockDefault);
+                    break;
+                case "reorderPointDefault":
+                    changed |= set(item.getReorderPointDefault(), required(field, patch.getReorderPointDefault()),
+                            item::setReorderPointDefault);
+                    break;
+                case "reorderQuantityDefault":
+                    changed |= set(item.getReorderQuantityDefault(), required(field, patch.getReorderQuantityDefault()),
+                            item::setReorderQuantityDefault);
+                    break;
+                case "standardCost":
+                    changed |= setDecimal(item.getStandardCost(), patch.getStandardCost(), item::setStandardCost);
+                    break;
+                case "basePrice":
+                    changed |= setDecimal(item.getBasePrice(), patch.getBasePrice(), item::setBasePrice);
+                    break;
+                case "metaTitle":
+                    changed |= set(item.getMetaTitle(), patch.getMetaTitle(), item::setMetaTitle);
+                    break;
+                case "metaDescription":
+                    changed |= set(item.getMetaDescription(), patch.getMetaDescription(), item::setMetaDescription);
+                    break;
+                case "searchKeywords":
+                    changed |= set(item.getSearchKeywords(), patch.getSearchKeywords(), item::setSearchKeywords);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown or read-only field in mask: " + field);
+            }
+        }
+        return changed;
+    }
+
+    private static <T> T required(String field, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Field cannot be null: " + field);
+        }
+        return value;
+    }
+
+    private static <T> boolean set(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Like {@link #set}, but 1.0 and 1.00 count as the same amount
+     */
+    private static boolean setDecimal(BigDecimal current, BigDecimal value, Consumer<BigDecimal> setter) {
+        if (current == null ? value == null : value != null && current.compareTo(value) == 0) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Point a reference at another id through an unloaded proxy; tenant checks happen in validation
+     */
+    private static <T> boolean setReference(T current, Function<T, Long> id, Long newId,
+                                            Function<Long, T> reference, Consumer<T> setter) {
+        Long currentId = current != null ? id.apply(current) : null;
+        if (Objects.equals(currentId, newId)) {
+            return false;
+        }
+        setter.accept(newId != null ? reference.apply(newId) : null);
+        return true;
+    }
+
+    private void appendItemEvent(Item item, EventType eventType) {
+        catalogOutbox.append(item.getTenant().getId(), AggregateType.ITEM, item.getId(), eventType,
+                "sku", item.getSku(), "status", item.getStatus(), "basePrice", item.getBasePrice(),
+                "categoryId", item.getCategory() != null ? item.getCategory().getId() : null);
+    }
+
+    private static void addSelections(Map<String, List<String>> selections, String facet, Collection<?> values) {
+        if (values != null && !values.isEmpty()) {
+            List<String> names = new ArrayList<>(values.size());
+            for (Object value : values) {
+                names.add(value instanceof Enum ? ((Enum<?>) value).name() : String.valueOf(value));
+            }
+            selections.put(facet, names);
+        }
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * The ids of the requested page of a ranked result
+     */
+    private static List<Long> rankedPage(List<Long> rankedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return rankedIds.subList(from, to);
+    }
+
+    /**
+     * Put rows loaded by id back into rank order, skipping ids that were not loaded
+     */
+    private static <T> List<T> inRankOrder(List<Long> rankedIds, List<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(id.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(rankedIds.size());
+        for (Long rankedId : rankedIds) {
+            T row = byId.get(rankedId);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Trim a page fetched with one extra row to {@code size} and encode the cursor of its last row
+     */
+    private static <T> CursorPage<T> toCursorPage(List<T> rows, int size, Function<T, LocalDateTime> timestamp,
+                                                  Function<T, Long> id) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(timestamp.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(content, size, hasMore, nextCursor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventory.service;
+
+import com.inventory.entity.Item.ItemStatus;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The checks an item must pass to move to a new lifecycle status, shared by single-item and
+ * bulk status changes so both accept and reject exactly the same items.
+ */
+final class ItemStatusRules {
+
+    private ItemStatusRules() {
+    }
+
+    /**
+     * Check a status change, or return null when the item may be moved.
+     *
+     * @param missingRequired required attribute codes the item lacks in a category; only called
+     *                        for an activation that passed every other check
+     * @return the reason the change is rejected
+     */
+    static String check(ItemStatus currentStatus, ItemStatus targetStatus, Long categoryId, boolean hasDepartment,
+                        boolean hasBaseUom, Function<Long, List<String>> missingRequired) {
+        if (currentStatus == targetStatus) {
+            return "Item is already in " + targetStatus + " status";
+        }
+        if (!currentStatus.canTransitionTo(targetStatus)) {
+            return "Items in " + currentStatus + " status cannot be changed to " + targetStatus;
+        }
+        if (targetStatus == ItemStatus.ACTIVE) {
+            if (categoryId == null) {
+                return "Category is required to activate item";
+            }
+            if (!hasDepartment) {
+                return "Department is required to activate item";
+            }
+            if (!hasBaseUom) {
+                return "Base unit of measure is required to activate item";
+            }
+            List<String> missing = missingRequired.apply(categoryId);
+            if (!missing.isEmpty()) {
+                return "Required attributes are missing: " + String.join(", ", missing);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.inventory.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Checks values against one attribute definition, compiled once from its data type, allowed
+ * values and validation rules so no JSON is parsed per value. Immutable and thread-safe.
+ *
+ * Validation rules are a JSON object with any of: {@code pattern} (a regex the whole value must
+ * match), {@code minLength} and {@code maxLength}, and {@code min} and {@code max} (inclusive
+ * bounds for NUMBER and DATE attributes). Other keys are logged and ignored, so rules written
+ * for a newer version, or by another tool, do not make a definition's values unwritable.
+ */
+@Slf4j
+public final class AttributeValueValidator {
+
+    private final Long definitionId;
+    private final String code;
+    private final AttributeDataType dataType;
+    private final LocalDateTime definitionUpdatedAt;
+    private final Set<String> allowedValues;
+    private final Pattern pattern;
+    private final Integer minLength;
+    private final Integer maxLength;
+    private final BigDecimal minNumber;
+    private final BigDecimal maxNumber;
+    private final LocalDate minDate;
+    private final LocalDate maxDate;
+
+    private AttributeValueValidator(AttributeDefinition definition, Set<String> allowedValues, Pattern pattern,
+                                    Integer minLength, Integer maxLength, BigDecimal minNumber, BigDecimal maxNumber,
+                                    LocalDate minDate, LocalDate maxDate) {
+        this.definitionId = definition.getId();
+        this.code = definition.getCode();
+        this.dataType = definition.getDataType();
+        this.definitionUpdatedAt = definition.getUpdatedAt();
+        this.allowedValues = allowedValues;
+        this.pattern = pattern;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.minNumber = minNumber;
+        this.maxNumber = maxNumber;
+        this.minDate = minDate;
+        this.maxDate = maxDate;
+    }
+
+    /**
+     * Compile a definition.
+     *
+     * @throws IllegalArgumentException if the allowed values or validation rules are malformed
+     */
+    public static AttributeValueValidator compile(AttributeDefinition definition, ObjectMapper objectMapper) {
+        if (definition.getDataType() == null) {
+            throw new IllegalArgumentException("Data type is required");
+        }
+
+        Set<String> allowedValues = null;
+        JsonNode allowed = readJson(objectMapper, definition.getAllowedValues(), "Allowed values");
+        if (allowed != null) {
+            if (!allowed.isArray()) {
+                throw new IllegalArgumentException("Allowed values must be a JSON array");
+            }
+            Set<String> values = new HashSet<>();
+            allowed.forEach(value -> values.add(value.asText()));
+            allowedValues = Collections.unmodifiableSet(values);
+        }
+        if (definition.getDataType() == AttributeDataType.LIST && (allowedValues == null || allowedValues.isEmpty())) {
+            throw new IllegalArgumentException("Allowed values are required for LIST type attributes");
+        }
+
+        Pattern pattern = null;
+        Integer minLength = null;
+        Integer maxLength = null;
+        BigDecimal minNumber = null;
+        BigDecimal maxNumber = null;
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+
+        JsonNode rules = readJson(objectMapper, definition.getValidationRules(), "Validation rules");
+        if (rules != null) {
+            if (!rules.isObject()) {
+                throw new IllegalArgumentException("Validation rules must be a JSON object");
+            }
+            for (Iterator<String> names = rules.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                String rule = rules.get(name).asText();
+                switch (name) {
+                    case "pattern":
+                        try {
+                            pattern = Pattern.compile(rule);
+                        } catch (PatternSyntaxException e) {
+                            throw new IllegalArgumentException("Invalid pattern rule: " + e.getDescription());
+                        }
+                        break;
+                    case "minLength":
+                        minLength = parseLength(name, rule);
+                        break;
+                    case "maxLength":
+                        maxLength = parseLength(name, rule);
+                        break;
+                    case "min":
+                    case "max":
+                        if (definition.getDataType() == AttributeDataType.NUMBER) {
+                            BigDecimal bound = requireBound(name, rule, TypedAttributeValue.parseNumber(rule));
+                            if (name.equals("min")) {
+                                minNumber = bound;
+                            } else {
+                                maxNumber = bound;
+                            }
+                        } else if (definition.getDataType() == AttributeDataType.DATE) {
+                            LocalDate bound = requireBound(name, rule, TypedAttributeValue.parseDate(rule));
+                            if (name.equals("min")) {
+                                minDate = bound;
+                            } else {
+                                maxDate = bound;
+                            }
+                        } else {
+                            throw new IllegalArgumentException("Rule " + name + " only applies to NUMBER and DATE attributes");
+                        }
+                        break;
+                    default:
+                        log.warn("Ignoring unknown validation rule {} of attribute {}", name, definition.getCode());
+                        break;
+                }
+            }
+        }
+
+        return new AttributeValueValidator(definition, allowedValues, pattern, minLength, maxLength,
+                minNumber, maxNumber, minDate, maxDate);
+    }
+
+    /**
+     * Check a value, returning why it is invalid or null when it is valid.
+     */
+    public String validate(String value) {
+        if (value == null || value.isBlank()) {
+            return "Attribute " + code + " requires a value";
+        }
+        String trimmed = value.trim();
+
+        if (minLength != null && trimmed.length() < minLength) {
+            return "Attribute " + code + " must be at least " + minLength + " characters";
+        }
+        if (maxLength != null && trimmed.length() > maxLength) {
+            return "Attribute " + code + " must be at most " + maxLength + " characters";
+        }
+        if (pattern != null && !pattern.matcher(trimmed).matches()) {
+            return "Attribute " + code + " does not match the required pattern";
+        }
+
+        switch (dataType) {
+            case NUMBER:
+                BigDecimal number = TypedAttributeValue.parseNumber(trimmed);
+                if (number == null) {
+                    return "Attribute " + code + " must be a number";
+                }
+                if ((minNumber != null && number.compareTo(minNumber) < 0)
+                        || (maxNumber != null && number.compareTo(maxNumber) > 0)) {
+                    return "Attribute " + code + " is out of range";
+                }
+                break;
+            case DATE:
+                LocalDate date = TypedAttributeValue.parseDate(trimmed);
+                if (date == null) {
+                    return "Attribute " + code + " must be a date (yyyy-MM-dd)";
+                }
+                if ((minDate != null && date.isBefore(minDate)) || (maxDate != null && date.isAfter(maxDate))) {
+                    return "Attribute " + code + " is out of range";
+                }
+                break;
+            case BOOLEAN:
+                if (TypedAttributeValue.parseBoolean(trimmed) == null) {
+                    return "Attribute " + code + " must be true or false";
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (allowedValues != null && !allowedValues.isEmpty() && !allowedValues.contains(trimmed)) {
+            return "Attribute " + code + " does not allow value: " + trimmed;
+        }
+        return null;
+    }
+
+    /**
+     * Check a value.
+     *
+     * @throws IllegalArgumentException if it is invalid
+     */
+    public void check(String value) {
+        String error = validate(value);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    public Long getDefinitionId() {
+        return definitionId;
+    }
+
+    public AttributeDataType getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Last update of the definition this validator was compiled from.
+     */
+    public LocalDateTime getDefinitionUpdatedAt() {
+        return definitionUpdatedAt;
+    }
+
+    private static JsonNode readJson(ObjectMapper objectMapper, String json, String label) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node == null || node.isNull() ? null : node;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(label + " are not valid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Integer parseLength(String name, String rule) {
+        try {
+            int length = Integer.parseInt(rule.trim());
+            if (length < 0) {
+                throw new NumberFormatException();
+            }
+            return length;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rule " + name + " must be a non-negative integer");
+        }
+    }
+
+    private static <T> T requireBound(String name, String rule, T bound) {
+        if (bound == null) {
+            throw new IllegalArgumentException("Invalid " + name + " rule: " + rule);
+        }
+        return bound;
+    }
+}
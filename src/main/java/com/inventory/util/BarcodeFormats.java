@@ -0,0 +1,213 @@
+package com.inventory.util;
+
+import com.inventory.entity.BarcodeType;
+
+/**
+ * Allocation-free barcode format and check digit validators.
+ *
+ * These work directly on {@link CharSequence} without regular expressions, substrings or
+ * boxing so they can run on every scan. Results match the regex-based rules they replace in
+ * {@code BarcodeValidationService}, including the ASCII-only meaning of {@code \d}; GS1-128
+ * values are additionally parsed with {@link GS1ElementParser}.
+ */
+public final class BarcodeFormats {
+
+    private static final int MIN_VARIABLE_LENGTH = 4;
+    private static final int MAX_VARIABLE_LENGTH = 64;
+
+    private BarcodeFormats() {
+    }
+
+    /**
+     * Validate the character set and length of a barcode for its type.
+     */
+    public static boolean isValidFormat(CharSequence barcode, BarcodeType type) {
+        if (barcode == null || isBlank(barcode)) {
+            return false;
+        }
+
+        switch (type) {
+            case UPC_A:
+                return isDigits(barcode, 12);
+            case UPC_E:
+            case EAN_8:
+                return isDigits(barcode, 8);
+            case EAN_13:
+                return isDigits(barcode, 13);
+            case ITF_14:
+                return isDigits(barcode, 14);
+            case CODE_128:
+            case GS1_128:
+                return hasVariableLength(barcode) && isCode128(barcode);
+            case CODE_39:
+                return hasVariableLength(barcode) && isCode39(barcode);
+            case DATAMATRIX_GS1:
+            case QR_GS1_LINK:
+                return hasVariableLength(barcode);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Check that every character is an ASCII digit and there is at least one.
+     */
+    public static boolean isDigits(CharSequence value) {
+        return isDigits(value, 0, value.length()) && value.length() > 0;
+    }
+
+    /**
+     * Check that the value is exactly {@code length} ASCII digits.
+     */
+    public static boolean isDigits(CharSequence value, int length) {
+        return value.length() == length && isDigits(value, 0, length);
+    }
+
+    /**
+     * Validate a GTIN-12, GTIN-13 or GTIN-14 including its check digit.
+     */
+    public static boolean isValidGTIN(CharSequence gtin) {
+        if (gtin == null) {
+            return false;
+        }
+
+        int length = gtin.length();
+        if (length != 12 && length != 13 && length != 14) {
+            return false;
+        }
+
+        return isDigits(gtin, 0, length) && checkDigit(gtin, length - 1) == gtin.charAt(length - 1) - '0';
+    }
+
+    /**
+     * Check whether a code is shaped like a GTIN-8/12/13/14, so a Mod-10 check digit applies.
+     */
+    public static boolean hasGTINShape(CharSequence barcode) {
+        if (barcode == null) {
+            return false;
+        }
+
+        int length = barcode.length();
+        return (length == 8 || length == 12 || length == 13 || length == 14) && isDigits(barcode, 0, length);
+    }
+
+    /**
+     * Calculate the GS1 Mod-10 check digit over all characters of {@code digits}.
+     *
+     * @throws IllegalArgumentException if the input is null, empty or not all digits
+     */
+    public static int calculateCheckDigit(CharSequence digits) {
+        if (digits == null || !isDigits(digits)) {
+            throw new IllegalArgumentException("Input must contain only digits");
+        }
+        return checkDigit(digits, digits.length());
+    }
+
+    /**
+     * Validate the trailing check digit of a code of at least 8 characters.
+     * Returns false instead of throwing when the body is not all digits.
+     */
+    public static boolean hasValidCheckDigit(CharSequence gtin) {
+        if (gtin == null || gtin.length() < 8) {
+            return false;
+        }
+
+        int bodyLength = gtin.length() - 1;
+        if (!isDigits(gtin, 0, bodyLength)) {
+            return false;
+        }
+
+        char last = gtin.charAt(bodyLength);
+        int expected = last >= '0' && last <= '9' ? last - '0' : Character.getNumericValue(last);
+        return expected == checkDigit(gtin, bodyLength);
+    }
+
+    /**
+     * Validate an ITF-14: 14 digits, packaging indicator 1-9 and a valid check digit.
+     */
+    public static boolean isValidITF14(CharSequence itf14) {
+        if (!isDigits(itf14, 14)) {
+            return false;
+        }
+
+        char indicator = itf14.charAt(0);
+        return indicator >= '1' && indicator <= '9' && hasValidCheckDigit(itf14);
+    }
+
+    /**
+     * Validate an 8-digit code (UPC-E or EAN-8) with its check digit.
+     */
+    public static boolean isValidEightDigit(CharSequence code) {
+        return isDigits(code, 8) && hasValidCheckDigit(code);
+    }
+
+    /**
+     * Check that a GS1-128 value is a well-formed GS1 element string, bracketed or FNC1-separated.
+     */
+    public static boolean isValidGS1128(CharSequence gs1128) {
+        if (gs1128 == null || gs1128.length() < 4) {
+            return false;
+        }
+        return GS1ElementParser.isValid(gs1128);
+    }
+
+    /**
+     * Mod-10 check digit over the first {@code end} characters, which must be ASCII digits.
+     */
+    private static int checkDigit(CharSequence digits, int end) {
+        int sum = 0;
+        boolean triple = true;
+        for (int i = end - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            sum += triple ? digit * 3 : digit;
+            triple = !triple;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+
+    private static boolean isDigits(CharSequence value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        // Same notion of whitespace as String.trim()
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasVariableLength(CharSequence value) {
+        return value.length() >= MIN_VARIABLE_LENGTH && value.length() <= MAX_VARIABLE_LENGTH;
+    }
+
+    private static boolean isCode128(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCode39(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == ' ' || c == '$' || c == '/' || c == '+' || c == '%';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,7 +1,10 @@
 package com.inventory.util;
 
 import com.inventory.dto.BarcodeResponseDto;
+import com.inventory.dto.ResolvedBarcodeDto;
+import com.inventory.entity.BarcodeStatus;
 import com.inventory.entity.ItemBarcode;
+import com.inventory.service.BarcodeResolutionIndex;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -39,4 +42,29 @@ public class BarcodeMapper {
                 .requiresUomConversion(barcode.requiresUomConversion())
                 .build();
     }
-}
\ No newline at end of file
+
+    public ResolvedBarcodeDto toResolvedDto(String code, BarcodeResolutionIndex.Resolution resolution,
+                                            String variantSku, Boolean checkDigitValid) {
+        if (resolution == null) {
+            return ResolvedBarcodeDto.builder()
+                    .barcode(code)
+                    .found(false)
+                    .checkDigitValid(checkDigitValid)
+                    .build();
+        }
+
+        return ResolvedBarcodeDto.builder()
+                .barcode(code)
+                .found(true)
+                .barcodeId(resolution.getBarcodeId())
+                .variantId(resolution.getVariantId())
+                .variantSku(variantSku)
+                .barcodeType(resolution.getBarcodeType())
+                .packLevel(resolution.getPackLevel())
+                .uomId(resolution.getUomId())
+                .status(BarcodeStatus.ACTIVE)
+                .isPrimary(resolution.isPrimary())
+                .checkDigitValid(checkDigitValid)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.inventory.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress and per-row results of a long-running bulk operation run in the background.
+ * Counters are updated by the worker and read concurrently by status polls.
+ *
+ * @param <R> per-row result type
+ */
+public class BulkJob<R> {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final Long tenantId;
+    private final int total;
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<R> results = Collections.synchronizedList(new ArrayList<>());
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    public BulkJob(String type, Long tenantId, int total) {
+        this.type = type;
+        this.tenantId = tenantId;
+        this.total = total;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    public void recordSuccess(R result) {
+        if (result != null) {
+            results.add(result);
+        }
+        succeeded.incrementAndGet();
+    }
+
+    public void recordFailure(R result) {
+        if (result != null) {
+            results.add(result);
+        }
+        failed.incrementAndGet();
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        errorMessage = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * Rows processed per second since the job started, or 0 before it starts.
+     */
+    public double getRowsPerSecond() {
+        LocalDateTime started = startedAt;
+        if (started == null) {
+            return 0.0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(Duration.between(started, end).toMillis(), 1);
+        return getProcessed() * 1000.0 / millis;
+    }
+
+    public String getId() { return id; }
+    public String getType() { return type; }
+    public Long getTenantId() { return tenantId; }
+    public int getTotal() { return total; }
+    public int getSucceeded() { return succeeded.get(); }
+    public int getFailed() { return failed.get(); }
+    public int getProcessed() { return succeeded.get() + failed.get(); }
+    public Status getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public String getErrorMessage() { return errorMessage; }
+
+    /**
+     * Snapshot of the per-row results recorded so far.
+     */
+    public List<R> getResults() {
+        synchronized (results) {
+            return new ArrayList<>(results);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.inventory.util;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The stages shared by the bulk CSV imports: mapping a file's columns by header name,
+ * resolving its keys with bounded IN queries, writing chunks with a row-by-row retry, and
+ * reporting failed rows.
+ */
+public final class CsvImport {
+
+    /** Values per IN query when resolving a file's keys */
+    public static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private CsvImport() {
+    }
+
+    /**
+     * Read every record of the file, with its values in the order of {@code columns}. Values are
+     * trimmed, and blank or absent ones are null; blank lines are skipped.
+     *
+     * @param requiredColumns how many of the leading columns the header must have
+     * @throws IllegalArgumentException if the header is missing, has unknown or duplicate columns
+     *                                  or lacks a required one, or the file has more than maxRows records
+     */
+    public static List<Record> parse(Reader reader, String[] columns, int requiredColumns, int maxRows)
+            throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        List<String> names = Arrays.asList(columns);
+        int[] positions = new int[columns.length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            int column = names.indexOf(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column < 0) {
+                throw new IllegalArgumentException("Unknown column: " + header.get(i));
+            }
+            if (positions[column] >= 0) {
+                throw new IllegalArgumentException("Duplicate column: " + header.get(i));
+            }
+            positions[column] = i;
+        }
+        for (int column = 0; column < requiredColumns; column++) {
+            if (positions[column] < 0) {
+                throw new IllegalArgumentException("Columns " + requiredList(names.subList(0, requiredColumns))
+                        + " are required");
+            }
+        }
+
+        List<Record> records = new ArrayList<>();
+        int lineNumber = 1;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            lineNumber++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (records.size() == maxRows) {
+                throw new IllegalArgumentException("An import is limited to " + maxRows + " rows");
+            }
+
+            String[] values = new String[columns.length];
+            for (int column = 0; column < columns.length; column++) {
+                int position = positions[column];
+                values[column] = position >= 0 && position < fields.size() ? trimToNull(fields.get(position)) : null;
+            }
+            String error = fields.size() != header.size()
+                    ? "Expected " + header.size() + " columns but found " + fields.size()
+                    : null;
+            records.add(new Record(lineNumber, values, error));
+        }
+        return records;
+    }
+
+    /**
+     * Run an IN query over the values in chunks of {@link #LOOKUP_CHUNK_SIZE} and collect the matches.
+     */
+    public static <T, M> List<M> lookup(List<T> values, Function<List<T>, ? extends Collection<M>> query) {
+        List<M> matches = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            matches.addAll(query.apply(values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()))));
+        }
+        return matches;
+    }
+
+    /**
+     * Write a chunk in one transaction. If that fails, write its rows again one transaction each,
+     * so only the offending rows fail.
+     *
+     * @return the error that failed the chunk as a whole, or null if it was written at once
+     */
+    public static <R> DataAccessException writeChunk(TransactionTemplate transaction, List<R> chunk,
+                                                     Consumer<List<R>> write, Consumer<R> onWritten,
+                                                     BiConsumer<R, DataAccessException> onFailed) {
+        try {
+            transaction.executeWithoutResult(tx -> write.accept(chunk));
+            chunk.forEach(onWritten);
+            return null;
+        } catch (DataAccessException chunkError) {
+            for (R row : chunk) {
+                try {
+                    transaction.executeWithoutResult(tx -> write.accept(List.of(row)));
+                    onWritten.accept(row);
+                } catch (DataAccessException e) {
+                    onFailed.accept(row, e);
+                }
+            }
+            return chunkError;
+        }
+    }
+
+    /**
+     * Write a job's row results as CSV, in file order.
+     */
+    public static <T> void writeReport(Writer out, String[] header, List<T> results,
+                                       Function<T, Integer> rowNumber, Function<T, String[]> row) throws IOException {
+        List<T> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparing(rowNumber));
+
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(header);
+        for (T result : sorted) {
+            csv.writeRow(row.apply(result));
+        }
+        csv.flush();
+    }
+
+    private static String requiredList(List<String> columns) {
+        if (columns.size() == 1) {
+            return columns.get(0);
+        }
+        return String.join(", ", columns.subList(0, columns.size() - 1)) + " and " + columns.get(columns.size() - 1);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * One record of the file: its 1-based line number counting the header, its values by
+     * column, and an error if its shape does not match the header.
+     */
+    public static final class Record {
+        private final int lineNumber;
+        private final String[] values;
+        private final String error;
+
+        private Record(int lineNumber, String[] values, String error) {
+            this.lineNumber = lineNumber;
+            this.values = values;
+            this.error = error;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+        public String get(int column) { return values[column]; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,363 @@
+package com.inventory.util;
+
+import com.inventory.exception.BarcodeValidationException;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass, table-driven parser for GS1 element strings.
+ *
+ * Accepts the human-readable bracketed form, e.g. {@code (01)09501101530003(17)251231(10)AB12},
+ * and raw scanner output where elements are concatenated, variable-length fields end with a
+ * GS (FNC1) separator and the data may start with a symbology identifier such as {@code ]C1}
+ * or {@code ]d2}. Elements are reported as offsets into the input so callers only build the
+ * strings they need.
+ */
+public final class GS1ElementParser {
+
+    /** Group separator used as FNC1 in transmitted data */
+    public static final char GS = '\u001D';
+
+    private static final String ERROR_CODE = "GS1_PARSE_ERROR";
+
+    private static final ApplicationIdentifier[] TWO_DIGIT = new ApplicationIdentifier[100];
+    private static final ApplicationIdentifier[] THREE_DIGIT = new ApplicationIdentifier[1000];
+    private static final ApplicationIdentifier[] FOUR_DIGIT = new ApplicationIdentifier[10000];
+    /** AI length (2, 3 or 4) by the AI's first two digits; 0 when no AI starts with them */
+    private static final byte[] AI_LENGTH = new byte[100];
+
+    static {
+        fixed("00", "SSCC", 18, true);
+        fixed("01", "GTIN", 14, true);
+        fixed("02", "CONTENT", 14, true);
+        variable("10", "BATCH/LOT", 20, false);
+        fixed("11", "PROD DATE", 6, true);
+        fixed("12", "DUE DATE", 6, true);
+        fixed("13", "PACK DATE", 6, true);
+        fixed("15", "BEST BEFORE", 6, true);
+        fixed("16", "SELL BY", 6, true);
+        fixed("17", "USE BY OR EXPIRY", 6, true);
+        fixed("20", "VARIANT", 2, true);
+        variable("21", "SERIAL", 20, false);
+        variable("22", "CPV", 20, false);
+        variable("30", "VAR. COUNT", 8, true);
+        variable("37", "COUNT", 8, true);
+        variable("240", "ADDITIONAL ID", 30, false);
+        variable("241", "CUST. PART No.", 30, false);
+        variable("250", "SECONDARY SERIAL", 30, false);
+        variable("400", "ORDER NUMBER", 30, false);
+        for (int ai = 410; ai <= 415; ai++) {
+            fixed(String.valueOf(ai), "GLN", 13, true);
+        }
+        variable("420", "SHIP TO POST", 20, false);
+        fixed("422", "ORIGIN", 3, true);
+        // Measures with an implied decimal point position as the fourth digit: 310n-369n
+        for (int group = 310; group <= 369; group++) {
+            for (int decimals = 0; decimals <= 9; decimals++) {
+                fixed(String.valueOf(group * 10 + decimals), "MEASURE", 6, true);
+            }
+        }
+        for (int decimals = 0; decimals <= 9; decimals++) {
+            variable("390" + decimals, "AMOUNT", 15, true);
+            variable("392" + decimals, "PRICE", 15, true);
+        }
+        fixed("7003", "EXPIRY TIME", 10, true);
+        variable("8200", "PRODUCT URL", 70, false);
+    }
+
+    private GS1ElementParser() {
+    }
+
+    /**
+     * Receives each parsed element as a range of the input.
+     */
+    @FunctionalInterface
+    public interface ElementHandler {
+        void onElement(ApplicationIdentifier ai, CharSequence source, int start, int end);
+    }
+
+    /**
+     * Quick check whether the input looks like a GS1 element string rather than a plain code.
+     */
+    public static boolean isElementString(CharSequence input) {
+        if (input == null || input.length() < 4) {
+            return false;
+        }
+        char first = input.charAt(0);
+        if (first == '(' || (first == ']' && isGS1SymbologyId(input))) {
+            return true;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) == GS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse an element string and report each element to the handler in order.
+     *
+     * @throws BarcodeValidationException if the input is not a valid GS1 element string
+     */
+    public static void parse(CharSequence input, ElementHandler handler) {
+        if (input == null || input.length() == 0) {
+            throw error("Empty GS1 element string", 0);
+        }
+
+        int position = 0;
+        if (input.charAt(0) == ']') {
+            if (input.length() < 3) {
+                throw error("Truncated symbology identifier", 0);
+            }
+            position = 3;
+        }
+        while (position < input.length() && input.charAt(position) == GS) {
+            position++;
+        }
+        if (position >= input.length()) {
+            throw error("No Application Identifiers found", position);
+        }
+
+        if (input.charAt(position) == '(') {
+            parseBracketed(input, position, handler);
+        } else {
+            parseRaw(input, position, handler);
+        }
+    }
+
+    /**
+     * Check whether the input parses as a GS1 element string.
+     */
+    public static boolean isValid(CharSequence input) {
+        try {
+            parse(input, (ai, source, start, end) -> { });
+            return true;
+        } catch (BarcodeValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parse an element string into an AI to value map in element order, as stored in {@code ai_payload}.
+     */
+    public static Map<String, Object> parseToMap(CharSequence input) {
+        Map<String, Object> elements = new LinkedHashMap<>();
+        parse(input, (ai, source, start, end) -> elements.put(ai.getCode(), source.subSequence(start, end).toString()));
+        return elements;
+    }
+
+    /**
+     * Decode a GS1 YYMMDD date at {@code start}. A day of 00 means the last day of the month,
+     * and the century follows the GS1 sliding window around the current year.
+     */
+    public static LocalDate parseDate(CharSequence source, int start) {
+        int yy = twoDigits(source, start);
+        int month = twoDigits(source, start + 2);
+        int day = twoDigits(source, start + 4);
+
+        int currentYear = LocalDate.now().getYear();
+        int century = currentYear / 100 * 100;
+        int difference = yy - currentYear % 100;
+        if (difference >= 51) {
+            century -= 100;
+        } else if (difference <= -50) {
+            century += 100;
+        }
+
+        try {
+            YearMonth yearMonth = YearMonth.of(century + yy, month);
+            return day == 0 ? yearMonth.atEndOfMonth() : yearMonth.atDay(day);
+        } catch (DateTimeException e) {
+            throw error("Invalid date", start);
+        }
+    }
+
+    private static void parseBracketed(CharSequence input, int position, ElementHandler handler) {
+        int length = input.length();
+        while (position < length) {
+            if (input.charAt(position) != '(') {
+                throw error("Expected '(' before Application Identifier", position);
+            }
+            int aiStart = position + 1;
+            int aiEnd = aiStart;
+            while (aiEnd < length && input.charAt(aiEnd) != ')') {
+                aiEnd++;
+            }
+            if (aiEnd >= length) {
+                throw error("Unterminated Application Identifier", position);
+            }
+
+            ApplicationIdentifier ai = lookup(input, aiStart, aiEnd - aiStart);
+            int dataStart = aiEnd + 1;
+            int dataEnd = dataStart;
+            while (dataEnd < length && input.charAt(dataEnd) != '(') {
+                dataEnd++;
+            }
+
+            emit(ai, input, dataStart, dataEnd, handler);
+            position = dataEnd;
+        }
+    }
+
+    private static void parseRaw(CharSequence input, int position, ElementHandler handler) {
+        int length = input.length();
+        while (position < length) {
+            if (position + 2 > length) {
+                throw error("Truncated Application Identifier", position);
+            }
+            int prefix = twoDigits(input, position);
+            int aiLength = AI_LENGTH[prefix];
+            if (aiLength == 0 || position + aiLength > length) {
+                throw error("Unknown Application Identifier", position);
+            }
+
+            ApplicationIdentifier ai = lookup(input, position, aiLength);
+            int dataStart = position + aiLength;
+            int dataEnd;
+            if (ai.isFixedLength()) {
+                dataEnd = dataStart + ai.getMaxLength();
+                if (dataEnd > length) {
+                    throw error("AI (" + ai.getCode() + ") requires " + ai.getMaxLength() + " characters", dataStart);
+                }
+            } else {
+                dataEnd = dataStart;
+                while (dataEnd < length && input.charAt(dataEnd) != GS) {
+                    dataEnd++;
+                }
+            }
+
+            emit(ai, input, dataStart, dataEnd, handler);
+            position = dataEnd;
+            // A separator after a fixed-length field is redundant but common, so accept it
+            while (position < length && input.charAt(position) == GS) {
+                position++;
+            }
+        }
+    }
+
+    private static void emit(ApplicationIdentifier ai, CharSequence input, int start, int end, ElementHandler handler) {
+        int dataLength = end - start;
+        if (ai.isFixedLength() ? dataLength != ai.getMaxLength() : dataLength < 1 || dataLength > ai.getMaxLength()) {
+            throw error("AI (" + ai.getCode() + ") has invalid data length " + dataLength, start);
+        }
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            boolean allowed = ai.isNumeric() ? c >= '0' && c <= '9' : c > ' ' && c < 0x7F;
+            if (!allowed) {
+                throw error("AI (" + ai.getCode() + ") contains an invalid character", i);
+            }
+        }
+        if (ai.isDate()) {
+            parseDate(input, start);
+        }
+        handler.onElement(ai, input, start, end);
+    }
+
+    private static ApplicationIdentifier lookup(CharSequence input, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                throw error("Application Identifier must be numeric", i);
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        ApplicationIdentifier ai;
+        switch (length) {
+            case 2:
+                ai = TWO_DIGIT[value];
+                break;
+            case 3:
+                ai = THREE_DIGIT[value];
+                break;
+            case 4:
+                ai = FOUR_DIGIT[value];
+                break;
+            default:
+                ai = null;
+        }
+        if (ai == null) {
+            throw error("Unknown Application Identifier", start);
+        }
+        return ai;
+    }
+
+    private static boolean isGS1SymbologyId(CharSequence input) {
+        char symbology = input.charAt(1);
+        char modifier = input.charAt(2);
+        return (symbology == 'C' && modifier == '1') || (symbology == 'd' && modifier == '2')
+                || (symbology == 'Q' && modifier == '3') || (symbology == 'e' && modifier == '0');
+    }
+
+    private static int twoDigits(CharSequence source, int start) {
+        char high = source.charAt(start);
+        char low = source.charAt(start + 1);
+        if (high < '0' || high > '9' || low < '0' || low > '9') {
+            throw error("Expected two digits", start);
+        }
+        return (high - '0') * 10 + (low - '0');
+    }
+
+    private static void fixed(String code, String title, int length, boolean numeric) {
+        register(new ApplicationIdentifier(code, title, true, length, numeric));
+    }
+
+    private static void variable(String code, String title, int maxLength, boolean numeric) {
+        register(new ApplicationIdentifier(code, title, false, maxLength, numeric));
+    }
+
+    private static void register(ApplicationIdentifier ai) {
+        int value = Integer.parseInt(ai.getCode());
+        int length = ai.getCode().length();
+        int prefix = Integer.parseInt(ai.getCode().substring(0, 2));
+        if (AI_LENGTH[prefix] != 0 && AI_LENGTH[prefix] != length) {
+            throw new IllegalStateException("AI prefix " + prefix + " registered with different lengths");
+        }
+        AI_LENGTH[prefix] = (byte) length;
+
+        ApplicationIdentifier[] table = length == 2 ? TWO_DIGIT : length == 3 ? THREE_DIGIT : FOUR_DIGIT;
+        table[value] = ai;
+    }
+
+    private static BarcodeValidationException error(String message, int position) {
+        return new BarcodeValidationException(message + " at position " + position, ERROR_CODE);
+    }
+
+    /**
+     * Definition of a GS1 Application Identifier.
+     */
+    public static final class ApplicationIdentifier {
+        private final String code;
+        private final String title;
+        private final boolean fixedLength;
+        private final int maxLength;
+        private final boolean numeric;
+
+        private ApplicationIdentifier(String code, String title, boolean fixedLength, int maxLength, boolean numeric) {
+            this.code = code;
+            this.title = title;
+            this.fixedLength = fixedLength;
+            this.maxLength = maxLength;
+            this.numeric = numeric;
+        }
+
+        public String getCode() { return code; }
+        public String getTitle() { return title; }
+        public boolean isFixedLength() { return fixedLength; }
+        public int getMaxLength() { return maxLength; }
+        public boolean isNumeric() { return numeric; }
+
+        /**
+         * Whether the data is a YYMMDD date.
+         */
+        public boolean isDate() {
+            return code.length() == 2 && maxLength == 6 && fixedLength && code.charAt(0) == '1';
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.inventory.util;
+
+import com.inventory.dto.ItemResponseDto;
+import com.inventory.dto.ItemVariantResponseDto;
+import com.inventory.entity.Item;
+import com.inventory.entity.ItemVariant;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps items and variants to response DTOs. Related entities contribute only their ids,
+ * which Hibernate reads from lazy proxies without initializing them.
+ */
+@Component
+public class ItemMapper {
+
+    public ItemResponseDto toResponseDto(Item item) {
+        if (item == null) {
+            return null;
+        }
+
+        return ItemResponseDto.builder()
+                .id(item.getId())
+                .sku(item.getSku())
+                .name(item.getName())
+                .shortName(item.getShortName())
+                .description(item.getDescription())
+                .itemType(item.getItemType())
+                .status(item.getStatus())
+                .categoryId(item.getCategory() != null ? item.getCategory().getId() : null)
+                .departmentId(item.getDepartment() != null ? item.getDepartment().getId() : null)
+                .brandId(item.getBrand() != null ? item.getBrand().getId() : null)
+                .baseUomId(item.getBaseUom() != null ? item.getBaseUom().getId() : null)
+                .taxClass(item.getTaxClass())
+                .basePrice(item.getBasePrice())
+                .variantCount(item.getVariantCount())
+                .version(item.getVersion())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
+    }
+
+    public ItemVariantResponseDto toResponseDto(ItemVariant variant) {
+        if (variant == null) {
+            return null;
+        }
+
+        return ItemVariantResponseDto.builder()
+                .id(variant.getId())
+                .itemId(variant.getItem() != null ? variant.getItem().getId() : null)
+                .variantSku(variant.getVariantSku())
+                .name(variant.getName())
+                .upc(variant.getUpc())
+                .ean(variant.getEan())
+                .gtin(variant.getGtin())
+                .status(variant.getStatus())
+                .isActiveForSale(variant.getIsActiveForSale())
+                .isActiveForPurchase(variant.getIsActiveForPurchase())
+                .basePrice(variant.getBasePrice())
+                .version(variant.getVersion())
+                .createdAt(variant.getCreatedAt())
+                .updatedAt(variant.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.inventory.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Holds one lazily built in-memory index per tenant.
+ *
+ * An index is loaded from the database on first use and rebuilt once it is older than
+ * the configured maximum age, which bounds staleness from writes made on other nodes.
+ * Local writes are applied incrementally through {@link #update(Long, Consumer)}; writes that
+ * arrive while a load is running are buffered and replayed onto the fresh index so they are
+ * never lost between the database snapshot and installation of the new index.
+ *
+ * @param <T> index type; it must be safe for concurrent reads and updates on its own
+ */
+public final class TenantIndexRegistry<T> {
+
+    private final ConcurrentHashMap<Long, Holder<T>> holders = new ConcurrentHashMap<>();
+    private final Function<Long, T> loader;
+    private final long maxAgeNanos;
+
+    public TenantIndexRegistry(Function<Long, T> loader, Duration maxAge) {
+        this.loader = loader;
+        this.maxAgeNanos = maxAge.isZero() || maxAge.isNegative() ? Long.MAX_VALUE : maxAge.toNanos();
+    }
+
+    /**
+     * Get the tenant's index, loading it on first use. When the index has expired and another
+     * thread is already rebuilding it, the previous index is served instead of blocking.
+     */
+    public T get(Long tenantId) {
+        Holder<T> holder = holders.computeIfAbsent(tenantId, id -> new Holder<>());
+        T current = holder.index;
+        if (current != null && !holder.isExpired(maxAgeNanos)) {
+            return current;
+        }
+
+        if (current != null) {
+            if (!holder.loadLock.tryLock()) {
+                return current;
+            }
+        } else {
+            holder.loadLock.lock();
+        }
+
+        try {
+            if (holder.index != null && !holder.isExpired(maxAgeNanos)) {
+                return holder.index;
+            }
+            return load(tenantId, holder);
+        } finally {
+            holder.loadLock.unlock();
+        }
+    }
+
+    /**
+     * Get the tenant's index only if it is already loaded.
+     */
+    public T getIfLoaded(Long tenantId) {
+        Holder<T> holder = holders.get(tenantId);
+        return holder != null ? holder.index : null;
+    }
+
+    /**
+     * Apply an incremental change to the tenant's index. Does nothing when the index has not
+     * been loaded yet, because the next load reads the committed state from the database.
+     */
+    public void update(Long tenantId, Consumer<T> mutation) {
+        Holder<T> holder = holders.get(tenantId);
+        if (holder == null) {
+            return;
+        }
+
+        T target;
+        synchronized (holder) {
+            if (holder.loading) {
+                holder.pending.add(mutation);
+                return;
+            }
+            target = holder.index;
+        }
+
+        if (target != null) {
+            mutation.accept(target);
+        }
+    }
+
+    /**
+     * Drop the tenant's index so the next access rebuilds it from the database.
+     */
+    public void evict(Long tenantId) {
+        Holder<T> holder = holders.get(tenantId);
+        if (holder != null) {
+            synchronized (holder) {
+                holder.loadedAtNanos = Long.MIN_VALUE;
+                if (holder.loading) {
+                    holder.invalidatedWhileLoading = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every loaded index.
+     */
+    public void evictAll() {
+        holders.keySet().forEach(this::evict);
+    }
+
+    private T load(Long tenantId, Holder<T> holder) {
+        synchronized (holder) {
+            holder.loading = true;
+            holder.invalidatedWhileLoading = false;
+            holder.pending.clear();
+        }
+
+        T fresh;
+        try {
+            fresh = loader.apply(tenantId);
+        } catch (RuntimeException e) {
+            synchronized (holder) {
+                holder.loading = false;
+                holder.pending.clear();
+            }
+            throw e;
+        }
+
+        synchronized (holder) {
+            for (Consumer<T> mutation : holder.pending) {
+                mutation.accept(fresh);
+            }
+            holder.pending.clear();
+            holder.index = fresh;
+            holder.loadedAtNanos = holder.invalidatedWhileLoading ? Long.MIN_VALUE : System.nanoTime();
+            holder.loading = false;
+        }
+        return fresh;
+    }
+
+    private static final class Holder<T> {
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private final List<Consumer<T>> pending = new ArrayList<>();
+        private volatile T index;
+        private volatile long loadedAtNanos = Long.MIN_VALUE;
+        private boolean loading;
+        private boolean invalidatedWhileLoading;
+
+        private boolean isExpired(long maxAgeNanos) {
+            long loadedAt = loadedAtNanos;
+            return loadedAt == Long.MIN_VALUE || System.nanoTime() - loadedAt > maxAgeNanos;
+        }
+    }
+}
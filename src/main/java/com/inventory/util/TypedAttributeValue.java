@@ -0,0 +1,117 @@
+package com.inventory.util;
+
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * The typed, indexable form of an attribute value for its definition's data type.
+ * At most one of the fields is set; none is set for TEXT values and values that do not
+ * parse as their type, which then only match text searches.
+ */
+public final class TypedAttributeValue {
+
+    /** Widest option value that is indexed; matches the value_option column */
+    public static final int MAX_OPTION_LENGTH = 255;
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?\\d{1,14}(\\.\\d+)?");
+    private static final int NUMBER_SCALE = 6;
+
+    private static final TypedAttributeValue NONE = new TypedAttributeValue(null, null, null, null);
+
+    private final BigDecimal number;
+    private final LocalDate date;
+    private final Boolean bool;
+    private final String option;
+
+    private TypedAttributeValue(BigDecimal number, LocalDate date, Boolean bool, String option) {
+        this.number = number;
+        this.date = date;
+        this.bool = bool;
+        this.option = option;
+    }
+
+    /**
+     * Parse a raw value as the given data type.
+     */
+    public static TypedAttributeValue of(AttributeDataType dataType, String value) {
+        if (dataType == null || value == null) {
+            return NONE;
+        }
+
+        String trimmed = value.trim();
+        switch (dataType) {
+            case NUMBER:
+                BigDecimal number = parseNumber(trimmed);
+                return number != null ? new TypedAttributeValue(number, null, null, null) : NONE;
+            case DATE:
+                LocalDate date = parseDate(trimmed);
+                return date != null ? new TypedAttributeValue(null, date, null, null) : NONE;
+            case BOOLEAN:
+                Boolean bool = parseBoolean(trimmed);
+                return bool != null ? new TypedAttributeValue(null, null, bool, null) : NONE;
+            case LIST:
+                return !trimmed.isEmpty() && trimmed.length() <= MAX_OPTION_LENGTH
+                        ? new TypedAttributeValue(null, null, null, trimmed) : NONE;
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * A decimal rounded to the stored scale, or null if the text is not a plain decimal number.
+     */
+    public static BigDecimal parseNumber(String value) {
+        if (value == null || !NUMBER.matcher(value).matches()) {
+            return null;
+        }
+        return new BigDecimal(value).setScale(NUMBER_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * An ISO-8601 date (yyyy-MM-dd), or null if the text is not one.
+     */
+    public static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * True or false ignoring case, or null for any other text.
+     */
+    public static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    public BigDecimal getNumber() {
+        return number;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Boolean getBoolean() {
+        return bool;
+    }
+
+    public String getOption() {
+        return option;
+    }
+}
@@ -0,0 +1,99 @@
+package com.inventory.util;
+
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recomputes the typed value columns of stored item attribute values from their text value
+ * and their definition's current data type, with {@link TypedAttributeValue} so rows written
+ * by SQL get exactly the columns the application would have written.
+ *
+ * Rows are read in id order, one chunk per query, and each chunk is written with one JDBC
+ * batch, so memory stays bounded however many values a definition has.
+ */
+public final class TypedAttributeValueBackfill {
+
+    private static final String SELECT_SQL =
+            "SELECT v.id, v.value, d.data_type FROM item_attribute_value v " +
+            "JOIN attribute_definition d ON d.id = v.attribute_definition_id " +
+            "WHERE v.id > ? ORDER BY v.id LIMIT ?";
+
+    private static final String SELECT_DEFINITION_SQL =
+            "SELECT v.id, v.value, d.data_type FROM item_attribute_value v " +
+            "JOIN attribute_definition d ON d.id = v.attribute_definition_id " +
+            "WHERE v.attribute_definition_id = ? AND v.id > ? ORDER BY v.id LIMIT ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE item_attribute_value SET value_number = ?, value_date = ?, value_boolean = ?, value_option = ? " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public TypedAttributeValueBackfill(JdbcTemplate jdbcTemplate, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Recompute the values of one definition, or of every definition when the id is null.
+     *
+     * @param chunkTransaction runs each chunk in its own transaction; null to run in the caller's
+     * @return the number of values processed
+     */
+    public int run(Long attributeDefinitionId, TransactionTemplate chunkTransaction) {
+        int processed = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Object[]> chunk = chunkTransaction != null
+                    ? chunkTransaction.execute(tx -> backfillChunk(attributeDefinitionId, from))
+                    : backfillChunk(attributeDefinitionId, from);
+            processed += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return processed;
+            }
+            afterId = (Long) chunk.get(chunk.size() - 1)[0];
+        }
+    }
+
+    private List<Object[]> backfillChunk(Long attributeDefinitionId, long afterId) {
+        List<Object[]> rows = new ArrayList<>(chunkSize);
+        jdbcTemplate.query(attributeDefinitionId != null ? SELECT_DEFINITION_SQL : SELECT_SQL, rs -> {
+            rows.add(new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)});
+        }, attributeDefinitionId != null
+                ? new Object[]{attributeDefinitionId, afterId, chunkSize}
+                : new Object[]{afterId, chunkSize});
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            TypedAttributeValue typed = TypedAttributeValue.of(dataType((String) row[2]), (String) row[1]);
+            ps.setBigDecimal(1, typed.getNumber());
+            ps.setDate(2, typed.getDate() != null ? Date.valueOf(typed.getDate()) : null);
+            if (typed.getBoolean() != null) {
+                ps.setBoolean(3, typed.getBoolean());
+            } else {
+                ps.setNull(3, Types.BOOLEAN);
+            }
+            ps.setString(4, typed.getOption());
+            ps.setLong(5, (Long) row[0]);
+        });
+        return rows;
+    }
+
+    private static AttributeDataType dataType(String name) {
+        try {
+            return name != null ? AttributeDataType.valueOf(name) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
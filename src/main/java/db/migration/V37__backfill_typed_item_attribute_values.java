@@ -0,0 +1,132 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * Fills the typed value columns added by V36 for existing item attribute values. Runs in Java
+ * so calendar-invalid dates such as 2024-02-30 are left untyped rather than failing the
+ * migration under strict SQL mode.
+ *
+ * The parsing rules are a frozen copy of TypedAttributeValue as of V36 and must not be changed
+ * or replaced with application classes: a migration has to do the same thing on every database
+ * it ever runs on. Later changes to the rules need a new migration.
+ */
+public class V37__backfill_typed_item_attribute_values extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String SELECT_SQL =
+            "SELECT v.id, v.value, d.data_type FROM item_attribute_value v " +
+            "JOIN attribute_definition d ON d.id = v.attribute_definition_id " +
+            "WHERE v.id > ? ORDER BY v.id LIMIT ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE item_attribute_value SET value_number = ?, value_date = ?, value_boolean = ?, value_option = ? " +
+            "WHERE id = ?";
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?\\d{1,14}(\\.\\d+)?");
+    private static final int NUMBER_SCALE = 6;
+    private static final int MAX_OPTION_LENGTH = 255;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            long afterId = 0;
+            while (true) {
+                select.setLong(1, afterId);
+                select.setInt(2, CHUNK_SIZE);
+                int rows = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        afterId = rs.getLong(1);
+                        bind(update, afterId, rs.getString(2), rs.getString(3));
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) {
+                    update.executeBatch();
+                }
+                if (rows < CHUNK_SIZE) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement update, long id, String value, String dataType) throws SQLException {
+        BigDecimal number = null;
+        LocalDate date = null;
+        Boolean bool = null;
+        String option = null;
+        if (dataType != null && value != null) {
+            String trimmed = value.trim();
+            switch (dataType) {
+                case "NUMBER":
+                    number = parseNumber(trimmed);
+                    break;
+                case "DATE":
+                    date = parseDate(trimmed);
+                    break;
+                case "BOOLEAN":
+                    bool = parseBoolean(trimmed);
+                    break;
+                case "LIST":
+                    option = !trimmed.isEmpty() && trimmed.length() <= MAX_OPTION_LENGTH ? trimmed : null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        update.setBigDecimal(1, number);
+        update.setDate(2, date != null ? Date.valueOf(date) : null);
+        if (bool != null) {
+            update.setBoolean(3, bool);
+        } else {
+            update.setNull(3, Types.BOOLEAN);
+        }
+        update.setString(4, option);
+        update.setLong(5, id);
+    }
+
+    private static BigDecimal parseNumber(String value) {
+        if (!NUMBER.matcher(value).matches()) {
+            return null;
+        }
+        return new BigDecimal(value).setScale(NUMBER_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+}
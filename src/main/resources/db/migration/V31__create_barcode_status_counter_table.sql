@@ -0,0 +1,19 @@
+-- V31__create_barcode_status_counter_table.sql
+-- Per-tenant barcode counts by status and type, maintained with each barcode write
+
+CREATE TABLE barcode_status_counter (
+    tenant_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL COMMENT 'RESERVED, ACTIVE, DEPRECATED, BLOCKED',
+    barcode_type VARCHAR(32) NOT NULL,
+    barcode_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (tenant_id, status, barcode_type),
+    CONSTRAINT fk_barcode_counter_tenant FOREIGN KEY (tenant_id) REFERENCES tenant(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Seed from existing barcodes
+INSERT INTO barcode_status_counter (tenant_id, status, barcode_type, barcode_count)
+SELECT tenant_id, status, barcode_type, COUNT(*)
+FROM item_barcode
+GROUP BY tenant_id, status, barcode_type;
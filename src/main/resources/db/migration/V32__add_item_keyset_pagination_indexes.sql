@@ -0,0 +1,7 @@
+-- V32__add_item_keyset_pagination_indexes.sql
+-- Indexes for (updated_at, id) keyset pagination of items and variants.
+-- InnoDB appends the primary key to secondary indexes, so id needs no column of its own.
+
+CREATE INDEX idx_item_tenant_updated ON item (tenant_id, updated_at);
+CREATE INDEX idx_item_cat_updated ON item (category_id, updated_at);
+CREATE INDEX idx_variant_tenant_updated ON item_variant (tenant_id, updated_at);
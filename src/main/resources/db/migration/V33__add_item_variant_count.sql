@@ -0,0 +1,11 @@
+-- V33__add_item_variant_count.sql
+-- Denormalized variant count on item, kept in step by the application as variants are
+-- created and deleted, so parent-item and variant-count listings read a single table.
+
+ALTER TABLE item ADD COLUMN variant_count INT NOT NULL DEFAULT 0;
+
+UPDATE item i
+JOIN (SELECT item_id, COUNT(*) AS variants FROM item_variant GROUP BY item_id) v ON v.item_id = i.id
+SET i.variant_count = v.variants;
+
+CREATE INDEX idx_item_tenant_status_variants ON item (tenant_id, status, variant_count);
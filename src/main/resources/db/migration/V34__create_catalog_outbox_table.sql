@@ -0,0 +1,15 @@
+-- V34__create_catalog_outbox_table.sql
+-- Catalog change events written in the same transaction as the change they describe.
+-- The relay delivers rows in id order and deletes them once every sink has accepted them.
+
+CREATE TABLE catalog_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tenant_id BIGINT NOT NULL,
+    aggregate_type VARCHAR(16) NOT NULL COMMENT 'ITEM, VARIANT, BARCODE, CATEGORY, BRAND',
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL COMMENT 'CREATED, UPDATED, STATUS_CHANGED, DELETED',
+    payload VARCHAR(2048) NULL COMMENT 'JSON object of the changed fields consumers key on',
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
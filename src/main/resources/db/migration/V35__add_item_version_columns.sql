@@ -0,0 +1,6 @@
+-- V35__add_item_version_columns.sql
+-- Optimistic locking versions for items and variants. Each update checks and increments the
+-- version, so concurrent edits of the same row fail instead of overwriting each other.
+
+ALTER TABLE item ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE item_variant ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- V36__add_typed_item_attribute_values.sql
+-- Typed copies of item attribute values, filled from the definition's data type, so equality,
+-- range and IN filters on numbers, dates, booleans and list options run as index range scans
+-- instead of LIKE matches over the text value.
+
+ALTER TABLE item_attribute_value
+    ADD COLUMN value_number DECIMAL(20,6) NULL,
+    ADD COLUMN value_date DATE NULL,
+    ADD COLUMN value_boolean BOOLEAN NULL,
+    ADD COLUMN value_option VARCHAR(255) NULL;
+
+-- Existing values are backfilled by V37, a Java migration that parses them with the same rules
+-- as the application, so values such as 2024-02-30 stay untyped instead of failing the update.
+
+-- item_id closes each index so filters return matching items without reading the table
+CREATE INDEX idx_item_attr_number ON item_attribute_value (tenant_id, attribute_definition_id, value_number, item_id);
+CREATE INDEX idx_item_attr_date ON item_attribute_value (tenant_id, attribute_definition_id, value_date, item_id);
+CREATE INDEX idx_item_attr_boolean ON item_attribute_value (tenant_id, attribute_definition_id, value_boolean, item_id);
+CREATE INDEX idx_item_attr_option ON item_attribute_value (tenant_id, attribute_definition_id, value_option, item_id);
@@ -0,0 +1,66 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ApiResponse;
+import com.inventory.dto.ItemPatchRequest;
+import com.inventory.dto.ItemResponseDto;
+import com.inventory.entity.Item;
+import com.inventory.service.ItemService;
+import com.inventory.util.ItemMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how patch failures map to response statuses.
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemControllerPatchTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @InjectMocks
+    private ItemController itemController;
+
+    private final ItemPatchRequest patch = ItemPatchRequest.builder()
+            .version(3L).fieldMask(Set.of("name")).name("Cola Zero").build();
+
+    @Test
+    void staleVersionIsAConflict() {
+        when(itemService.patchItem(eq(7L), any(), eq(patch), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 7L));
+
+        ResponseEntity<ApiResponse<ItemResponseDto>> response =
+                itemController.patchItem(7L, patch, new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() {
+        when(itemService.patchItem(eq(7L), any(), eq(patch), any()))
+                .thenThrow(new IllegalArgumentException("Unknown or read-only field in mask: colour"));
+
+        ResponseEntity<ApiResponse<ItemResponseDto>> response =
+                itemController.patchItem(7L, patch, new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Unknown or read-only field in mask: colour", response.getBody().getError());
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory.repository;
+
+import com.inventory.entity.Item;
+import com.inventory.support.CommittingJpaTest;
+import com.inventory.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through items whose updatedAt ties across page boundaries, so only the id tie-breaker
+ * in the (updatedAt, id) keyset keeps every item on exactly one page.
+ */
+class ItemRepositoryKeysetTest extends CommittingJpaTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final LocalDateTime LATER = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void pagesByUpdatedAtThenIdAcrossTies() {
+        List<Long> ids = inTransaction(() -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                created.add(entityManager.persist(new Item(tenant, "SKU-" + i, "Item " + i)).getId());
+            }
+            return created;
+        });
+        // Interleave the two timestamps so id order and (updatedAt, id) order differ
+        LocalDateTime[] updatedAt = {LATER, EARLIER, LATER, EARLIER, LATER};
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE item SET updated_at = ? WHERE id = ?", Timestamp.valueOf(updatedAt[i]), ids.get(i));
+        }
+
+        List<Long> paged = new ArrayList<>();
+        String token = null;
+        while (true) {
+            KeysetCursor after = KeysetCursor.decode(token);
+            List<Item> page = inTransaction(() -> itemRepository.findPageAfter(tenant.getId(), null, null, null, null,
+                    null, after != null ? after.getTimestamp() : null, after != null ? after.getId() : null,
+                    PageRequest.of(0, 2)));
+            page.forEach(item -> paged.add(item.getId()));
+            if (page.size() < 2) {
+                break;
+            }
+            Item last = page.get(page.size() - 1);
+            token = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+
+        assertEquals(List.of(ids.get(1), ids.get(3), ids.get(0), ids.get(2), ids.get(4)), paged);
+    }
+}
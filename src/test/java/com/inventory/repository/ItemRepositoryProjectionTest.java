@@ -0,0 +1,110 @@
+package com.inventory.repository;
+
+import com.inventory.dto.ItemPickerDto;
+import com.inventory.dto.ItemSummaryDto;
+import com.inventory.entity.Brand;
+import com.inventory.entity.Category;
+import com.inventory.entity.Department;
+import com.inventory.entity.Item;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.Tenant;
+import com.inventory.entity.UnitOfMeasure;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the item list, search and picker read models against N+1 queries by counting the
+ * SQL statements each page prepares.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class ItemRepositoryProjectionTest {
+
+    private static final int ITEMS = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Tenant tenant;
+
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void createItems() {
+        tenant = new Tenant();
+        tenant.setCode("T1");
+        tenant.setName("Tenant");
+        entityManager.persist(tenant);
+
+        Category category = entityManager.persist(new Category(tenant, "BEV", "Beverages"));
+        Department department = entityManager.persist(new Department(tenant, "GROC", "Grocery"));
+        Brand brand = entityManager.persist(new Brand(tenant, "ACME", "Acme"));
+        UnitOfMeasure each = entityManager.persist(
+                new UnitOfMeasure(tenant, "EA", "Each", UnitOfMeasure.UnitType.COUNT));
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item(tenant, "SKU-" + i, "Item " + i);
+            item.setCategory(category);
+            item.setDepartment(department);
+            item.setBrand(brand);
+            item.setBaseUom(each);
+            item.setStatus(ItemStatus.ACTIVE);
+            itemIds.add(entityManager.persist(item).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void summaryPageIsOneStatement() {
+        List<ItemSummaryDto> page = itemRepository.findSummaryPageAfter(
+                tenant.getId(), null, null, null, null, null, null, null, PageRequest.of(0, ITEMS + 1));
+
+        assertEquals(ITEMS, page.size());
+        assertEquals("Beverages", page.get(0).getCategoryName());
+        assertEquals("Grocery", page.get(0).getDepartmentName());
+        assertEquals("Acme", page.get(0).getBrandName());
+        assertEquals("EA", page.get(0).getBaseUomCode());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void searchAndPickerPagesAreOneStatementEach() {
+        assertEquals(ITEMS, itemRepository.findSummariesByIds(tenant.getId(), itemIds).size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+
+        List<ItemPickerDto> options = itemRepository.findPickerOptions(
+                tenant.getId(), ItemStatus.ACTIVE, PageRequest.of(0, ITEMS));
+        assertEquals(ITEMS, options.size());
+        assertEquals("EA", options.get(0).getBaseUomCode());
+        assertEquals(2, statistics().getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
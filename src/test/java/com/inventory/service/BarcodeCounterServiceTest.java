@@ -0,0 +1,131 @@
+package com.inventory.service;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Adjusts barcode counters from many threads against H2, each change in its own transaction,
+ * with half the threads moving barcodes between two statuses in the opposite direction of the
+ * other half.
+ */
+@Import(BarcodeCounterService.class)
+class BarcodeCounterServiceTest extends CommittingJpaTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private BarcodeCounterService barcodeCounterService;
+
+    private Long tenantId;
+
+    @BeforeEach
+    void createCounters() {
+        // The table has no entity, so create-drop does not make it
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS barcode_status_counter (" +
+                "tenant_id BIGINT NOT NULL, " +
+                "status VARCHAR(16) NOT NULL, " +
+                "barcode_type VARCHAR(32) NOT NULL, " +
+                "barcode_count BIGINT NOT NULL DEFAULT 0, " +
+                "updated_at TIMESTAMP NOT NULL, " +
+                "PRIMARY KEY (tenant_id, status, barcode_type))");
+
+        tenantId = tenant.getId();
+
+        // H2 does not turn racing first inserts of one key into updates as MySQL does, so the
+        // rows exist before the threads start
+        for (BarcodeStatus status : new BarcodeStatus[]{BarcodeStatus.RESERVED, BarcodeStatus.ACTIVE}) {
+            for (BarcodeType type : new BarcodeType[]{BarcodeType.EAN_13, BarcodeType.UPC_A}) {
+                jdbcTemplate.update("INSERT INTO barcode_status_counter VALUES (?, ?, ?, 0, CURRENT_TIMESTAMP)",
+                        tenantId, status.name(), type.name());
+            }
+        }
+    }
+
+    @Test
+    void concurrentChangesKeepExactCounts() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean activating = t % 2 == 0;
+            workers.add(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    int iteration = i;
+                    if (activating) {
+                        // Reserve a code and activate it
+                        transaction.executeWithoutResult(tx -> barcodeCounterService.recordCreated(
+                                tenantId, BarcodeStatus.RESERVED, BarcodeType.EAN_13, 1));
+                        transaction.executeWithoutResult(tx -> barcodeCounterService.recordChange(tenantId,
+                                BarcodeStatus.RESERVED, BarcodeType.EAN_13, BarcodeStatus.ACTIVE, BarcodeType.EAN_13));
+                    } else {
+                        // Create an active code, move it back to reserved, retype it, and delete every fourth
+                        transaction.executeWithoutResult(tx -> barcodeCounterService.recordCreated(
+                                tenantId, BarcodeStatus.ACTIVE, BarcodeType.EAN_13, 1));
+                        transaction.executeWithoutResult(tx -> barcodeCounterService.recordChange(tenantId,
+                                BarcodeStatus.ACTIVE, BarcodeType.EAN_13, BarcodeStatus.RESERVED, BarcodeType.EAN_13));
+                        transaction.executeWithoutResult(tx -> barcodeCounterService.recordChange(tenantId,
+                                BarcodeStatus.RESERVED, BarcodeType.EAN_13, BarcodeStatus.RESERVED, BarcodeType.UPC_A));
+                        if (iteration % 4 == 0) {
+                            transaction.executeWithoutResult(tx -> barcodeCounterService.recordDeleted(
+                                    tenantId, BarcodeStatus.RESERVED, BarcodeType.UPC_A));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                results.add(threads.submit(worker));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        int perSide = THREADS / 2 * ITERATIONS;
+        Map<BarcodeStatus, Map<BarcodeType, Long>> counts = barcodeCounterService.getCounts(tenantId);
+        assertEquals(perSide, counts.get(BarcodeStatus.ACTIVE).get(BarcodeType.EAN_13));
+        assertEquals(0L, counts.get(BarcodeStatus.ACTIVE).get(BarcodeType.UPC_A));
+        assertEquals(0L, counts.get(BarcodeStatus.RESERVED).get(BarcodeType.EAN_13));
+        assertEquals(perSide - perSide / 4, counts.get(BarcodeStatus.RESERVED).get(BarcodeType.UPC_A));
+    }
+
+    @Test
+    void reconcileOverwritesDriftedCounters() {
+        jdbcTemplate.update("UPDATE barcode_status_counter SET barcode_count = 5 WHERE tenant_id = ? AND status = 'ACTIVE' " +
+                "AND barcode_type = 'EAN_13'", tenantId);
+
+        // No barcodes exist, so only the drifted counter is corrected
+        assertEquals(1, barcodeCounterService.reconcile(tenantId));
+        assertEquals(0L, barcodeCounterService.getCounts(tenantId).get(BarcodeStatus.ACTIVE).get(BarcodeType.EAN_13));
+        assertEquals(0, barcodeCounterService.reconcile(tenantId));
+    }
+}
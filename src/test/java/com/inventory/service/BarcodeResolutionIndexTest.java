@@ -0,0 +1,53 @@
+package com.inventory.service;
+
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.PackLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that trigram search returns exactly what a substring scan would.
+ */
+class BarcodeResolutionIndexTest {
+
+    @Test
+    void trigramSearchMatchesSubstringScan() {
+        Random random = new Random(7);
+        BarcodeResolutionIndex.TenantIndex index = new BarcodeResolutionIndex.TenantIndex(0);
+        List<String> live = new ArrayList<>();
+
+        for (long id = 1; id <= 3000; id++) {
+            String code = random.nextBoolean()
+                    ? String.valueOf(1_000_000_000_000L + random.nextInt(1_000_000))
+                    : "AbC-" + Integer.toString(random.nextInt(50_000), 36);
+            if (live.contains(code)) {
+                continue;
+            }
+            index.put(new BarcodeResolutionIndex.Resolution(id, code, id, PackLevel.EACH, null, false, BarcodeType.CODE_128));
+            live.add(code);
+            // Remove some codes again so freed slots are reused out of order
+            if (id % 5 == 0) {
+                String removed = live.remove(random.nextInt(live.size()));
+                index.remove(removed);
+            }
+        }
+
+        for (String term : List.of("1", "00", "0000", "123", "9999", "abc", "ABC-", "c-1", "-z", "x", "1000000")) {
+            List<String> expected = live.stream()
+                    .filter(code -> code.toLowerCase().contains(term.toLowerCase()))
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> actual = index.search(term).stream()
+                    .map(BarcodeResolutionIndex.Resolution::getBarcode)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, term);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.inventory.service;
+
+import com.inventory.dto.BulkBarcodeResultDto;
+import com.inventory.dto.BulkGenerateBarcodesRequest;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.GS1Configuration;
+import com.inventory.entity.Item;
+import com.inventory.entity.ItemBarcode;
+import com.inventory.entity.ItemVariant;
+import com.inventory.entity.UserAccount;
+import com.inventory.support.CommittingJpaTest;
+import com.inventory.util.BulkJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs bulk barcode generation against H2 with real chunk transactions and the real scan
+ * index, which is loaded before each job so only the job's own updates can change it.
+ */
+@TestPropertySource(properties = "app.barcode.bulk.chunk-size=2")
+@Import({BulkBarcodeGenerationService.class, BarcodeValidationService.class, BarcodeResolutionIndex.class,
+        BulkJobRegistry.class, BulkBarcodeGenerationServiceTest.Config.class})
+class BulkBarcodeGenerationServiceTest extends CommittingJpaTest {
+
+    private static final String PREFIX = "0614141";
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Autowired
+    private BulkBarcodeGenerationService bulkBarcodeGenerationService;
+
+    @Autowired
+    private BarcodeResolutionIndex barcodeResolutionIndex;
+
+    @MockBean
+    private GS1SequenceAllocator gs1SequenceAllocator;
+
+    @MockBean
+    private BarcodeCounterService barcodeCounterService;
+
+    @MockBean
+    private BarcodeExistenceFilter barcodeExistenceFilter;
+
+    @MockBean
+    private CatalogOutbox catalogOutbox;
+
+    private final List<ItemVariant> variants = new ArrayList<>();
+
+    @BeforeEach
+    void createVariants() {
+        variants.clear();
+        inTransaction(() -> {
+            Item item = entityManager.persist(new Item(tenant, "SHIRT", "Shirt"));
+            for (String size : new String[]{"S", "M", "L"}) {
+                variants.add(entityManager.persist(new ItemVariant(tenant, item, "SHIRT-" + size)));
+            }
+        });
+
+        when(gs1SequenceAllocator.allocate(eq(tenant.getId()), anyInt())).thenAnswer(invocation ->
+                new GS1SequenceAllocator.Allocation(1L, PREFIX, 1, invocation.getArgument(1)));
+        when(barcodeExistenceFilter.filterPossibleDuplicates(anyLong(), anyList())).thenReturn(List.of());
+
+        // Load the tenant's index while it is empty
+        assertFalse(barcodeResolutionIndex.resolve(tenant.getId(), code(1)).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexesCountsAndPublishesEachChunk() {
+        BulkJob<BulkBarcodeResultDto> job = generate(variants.get(0).getId(), variants.get(1).getId(),
+                variants.get(2).getId(), -1L);
+
+        assertEquals(3, job.getSucceeded());
+        assertEquals(1, job.getFailed());
+        for (int sequence = 1; sequence <= 3; sequence++) {
+            assertTrue(barcodeResolutionIndex.resolve(tenant.getId(), code(sequence)).isPresent(),
+                    "Not indexed: " + code(sequence));
+        }
+        assertEquals(variants.get(1).getId(),
+                barcodeResolutionIndex.resolve(tenant.getId(), code(2)).get().getVariantId());
+
+        verify(barcodeCounterService).recordCreated(tenant.getId(), BarcodeStatus.ACTIVE, BarcodeType.EAN_13, 2);
+        verify(barcodeCounterService).recordCreated(tenant.getId(), BarcodeStatus.ACTIVE, BarcodeType.EAN_13, 1);
+
+        ArgumentCaptor<Map<Long, Object[]>> events = ArgumentCaptor.forClass(Map.class);
+        verify(catalogOutbox, times(2)).appendAll(eq(tenant.getId()), eq(AggregateType.BARCODE),
+                eq(EventType.CREATED), events.capture());
+        Set<Long> eventIds = new HashSet<>();
+        events.getAllValues().forEach(chunk -> eventIds.addAll(chunk.keySet()));
+        assertEquals(new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM item_barcode WHERE tenant_id = ?", Long.class, tenant.getId())), eventIds);
+    }
+
+    @Test
+    void rolledBackChunkIsNotIndexed() {
+        // Taken by a write the existence filter has not seen, so it fails its chunk's insert
+        inTransaction(() -> {
+            ItemBarcode taken = new ItemBarcode(entityManager.find(ItemVariant.class, variants.get(2).getId()),
+                    code(2), BarcodeType.EAN_13, entityManager.find(UserAccount.class, user.getId()));
+            taken.setStatus(BarcodeStatus.RESERVED);
+            entityManager.persist(taken);
+        });
+
+        BulkJob<BulkBarcodeResultDto> job = generate(variants.get(0).getId(), variants.get(1).getId(),
+                variants.get(2).getId());
+
+        assertEquals(1, job.getSucceeded());
+        assertEquals(2, job.getFailed());
+        assertFalse(barcodeResolutionIndex.resolve(tenant.getId(), code(1)).isPresent());
+        assertFalse(barcodeResolutionIndex.resolve(tenant.getId(), code(2)).isPresent());
+        assertTrue(barcodeResolutionIndex.resolve(tenant.getId(), code(3)).isPresent());
+    }
+
+    @Test
+    void rejectsUpcABeforeAllocatingFromAPrefixWithoutLeadingZero() {
+        inTransaction(() -> entityManager.persist(new GS1Configuration(tenant.getId(), "6141410", 99999,
+                entityManager.find(UserAccount.class, user.getId()))));
+
+        BulkGenerateBarcodesRequest request = new BulkGenerateBarcodesRequest();
+        request.setVariantIds(List.of(variants.get(0).getId()));
+        request.setBarcodeType(BarcodeType.UPC_A);
+
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+                () -> bulkBarcodeGenerationService.submit(tenant.getId(), user.getId(), request));
+        assertEquals("Cannot generate UPC-A from GS1 prefix 6141410", rejected.getMessage());
+        verify(gs1SequenceAllocator, never()).allocate(anyLong(), anyInt());
+    }
+
+    private BulkJob<BulkBarcodeResultDto> generate(Long... variantIds) {
+        BulkGenerateBarcodesRequest request = new BulkGenerateBarcodesRequest();
+        request.setVariantIds(List.of(variantIds));
+        request.setBarcodeType(BarcodeType.EAN_13);
+        return bulkBarcodeGenerationService.submit(tenant.getId(), user.getId(), request);
+    }
+
+    private static String code(long sequence) {
+        return GS1Configuration.formatGTIN13(PREFIX, sequence);
+    }
+}
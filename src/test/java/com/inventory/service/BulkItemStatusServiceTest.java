@@ -0,0 +1,151 @@
+package com.inventory.service;
+
+import com.inventory.dto.BulkItemStatusRequest;
+import com.inventory.dto.BulkItemStatusResultDto;
+import com.inventory.entity.Category;
+import com.inventory.entity.Department;
+import com.inventory.entity.Item;
+import com.inventory.entity.Item.ItemStatus;
+import com.inventory.entity.UnitOfMeasure;
+import com.inventory.support.CommittingJpaTest;
+import com.inventory.util.BulkJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs bulk status changes against H2 with real chunk transactions, so a failed chunk is
+ * rolled back while the chunks around it commit.
+ */
+@TestPropertySource(properties = "app.item-status.bulk.chunk-size=2")
+@Import({BulkItemStatusService.class, BulkJobRegistry.class, BulkItemStatusServiceTest.Config.class})
+class BulkItemStatusServiceTest extends CommittingJpaTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Autowired
+    private BulkItemStatusService bulkItemStatusService;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private ItemFacetIndex itemFacetIndex;
+
+    @MockBean
+    private CatalogOutbox catalogOutbox;
+
+    @MockBean
+    private CategoryAttributeIndex categoryAttributeIndex;
+
+    private Category category;
+    private Department department;
+    private UnitOfMeasure each;
+
+    @BeforeEach
+    void createReferences() {
+        inTransaction(() -> {
+            category = entityManager.persist(new Category(tenant, "BEV", "Beverages"));
+            department = entityManager.persist(new Department(tenant, "GROC", "Grocery"));
+            each = entityManager.persist(new UnitOfMeasure(tenant, "EA", "Each", UnitOfMeasure.UnitType.COUNT));
+        });
+    }
+
+    @Test
+    void reportsRejectedItemsAndRollsBackOnlyTheFailedChunk() {
+        Long ready = item("READY", ItemStatus.DRAFT, true);
+        Long noDepartment = item("NO-DEPT", ItemStatus.DRAFT, false);
+        Long discontinued = item("DISC", ItemStatus.DISCONTINUED, true);
+        Long alsoReady = item("READY-2", ItemStatus.DRAFT, true);
+        Long failedChunkA = item("LOST-1", ItemStatus.DRAFT, true);
+        Long failedChunkB = item("LOST-2", ItemStatus.DRAFT, true);
+
+        // Chunks of two: the third chunk's outbox write fails after its UPDATE ran
+        doNothing().doNothing().doThrow(new DataIntegrityViolationException("outbox unavailable"))
+                .when(catalogOutbox).appendAll(anyLong(), any(), any(), anyMap());
+
+        BulkJob<BulkItemStatusResultDto> job = bulkItemStatusService.submit(tenant.getId(), user.getId(),
+                new BulkItemStatusRequest(List.of(ready, noDepartment, discontinued, alsoReady,
+                        failedChunkA, failedChunkB, -1L), ItemStatus.ACTIVE));
+
+        assertEquals(BulkJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(5, job.getFailed());
+
+        Map<Long, String> errors = job.getResults().stream()
+                .filter(result -> !result.isSuccess())
+                .collect(Collectors.toMap(BulkItemStatusResultDto::getItemId, BulkItemStatusResultDto::getError));
+        assertEquals("Department is required to activate item", errors.get(noDepartment));
+        assertEquals("Items in DISCONTINUED status cannot be changed to ACTIVE", errors.get(discontinued));
+        assertEquals("Item not found", errors.get(-1L));
+        assertEquals("Update failed: outbox unavailable", errors.get(failedChunkA));
+
+        assertEquals("ACTIVE", status(ready));
+        assertEquals("ACTIVE", status(alsoReady));
+        assertEquals("DRAFT", status(noDepartment));
+        assertEquals("DISCONTINUED", status(discontinued));
+        assertEquals("DRAFT", status(failedChunkA));
+        assertEquals("DRAFT", status(failedChunkB));
+    }
+
+    @Test
+    void evictsIndexesForCommittedChunksWhenTheJobFails() {
+        Long first = item("FIRST", ItemStatus.DRAFT, true);
+        Long second = item("SECOND", ItemStatus.DRAFT, true);
+        Long third = item("THIRD", ItemStatus.DRAFT, true);
+
+        // Not a data access failure, so it ends the job after the first chunk committed
+        doNothing().doThrow(new IllegalStateException("outbox misconfigured"))
+                .when(catalogOutbox).appendAll(anyLong(), any(), any(), anyMap());
+
+        BulkJob<BulkItemStatusResultDto> job = bulkItemStatusService.submit(tenant.getId(), user.getId(),
+                new BulkItemStatusRequest(List.of(first, second, third), ItemStatus.ACTIVE));
+
+        assertEquals(BulkJob.Status.FAILED, job.getStatus());
+        assertEquals("ACTIVE", status(first));
+        assertEquals("DRAFT", status(third));
+        verify(itemSearchIndex).evict(tenant.getId());
+        verify(itemFacetIndex).evict(tenant.getId());
+    }
+
+    private Long item(String sku, ItemStatus status, boolean withDepartment) {
+        return inTransaction(() -> {
+            Item item = new Item(tenant, sku, sku);
+            item.setCategory(category);
+            item.setDepartment(withDepartment ? department : null);
+            item.setBaseUom(each);
+            item.setStatus(status);
+            return entityManager.persist(item).getId();
+        });
+    }
+
+    private String status(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM item WHERE id = ?", String.class, itemId);
+    }
+}
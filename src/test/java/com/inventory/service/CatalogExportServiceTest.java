@@ -0,0 +1,168 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.Item;
+import com.inventory.entity.ItemAttributeValue;
+import com.inventory.entity.ItemBarcode;
+import com.inventory.entity.ItemVariant;
+import com.inventory.entity.PackLevel;
+import com.inventory.entity.UserAccount;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a catalog spread over two chunks against H2. Variants, attribute values and barcodes
+ * are written interleaved across items, so their ids are not grouped by item and only the
+ * item-ordered merge puts each row under the right item and variant.
+ */
+@TestPropertySource(properties = "app.catalog-export.chunk-size=2")
+@Import({CatalogExportService.class, CatalogExportServiceTest.Config.class})
+class CatalogExportServiceTest extends CommittingJpaTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void createCatalog() {
+        inTransaction(() -> {
+            UserAccount creator = entityManager.find(UserAccount.class, user.getId());
+            Item shirt = item("SHIRT", "Shirt", new BigDecimal("9.99"));
+            Item mug = item("MUG", "Mug", null);
+            Item lamp = item("LAMP", "Lamp", new BigDecimal("25"));
+
+            AttributeDefinition color = entityManager.persist(
+                    new AttributeDefinition(tenant, "COLOR", "Color", AttributeDataType.TEXT));
+            AttributeDefinition weight = entityManager.persist(
+                    new AttributeDefinition(tenant, "WEIGHT", "Weight", AttributeDataType.NUMBER));
+
+            ItemVariant small = variant(shirt, "SHIRT-S");
+            ItemVariant lampEach = variant(lamp, "LAMP-1");
+            ItemVariant medium = variant(shirt, "SHIRT-M");
+
+            entityManager.persist(new ItemAttributeValue(tenant, lamp, weight, "2.5"));
+            entityManager.persist(new ItemAttributeValue(tenant, shirt, weight, "0.2"));
+            entityManager.persist(new ItemAttributeValue(tenant, mug, color, "White"));
+            entityManager.persist(new ItemAttributeValue(tenant, shirt, color, "Red"));
+
+            barcode(medium, "0614141000029", creator);
+            barcode(lampEach, "0614141000036", creator);
+            barcode(small, "0614141000012", creator);
+            barcode(small, "SHIRT-S-TAG", creator);
+        });
+    }
+
+    @Test
+    void writesOneNdjsonLinePerItemAcrossChunks() throws IOException {
+        String[] lines = export(CatalogExportService.Format.NDJSON).split("\n");
+
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), "Not one object per line: " + line);
+        }
+
+        JsonNode shirt = objectMapper.readTree(lines[0]);
+        assertEquals("SHIRT", shirt.get("sku").asText());
+        assertEquals(0, new BigDecimal("9.99").compareTo(shirt.get("basePrice").decimalValue()));
+        assertEquals("Red", shirt.get("attributes").get("COLOR").asText());
+        assertEquals("0.2", shirt.get("attributes").get("WEIGHT").asText());
+        assertEquals(2, shirt.get("variants").size());
+        assertEquals("SHIRT-S", shirt.get("variants").get(0).get("sku").asText());
+        assertEquals(List.of("0614141000012", "SHIRT-S-TAG"), barcodes(shirt.get("variants").get(0)));
+        assertEquals("SHIRT-M", shirt.get("variants").get(1).get("sku").asText());
+        assertEquals(List.of("0614141000029"), barcodes(shirt.get("variants").get(1)));
+        assertEquals("ACTIVE", shirt.get("variants").get(1).get("barcodes").get(0).get("status").asText());
+
+        JsonNode mug = objectMapper.readTree(lines[1]);
+        assertEquals("MUG", mug.get("sku").asText());
+        assertTrue(mug.get("basePrice").isNull());
+        assertEquals(1, mug.get("attributes").size());
+        assertEquals("White", mug.get("attributes").get("COLOR").asText());
+        assertEquals(0, mug.get("variants").size());
+
+        // First item of the second chunk
+        JsonNode lamp = objectMapper.readTree(lines[2]);
+        assertEquals("LAMP", lamp.get("sku").asText());
+        assertEquals(1, lamp.get("attributes").size());
+        assertEquals("2.5", lamp.get("attributes").get("WEIGHT").asText());
+        assertEquals(1, lamp.get("variants").size());
+        assertEquals(List.of("0614141000036"), barcodes(lamp.get("variants").get(0)));
+    }
+
+    @Test
+    void writesOneCsvRowPerVariantAcrossChunks() throws IOException {
+        assertEquals("item_sku,item_name,item_type,item_status,category_id,department_id,brand_id," +
+                "variant_sku,variant_name,gtin,variant_status,base_price,barcodes,attributes\r\n" +
+                "SHIRT,Shirt,SIMPLE,DRAFT,,,,SHIRT-S,,,ACTIVE,9.9900,0614141000012:EAN_13|SHIRT-S-TAG:CODE_128," +
+                "COLOR=Red|WEIGHT=0.2\r\n" +
+                "SHIRT,Shirt,SIMPLE,DRAFT,,,,SHIRT-M,,,ACTIVE,9.9900,0614141000029:EAN_13,COLOR=Red|WEIGHT=0.2\r\n" +
+                "MUG,Mug,SIMPLE,DRAFT,,,,,,,,,,COLOR=White\r\n" +
+                "LAMP,Lamp,SIMPLE,DRAFT,,,,LAMP-1,,,ACTIVE,25.0000,0614141000036:EAN_13,WEIGHT=2.5\r\n",
+                export(CatalogExportService.Format.CSV));
+    }
+
+    private String export(CatalogExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CatalogExportService.ExportSummary summary = catalogExportService.export(tenant.getId(), format, out);
+        assertEquals(3, summary.getItems());
+        assertEquals(3, summary.getVariants());
+        assertEquals(4, summary.getAttributeValues());
+        assertEquals(4, summary.getBarcodes());
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Item item(String sku, String name, BigDecimal basePrice) {
+        Item item = new Item(tenant, sku, name);
+        item.setBasePrice(basePrice);
+        return entityManager.persist(item);
+    }
+
+    private ItemVariant variant(Item item, String sku) {
+        return entityManager.persist(new ItemVariant(tenant, item, sku));
+    }
+
+    private void barcode(ItemVariant variant, String code, UserAccount creator) {
+        ItemBarcode barcode = new ItemBarcode(variant, code,
+                code.endsWith("-TAG") ? BarcodeType.CODE_128 : BarcodeType.EAN_13, creator);
+        barcode.setPackLevel(PackLevel.EACH);
+        barcode.setStatus(BarcodeStatus.ACTIVE);
+        entityManager.persist(barcode);
+    }
+
+    private static List<String> barcodes(JsonNode variant) {
+        List<String> codes = new ArrayList<>();
+        variant.get("barcodes").forEach(barcode -> codes.add(barcode.get("barcode").asText()));
+        return codes;
+    }
+}
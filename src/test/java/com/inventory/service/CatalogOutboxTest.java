@@ -0,0 +1,127 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.support.CatalogOutboxRows;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the outbox against H2 with real transactions, so appends commit or roll back with the
+ * caller and a relayed batch is only deleted when its transaction commits.
+ */
+@Import({CatalogOutbox.class, CatalogOutboxTest.Config.class})
+class CatalogOutboxTest extends CommittingJpaTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    /** Records every batch it is given, or fails them while {@code failing} is set */
+    static class RecordingSink implements CatalogEventSink {
+        final List<CatalogChangeEvent> delivered = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public void publish(List<CatalogChangeEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            delivered.addAll(events);
+        }
+    }
+
+    @Autowired
+    private CatalogOutbox catalogOutbox;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @BeforeEach
+    void createOutbox() {
+        CatalogOutboxRows.createTable(jdbcTemplate);
+        jdbcTemplate.update("DELETE FROM catalog_outbox");
+        sink.delivered.clear();
+        sink.failing = false;
+    }
+
+    @Test
+    void appendRequiresATransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> catalogOutbox.append(1L, AggregateType.ITEM, 10L, EventType.CREATED, "sku", "COLA"));
+        assertEquals(0, rows());
+    }
+
+    @Test
+    void relaysCommittedEventsInOrderAndDeletesThem() {
+        inTransaction(() -> {
+            catalogOutbox.append(1L, AggregateType.ITEM, 10L, EventType.CREATED, "sku", "COLA");
+            catalogOutbox.appendAll(1L, AggregateType.ITEM, EventType.STATUS_CHANGED, Map.of(
+                    10L, new Object[]{"status", "ACTIVE"}));
+        });
+
+        assertEquals(2, catalogOutbox.relayBatch());
+        assertEquals(2, sink.delivered.size());
+        assertEquals(EventType.CREATED, sink.delivered.get(0).getEventType());
+        assertEquals("{\"sku\":\"COLA\"}", sink.delivered.get(0).getPayload());
+        assertEquals(EventType.STATUS_CHANGED, sink.delivered.get(1).getEventType());
+        assertEquals(0, rows());
+        assertEquals(0, catalogOutbox.relayBatch());
+    }
+
+    @Test
+    void eventOfARolledBackTransactionIsNeverRelayed() {
+        assertThrows(IllegalArgumentException.class, () -> inTransaction(() -> {
+            catalogOutbox.append(1L, AggregateType.ITEM, 10L, EventType.CREATED, "sku", "COLA");
+            throw new IllegalArgumentException("change rejected after the event was appended");
+        }));
+
+        assertEquals(0, rows());
+        assertEquals(0, catalogOutbox.relayBatch());
+        assertTrue(sink.delivered.isEmpty());
+    }
+
+    @Test
+    void sinkFailureLeavesTheBatchForTheNextRun() {
+        inTransaction(() -> catalogOutbox.append(1L, AggregateType.BRAND, 5L, EventType.UPDATED, "code", "ACME"));
+
+        sink.failing = true;
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> catalogOutbox.relayBatch());
+        assertTrue(failure.getMessage().contains("broker unavailable"));
+        assertEquals(1, rows());
+
+        sink.failing = false;
+        assertEquals(1, catalogOutbox.relayBatch());
+        assertEquals(5L, sink.delivered.get(0).getAggregateId());
+        assertEquals(0, rows());
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM catalog_outbox", Integer.class);
+    }
+}
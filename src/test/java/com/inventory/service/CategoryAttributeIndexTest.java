@@ -0,0 +1,61 @@
+package com.inventory.service;
+
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import com.inventory.service.CategoryAttributeIndex.EffectiveAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryAttributeIndexTest {
+
+    @Test
+    void inheritsAttributesAndFollowsMovesAndSetChanges() {
+        // 1 > 2 > 3, and 4 is a separate root
+        Map<Long, Long> parents = new HashMap<>();
+        parents.put(1L, null);
+        parents.put(2L, 1L);
+        parents.put(3L, 2L);
+        parents.put(4L, null);
+        CategoryAttributeIndex.TenantAttributes index = new CategoryAttributeIndex.TenantAttributes(parents, List.of(
+                attribute(1L, 10L, "BRAND", true, 1),
+                attribute(1L, 11L, "COLOR", false, 2),
+                attribute(2L, 12L, "SIZE", false, 1),
+                attribute(3L, 11L, "COLOR", true, 1),
+                attribute(4L, 13L, "VOLTAGE", true, 1)));
+
+        assertEquals(List.of("BRAND", "COLOR", "SIZE"), codes(index.get(3L).getAll()));
+        // The nearer declaration makes COLOR required for category 3 only
+        assertEquals(List.of("BRAND", "COLOR"), codes(index.get(3L).getRequired()));
+        assertEquals(3L, index.get(3L).getAll().get(1).getCategoryId());
+        assertEquals(List.of("BRAND"), codes(index.get(2L).getRequired()));
+        assertTrue(index.get(99L).getAll().isEmpty());
+
+        // Moving 2 under 4 carries its subtree along
+        index.putCategory(2L, 4L);
+        assertEquals(List.of("VOLTAGE", "SIZE", "COLOR"), codes(index.get(3L).getAll()));
+        assertEquals(List.of("VOLTAGE", "COLOR"), codes(index.get(3L).getRequired()));
+
+        index.putAttribute(attribute(2L, 14L, "WEIGHT", true, 0));
+        index.removeAttribute(4L, 13L);
+        assertEquals(List.of("WEIGHT", "SIZE", "COLOR"), codes(index.get(3L).getAll()));
+        assertEquals(List.of("WEIGHT", "COLOR"), codes(index.get(3L).getRequired()));
+
+        index.removeCategory(3L);
+        assertTrue(index.get(3L).getAll().isEmpty());
+    }
+
+    private static EffectiveAttribute attribute(Long categoryId, Long definitionId, String code, boolean required,
+                                                int displayOrder) {
+        return new EffectiveAttribute(categoryId, definitionId, code, code, AttributeDataType.TEXT, required, displayOrder);
+    }
+
+    private static List<String> codes(List<EffectiveAttribute> attributes) {
+        return attributes.stream().map(EffectiveAttribute::getCode).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.inventory.service;
+
+import com.inventory.entity.GS1Configuration;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocates GTIN sequences from many threads on two allocators sharing one H2 database,
+ * standing in for two nodes, with a block size small enough that blocks run out constantly.
+ */
+@TestPropertySource(properties = "app.barcode.gtin.block-size=10")
+@Import(GS1SequenceAllocator.class)
+class GS1SequenceAllocatorTest extends CommittingJpaTest {
+
+    private static final int THREADS_PER_NODE = 4;
+    private static final int ALLOCATIONS_PER_THREAD = 100;
+
+    @Autowired
+    private GS1SequenceAllocator allocator;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private Long tenantId;
+    private Long configurationId;
+
+    @BeforeEach
+    void createConfiguration() {
+        tenantId = tenant.getId();
+        configurationId = inTransaction(() ->
+                entityManager.persist(new GS1Configuration(tenantId, "0614141", 99999, user))).getId();
+    }
+
+    @Test
+    void parallelAllocationsOnTwoNodesNeverShareASequence() throws Exception {
+        GS1SequenceAllocator otherNode = beanFactory.createBean(GS1SequenceAllocator.class);
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+        Set<String> gtins = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS_PER_NODE * 2; i++) {
+            GS1SequenceAllocator node = i % 2 == 0 ? allocator : otherNode;
+            workers.add(() -> {
+                start.await();
+                int allocated = 0;
+                for (int n = 1; n <= ALLOCATIONS_PER_THREAD; n++) {
+                    // Mostly single codes, some runs within a block and a few larger than a block
+                    int count = n % 25 == 0 ? 12 : n % 5 == 0 ? 3 : 1;
+                    GS1SequenceAllocator.Allocation allocation = node.allocate(tenantId, count);
+                    for (int offset = 0; offset < count; offset++) {
+                        assertTrue(sequences.add(allocation.getFirstSequence() + offset),
+                                "Sequence handed out twice: " + (allocation.getFirstSequence() + offset));
+                        gtins.add(allocation.gtin13(offset));
+                    }
+                    allocated += count;
+                }
+                return allocated;
+            });
+        }
+
+        ExecutorService threads = Executors.newFixedThreadPool(workers.size());
+        int allocated = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Callable<Integer> worker : workers) {
+                results.add(threads.submit(worker));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                allocated += result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(allocated, sequences.size());
+        assertEquals(allocated, gtins.size());
+        long nextSequence = jdbcTemplate.queryForObject(
+                "SELECT next_sequence FROM gs1_configuration WHERE id = ?", Long.class, configurationId);
+        assertTrue(sequences.stream().allMatch(sequence -> sequence >= 1 && sequence < nextSequence),
+                "Every sequence must lie below the reserved high-water mark " + nextSequence);
+    }
+}
@@ -0,0 +1,171 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.ItemAttributeImportResultDto;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import com.inventory.entity.Item;
+import com.inventory.support.CatalogOutboxRows;
+import com.inventory.support.CommittingJpaTest;
+import com.inventory.util.BulkJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs attribute imports against H2 in MySQL mode, so the batch upsert takes its
+ * {@code ON DUPLICATE KEY UPDATE} path on the second import of the same values.
+ */
+@TestPropertySource(properties = "app.item-attribute-import.chunk-size=2")
+@Import({ItemAttributeImportService.class, AttributeValidatorCache.class, BulkJobRegistry.class,
+        CatalogOutboxRows.Config.class, ItemAttributeImportServiceTest.Config.class})
+class ItemAttributeImportServiceTest extends CommittingJpaTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private ItemAttributeImportService itemAttributeImportService;
+
+    @MockBean
+    private ItemFacetIndex itemFacetIndex;
+
+    private Long shirt;
+    private Long lamp;
+    private Long weight;
+    private Long color;
+    private Long launch;
+
+    @BeforeEach
+    void createCatalog() {
+        CatalogOutboxRows.createTable(jdbcTemplate);
+        inTransaction(() -> {
+            shirt = entityManager.persist(new Item(tenant, "SHIRT", "Shirt")).getId();
+            lamp = entityManager.persist(new Item(tenant, "LAMP", "Lamp")).getId();
+            weight = entityManager.persist(new AttributeDefinition(tenant, "WEIGHT", "Weight", AttributeDataType.NUMBER)).getId();
+            color = entityManager.persist(new AttributeDefinition(tenant, "COLOR", "Color", AttributeDataType.LIST)).getId();
+            launch = entityManager.persist(new AttributeDefinition(tenant, "LAUNCH", "Launch date", AttributeDataType.DATE)).getId();
+        });
+        // H2 stores a bound string in a JSON column as a JSON string, so the array is written as JSON text
+        jdbcTemplate.update("UPDATE attribute_definition SET allowed_values = ? FORMAT JSON WHERE id = ?",
+                "[\"Red\", \"Blue\"]", color);
+    }
+
+    @Test
+    void insertsThenUpdatesTypedValues() throws IOException {
+        BulkJob<ItemAttributeImportResultDto> first = importCsv(
+                "sku,attribute_code,value\n" +
+                "SHIRT,WEIGHT,12.5\n" +
+                "SHIRT,color,Red\n" +
+                "LAMP,LAUNCH,2025-03-01\n");
+        assertEquals(3, first.getSucceeded());
+        assertEquals(0, first.getFailed());
+
+        Map<String, Object> shirtWeight = value(shirt, weight);
+        assertEquals(0, new BigDecimal("12.5").compareTo((BigDecimal) shirtWeight.get("value_number")));
+        assertEquals("Red", value(shirt, color).get("value_option"));
+        assertEquals(Date.valueOf("2025-03-01"), value(lamp, launch).get("value_date"));
+        assertEquals(List.of(shirt, lamp), updatedEvents());
+
+        BulkJob<ItemAttributeImportResultDto> second = importCsv(
+                "value,sku,attribute_code\n" +
+                "20,SHIRT,WEIGHT\n" +
+                "Blue,SHIRT,COLOR\n" +
+                "not a date,LAMP,LAUNCH\n");
+        assertEquals(2, second.getSucceeded());
+        assertEquals(1, second.getFailed());
+
+        // Updated in place rather than inserted again, with the typed columns recomputed
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_attribute_value WHERE tenant_id = ?", Integer.class, tenant.getId()));
+        assertEquals(0, new BigDecimal("20").compareTo((BigDecimal) value(shirt, weight).get("value_number")));
+        assertEquals("Blue", value(shirt, color).get("value"));
+        assertEquals("Blue", value(shirt, color).get("value_option"));
+        assertEquals(Date.valueOf("2025-03-01"), value(lamp, launch).get("value_date"));
+        verify(itemFacetIndex, times(2)).evict(tenant.getId());
+        // One event per item and chunk, none for the rejected row
+        assertEquals(List.of(shirt, lamp, shirt), updatedEvents());
+    }
+
+    @Test
+    void reportsRejectedRowsWithoutWritingThem() throws IOException {
+        BulkJob<ItemAttributeImportResultDto> job = importCsv(
+                "sku,attribute_code,value\n" +
+                "SHIRT,WEIGHT,heavy\n" +
+                "LAMP,LAUNCH,2024-02-30\n" +
+                "GHOST,WEIGHT,1\n" +
+                "LAMP,VOLTAGE,230\n" +
+                "LAMP,WEIGHT,\n" +
+                "LAMP,WEIGHT,3\n" +
+                "LAMP,WEIGHT,4\n" +
+                "SHIRT,WEIGHT,1,extra\n");
+
+        assertEquals(1, job.getSucceeded());
+        assertEquals(7, job.getFailed());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_attribute_value WHERE tenant_id = ?", Integer.class, tenant.getId()));
+        assertEquals(0, new BigDecimal("3").compareTo((BigDecimal) value(lamp, weight).get("value_number")));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT MAX(value_date) FROM item_attribute_value WHERE item_id = ?", Date.class, lamp));
+
+        StringWriter report = new StringWriter();
+        itemAttributeImportService.writeReport(job, report);
+        assertEquals("row,sku,attribute_code,error\r\n" +
+                "2,SHIRT,WEIGHT,Attribute WEIGHT must be a number\r\n" +
+                "3,LAMP,LAUNCH,Attribute LAUNCH must be a date (yyyy-MM-dd)\r\n" +
+                "4,GHOST,WEIGHT,Item not found: GHOST\r\n" +
+                "5,LAMP,VOLTAGE,Attribute not found: VOLTAGE\r\n" +
+                "6,LAMP,WEIGHT,Attribute WEIGHT requires a value\r\n" +
+                "8,LAMP,WEIGHT,\"Duplicate value for this SKU and attribute, first given on row 7\"\r\n" +
+                "9,SHIRT,WEIGHT,Expected 3 columns but found 4\r\n", report.toString());
+        assertEquals(List.of(lamp), updatedEvents());
+    }
+
+    private List<Long> updatedEvents() {
+        return CatalogOutboxRows.aggregateIds(jdbcTemplate, tenant.getId(), AggregateType.ITEM, EventType.UPDATED);
+    }
+
+    private BulkJob<ItemAttributeImportResultDto> importCsv(String csv) throws IOException {
+        return itemAttributeImportService.submit(tenant.getId(), user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Object> value(Long itemId, Long definitionId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT * FROM item_attribute_value WHERE item_id = ? AND attribute_definition_id = ?",
+                itemId, definitionId);
+    }
+}
@@ -0,0 +1,130 @@
+package com.inventory.service;
+
+import com.inventory.entity.BarcodeStatus;
+import com.inventory.entity.BarcodeType;
+import com.inventory.entity.GS1Configuration;
+import com.inventory.entity.ItemBarcode;
+import com.inventory.repository.ItemBarcodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a GS1 element string is parsed before any lookup, and that its GTIN is resolved
+ * through its shorter forms from the index, with a single query only once the index misses.
+ * Batches resolve the same way, confirming only the codes the index missed.
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemBarcodeScanTest {
+
+    private static final Long TENANT = 1L;
+    private static final String GTIN13 = GS1Configuration.formatGTIN13("0614141", 1);
+    private static final String GTIN14 = "0" + GTIN13;
+
+    @Mock
+    private ItemBarcodeRepository itemBarcodeRepository;
+
+    @Mock
+    private BarcodeResolutionIndex barcodeResolutionIndex;
+
+    @InjectMocks
+    private ItemBarcodeService itemBarcodeService;
+
+    @Test
+    void listsTheShorterFormsLeadingZerosAllow() {
+        assertEquals(List.of("00614141000012", "0614141000012", "614141000012"),
+                ItemBarcodeService.gtinForms("00614141000012"));
+        assertEquals(List.of("00000012345670", "0000012345670", "000012345670", "12345670"),
+                ItemBarcodeService.gtinForms("00000012345670"));
+        assertEquals(List.of("10614141000019"), ItemBarcodeService.gtinForms("10614141000019"));
+    }
+
+    @Test
+    void resolvesAnIndexedShorterFormWithoutQuerying() {
+        when(barcodeResolutionIndex.resolve(eq(TENANT), anyString())).thenReturn(Optional.empty());
+        when(barcodeResolutionIndex.resolve(TENANT, GTIN13)).thenReturn(Optional.of(
+                BarcodeResolutionIndex.Resolution.of(barcode(7L, GTIN13, BarcodeStatus.ACTIVE))));
+
+        ItemBarcodeService.ScanResult result = itemBarcodeService.scan(TENANT, "(01)" + GTIN14 + "(10)LOT7");
+
+        assertEquals(7L, result.getResolution().orElseThrow().getBarcodeId());
+        verifyNoInteractions(itemBarcodeRepository);
+    }
+
+    @Test
+    void resolvesAStoredShorterFormWithOneQuery() {
+        String input = "(01)" + GTIN14 + "(10)LOT7";
+        List<String> candidates = new ArrayList<>();
+        candidates.add(input);
+        candidates.addAll(ItemBarcodeService.gtinForms(GTIN14));
+        when(barcodeResolutionIndex.resolve(eq(TENANT), anyString())).thenReturn(Optional.empty());
+        when(itemBarcodeRepository.findByTenantIdAndBarcodeIn(TENANT, candidates))
+                .thenReturn(List.of(barcode(7L, GTIN13, BarcodeStatus.ACTIVE)));
+
+        ItemBarcodeService.ScanResult result = itemBarcodeService.scan(TENANT, input);
+
+        assertEquals(GTIN14, result.getGtin());
+        assertEquals("LOT7", result.getLot());
+        assertEquals(7L, result.getResolution().orElseThrow().getBarcodeId());
+        verify(itemBarcodeRepository, times(1)).findByTenantIdAndBarcodeIn(eq(TENANT), any());
+        verify(itemBarcodeRepository, never()).findByTenantIdAndBarcode(any(), any());
+        verify(barcodeResolutionIndex).add(eq(TENANT), any());
+    }
+
+    @Test
+    void ignoresFormsThatAreNotActive() {
+        when(barcodeResolutionIndex.resolve(eq(TENANT), anyString())).thenReturn(Optional.empty());
+        when(itemBarcodeRepository.findByTenantIdAndBarcodeIn(eq(TENANT), any()))
+                .thenReturn(List.of(barcode(7L, GTIN13, BarcodeStatus.DEPRECATED)));
+
+        assertFalse(itemBarcodeService.scan(TENANT, "(01)" + GTIN14).getResolution().isPresent());
+    }
+
+    @Test
+    void resolvesABatchFromTheIndexAndConfirmsOnlyTheMisses() {
+        when(barcodeResolutionIndex.resolve(eq(TENANT), anyString())).thenReturn(Optional.empty());
+        when(barcodeResolutionIndex.resolve(TENANT, GTIN13)).thenReturn(Optional.of(
+                BarcodeResolutionIndex.Resolution.of(barcode(7L, GTIN13, BarcodeStatus.ACTIVE))));
+        when(itemBarcodeRepository.findByTenantIdAndBarcodeIn(TENANT, List.of("TAG-1", "OLD-1", "NONE")))
+                .thenReturn(List.of(barcode(8L, "TAG-1", BarcodeStatus.ACTIVE),
+                        barcode(9L, "OLD-1", BarcodeStatus.DEPRECATED)));
+
+        Map<String, BarcodeResolutionIndex.Resolution> resolved = itemBarcodeService.resolveScans(TENANT,
+                List.of(GTIN13, "TAG-1", "OLD-1", "NONE", GTIN13));
+
+        assertEquals(Set.of(GTIN13, "TAG-1"), resolved.keySet());
+        assertEquals(7L, resolved.get(GTIN13).getBarcodeId());
+        assertEquals(8L, resolved.get("TAG-1").getBarcodeId());
+        verify(itemBarcodeRepository, times(1)).findByTenantIdAndBarcodeIn(eq(TENANT), any());
+        verify(barcodeResolutionIndex, times(1)).add(eq(TENANT), any());
+    }
+
+    private static ItemBarcode barcode(Long id, String code, BarcodeStatus status) {
+        ItemBarcode barcode = new ItemBarcode();
+        barcode.setId(id);
+        barcode.setTenantId(TENANT);
+        barcode.setBarcode(code);
+        barcode.setBarcodeType(BarcodeType.EAN_13);
+        barcode.setStatus(status);
+        return barcode;
+    }
+}
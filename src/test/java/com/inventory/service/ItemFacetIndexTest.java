@@ -0,0 +1,58 @@
+package com.inventory.service;
+
+import com.inventory.dto.ItemFacetCounts;
+import com.inventory.entity.Item.ItemStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ItemFacetIndexTest {
+
+    @Test
+    void countsFacetsOfTheMatchingItems() {
+        ItemFacetIndex.TenantFacets index = new ItemFacetIndex.TenantFacets();
+        index.putItem(1L, ItemStatus.ACTIVE, 1L, 10L, 100L);
+        index.putItem(2L, ItemStatus.ACTIVE, 1L, 10L, 200L);
+        index.putItem(3L, ItemStatus.DRAFT, 1L, 20L, 100L);
+        index.set(1L, ItemFacetIndex.attributeFacet(7L), "Red");
+        index.set(2L, ItemFacetIndex.attributeFacet(7L), "Blue");
+        index.set(3L, ItemFacetIndex.attributeFacet(7L), "Red");
+
+        ItemFacetCounts counts = index.count(Map.of(ItemFacetIndex.BRAND, List.of("100")));
+        assertEquals(2, counts.getTotal());
+        assertEquals(Map.of("ACTIVE", 1, "DRAFT", 1), counts.getFacets().get(ItemFacetIndex.STATUS));
+        assertEquals(Map.of("Red", 2), counts.getFacets().get("attribute:7"));
+        // The selected facet is counted without its own selection
+        assertEquals(Map.of("100", 2, "200", 1), counts.getFacets().get(ItemFacetIndex.BRAND));
+
+        index.putItem(3L, ItemStatus.ACTIVE, 1L, 20L, 200L);
+        index.removeItem(2L);
+        counts = index.count(Map.of(ItemFacetIndex.STATUS, List.of("ACTIVE"), "attribute:7", List.of("Red", "Blue")));
+        assertEquals(2, counts.getTotal());
+        assertEquals(Map.of("100", 1, "200", 1), counts.getFacets().get(ItemFacetIndex.BRAND));
+        assertEquals(Map.of("Red", 2), counts.getFacets().get("attribute:7"));
+        assertNull(counts.getFacets().get("missing"));
+    }
+
+    @Test
+    void reusedOrdinalStartsWithoutValues() {
+        ItemFacetIndex.TenantFacets index = new ItemFacetIndex.TenantFacets();
+        index.putItem(1L, ItemStatus.ACTIVE, null, 10L, null);
+        index.set(1L, ItemFacetIndex.attributeFacet(7L), "Red");
+        index.removeItem(1L);
+
+        // Takes the ordinal item 1 released
+        index.putItem(2L, ItemStatus.DRAFT, null, null, null);
+
+        ItemFacetCounts counts = index.count(Map.of());
+        assertEquals(1, counts.getTotal());
+        assertEquals(Map.of(ItemFacetIndex.STATUS, Map.of("DRAFT", 1)), counts.getFacets());
+
+        index.set(2L, ItemFacetIndex.attributeFacet(7L), "Red");
+        assertEquals(1, index.count(Map.of("attribute:7", List.of("Red"))).getTotal());
+    }
+}
@@ -0,0 +1,234 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.dto.ItemImportResultDto;
+import com.inventory.entity.Category;
+import com.inventory.entity.Item;
+import com.inventory.entity.Tenant;
+import com.inventory.repository.ItemRepository;
+import com.inventory.support.CatalogOutboxRows;
+import com.inventory.support.CommittingJpaTest;
+import com.inventory.util.BulkJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs item imports against H2 with real chunk transactions on a two-thread import executor.
+ * The existing-SKU lookup runs real SQL but can hide SKUs, standing in for another writer that
+ * inserts them after the lookup. Events go to the real outbox, so only committed chunks leave
+ * events behind.
+ */
+@TestPropertySource(properties = "app.item-import.chunk-size=2")
+@Import({ItemImportService.class, BulkJobRegistry.class, CatalogOutboxRows.Config.class, ItemImportServiceTest.Config.class})
+class ItemImportServiceTest extends CommittingJpaTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor itemImportExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(2);
+            executor.setMaxPoolSize(2);
+            executor.setQueueCapacity(1);
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            return executor;
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private ItemFacetIndex itemFacetIndex;
+
+    private final Set<String> hiddenSkus = new HashSet<>();
+
+    @BeforeEach
+    void createCategory() {
+        CatalogOutboxRows.createTable(jdbcTemplate);
+
+        inTransaction(() -> {
+            entityManager.persist(new Category(tenant, "BEV", "Beverages"));
+        });
+
+        when(itemRepository.findExistingSkus(anyLong(), any())).thenAnswer(invocation -> {
+            List<String> existing = namedParameterJdbcTemplate.queryForList(
+                    "SELECT sku FROM item WHERE tenant_id = :tenantId AND sku IN (:skus)",
+                    new MapSqlParameterSource("tenantId", invocation.getArgument(0))
+                            .addValue("skus", invocation.<Collection<String>>getArgument(1)),
+                    String.class);
+            existing.removeAll(hiddenSkus);
+            return existing;
+        });
+    }
+
+    @Test
+    void insertsChunksInBatches() throws IOException {
+        BulkJob<ItemImportResultDto> job = importCsv(
+                "sku,name,category_code,base_price\n" +
+                "COLA,Cola,bev,1.50\n" +
+                "WATER,Water,BEV,\n" +
+                "JUICE,Juice,,2\n" +
+                "TEA,Tea,COFFEE,1\n" +
+                "SODA,,BEV,1\n", false);
+
+        assertEquals(3, job.getSucceeded());
+        assertEquals(2, job.getFailed());
+        assertEquals(List.of("COLA", "JUICE", "WATER"), skus());
+        assertEquals(1, count("SELECT COUNT(*) FROM item WHERE tenant_id = :tenantId AND sku = 'COLA' " +
+                "AND category_id IS NOT NULL AND status = 'DRAFT'"));
+        assertEquals("row,sku,result,error\r\n" +
+                "5,TEA,FAILED,Unknown category code: COFFEE\r\n" +
+                "6,SODA,FAILED,name is required\r\n", report(job));
+    }
+
+    @Test
+    void retriesAChunkRowByRowWhenAnotherWriterTookASku() throws IOException {
+        insertItem("TAKEN");
+        hiddenSkus.add("TAKEN");
+
+        BulkJob<ItemImportResultDto> job = importCsv(
+                "sku,name\n" +
+                "FIRST,First\n" +
+                "TAKEN,Taken\n" +
+                "THIRD,Third\n", false);
+
+        assertEquals(2, job.getSucceeded());
+        assertEquals(1, job.getFailed());
+        assertEquals(List.of("FIRST", "TAKEN", "THIRD"), skus());
+        assertEquals(1, count("SELECT COUNT(*) FROM item WHERE tenant_id = :tenantId AND name = 'First'"));
+        assertEquals("row,sku,result,error\r\n" +
+                "3,TAKEN,FAILED,Item SKU already exists: TAKEN\r\n", report(job));
+    }
+
+    @Test
+    void skipExistingResumesAnInterruptedImport() throws IOException {
+        String csv = "sku,name\n" +
+                "ONE,One\n" +
+                "TWO,Two\n" +
+                "THREE,Three\n";
+        // The first run stopped after writing its first chunk
+        insertItem("ONE");
+        insertItem("TWO");
+
+        BulkJob<ItemImportResultDto> withoutSkip = importCsv(csv, false);
+        assertEquals(1, withoutSkip.getSucceeded());
+        assertEquals(2, withoutSkip.getFailed());
+
+        deleteItem("THREE");
+        BulkJob<ItemImportResultDto> resumed = importCsv(csv, true);
+        assertEquals(3, resumed.getSucceeded());
+        assertEquals(0, resumed.getFailed());
+        assertEquals(List.of("ONE", "THREE", "TWO"), skus());
+        assertEquals("row,sku,result,error\r\n" +
+                "2,ONE,SKIPPED,\r\n" +
+                "3,TWO,SKIPPED,\r\n", report(resumed));
+    }
+
+    @Test
+    void appendsACreatedEventForEveryCommittedItem() throws IOException {
+        insertItem("TAKEN");
+        hiddenSkus.add("TAKEN");
+
+        // The chunk holding TAKEN rolls back, events included, and is retried row by row
+        BulkJob<ItemImportResultDto> job = importCsv(
+                "sku,name,base_price\n" +
+                "COLA,Cola,1.50\n" +
+                "TAKEN,Taken,1\n" +
+                "WATER,Water,\n" +
+                "JUICE,Juice,2\n", false);
+
+        assertEquals(3, job.getSucceeded());
+        List<Long> imported = namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM item WHERE tenant_id = :tenantId AND sku <> 'TAKEN' ORDER BY id",
+                new MapSqlParameterSource("tenantId", tenant.getId()), Long.class);
+        assertEquals(3, imported.size());
+        List<Long> events = CatalogOutboxRows.aggregateIds(jdbcTemplate, tenant.getId(), AggregateType.ITEM,
+                EventType.CREATED);
+        events.sort(null);
+        assertEquals(imported, events);
+        Long cola = jdbcTemplate.queryForObject("SELECT id FROM item WHERE tenant_id = ? AND sku = 'COLA'",
+                Long.class, tenant.getId());
+        assertTrue(CatalogOutboxRows.payloads(jdbcTemplate, tenant.getId(), AggregateType.ITEM, cola, EventType.CREATED)
+                .get(0).contains("\"sku\":\"COLA\""));
+    }
+
+    private BulkJob<ItemImportResultDto> importCsv(String csv, boolean skipExisting) throws IOException {
+        return itemImportService.submit(tenant.getId(), user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), skipExisting);
+    }
+
+    private String report(BulkJob<ItemImportResultDto> job) throws IOException {
+        StringWriter report = new StringWriter();
+        itemImportService.writeReport(job, report);
+        return report.toString();
+    }
+
+    private void insertItem(String sku) {
+        inTransaction(() ->
+                entityManager.persist(new Item(entityManager.find(Tenant.class, tenant.getId()), sku, sku)));
+    }
+
+    private void deleteItem(String sku) {
+        namedParameterJdbcTemplate.update("DELETE FROM item WHERE tenant_id = :tenantId AND sku = :sku",
+                new MapSqlParameterSource("tenantId", tenant.getId()).addValue("sku", sku));
+    }
+
+    private List<String> skus() {
+        return namedParameterJdbcTemplate.queryForList("SELECT sku FROM item WHERE tenant_id = :tenantId ORDER BY sku",
+                new MapSqlParameterSource("tenantId", tenant.getId()), String.class);
+    }
+
+    private int count(String sql) {
+        return namedParameterJdbcTemplate.queryForObject(sql, new MapSqlParameterSource("tenantId", tenant.getId()),
+                Integer.class);
+    }
+}
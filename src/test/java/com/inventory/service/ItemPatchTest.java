@@ -0,0 +1,165 @@
+package com.inventory.service;
+
+import com.inventory.dto.ItemPatchRequest;
+import com.inventory.entity.Brand;
+import com.inventory.entity.Brand.BrandStatus;
+import com.inventory.entity.Item;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Runs item patches against H2 with committed transactions, so each check reads what was
+ * actually written.
+ */
+@Import({ItemService.class, CatalogReferenceCache.class})
+class ItemPatchTest extends CommittingJpaTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private ItemFacetIndex itemFacetIndex;
+
+    @MockBean
+    private CatalogOutbox catalogOutbox;
+
+    @MockBean
+    private AttributeService attributeService;
+
+    @MockBean
+    private CategoryAttributeIndex categoryAttributeIndex;
+
+    private Long itemId;
+    private Long activeBrand;
+    private Long inactiveBrand;
+
+    @BeforeEach
+    void createItem() {
+        inTransaction(() -> {
+            Item item = new Item(tenant, "COLA", "Cola");
+            item.setShortName("Cola 500");
+            item.setDescription("Sparkling");
+            item.setBasePrice(new BigDecimal("1.50"));
+            itemId = entityManager.persist(item).getId();
+
+            activeBrand = brand("FIZZ", BrandStatus.ACTIVE).getId();
+            inactiveBrand = brand("OLD", BrandStatus.INACTIVE).getId();
+        });
+    }
+
+    @Test
+    void appliesOnlyTheMaskedFields() {
+        ItemPatchRequest patch = ItemPatchRequest.builder()
+                .version(version())
+                .fieldMask(Set.of("name", "description"))
+                .name("Cola Zero")
+                .description(null)
+                .shortName("ignored")
+                .basePrice(new BigDecimal("9"))
+                .build();
+
+        itemService.patchItem(itemId, tenant.getId(), patch, user);
+
+        Map<String, Object> row = row();
+        assertEquals("Cola Zero", row.get("name"));
+        assertEquals(null, row.get("description"));
+        assertEquals("Cola 500", row.get("short_name"));
+        assertEquals(0, new BigDecimal("1.50").compareTo((BigDecimal) row.get("base_price")));
+        assertEquals("COLA", row.get("sku"));
+        assertEquals(1L, version());
+    }
+
+    @Test
+    void patchThatChangesNothingWritesNothing() {
+        itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                .version(0L)
+                .fieldMask(Set.of("name", "basePrice"))
+                .name("Cola")
+                .basePrice(new BigDecimal("1.5"))
+                .build(), user);
+
+        assertEquals(0L, version());
+        verifyNoInteractions(catalogOutbox);
+    }
+
+    @Test
+    void rejectsAStaleVersion() {
+        itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                .version(0L).fieldMask(Set.of("name")).name("First").build(), user);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                        .version(0L).fieldMask(Set.of("name")).name("Second").build(), user));
+        assertEquals("First", row().get("name"));
+        assertEquals(1L, version());
+    }
+
+    @Test
+    void rejectsUnknownAndReadOnlyFields() {
+        assertEquals("Unknown or read-only field in mask: colour", assertThrows(IllegalArgumentException.class, () ->
+                itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                        .version(0L).fieldMask(Set.of("colour")).build(), user)).getMessage());
+        assertEquals("Unknown or read-only field in mask: status", assertThrows(IllegalArgumentException.class, () ->
+                itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                        .version(0L).fieldMask(Set.of("status")).build(), user)).getMessage());
+        assertEquals("Cola", row().get("name"));
+        assertEquals(0L, version());
+    }
+
+    @Test
+    void rejectsAssigningAnInactiveBrand() {
+        assertEquals("Brand is inactive: " + inactiveBrand, assertThrows(IllegalArgumentException.class, () ->
+                itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                        .version(0L).fieldMask(Set.of("brandId")).brandId(inactiveBrand).build(), user)).getMessage());
+        assertEquals(null, row().get("brand_id"));
+
+        itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                .version(0L).fieldMask(Set.of("brandId")).brandId(activeBrand).build(), user);
+        assertEquals(activeBrand, ((Number) row().get("brand_id")).longValue());
+    }
+
+    @Test
+    void keepsABrandDeactivatedAfterItWasAssigned() {
+        jdbcTemplate.update("UPDATE item SET brand_id = ? WHERE id = ?", inactiveBrand, itemId);
+
+        itemService.patchItem(itemId, tenant.getId(), ItemPatchRequest.builder()
+                .version(0L).fieldMask(Set.of("brandId", "name")).brandId(inactiveBrand).name("Cola Classic").build(),
+                user);
+
+        assertEquals("Cola Classic", row().get("name"));
+        assertEquals(inactiveBrand, ((Number) row().get("brand_id")).longValue());
+    }
+
+    private Brand brand(String code, BrandStatus status) {
+        Brand brand = new Brand(tenant, code, code);
+        brand.setStatus(status);
+        brand.setCreatedAt(LocalDateTime.now());
+        brand.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(brand);
+    }
+
+    private Map<String, Object> row() {
+        return jdbcTemplate.queryForMap("SELECT * FROM item WHERE id = ?", itemId);
+    }
+
+    private Long version() {
+        return jdbcTemplate.queryForObject("SELECT version FROM item WHERE id = ?", Long.class, itemId);
+    }
+}
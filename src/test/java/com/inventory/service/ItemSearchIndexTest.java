@@ -0,0 +1,42 @@
+package com.inventory.service;
+
+import com.inventory.entity.Item.ItemStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+
+    @Test
+    void matchesEveryTokenByPrefixAndRanksByField() {
+        ItemSearchIndex.TenantIndex index = new ItemSearchIndex.TenantIndex();
+        index.put(document(1L, "COLA-330", "Cola Classic 330ml", "Refreshing cola", ItemStatus.ACTIVE, 10L));
+        index.put(document(2L, "WAT-500", "Still Water 500ml", "Goes well with cola", ItemStatus.ACTIVE, 10L));
+        index.put(document(3L, "COLA-500", "Cola Zero 500ml", null, ItemStatus.DRAFT, 20L));
+
+        assertEquals(List.of(1L, 3L, 2L), search(index, "cola", null, null));
+        assertEquals(List.of(2L, 3L), search(index, "50", null, null));
+        assertEquals(List.of(3L), search(index, "col zer", null, null));
+        assertEquals(List.of(3L, 2L), search(index, "cola-500", null, null));
+        assertEquals(List.of(1L, 2L), search(index, "cola", ItemStatus.ACTIVE, 10L));
+
+        index.remove(1L);
+        index.put(document(3L, "LEM-500", "Lemonade 500ml", null, ItemStatus.DRAFT, 20L));
+        assertEquals(List.of(2L), search(index, "cola", null, null));
+    }
+
+    private static List<Long> search(ItemSearchIndex.TenantIndex index, String query, ItemStatus status, Long categoryId) {
+        return index.search(ItemSearchIndex.tokenize(query, Integer.MAX_VALUE), query, filter(status, categoryId));
+    }
+
+    private static ItemSearchIndex.Filter filter(ItemStatus status, Long categoryId) {
+        return new ItemSearchIndex.Filter(null, categoryId, null, status);
+    }
+
+    private static ItemSearchIndex.Document document(Long id, String sku, String name, String description,
+                                                     ItemStatus status, Long categoryId) {
+        return new ItemSearchIndex.Document(id, sku, name, null, description, null, status, null, categoryId, null);
+    }
+}
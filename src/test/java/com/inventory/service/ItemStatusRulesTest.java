@@ -0,0 +1,46 @@
+package com.inventory.service;
+
+import com.inventory.entity.Item.ItemStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ItemStatusRulesTest {
+
+    private static final Function<Long, List<String>> NONE_MISSING = categoryId -> List.of();
+
+    @Test
+    void allowsActivatingDraftsAndDiscontinuingActiveItems() {
+        assertNull(ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.ACTIVE, 1L, true, true, NONE_MISSING));
+        assertNull(ItemStatusRules.check(ItemStatus.ACTIVE, ItemStatus.DISCONTINUED, null, false, false, NONE_MISSING));
+    }
+
+    @Test
+    void rejectsOtherTransitions() {
+        assertEquals("Items in DISCONTINUED status cannot be changed to ACTIVE",
+                ItemStatusRules.check(ItemStatus.DISCONTINUED, ItemStatus.ACTIVE, 1L, true, true, NONE_MISSING));
+        assertEquals("Items in DRAFT status cannot be changed to DISCONTINUED",
+                ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.DISCONTINUED, 1L, true, true, NONE_MISSING));
+        assertEquals("Items in ACTIVE status cannot be changed to DRAFT",
+                ItemStatusRules.check(ItemStatus.ACTIVE, ItemStatus.DRAFT, 1L, true, true, NONE_MISSING));
+        assertEquals("Item is already in ACTIVE status",
+                ItemStatusRules.check(ItemStatus.ACTIVE, ItemStatus.ACTIVE, 1L, true, true, NONE_MISSING));
+    }
+
+    @Test
+    void rejectsActivationWithoutPrerequisites() {
+        assertEquals("Category is required to activate item",
+                ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.ACTIVE, null, true, true, NONE_MISSING));
+        assertEquals("Department is required to activate item",
+                ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.ACTIVE, 1L, false, true, NONE_MISSING));
+        assertEquals("Base unit of measure is required to activate item",
+                ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.ACTIVE, 1L, true, false, NONE_MISSING));
+        assertEquals("Required attributes are missing: COLOR, SIZE",
+                ItemStatusRules.check(ItemStatus.DRAFT, ItemStatus.ACTIVE, 1L, true, true,
+                        categoryId -> List.of("COLOR", "SIZE")));
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory.service;
+
+import com.inventory.entity.Item;
+import com.inventory.entity.ItemVariant;
+import com.inventory.repository.ItemRepository;
+import com.inventory.support.CommittingJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@code item.variant_count} follows variant creates and deletes, committed
+ * through the service against H2.
+ */
+@Import(ItemService.class)
+class ItemVariantCountTest extends CommittingJpaTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private ItemFacetIndex itemFacetIndex;
+
+    @MockBean
+    private CatalogReferenceCache catalogReferenceCache;
+
+    @MockBean
+    private CatalogOutbox catalogOutbox;
+
+    @MockBean
+    private AttributeService attributeService;
+
+    @MockBean
+    private CategoryAttributeIndex categoryAttributeIndex;
+
+    private Long itemId;
+
+    @BeforeEach
+    void createItem() {
+        inTransaction(() -> {
+            itemId = entityManager.persist(new Item(tenant, "SHIRT", "Shirt")).getId();
+        });
+    }
+
+    @Test
+    void followsCreatesAndDeletes() {
+        Long small = createVariant("SHIRT-S").getId();
+        Long medium = createVariant("SHIRT-M").getId();
+        createVariant("SHIRT-L");
+        assertEquals(3, variantCount());
+
+        itemService.deleteVariant(medium, tenant.getId(), user);
+        assertEquals(2, variantCount());
+        assertEquals(2, actualVariants());
+
+        assertThrows(IllegalArgumentException.class, () -> createVariant("SHIRT-S"));
+        assertEquals(2, variantCount());
+
+        itemService.deleteVariant(small, tenant.getId(), user);
+        assertEquals(1, variantCount());
+        assertEquals(1, actualVariants());
+    }
+
+    @Test
+    void concurrentCreatesAreAllCounted() throws Exception {
+        int threads = 4;
+        int perThread = 5;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    createVariant("SHIRT-" + thread + "-" + i);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                results.add(pool.submit(worker));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, variantCount());
+        assertEquals(threads * perThread, actualVariants());
+    }
+
+    @Test
+    void neverGoesBelowZero() {
+        Integer updated = inTransaction(() ->
+                itemRepository.adjustVariantCount(itemId, -1));
+
+        assertEquals(0, updated);
+        assertEquals(0, variantCount());
+    }
+
+    private ItemVariant createVariant(String sku) {
+        return itemService.createVariant(itemId, tenant.getId(), new ItemVariant(null, null, sku), user);
+    }
+
+    private int variantCount() {
+        return jdbcTemplate.queryForObject("SELECT variant_count FROM item WHERE id = ?", Integer.class, itemId);
+    }
+
+    private int actualVariants() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_variant WHERE item_id = ?", Integer.class, itemId);
+    }
+}
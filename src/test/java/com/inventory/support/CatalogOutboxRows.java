@@ -0,0 +1,70 @@
+package com.inventory.support;
+
+import com.inventory.dto.CatalogChangeEvent.AggregateType;
+import com.inventory.dto.CatalogChangeEvent.EventType;
+import com.inventory.service.CatalogEventSink;
+import com.inventory.service.CatalogOutbox;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Reads what a test's writes left in {@code catalog_outbox}. Bulk writers are tested against
+ * the real outbox through this class, so a write path that skips its events, or appends them
+ * outside the transaction of the rows they describe, fails its test.
+ *
+ * Import {@link Config} next to the service under test; the context must also have an
+ * ObjectMapper.
+ */
+public final class CatalogOutboxRows {
+
+    /** The real outbox with a sink that drops relayed batches */
+    @TestConfiguration
+    @Import(CatalogOutbox.class)
+    public static class Config {
+        @Bean
+        CatalogEventSink discardingCatalogEventSink() {
+            return events -> { };
+        }
+    }
+
+    private CatalogOutboxRows() {
+    }
+
+    /**
+     * Create the outbox table, which has no entity, so create-drop does not make it.
+     */
+    public static void createTable(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS catalog_outbox (" +
+                "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "tenant_id BIGINT NOT NULL, " +
+                "aggregate_type VARCHAR(16) NOT NULL, " +
+                "aggregate_id BIGINT NOT NULL, " +
+                "event_type VARCHAR(16) NOT NULL, " +
+                "payload VARCHAR(2048) NULL, " +
+                "created_at TIMESTAMP(3) NOT NULL)");
+    }
+
+    /**
+     * The aggregate ids of a tenant's events of one type, in the order they were appended.
+     */
+    public static List<Long> aggregateIds(JdbcTemplate jdbcTemplate, Long tenantId, AggregateType aggregateType,
+                                          EventType eventType) {
+        return jdbcTemplate.queryForList("SELECT aggregate_id FROM catalog_outbox WHERE tenant_id = ? " +
+                        "AND aggregate_type = ? AND event_type = ? ORDER BY id", Long.class,
+                tenantId, aggregateType.name(), eventType.name());
+    }
+
+    /**
+     * The payloads of an aggregate's events of one type, in the order they were appended.
+     */
+    public static List<String> payloads(JdbcTemplate jdbcTemplate, Long tenantId, AggregateType aggregateType,
+                                        Long aggregateId, EventType eventType) {
+        return jdbcTemplate.queryForList("SELECT payload FROM catalog_outbox WHERE tenant_id = ? " +
+                        "AND aggregate_type = ? AND aggregate_id = ? AND event_type = ? ORDER BY id", String.class,
+                tenantId, aggregateType.name(), aggregateId, eventType.name());
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.support;
+
+import com.inventory.entity.Tenant;
+import com.inventory.entity.UserAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Base for tests that run services against the test profile's H2 database in MySQL mode with
+ * real, committed transactions instead of one rolled-back test transaction. Each test gets its
+ * own tenant and user, so tests never see each other's rows.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class CommittingJpaTest {
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    protected Tenant tenant;
+    protected UserAccount user;
+
+    @BeforeEach
+    void createTenantAndUser() {
+        inTransaction(() -> {
+            tenant = new Tenant();
+            tenant.setCode("T" + System.nanoTime());
+            tenant.setName("Tenant");
+            entityManager.persist(tenant);
+
+            user = new UserAccount();
+            user.setTenant(tenant);
+            user.setEmail("test@example.com");
+            user.setDisplayName("Test");
+            user.setCreatedAt(LocalDateTime.now());
+            user.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(user);
+        });
+    }
+
+    /** Runs work in its own committed transaction */
+    protected void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> work.run());
+    }
+
+    /** Runs work in its own committed transaction and returns its result */
+    protected <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(tx -> work.get());
+    }
+}
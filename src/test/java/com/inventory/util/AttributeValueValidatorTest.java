@@ -0,0 +1,58 @@
+package com.inventory.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.entity.AttributeDefinition;
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AttributeValueValidatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void checksAllowedValuesAndRules() {
+        AttributeValueValidator color = compile(AttributeDataType.LIST, "[\"Red\", \"Blue\"]", null);
+        assertNull(color.validate("Red"));
+        assertNotNull(color.validate("Green"));
+
+        AttributeValueValidator screen = compile(AttributeDataType.NUMBER, null, "{\"min\": 10, \"max\": \"100\"}");
+        assertNull(screen.validate("55.5"));
+        assertNotNull(screen.validate("120"));
+        assertNotNull(screen.validate("large"));
+
+        AttributeValueValidator code = compile(AttributeDataType.TEXT, null,
+                "{\"pattern\": \"[A-Z]{2}-\\\\d+\", \"maxLength\": 6}");
+        assertNull(code.validate("AB-12"));
+        assertNotNull(code.validate("ab-12"));
+        assertNotNull(code.validate("AB-1234"));
+
+        AttributeValueValidator launch = compile(AttributeDataType.DATE, null, "{\"min\": \"2020-01-01\"}");
+        assertNull(launch.validate("2024-05-01"));
+        assertNotNull(launch.validate("2019-12-31"));
+    }
+
+    @Test
+    void rejectsMalformedDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> compile(AttributeDataType.LIST, "[\"Red\"", null));
+        assertThrows(IllegalArgumentException.class, () -> compile(AttributeDataType.TEXT, null, "{\"pattern\": \"[\"}"));
+        assertThrows(IllegalArgumentException.class, () -> compile(AttributeDataType.TEXT, null, "{\"min\": 1}"));
+    }
+
+    @Test
+    void ignoresUnknownRules() {
+        AttributeValueValidator weight = compile(AttributeDataType.NUMBER, null, "{\"step\": 1, \"max\": 10}");
+        assertNull(weight.validate("2.5"));
+        assertNotNull(weight.validate("11"));
+    }
+
+    private AttributeValueValidator compile(AttributeDataType dataType, String allowedValues, String rules) {
+        AttributeDefinition definition = new AttributeDefinition(null, "ATTR", "Attribute", dataType);
+        definition.setAllowedValues(allowedValues);
+        definition.setValidationRules(rules);
+        return AttributeValueValidator.compile(definition, objectMapper);
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory.util;
+
+import com.inventory.entity.BarcodeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the allocation-free validators agree with the regex rules they replaced.
+ */
+class BarcodeFormatsTest {
+
+    private static final String ALPHABET = "0123456789ABCXYZabc -.$/+%()\té٣３\u007f";
+
+    @Test
+    void matchesLegacyValidationOnCraftedAndRandomInputs() {
+        for (String input : inputs()) {
+            for (BarcodeType type : BarcodeType.values()) {
+                assertEquals(LegacyBarcodeValidation.isValidFormat(input, type),
+                        BarcodeFormats.isValidFormat(input, type), () -> type + " format of '" + input + "'");
+            }
+            assertEquals(LegacyBarcodeValidation.isValidGTIN(input), BarcodeFormats.isValidGTIN(input), input);
+            assertEquals(LegacyBarcodeValidation.isValidCheckDigit(input), BarcodeFormats.hasValidCheckDigit(input), input);
+            assertEquals(LegacyBarcodeValidation.isValidEightDigit(input), BarcodeFormats.isValidEightDigit(input), input);
+            assertEquals(LegacyBarcodeValidation.isValidITF14(input), BarcodeFormats.isValidITF14(input), input);
+            assertEquals(checkDigitOrError(true, input), checkDigitOrError(false, input), input);
+        }
+    }
+
+    private static String checkDigitOrError(boolean legacy, String input) {
+        try {
+            return String.valueOf(legacy
+                    ? LegacyBarcodeValidation.calculateGTINCheckDigit(input)
+                    : BarcodeFormats.calculateCheckDigit(input));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static List<String> inputs() {
+        List<String> inputs = new ArrayList<>(List.of(
+                "", "   ", "036000291452", "4006381333931", "10012345678902", "00012345678905",
+                "96385074", "01234565", "4006381333932", "400638133393１", "400638133393٣",
+                "(01)04006381333931(10)LOT1", "ABC-123 $/+%", "abc-123", "CODE128\u007f", "\\x1D0104006381333931",
+                "1234567\n", "é12345678901", " 4006381333931"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int length = random.nextInt(18);
+            StringBuilder sb = new StringBuilder(length);
+            boolean digitsOnly = random.nextInt(3) > 0;
+            for (int j = 0; j < length; j++) {
+                sb.append(digitsOnly
+                        ? (char) ('0' + random.nextInt(10))
+                        : ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            inputs.add(sb.toString());
+        }
+        return inputs;
+    }
+}
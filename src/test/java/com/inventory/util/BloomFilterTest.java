@@ -0,0 +1,30 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesAndKeepsTheFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (long i = 0; i < 100_000; i++) {
+            filter.add(String.valueOf(5_000_000_000_000L + i));
+        }
+
+        for (long i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain(String.valueOf(5_000_000_000_000L + i)));
+        }
+
+        int falsePositives = 0;
+        for (long i = 0; i < 100_000; i++) {
+            if (filter.mightContain(String.valueOf(6_000_000_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertFalse(filter.isSaturated());
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvImportTest {
+
+    private static final String[] COLUMNS = {"sku", "name", "note"};
+
+    @Test
+    void mapsColumnsByHeaderName() throws IOException {
+        List<CsvImport.Record> records = CsvImport.parse(new StringReader(
+                "Name, SKU\nCola , COLA-500\n\nWater,\nJuice\n"), COLUMNS, 2, 10);
+
+        assertEquals(3, records.size());
+        assertEquals("COLA-500", records.get(0).get(0));
+        assertEquals("Cola", records.get(0).get(1));
+        assertNull(records.get(0).get(2));
+        assertEquals(2, records.get(0).getLineNumber());
+        assertNull(records.get(1).get(0));
+        assertEquals(4, records.get(1).getLineNumber());
+        assertEquals("Expected 2 columns but found 1", records.get(2).getError());
+    }
+
+    @Test
+    void rejectsBadHeadersAndLargeFiles() {
+        assertEquals("Columns sku and name are required", assertThrows(IllegalArgumentException.class,
+                () -> CsvImport.parse(new StringReader("sku,note\n"), COLUMNS, 2, 10)).getMessage());
+        assertEquals("Unknown column: price", assertThrows(IllegalArgumentException.class,
+                () -> CsvImport.parse(new StringReader("sku,name,price\n"), COLUMNS, 2, 10)).getMessage());
+        assertEquals("Duplicate column: SKU", assertThrows(IllegalArgumentException.class,
+                () -> CsvImport.parse(new StringReader("sku,name,SKU\n"), COLUMNS, 2, 10)).getMessage());
+        assertEquals("An import is limited to 1 rows", assertThrows(IllegalArgumentException.class,
+                () -> CsvImport.parse(new StringReader("sku,name\na,b\nc,d\n"), COLUMNS, 2, 1)).getMessage());
+    }
+
+    @Test
+    void retriesAFailedChunkRowByRow() {
+        TransactionTemplate transaction = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+        List<String> written = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+
+        assertNotNull(CsvImport.writeChunk(transaction, List.of("a", "bad", "c"),
+                rows -> {
+                    if (rows.contains("bad")) {
+                        throw new DataIntegrityViolationException("bad row");
+                    }
+                },
+                written::add, (row, e) -> failed.add(row)));
+        assertEquals(List.of("a", "c"), written);
+        assertEquals(List.of("bad"), failed);
+
+        written.clear();
+        assertNull(CsvImport.writeChunk(transaction, List.of("x", "y"), rows -> { }, written::add,
+                (row, e) -> failed.add(row)));
+        assertEquals(List.of("x", "y"), written);
+    }
+}
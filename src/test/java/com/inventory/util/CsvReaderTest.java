@@ -0,0 +1,35 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAndRoundTripsWithCsvWriter() throws IOException {
+        StringWriter written = new StringWriter();
+        CsvWriter writer = new CsvWriter(written);
+        writer.writeRow("sku", "name", "description");
+        writer.writeRow("COLA-500", "Cola, 500 ml", "Say \"cheers\"\nTwo lines");
+        writer.writeRow("EMPTY", "", null);
+
+        CsvReader reader = new CsvReader(new StringReader("\uFEFF" + written));
+        assertEquals(List.of("sku", "name", "description"), reader.next());
+        assertEquals(List.of("COLA-500", "Cola, 500 ml", "Say \"cheers\"\nTwo lines"), reader.next());
+        assertEquals(List.of("EMPTY", "", ""), reader.next());
+        assertNull(reader.next());
+
+        reader = new CsvReader(new StringReader("a,b\nc,\"d\"\re"));
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(List.of("e"), reader.next());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,40 @@
+package com.inventory.util;
+
+import com.inventory.exception.BarcodeValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GS1ElementParserTest {
+
+    @Test
+    void parsesBracketedAndRawFormsToTheSameElements() {
+        Map<String, Object> bracketed = GS1ElementParser.parseToMap("(01)09501101530003(17)251231(10)AB12(21)S1");
+        Map<String, Object> raw = GS1ElementParser.parseToMap("]C1010950110153000317251231" + "10AB12" + GS1ElementParser.GS + "21S1");
+
+        assertEquals(Map.of("01", "09501101530003", "17", "251231", "10", "AB12", "21", "S1"), bracketed);
+        assertEquals(bracketed, raw);
+        assertTrue(GS1ElementParser.isElementString("]d2010950110153000317251231"));
+        assertFalse(GS1ElementParser.isElementString("9501101530003"));
+    }
+
+    @Test
+    void rejectsMalformedElementStrings() {
+        assertFalse(GS1ElementParser.isValid("(01)123"));
+        assertFalse(GS1ElementParser.isValid("(99)ABC"));
+        assertFalse(GS1ElementParser.isValid("(17)251301"));
+        assertThrows(BarcodeValidationException.class, () -> GS1ElementParser.parse("0112345", (ai, s, from, to) -> { }));
+    }
+
+    @Test
+    void decodesDatesWithEndOfMonthDay() {
+        assertEquals(LocalDate.of(2028, 2, 29), GS1ElementParser.parseDate("280200", 0));
+        assertEquals(LocalDate.of(2025, 12, 31), GS1ElementParser.parseDate("251231", 0));
+    }
+}
@@ -0,0 +1,47 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsTheSortKey() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 12, 30, 5, 123_456_000);
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(timestamp, 42L).encode());
+
+        assertEquals(timestamp, cursor.getTimestamp());
+        assertEquals(42L, cursor.getId());
+        // Whole seconds print without a fraction and must still round-trip
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 30),
+                KeysetCursor.decode(new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30), 1L).encode()).getTimestamp());
+    }
+
+    @Test
+    void treatsAMissingTokenAsTheFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30), 42L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token + "!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token.substring(1)));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("2024-03-01T12:30")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("2024-03-01T12:30|x")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("yesterday|42")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
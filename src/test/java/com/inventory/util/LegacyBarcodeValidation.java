@@ -0,0 +1,114 @@
+package com.inventory.util;
+
+import com.inventory.entity.BarcodeType;
+
+import java.util.regex.Pattern;
+
+/**
+ * Regex-based barcode validation as it was before {@link BarcodeFormats}.
+ * Kept as the reference for equivalence tests and as the JMH baseline.
+ */
+public final class LegacyBarcodeValidation {
+
+    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+$");
+    private static final Pattern UPC_A_PATTERN = Pattern.compile("^\\d{12}$");
+    private static final Pattern UPC_E_PATTERN = Pattern.compile("^\\d{8}$");
+    private static final Pattern EAN_13_PATTERN = Pattern.compile("^\\d{13}$");
+    private static final Pattern EAN_8_PATTERN = Pattern.compile("^\\d{8}$");
+    private static final Pattern ITF_14_PATTERN = Pattern.compile("^\\d{14}$");
+    private static final Pattern CODE_128_PATTERN = Pattern.compile("^[\\x20-\\x7F]+$");
+    private static final Pattern CODE_39_PATTERN = Pattern.compile("^[A-Z0-9\\-. $/+%]+$");
+
+    private LegacyBarcodeValidation() {
+    }
+
+    public static boolean isValidFormat(String barcode, BarcodeType type) {
+        if (barcode == null || barcode.trim().isEmpty()) {
+            return false;
+        }
+
+        switch (type) {
+            case UPC_A:
+                return UPC_A_PATTERN.matcher(barcode).matches();
+            case UPC_E:
+                return UPC_E_PATTERN.matcher(barcode).matches();
+            case EAN_13:
+                return EAN_13_PATTERN.matcher(barcode).matches();
+            case EAN_8:
+                return EAN_8_PATTERN.matcher(barcode).matches();
+            case ITF_14:
+                return ITF_14_PATTERN.matcher(barcode).matches();
+            case CODE_128:
+            case GS1_128:
+                return CODE_128_PATTERN.matcher(barcode).matches() && barcode.length() >= 4 && barcode.length() <= 64;
+            case CODE_39:
+                return CODE_39_PATTERN.matcher(barcode).matches() && barcode.length() >= 4 && barcode.length() <= 64;
+            case DATAMATRIX_GS1:
+            case QR_GS1_LINK:
+                return barcode.length() >= 4 && barcode.length() <= 64;
+            default:
+                return false;
+        }
+    }
+
+    public static boolean isValidGTIN(String gtin) {
+        if (gtin == null || !NUMERIC_PATTERN.matcher(gtin).matches()) {
+            return false;
+        }
+        if (gtin.length() != 12 && gtin.length() != 13 && gtin.length() != 14) {
+            return false;
+        }
+        return isValidCheckDigit(gtin);
+    }
+
+    public static int calculateGTINCheckDigit(String digits) {
+        if (digits == null || !NUMERIC_PATTERN.matcher(digits).matches()) {
+            throw new IllegalArgumentException("Input must contain only digits");
+        }
+
+        int sum = 0;
+        boolean odd = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = Character.getNumericValue(digits.charAt(i));
+            sum += odd ? digit * 3 : digit;
+            odd = !odd;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+
+    public static boolean isValidCheckDigit(String gtin) {
+        if (gtin == null || gtin.length() < 8) {
+            return false;
+        }
+
+        try {
+            String digits = gtin.substring(0, gtin.length() - 1);
+            int expectedCheckDigit = Character.getNumericValue(gtin.charAt(gtin.length() - 1));
+            return expectedCheckDigit == calculateGTINCheckDigit(digits);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static boolean isValidEightDigit(String code) {
+        return EAN_8_PATTERN.matcher(code).matches() && isValidCheckDigit(code);
+    }
+
+    public static boolean isValidITF14(String itf14) {
+        if (!ITF_14_PATTERN.matcher(itf14).matches()) {
+            return false;
+        }
+        char firstDigit = itf14.charAt(0);
+        if (firstDigit < '1' || firstDigit > '9') {
+            return false;
+        }
+        return isValidCheckDigit(itf14);
+    }
+
+    public static boolean isValidGS1128(String gs1128) {
+        if (gs1128 == null || gs1128.length() < 4) {
+            return false;
+        }
+        return gs1128.startsWith("(") || gs1128.contains("\\x1D");
+    }
+}
@@ -0,0 +1,64 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrdinalBitmapTest {
+
+    @Test
+    void matchesBitSetAcrossSparseAndDenseGroups() {
+        Random random = new Random(42);
+        OrdinalBitmap sparse = new OrdinalBitmap();
+        OrdinalBitmap dense = new OrdinalBitmap();
+        BitSet sparseExpected = new BitSet();
+        BitSet denseExpected = new BitSet();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(1_000_000);
+            sparse.add(value);
+            sparseExpected.set(value);
+        }
+        // Dense in the first two groups, so their containers switch to bitmaps
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(140_000);
+            dense.add(value);
+            denseExpected.set(value);
+        }
+        for (int value = 0; value < 140_000; value += 3) {
+            assertEquals(denseExpected.get(value), dense.remove(value));
+            denseExpected.clear(value);
+        }
+
+        assertEquals(sparseExpected.cardinality(), sparse.cardinality());
+        assertEquals(denseExpected.cardinality(), dense.cardinality());
+        assertArrayEquals(denseExpected.stream().toArray(), dense.toArray());
+
+        BitSet and = (BitSet) sparseExpected.clone();
+        and.and(denseExpected);
+        assertArrayEquals(and.stream().toArray(), sparse.and(dense).toArray());
+        assertEquals(and.cardinality(), sparse.andCardinality(dense));
+        assertEquals(and.cardinality(), dense.andCardinality(sparse));
+
+        BitSet or = (BitSet) sparseExpected.clone();
+        or.or(denseExpected);
+        assertArrayEquals(or.stream().toArray(), sparse.or(dense).toArray());
+    }
+
+    @Test
+    void dropsEmptyGroups() {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(70_000));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertTrue(bitmap.isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.inventory.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TypedAttributeValueBackfillTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE attribute_definition (id BIGINT PRIMARY KEY, data_type VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE item_attribute_value (id BIGINT PRIMARY KEY, " +
+                "attribute_definition_id BIGINT, value TEXT, value_number DECIMAL(20,6), value_date DATE, " +
+                "value_boolean BOOLEAN, value_option VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO attribute_definition VALUES (1, 'DATE'), (2, 'NUMBER'), (3, 'BOOLEAN'), (4, 'LIST')");
+    }
+
+    @Test
+    void leavesCalendarInvalidDatesUntyped() {
+        insert(1, 1, "2024-02-29");
+        insert(2, 1, "2024-02-30");
+        insert(3, 1, "2024-13-01");
+        insert(4, 2, "12.5");
+        insert(5, 3, "TRUE");
+        insert(6, 4, " Red ");
+        insert(7, 2, "12 kg");
+
+        int processed = new TypedAttributeValueBackfill(jdbcTemplate, 2).run(null, null);
+
+        assertEquals(7, processed);
+        assertEquals(Date.valueOf("2024-02-29"), row(1).get("value_date"));
+        assertNull(row(2).get("value_date"));
+        assertNull(row(3).get("value_date"));
+        assertEquals(0, new BigDecimal("12.5").compareTo((BigDecimal) row(4).get("value_number")));
+        assertEquals(Boolean.TRUE, row(5).get("value_boolean"));
+        assertEquals("Red", row(6).get("value_option"));
+        assertNull(row(7).get("value_number"));
+    }
+
+    @Test
+    void recomputesOnlyTheGivenDefinition() {
+        insert(1, 2, "42");
+        insert(2, 1, "2024-01-01");
+        jdbcTemplate.update("UPDATE attribute_definition SET data_type = 'NUMBER' WHERE id = 1");
+        jdbcTemplate.update("UPDATE item_attribute_value SET value_date = DATE '2024-01-01' WHERE id = 2");
+
+        int processed = new TypedAttributeValueBackfill(jdbcTemplate, 10).run(1L, null);
+
+        assertEquals(1, processed);
+        assertNull(row(1).get("value_number"));
+        // No longer a date, and not a plain number either
+        assertNull(row(2).get("value_date"));
+        assertNull(row(2).get("value_number"));
+    }
+
+    private void insert(long id, long definitionId, String value) {
+        jdbcTemplate.update("INSERT INTO item_attribute_value (id, attribute_definition_id, value) VALUES (?, ?, ?)",
+                id, definitionId, value);
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM item_attribute_value WHERE id = ?", id);
+    }
+}
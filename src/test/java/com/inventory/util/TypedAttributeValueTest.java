@@ -0,0 +1,38 @@
+package com.inventory.util;
+
+import com.inventory.entity.AttributeDefinition.AttributeDataType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TypedAttributeValueTest {
+
+    @Test
+    void parsesEachDataTypeIntoItsOwnColumnOnly() {
+        TypedAttributeValue number = TypedAttributeValue.of(AttributeDataType.NUMBER, " 54.5 ");
+        assertEquals(new BigDecimal("54.500000"), number.getNumber());
+        assertNull(number.getDate());
+        assertNull(number.getOption());
+
+        assertEquals(LocalDate.of(2024, 2, 29), TypedAttributeValue.of(AttributeDataType.DATE, "2024-02-29").getDate());
+        assertEquals(Boolean.FALSE, TypedAttributeValue.of(AttributeDataType.BOOLEAN, "FALSE").getBoolean());
+        assertEquals("Red", TypedAttributeValue.of(AttributeDataType.LIST, "Red ").getOption());
+    }
+
+    @Test
+    void leavesTextAndUnparseableValuesUntyped() {
+        TypedAttributeValue text = TypedAttributeValue.of(AttributeDataType.TEXT, "42");
+        assertNull(text.getNumber());
+        assertNull(text.getOption());
+
+        assertNull(TypedAttributeValue.of(AttributeDataType.NUMBER, "1e3").getNumber());
+        assertNull(TypedAttributeValue.of(AttributeDataType.NUMBER, "123456789012345").getNumber());
+        assertNull(TypedAttributeValue.of(AttributeDataType.DATE, "2023-02-29").getDate());
+        assertNull(TypedAttributeValue.of(AttributeDataType.BOOLEAN, "yes").getBoolean());
+        assertNull(TypedAttributeValue.of(AttributeDataType.LIST, "x".repeat(256)).getOption());
+    }
+}
@@ -0,0 +1,53 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V37BackfillTypedItemAttributeValuesTest {
+
+    @Test
+    void typesExistingValuesWithTheFrozenRules() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:v37" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE", "sa", "")) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            jdbcTemplate.execute("CREATE TABLE attribute_definition (id BIGINT PRIMARY KEY, data_type VARCHAR(20))");
+            jdbcTemplate.execute("CREATE TABLE item_attribute_value (id BIGINT PRIMARY KEY, " +
+                    "attribute_definition_id BIGINT, value TEXT, value_number DECIMAL(20,6), value_date DATE, " +
+                    "value_boolean BOOLEAN, value_option VARCHAR(255))");
+            jdbcTemplate.update("INSERT INTO attribute_definition VALUES (1, 'DATE'), (2, 'NUMBER'), (3, 'BOOLEAN'), " +
+                    "(4, 'LIST'), (5, 'TEXT')");
+            jdbcTemplate.update("INSERT INTO item_attribute_value (id, attribute_definition_id, value) VALUES " +
+                    "(1, 1, '2024-02-29'), (2, 1, '2024-02-30'), (3, 2, ' 12.5 '), (4, 2, '12 kg'), " +
+                    "(5, 3, 'FALSE'), (6, 4, ' Red '), (7, 5, '42')");
+
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V37__backfill_typed_item_attribute_values().migrate(context);
+
+            assertEquals(Date.valueOf("2024-02-29"), row(jdbcTemplate, 1).get("value_date"));
+            assertNull(row(jdbcTemplate, 2).get("value_date"));
+            assertEquals(0, new BigDecimal("12.5").compareTo((BigDecimal) row(jdbcTemplate, 3).get("value_number")));
+            assertNull(row(jdbcTemplate, 4).get("value_number"));
+            assertEquals(Boolean.FALSE, row(jdbcTemplate, 5).get("value_boolean"));
+            assertEquals("Red", row(jdbcTemplate, 6).get("value_option"));
+            assertNull(row(jdbcTemplate, 7).get("value_number"));
+        }
+    }
+
+    private static Map<String, Object> row(JdbcTemplate jdbcTemplate, long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM item_attribute_value WHERE id = ?", id);
+    }
+}